@@ -41,6 +41,11 @@ public class AssetProvider implements IAssetProvider {
         return assetLoader.getAssets().tileTextures().getTileTexture(lod, id);
     }
 
+    @Override
+    public void markLodInUse(int lod) {
+        assetLoader.getAssets().tileTextures().markLodInUse(lod);
+    }
+
     @Override
     public TextureAtlas getAtlas(String id) {
         //assetLoader.getAssets().tileTextures(id);
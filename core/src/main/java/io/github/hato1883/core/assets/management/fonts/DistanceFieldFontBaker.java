@@ -0,0 +1,446 @@
+package io.github.hato1883.core.assets.management.fonts;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.DistanceFieldFont;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.hato1883.api.LogManager;
+import io.github.hato1883.core.modloading.assets.textures.MaxRectsPacker;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Bakes small signed-distance-field fonts and caches them on disk.
+ * <p>
+ * The characters are rasterized once with FreeType at {@link #SOURCE_SIZE} pixels. Each glyph is then
+ * reduced by {@link #DOWNSAMPLE} into a distance field padded by {@link #SPREAD} texels, and all glyphs
+ * are packed into one page. The page is stored as {@code <key>.png} and the metrics as
+ * {@code <key>.json}, where the key hashes the font file together with every bake parameter. Later
+ * runs load the cached files without running FreeType.
+ * <p>
+ * Glyph metrics are kept in the units of a FreeType font of the requested nominal size, so the
+ * returned font is a drop-in replacement for one, {@code setScale} included. Draw it with
+ * {@link #createShader()} and call {@link #updateSmoothing} when the on-screen scale changes, e.g.
+ * with the camera zoom.
+ * <p>
+ * An outline, like FreeType's border, is not baked into the page: the shader draws it from the same
+ * distance field, so it needs no second bake and stays as sharp as the glyphs. It can be at most
+ * {@link #maxOutlineWidth} wide, the distance range the field covers.
+ */
+public final class DistanceFieldFontBaker {
+    private static final Logger LOGGER = LogManager.getLogger("GameAssets");
+    private static final ObjectMapper JACKSON = new ObjectMapper();
+
+    /** Digits and separators drawn on number tokens. */
+    public static final String TOKEN_CHARACTERS = "0123456789,-/ ";
+
+    /** FreeType rasterization size in pixels. */
+    public static final int SOURCE_SIZE = 128;
+    /** Source pixels per distance field texel. */
+    public static final int DOWNSAMPLE = 4;
+    /** Distance range in texels on each side of a glyph edge. */
+    public static final int SPREAD = 4;
+
+    // Bump when the baked layout changes, so old cache files are not reused
+    private static final int FORMAT_VERSION = 1;
+    private static final int MAX_PAGE_SIZE = 1024;
+
+    private static final String VERTEX_SHADER = """
+        attribute vec4 %s;
+        attribute vec4 %s;
+        attribute vec2 %s0;
+        uniform mat4 u_projTrans;
+        varying vec4 v_color;
+        varying vec2 v_texCoords;
+
+        void main() {
+            v_color = %s;
+            v_color.a = v_color.a * (255.0 / 254.0);
+            v_texCoords = %s0;
+            gl_Position = u_projTrans * %s;
+        }
+        """.formatted(ShaderProgram.POSITION_ATTRIBUTE, ShaderProgram.COLOR_ATTRIBUTE,
+        ShaderProgram.TEXCOORD_ATTRIBUTE, ShaderProgram.COLOR_ATTRIBUTE, ShaderProgram.TEXCOORD_ATTRIBUTE,
+        ShaderProgram.POSITION_ATTRIBUTE);
+
+    // Same as DistanceFieldFont's shader, plus an outline band of u_outlineWidth field units outside the edge
+    private static final String FRAGMENT_SHADER = """
+        #ifdef GL_ES
+        precision mediump float;
+        #endif
+        uniform sampler2D u_texture;
+        uniform float u_smoothing;
+        uniform float u_outlineWidth;
+        uniform vec4 u_outlineColor;
+        varying vec4 v_color;
+        varying vec2 v_texCoords;
+
+        void main() {
+            if (u_smoothing > 0.0) {
+                float smoothing = 0.25 / u_smoothing;
+                float distance = texture2D(u_texture, v_texCoords).a;
+                float fill = smoothstep(0.5 - smoothing, 0.5 + smoothing, distance);
+                float edge = 0.5 - u_outlineWidth;
+                float outline = smoothstep(edge - smoothing, edge + smoothing, distance) * u_outlineColor.a;
+                vec3 color = u_outlineWidth > 0.0 ? mix(u_outlineColor.rgb, v_color.rgb, fill) : v_color.rgb;
+                gl_FragColor = vec4(color, max(fill, outline) * v_color.a);
+            } else {
+                gl_FragColor = v_color * texture2D(u_texture, v_texCoords);
+            }
+        }
+        """;
+
+    private final Path cacheDir;
+
+    public DistanceFieldFontBaker(Path cacheDir) {
+        this.cacheDir = Objects.requireNonNull(cacheDir, "cacheDir must not be null");
+    }
+
+    /** Cached metrics of one glyph; texel values locate it on the page, the others are in nominal pixels. */
+    record BakedGlyph(int id, int texelX, int texelY, int texelWidth, int texelHeight,
+                      int width, int height, int xoffset, int yoffset, int xadvance, int[] kerning) {}
+
+    /** Cached metrics of a baked font, in nominal pixels. */
+    record BakedFont(float texelScale, float lineHeight, float capHeight, float ascent, float descent,
+                     float down, float spaceXadvance, float xHeight, List<BakedGlyph> glyphs) {}
+
+    /**
+     * Loads the baked font from the cache, baking it first if needed. Must run on the render thread.
+     *
+     * @param ttf         TrueType font file
+     * @param nominalSize size in pixels the font metrics correspond to at scale 1
+     * @param characters  characters to bake
+     */
+    public DistanceFieldFont load(FileHandle ttf, int nominalSize, String characters) throws IOException {
+        return load(ttf, nominalSize, characters, 0, Color.CLEAR);
+    }
+
+    /**
+     * Loads the baked font with an outline drawn by {@link #createShader()}. Must run on the render thread.
+     *
+     * @param outlineWidth outline width in nominal pixels, like FreeType's {@code borderWidth}
+     * @throws IllegalArgumentException if the outline is wider than {@link #maxOutlineWidth}
+     */
+    public DistanceFieldFont load(FileHandle ttf, int nominalSize, String characters,
+                                  float outlineWidth, Color outlineColor) throws IOException {
+        if (outlineWidth < 0 || outlineWidth > maxOutlineWidth(nominalSize)) {
+            throw new IllegalArgumentException("Outline width " + outlineWidth + " is outside the distance field range 0.."
+                + maxOutlineWidth(nominalSize));
+        }
+        String key = cacheKey(ttf.readBytes(), nominalSize, characters);
+        Path png = cacheDir.resolve(key + ".png");
+        Path json = cacheDir.resolve(key + ".json");
+
+        BakedFont baked = null;
+        if (Files.exists(png) && Files.exists(json)) {
+            try {
+                baked = JACKSON.readValue(Files.readString(json), BakedFont.class);
+            } catch (IOException e) {
+                LOGGER.warn("Unreadable font cache {}, baking again: {}", json, e.getMessage());
+            }
+        }
+        if (baked == null) {
+            long start = System.nanoTime();
+            baked = bake(ttf, nominalSize, characters, png);
+            Files.writeString(json, JACKSON.writeValueAsString(baked));
+            LOGGER.info("Baked distance field font {} ({} glyphs) in {} ms", ttf.name(), baked.glyphs().size(),
+                (System.nanoTime() - start) / 1_000_000);
+        }
+
+        Texture texture = new Texture(new FileHandle(png.toFile()));
+        BakedFontData data = toFontData(baked);
+        // The field maps SPREAD texels on each side of the edge to half its value range
+        data.outlineWidth = outlineWidth / (2f * SPREAD * baked.texelScale());
+        data.outlineColor.set(Objects.requireNonNull(outlineColor, "outlineColor must not be null"));
+        DistanceFieldFont font = new DistanceFieldFont(data, new TextureRegion(texture), false);
+        font.setOwnsTexture(true);
+        font.setUseIntegerPositions(false);
+        updateSmoothing(font, 1f);
+        return font;
+    }
+
+    /**
+     * @return the widest outline, in nominal pixels, that the distance field of a font of this size covers
+     */
+    public static float maxOutlineWidth(int nominalSize) {
+        return SPREAD * DOWNSAMPLE * nominalSize / (float) SOURCE_SIZE;
+    }
+
+    /**
+     * Creates the shader to draw baked fonts with; a font without an outline draws as with
+     * {@link DistanceFieldFont#createDistanceFieldShader()}.
+     */
+    public static ShaderProgram createShader() {
+        ShaderProgram shader = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+        if (!shader.isCompiled()) {
+            throw new IllegalArgumentException("Error compiling distance field shader: " + shader.getLog());
+        }
+        return shader;
+    }
+
+    /**
+     * Sets the outline of a baked font on the shader from {@link #createShader()}. Call between
+     * {@code begin} and {@code end} of the batch drawing with it.
+     */
+    public static void applyOutline(ShaderProgram shader, DistanceFieldFont font) {
+        if (font.getData() instanceof BakedFontData baked) {
+            shader.setUniformf("u_outlineWidth", baked.outlineWidth);
+            shader.setUniformf("u_outlineColor", baked.outlineColor);
+        } else {
+            shader.setUniformf("u_outlineWidth", 0f);
+            shader.setUniformf("u_outlineColor", Color.CLEAR);
+        }
+    }
+
+    /**
+     * Sets the edge smoothing of a baked font for a camera zoom, so edges stay one screen pixel wide.
+     */
+    public static void updateSmoothing(DistanceFieldFont font, float zoom) {
+        float texelScale = font.getData() instanceof BakedFontData baked ? baked.texelScale : 1f;
+        // The shader's edge width is 0.25 / (smoothing * scaleX); half a screen pixel of field
+        // is 0.25 / (SPREAD * texels per screen pixel), which works out to this
+        font.setDistanceFieldSmoothing(SPREAD * texelScale / Math.max(zoom, 1e-3f));
+    }
+
+    static String cacheKey(byte[] ttf, int nominalSize, String characters) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            md.update(ttf);
+            md.update(("|v" + FORMAT_VERSION + "|" + SOURCE_SIZE + "|" + DOWNSAMPLE + "|" + SPREAD
+                + "|" + nominalSize + "|" + characters).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(md.digest(), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private BakedFont bake(FileHandle ttf, int nominalSize, String characters, Path png) throws IOException {
+        FreeTypeFontGenerator generator = new FreeTypeFontGenerator(ttf);
+        PixmapPacker packer = new PixmapPacker(MAX_PAGE_SIZE, MAX_PAGE_SIZE, Pixmap.Format.RGBA8888, 2, false);
+        try {
+            FreeTypeFontGenerator.FreeTypeFontParameter param = new FreeTypeFontGenerator.FreeTypeFontParameter();
+            param.size = SOURCE_SIZE;
+            param.characters = characters;
+            param.packer = packer;
+            BitmapFont.BitmapFontData source = generator.generateData(param);
+
+            float sourceToNominal = nominalSize / (float) SOURCE_SIZE;
+            float texelScale = sourceToNominal * DOWNSAMPLE;
+
+            // Distance fields per glyph, then one packed page
+            List<BitmapFont.Glyph> glyphs = new ArrayList<>();
+            List<byte[]> fields = new ArrayList<>();
+            List<int[]> sizes = new ArrayList<>();
+            for (char c : characters.toCharArray()) {
+                BitmapFont.Glyph glyph = source.getGlyph(c);
+                if (glyph == null || glyphs.contains(glyph)) continue;
+                glyphs.add(glyph);
+                if (glyph.width == 0 || glyph.height == 0) {
+                    fields.add(new byte[0]);
+                    sizes.add(new int[]{0, 0});
+                    continue;
+                }
+                Pixmap page = packer.getPages().get(glyph.page).getPixmap();
+                int tw = ceilDiv(glyph.width, DOWNSAMPLE) + 2 * SPREAD;
+                int th = ceilDiv(glyph.height, DOWNSAMPLE) + 2 * SPREAD;
+                fields.add(distanceField(alphaOf(page, glyph), glyph.width, glyph.height, DOWNSAMPLE, SPREAD));
+                sizes.add(new int[]{tw, th});
+            }
+
+            int[] widths = sizes.stream().mapToInt(s -> Math.max(1, s[0])).toArray();
+            int[] heights = sizes.stream().mapToInt(s -> Math.max(1, s[1])).toArray();
+            MaxRectsPacker.Result layout = new MaxRectsPacker(MAX_PAGE_SIZE, MAX_PAGE_SIZE, 1).pack(widths, heights);
+            if (layout.pageCount() > 1) {
+                throw new IOException("Glyphs of " + ttf.name() + " do not fit one " + MAX_PAGE_SIZE + " page");
+            }
+
+            List<BakedGlyph> baked = new ArrayList<>();
+            Pixmap out = new Pixmap(layout.pageWidth(0), layout.pageHeight(0), Pixmap.Format.RGBA8888);
+            try {
+                ByteBuffer pixels = out.getPixels();
+                for (int i = 0; i < glyphs.size(); i++) {
+                    BitmapFont.Glyph glyph = glyphs.get(i);
+                    int tw = sizes.get(i)[0];
+                    int th = sizes.get(i)[1];
+                    byte[] field = fields.get(i);
+                    for (int y = 0; y < th; y++) {
+                        for (int x = 0; x < tw; x++) {
+                            int offset = ((layout.y(i) + y) * out.getWidth() + layout.x(i) + x) * 4;
+                            pixels.put(offset, (byte) 0xFF).put(offset + 1, (byte) 0xFF).put(offset + 2, (byte) 0xFF)
+                                .put(offset + 3, field[y * tw + x]);
+                        }
+                    }
+                    baked.add(toBakedGlyph(glyph, layout.x(i), layout.y(i), tw, th, sourceToNominal, texelScale, characters));
+                }
+                Files.createDirectories(png.getParent());
+                PixmapIO.writePNG(new FileHandle(png.toFile()), out);
+            } finally {
+                out.dispose();
+            }
+
+            return new BakedFont(texelScale,
+                source.lineHeight * sourceToNominal, source.capHeight * sourceToNominal,
+                source.ascent * sourceToNominal, source.descent * sourceToNominal, source.down * sourceToNominal,
+                source.spaceXadvance * sourceToNominal, source.xHeight * sourceToNominal, baked);
+        } finally {
+            packer.dispose();
+            generator.dispose();
+        }
+    }
+
+    private static BakedGlyph toBakedGlyph(BitmapFont.Glyph glyph, int texelX, int texelY, int tw, int th,
+                                           float sourceToNominal, float texelScale, String characters) {
+        List<Integer> kerning = new ArrayList<>();
+        for (char second : characters.toCharArray()) {
+            int amount = glyph.getKerning(second);
+            if (amount != 0) {
+                kerning.add((int) second);
+                kerning.add(Math.round(amount * sourceToNominal));
+            }
+        }
+        int[] kerningPairs = kerning.stream().mapToInt(Integer::intValue).toArray();
+        int xadvance = Math.round(glyph.xadvance * sourceToNominal);
+        if (tw == 0) {
+            return new BakedGlyph(glyph.id, 0, 0, 0, 0, 0, 0, 0, 0, xadvance, kerningPairs);
+        }
+        // The field extends SPREAD texels past the glyph on the left and top; its top edge stays aligned
+        float top = (glyph.yoffset + glyph.height) * sourceToNominal + SPREAD * texelScale;
+        return new BakedGlyph(glyph.id, texelX, texelY, tw, th,
+            Math.round(tw * texelScale), Math.round(th * texelScale),
+            Math.round(glyph.xoffset * sourceToNominal - SPREAD * texelScale),
+            Math.round(top - th * texelScale),
+            xadvance, kerningPairs);
+    }
+
+    private static BakedFontData toFontData(BakedFont baked) {
+        BakedFontData data = new BakedFontData(baked.texelScale());
+        data.lineHeight = baked.lineHeight();
+        data.capHeight = baked.capHeight();
+        data.ascent = baked.ascent();
+        data.descent = baked.descent();
+        data.down = baked.down();
+        data.spaceXadvance = baked.spaceXadvance();
+        data.xHeight = baked.xHeight();
+        for (BakedGlyph bakedGlyph : baked.glyphs()) {
+            BitmapFont.Glyph glyph = new BitmapFont.Glyph();
+            glyph.id = bakedGlyph.id();
+            glyph.srcX = bakedGlyph.texelX();
+            glyph.srcY = bakedGlyph.texelY();
+            glyph.width = bakedGlyph.width();
+            glyph.height = bakedGlyph.height();
+            glyph.xoffset = bakedGlyph.xoffset();
+            glyph.yoffset = bakedGlyph.yoffset();
+            glyph.xadvance = bakedGlyph.xadvance();
+            int[] kerning = bakedGlyph.kerning();
+            for (int i = 0; i + 1 < kerning.length; i += 2) {
+                glyph.setKerning(kerning[i], kerning[i + 1]);
+            }
+            data.texelSizes.put(glyph, new int[]{bakedGlyph.texelWidth(), bakedGlyph.texelHeight()});
+            data.setGlyph(glyph.id, glyph);
+        }
+        return data;
+    }
+
+    /**
+     * Font data whose glyph sizes are in nominal pixels while the page holds smaller texels.
+     */
+    private static final class BakedFontData extends BitmapFont.BitmapFontData {
+        private final float texelScale;
+        private final Map<BitmapFont.Glyph, int[]> texelSizes = new IdentityHashMap<>();
+        // Outline band outside the edge, in field units where the edge is at 0.5
+        private float outlineWidth;
+        private final Color outlineColor = new Color(Color.CLEAR);
+
+        private BakedFontData(float texelScale) {
+            this.texelScale = texelScale;
+        }
+
+        @Override
+        public void setGlyphRegion(BitmapFont.Glyph glyph, TextureRegion region) {
+            int[] texels = texelSizes.get(glyph);
+            if (texels == null) {
+                super.setGlyphRegion(glyph, region);
+                return;
+            }
+            float invTexWidth = 1f / region.getTexture().getWidth();
+            float invTexHeight = 1f / region.getTexture().getHeight();
+            glyph.u = region.getU() + glyph.srcX * invTexWidth;
+            glyph.u2 = region.getU() + (glyph.srcX + texels[0]) * invTexWidth;
+            // Not flipped: the top texel row is drawn at the top of the quad
+            glyph.v2 = region.getV() + glyph.srcY * invTexHeight;
+            glyph.v = region.getV() + (glyph.srcY + texels[1]) * invTexHeight;
+        }
+    }
+
+    private static byte[] alphaOf(Pixmap page, BitmapFont.Glyph glyph) {
+        byte[] alpha = new byte[glyph.width * glyph.height];
+        for (int y = 0; y < glyph.height; y++) {
+            for (int x = 0; x < glyph.width; x++) {
+                alpha[y * glyph.width + x] = (byte) (page.getPixel(glyph.srcX + x, glyph.srcY + y) & 0xFF);
+            }
+        }
+        return alpha;
+    }
+
+    /**
+     * Computes the distance field of a coverage bitmap.
+     * <p>
+     * Every output texel samples the source pixel under its center and searches up to
+     * {@code spread * downsample} source pixels for the nearest pixel on the other side of the edge.
+     * The signed distance is mapped to 0..255 with the edge at 128; inside is above. The output is
+     * {@code spread} texels larger than the downsampled bitmap on every side.
+     *
+     * @param alpha  coverage, row-major, {@code width * height} values; 128 and above is inside
+     * @return {@code (ceil(width / downsample) + 2 * spread) * (ceil(height / downsample) + 2 * spread)} values
+     */
+    static byte[] distanceField(byte[] alpha, int width, int height, int downsample, int spread) {
+        int tw = ceilDiv(width, downsample) + 2 * spread;
+        int th = ceilDiv(height, downsample) + 2 * spread;
+        int range = spread * downsample;
+        byte[] field = new byte[tw * th];
+        for (int ty = 0; ty < th; ty++) {
+            for (int tx = 0; tx < tw; tx++) {
+                int sx = (tx - spread) * downsample + downsample / 2;
+                int sy = (ty - spread) * downsample + downsample / 2;
+                boolean inside = isInside(alpha, width, height, sx, sy);
+
+                int nearestSq = Integer.MAX_VALUE;
+                for (int dy = -range; dy <= range; dy++) {
+                    for (int dx = -range; dx <= range; dx++) {
+                        int distSq = dx * dx + dy * dy;
+                        if (distSq >= nearestSq) continue;
+                        if (isInside(alpha, width, height, sx + dx, sy + dy) != inside) nearestSq = distSq;
+                    }
+                }
+                float distance = nearestSq == Integer.MAX_VALUE ? range : Math.min(range, (float) Math.sqrt(nearestSq));
+                float value = 0.5f + (inside ? distance : -distance) / (2f * range);
+                field[ty * tw + tx] = (byte) Math.round(Math.clamp(value, 0f, 1f) * 255f);
+            }
+        }
+        return field;
+    }
+
+    private static boolean isInside(byte[] alpha, int width, int height, int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height && (alpha[y * width + x] & 0xFF) >= 128;
+    }
+
+    private static int ceilDiv(int value, int divisor) {
+        return (value + divisor - 1) / divisor;
+    }
+}
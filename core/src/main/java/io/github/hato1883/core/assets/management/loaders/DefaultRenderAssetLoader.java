@@ -10,16 +10,27 @@ import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
 import io.github.hato1883.api.LogManager;
 import io.github.hato1883.api.assets.TextureUpgradeNotifier;
+import io.github.hato1883.api.async.IAsyncExecutionService;
 import io.github.hato1883.api.mod.load.asset.AssetCategory;
+import io.github.hato1883.api.ui.model.RendererConfig;
+import io.github.hato1883.api.ui.screen.ICameraScreen;
+import io.github.hato1883.core.assets.management.fonts.DistanceFieldFontBaker;
+import io.github.hato1883.core.assets.management.textures.AtlasPageUploader;
 import io.github.hato1883.core.assets.management.textures.LodAwareTileTextureProvider;
+import io.github.hato1883.core.assets.management.textures.LodStreamingScheduler;
+import io.github.hato1883.core.assets.management.textures.TextureResidencyManager;
 import io.github.hato1883.core.assets.management.textures.TileTextureProvider;
 import io.github.hato1883.core.common.util.PathResolver;
 import org.slf4j.Logger;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 
 import static io.github.hato1883.core.common.util.DelayedFormatter.format;
@@ -41,27 +52,71 @@ public final class DefaultRenderAssetLoader implements RenderAssetLoader {
      */
     private static final String[] LODS = {LOD_3, LOD_2, LOD_1, LOD_O};
 
+    /** Pixel size token font metrics are given in at scale 1. */
+    private static final int TOKEN_FONT_SIZE = 144;
+    /** Border around token digits, in pixels at {@link #TOKEN_FONT_SIZE}. */
+    private static final int TOKEN_OUTLINE_WIDTH = 3;
+
     private final AssetManager assetManager = new AssetManager(new AbsoluteFileHandleResolver());
+    private final AtlasPageUploader uploader;
+    private final TextureResidencyManager residency;
+    private LodStreamingScheduler streaming;
     private final String fontPath;
     private float lastProgress = -1f;
 
     private BitmapFont numberFont;
     private TileTextureProvider textureProvider;
 
-    private final Set<String> pendingLodAtlases = new HashSet<>();
+    // Queued LOD atlases by path, with their LOD
+    private final Map<String, Integer> pendingLodAtlases = new HashMap<>();
+    // The tile provider only reads TILE atlases; loads and evictions of other categories leave it alone
+    private final Set<String> tileAtlasPaths = new HashSet<>();
 
     public DefaultRenderAssetLoader(String fontPath) {
+        this(fontPath, TextureResidencyManager.DEFAULT_BUDGET_BYTES);
+    }
+
+    /**
+     * @param textureBudgetBytes memory budget for LOD atlases; cold LODs are unloaded above it
+     */
+    public DefaultRenderAssetLoader(String fontPath, long textureBudgetBytes) {
+        this(fontPath, textureBudgetBytes, null);
+    }
+
+    /**
+     * @param asyncService pool to decode atlas pages on, or {@code null} to load atlases through the asset manager
+     */
+    public DefaultRenderAssetLoader(String fontPath, long textureBudgetBytes, IAsyncExecutionService asyncService) {
         this.fontPath = fontPath; // e.g. "fonts/Roboto-Regular.ttf"
+        this.uploader = asyncService == null ? null
+            : new AtlasPageUploader(assetManager, asyncService, AtlasPageUploader.DEFAULT_UPLOAD_BYTES_PER_FRAME);
+        this.residency = new TextureResidencyManager(assetManager, uploader, textureBudgetBytes);
     }
 
     private static BitmapFont createBaseTokenFont(String ttfPath) {
+        try {
+            // Baked once; later starts only read the cached distance field page. The shader draws the outline,
+            // and an outline wider than the field covers throws, falling back to FreeType below
+            BitmapFont font = new DistanceFieldFontBaker(PathResolver.getGameDataDir().resolve("cache").resolve("fonts"))
+                .load(Gdx.files.internal(ttfPath), TOKEN_FONT_SIZE, DistanceFieldFontBaker.TOKEN_CHARACTERS,
+                    TOKEN_OUTLINE_WIDTH, Color.WHITE);
+            font.getData().setScale(0.25f);
+            font.setColor(Color.BLACK);
+            return font;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Could not bake distance field font {}, rasterizing with FreeType: {}", ttfPath, e.getMessage());
+            return createFreeTypeTokenFont(ttfPath);
+        }
+    }
+
+    private static BitmapFont createFreeTypeTokenFont(String ttfPath) {
         FreeTypeFontGenerator gen = new FreeTypeFontGenerator(Gdx.files.internal(ttfPath));
         FreeTypeFontGenerator.FreeTypeFontParameter param = new FreeTypeFontGenerator.FreeTypeFontParameter();
-        param.size = 144;
+        param.size = TOKEN_FONT_SIZE;
         param.magFilter = Texture.TextureFilter.Linear;
         param.minFilter = Texture.TextureFilter.Linear;
         param.borderColor = Color.WHITE;
-        param.borderWidth = 3;
+        param.borderWidth = TOKEN_OUTLINE_WIDTH;
         param.borderStraight = true;
         BitmapFont font = gen.generateFont(param);
         gen.dispose();
@@ -70,37 +125,69 @@ public final class DefaultRenderAssetLoader implements RenderAssetLoader {
         return font;
     }
 
+    /**
+     * Streams LOD atlases by the screen's camera zoom instead of queueing every LOD up front.
+     * Must be called before {@link #queueAssets()}.
+     */
+    @Override
+    public void enableLodStreaming(ICameraScreen screen, RendererConfig config) {
+        this.streaming = new LodStreamingScheduler(residency, config, screen);
+    }
+
     @Override
     public void queueAssets() {
-        for (String lod : LODS) {
+        for (int i = 0; i < LODS.length; i++) {
+            String lod = LODS[i];
             for (AssetCategory cat : AssetCategory.values()) {
                 Path path = PathResolver.getGameDataDir().resolve(TEXTURE_ASSET_ROOT).resolve(cat.getCategory()).resolve(lod).resolve(String.format("combined_%s_%s.atlas", cat.getCategory(), lod));
                 if (Files.exists(path)) {
-                    assetManager.load(path.toString(), TextureAtlas.class);
-                    pendingLodAtlases.add(path.toString());
+                    // Only the tile provider marks the atlases it uses, so the other categories must not be evicted
+                    residency.register(path, LODS.length - 1 - i, cat != AssetCategory.TILE);
+                    if (cat == AssetCategory.TILE) tileAtlasPaths.add(path.toString());
                 }
             }
         }
+        // Every atlas that is queued, now or after an eviction, reports back once loaded
+        residency.setQueuedListener(pendingLodAtlases::put);
+        if (streaming != null) {
+            // Only the fallback LOD up front; the scheduler requests the rest as the camera needs them
+            residency.queuePinned();
+        } else {
+            residency.queueWithinBudget();
+        }
         numberFont = createBaseTokenFont(fontPath);
-        textureProvider = new LodAwareTileTextureProvider(
+        LodAwareTileTextureProvider lodProvider = new LodAwareTileTextureProvider(
             assetManager,
-            PathResolver.getGameDataDir().resolve(TEXTURE_ASSET_ROOT)
+            PathResolver.getGameDataDir().resolve(TEXTURE_ASSET_ROOT),
+            residency
         );
+        residency.setEvictionListener((path, lod) -> {
+            pendingLodAtlases.remove(path);
+            if (tileAtlasPaths.contains(path)) lodProvider.onLodAtlasEvicted(lod);
+        });
+        textureProvider = lodProvider;
     }
 
+    /**
+     * Advances loading and the residency frame; call exactly once per rendered frame.
+     */
     @Override
     public boolean update() {
+        if (streaming != null) streaming.update();
         boolean done = assetManager.update();
+        if (uploader != null) {
+            uploader.update();
+            done &= uploader.isIdle();
+        }
+        residency.endFrame();
         // Check for newly loaded LOD atlases and notify provider
-        java.util.Iterator<String> it = pendingLodAtlases.iterator();
+        Iterator<Map.Entry<String, Integer>> it = pendingLodAtlases.entrySet().iterator();
         while (it.hasNext()) {
-            String atlasPath = it.next();
-            if (assetManager.isLoaded(atlasPath, TextureAtlas.class)) {
-                // Extract LOD from path string (e.g., .../lod2/combined_tile_lod2.atlas)
-                String lodStr = atlasPath.contains("lod0") ? "lod0" : atlasPath.contains("lod1") ? "lod1" : atlasPath.contains("lod2") ? "lod2" : "lod3";
-                int lod = lodStr.equals("lod0") ? 0 : lodStr.equals("lod1") ? 1 : lodStr.equals("lod2") ? 2 : 3;
-                if (textureProvider instanceof io.github.hato1883.core.assets.management.textures.LodAwareTileTextureProvider lodProvider) {
-                    lodProvider.onLodAtlasLoaded(lod);
+            Map.Entry<String, Integer> pendingAtlas = it.next();
+            if (assetManager.isLoaded(pendingAtlas.getKey(), TextureAtlas.class)) {
+                if (textureProvider instanceof LodAwareTileTextureProvider lodProvider
+                    && tileAtlasPaths.contains(pendingAtlas.getKey())) {
+                    lodProvider.onLodAtlasLoaded(pendingAtlas.getValue());
                 }
                 it.remove();
             }
@@ -127,6 +214,7 @@ public final class DefaultRenderAssetLoader implements RenderAssetLoader {
 
     @Override
     public void dispose() {
+        if (uploader != null) uploader.dispose();
         assetManager.dispose();
         if (numberFont != null) numberFont.dispose();
     }
@@ -1,13 +1,16 @@
 package io.github.hato1883.core.assets.management.loaders;
 
 import io.github.hato1883.api.assets.TextureUpgradeNotifier;
+import io.github.hato1883.api.ui.model.RendererConfig;
+import io.github.hato1883.api.ui.screen.ICameraScreen;
 
 /**
  * ISP/DIP: renderer asks for high-level factories/providers instead of concrete libs.
  */
 public interface RenderAssetLoader {
     void queueAssets();
-    boolean update();                 // returns true when finished
+    default void enableLodStreaming(ICameraScreen screen, RendererConfig config) {} // before queueAssets
+    boolean update();                 // once per frame; returns true when finished
     LoadedAssets getAssets();         // stable bundle/DTO
     void renderLoading();
     void dispose();
@@ -0,0 +1,238 @@
+package io.github.hato1883.core.assets.management.textures;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.utils.Disposable;
+import io.github.hato1883.api.LogManager;
+import io.github.hato1883.api.async.IAsyncExecutionService;
+import io.github.hato1883.api.async.TaskPool;
+import org.slf4j.Logger;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.LongSupplier;
+
+/**
+ * Loads texture atlases with page decoding off the render thread and budgeted GPU uploads.
+ * <p>
+ * The small {@code .atlas} descriptor is parsed on the calling thread, then every page image is decoded
+ * into a {@link Pixmap} on the IO pool of an {@link IAsyncExecutionService}. Decoded pages queue up for
+ * {@link #update()}, which runs on the render thread and uploads pages as textures until the per-frame
+ * byte budget is spent; one page is always uploaded, so pages larger than the budget still progress.
+ * The budget is tracked per rendered frame, so further {@code update} calls within a frame upload
+ * nothing once it is spent.
+ * When the last page of an atlas is uploaded, the atlas is built and handed to the {@link AssetManager}
+ * with {@code addAsset}, after which {@code isLoaded}, {@code get} and {@code unload} work as for any
+ * other asset. Each load is tracked by its atlas path together with its LOD.
+ * <p>
+ * All methods except the decode tasks run on the render thread.
+ */
+public final class AtlasPageUploader implements Disposable {
+    private static final Logger LOGGER = LogManager.getLogger("TileTextures");
+
+    /** Upload budget used when none is configured: one 2048x2048 RGBA page. */
+    public static final long DEFAULT_UPLOAD_BYTES_PER_FRAME = 16L * 1024 * 1024;
+
+    private final AssetManager assetManager;
+    private final IAsyncExecutionService asyncService;
+    private final long uploadBytesPerFrame;
+    private final LongSupplier frameId;
+
+    private long budgetFrame = Long.MIN_VALUE;
+    private long uploadedThisFrame;
+
+    private final Map<String, PendingAtlas> pending = new LinkedHashMap<>();
+    // Atlases whose pages could not be read; not retried for the lifetime of the uploader
+    private final Set<String> failed = new HashSet<>();
+    // Filled by the decode tasks, drained by the render thread
+    private final Queue<DecodedPage> decoded = new ConcurrentLinkedQueue<>();
+
+    private static final class PendingAtlas {
+        private final String path;
+        private final int lod;
+        private final TextureAtlas.TextureAtlasData data;
+        private final List<Texture> uploaded = new ArrayList<>();
+        private CompletableFuture<Void> decodes = CompletableFuture.completedFuture(null);
+        private volatile boolean canceled;
+
+        private PendingAtlas(String path, int lod, TextureAtlas.TextureAtlasData data) {
+            this.path = path;
+            this.lod = lod;
+            this.data = data;
+        }
+    }
+
+    /** A decoded page, or the failure to decode it. */
+    private record DecodedPage(PendingAtlas atlas, TextureAtlas.TextureAtlasData.Page page, Pixmap pixmap, Throwable failure) {}
+
+    /**
+     * @param uploadBytesPerFrame bytes of page data uploaded per frame at most, except for the first page
+     */
+    public AtlasPageUploader(AssetManager assetManager, IAsyncExecutionService asyncService, long uploadBytesPerFrame) {
+        this(assetManager, asyncService, uploadBytesPerFrame, () -> Gdx.graphics.getFrameId());
+    }
+
+    AtlasPageUploader(AssetManager assetManager, IAsyncExecutionService asyncService, long uploadBytesPerFrame,
+                      LongSupplier frameId) {
+        if (uploadBytesPerFrame <= 0) {
+            throw new IllegalArgumentException("uploadBytesPerFrame must be positive: " + uploadBytesPerFrame);
+        }
+        this.assetManager = Objects.requireNonNull(assetManager, "assetManager must not be null");
+        this.asyncService = Objects.requireNonNull(asyncService, "asyncService must not be null");
+        this.uploadBytesPerFrame = uploadBytesPerFrame;
+        this.frameId = frameId;
+    }
+
+    /**
+     * Starts loading an atlas. Does nothing if it is loaded, loading, or failed before.
+     */
+    public void load(String atlasPath, int lod) {
+        if (pending.containsKey(atlasPath) || failed.contains(atlasPath) || assetManager.contains(atlasPath)) return;
+
+        TextureAtlas.TextureAtlasData data;
+        try {
+            FileHandle packFile = assetManager.getFileHandleResolver().resolve(atlasPath);
+            data = new TextureAtlas.TextureAtlasData(packFile, packFile.parent(), false);
+        } catch (RuntimeException e) {
+            LOGGER.error("Could not read LOD({}) atlas {}: {}", lod, atlasPath, e.getMessage());
+            failed.add(atlasPath);
+            return;
+        }
+
+        if (data.getPages().isEmpty()) {
+            assetManager.addAsset(atlasPath, TextureAtlas.class, new TextureAtlas(data));
+            return;
+        }
+
+        PendingAtlas atlas = new PendingAtlas(atlasPath, lod, data);
+        pending.put(atlasPath, atlas);
+        List<CompletableFuture<Void>> futures = new ArrayList<>(data.getPages().size);
+        for (TextureAtlas.TextureAtlasData.Page page : data.getPages()) {
+            futures.add(asyncService.executeAsync((Runnable) () -> decode(atlas, page),
+                "atlas-decode-" + page.textureFile.name(), TaskPool.IO));
+        }
+        atlas.decodes = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
+
+    private void decode(PendingAtlas atlas, TextureAtlas.TextureAtlasData.Page page) {
+        if (atlas.canceled) return;
+        try {
+            Pixmap pixmap = new Pixmap(page.textureFile);
+            if (atlas.canceled) {
+                pixmap.dispose();
+                return;
+            }
+            decoded.add(new DecodedPage(atlas, page, pixmap, null));
+        } catch (Throwable t) {
+            // The async executor only logs failures, so they are handed to the render thread
+            decoded.add(new DecodedPage(atlas, page, null, t));
+        }
+    }
+
+    /**
+     * Uploads decoded pages within what is left of the frame budget and publishes completed atlases.
+     */
+    public void update() {
+        long frame = frameId.getAsLong();
+        if (frame != budgetFrame) {
+            budgetFrame = frame;
+            uploadedThisFrame = 0;
+        }
+        DecodedPage page;
+        while (uploadedThisFrame < uploadBytesPerFrame && (page = decoded.poll()) != null) {
+            uploadedThisFrame += process(page);
+        }
+    }
+
+    /**
+     * Blocks until an atlas is decoded and uploaded, ignoring the upload budget.
+     */
+    public void finishLoading(String atlasPath) {
+        PendingAtlas atlas = pending.get(atlasPath);
+        if (atlas == null) return;
+        atlas.decodes.join();
+        // Pages of other atlases met on the way are uploaded too, in queue order
+        DecodedPage page;
+        while (pending.containsKey(atlasPath) && (page = decoded.poll()) != null) {
+            process(page);
+        }
+    }
+
+    /**
+     * Stops loading an atlas; decoded and uploaded pages are released.
+     */
+    public void cancel(String atlasPath) {
+        PendingAtlas atlas = pending.remove(atlasPath);
+        if (atlas == null) return;
+        atlas.canceled = true;
+        for (Texture texture : atlas.uploaded) {
+            texture.dispose();
+        }
+        atlas.uploaded.clear();
+        LOGGER.debug("Canceled loading LOD({}) atlas {}", atlas.lod, atlasPath);
+    }
+
+    /**
+     * @return {@code true} while the atlas is being decoded or uploaded
+     */
+    public boolean isLoading(String atlasPath) {
+        return pending.containsKey(atlasPath);
+    }
+
+    /**
+     * @return {@code true} if no atlas is being decoded or uploaded
+     */
+    public boolean isIdle() {
+        return pending.isEmpty();
+    }
+
+    @Override
+    public void dispose() {
+        for (String path : new ArrayList<>(pending.keySet())) {
+            cancel(path);
+        }
+        DecodedPage page;
+        while ((page = decoded.poll()) != null) {
+            if (page.pixmap() != null) page.pixmap().dispose();
+        }
+    }
+
+    /** @return bytes uploaded */
+    private long process(DecodedPage page) {
+        PendingAtlas atlas = page.atlas();
+        if (atlas.canceled) {
+            if (page.pixmap() != null) page.pixmap().dispose();
+            return 0;
+        }
+        if (page.failure() != null) {
+            LOGGER.error("Could not decode page {} of LOD({}) atlas {}", page.page().textureFile, atlas.lod, atlas.path, page.failure());
+            cancel(atlas.path);
+            failed.add(atlas.path);
+            return 0;
+        }
+
+        Pixmap pixmap = page.pixmap();
+        long bytes = 4L * pixmap.getWidth() * pixmap.getHeight();
+        Texture texture;
+        try {
+            texture = new Texture(pixmap, page.page().format, page.page().useMipMaps);
+        } finally {
+            pixmap.dispose();
+        }
+        page.page().texture = texture;
+        atlas.uploaded.add(texture);
+
+        if (atlas.uploaded.size() == atlas.data.getPages().size) {
+            pending.remove(atlas.path);
+            // Pages already carry their textures, so the atlas only applies filters and builds regions
+            assetManager.addAsset(atlas.path, TextureAtlas.class, new TextureAtlas(atlas.data));
+            LOGGER.info("Uploaded LOD({}) atlas {} ({} page(s))", atlas.lod, atlas.path, atlas.uploaded.size());
+        }
+        return page.page().useMipMaps ? bytes + bytes / 3 : bytes;
+    }
+}
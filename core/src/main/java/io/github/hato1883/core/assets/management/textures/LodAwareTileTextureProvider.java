@@ -6,6 +6,7 @@ import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import io.github.hato1883.api.Identifier;
 import io.github.hato1883.api.LogManager;
 import io.github.hato1883.api.assets.AssetUpgradeCallback;
+import io.github.hato1883.api.assets.TextureEvictionCallback;
 import io.github.hato1883.api.assets.TextureUpgradeCallback;
 import io.github.hato1883.api.assets.TextureUpgradeNotifier;
 import io.github.hato1883.api.mod.load.asset.AssetCategory;
@@ -16,6 +17,17 @@ import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArrayList;
 
+/**
+ * Tile textures from the combined LOD atlases, falling back to coarser LODs until finer ones load.
+ * <p>
+ * Lookups are memoized per (tile type, requested LOD) with the region and the LOD it actually came
+ * from, and each loaded atlas gets a name index on first use, so repeated lookups do no string
+ * formatting, atlas scans or filesystem access. Which LOD atlases exist on disk is checked once on
+ * construction. Entries are invalidated by {@link #onLodAtlasLoaded(int)}, when a finer LOD may
+ * replace a fallback, and by {@link #onLodAtlasEvicted(int)}, when their atlas is gone.
+ * <p>
+ * Not thread-safe; use from the render thread only.
+ */
 public final class LodAwareTileTextureProvider implements TileTextureProvider, TextureUpgradeNotifier {
 
     private final boolean delayedMode = false; // toggle this to switch behaviors
@@ -24,11 +36,27 @@ public final class LodAwareTileTextureProvider implements TileTextureProvider, T
 
     private static final Logger LOGGER = LogManager.getLogger("TileTextures");
 
+    private static final int COARSEST_LOD = 3;
+
     private final AssetManager assetManager;
     private final Path textureAssetRoot;
+    private final TextureResidencyManager residency;
+
+    // Tile atlas path and whether it exists on disk, per LOD
+    private final String[] tileAtlasPaths = new String[COARSEST_LOD + 1];
+    private final boolean[] tileAtlasExists = new boolean[COARSEST_LOD + 1];
+
+    /** Best loaded region for a requested LOD, and the LOD it came from. */
+    private record Resolved(TextureRegion region, int lod) {}
+    private record LookupKey(Identifier tileTypeId, int lod) {}
+
+    private final Map<LookupKey, Resolved> resolved = new HashMap<>();
+    // Region name index per loaded tile atlas, built on first lookup
+    private final Map<Integer, Map<String, TextureAtlas.AtlasRegion>> regionIndex = new HashMap<>();
 
     // Safe to mutate while iterating during notify
     private final List<TextureUpgradeCallback<?>> upgradeCallbacks = new CopyOnWriteArrayList<>();
+    private final List<TextureEvictionCallback<?>> evictionCallbacks = new CopyOnWriteArrayList<>();
 
     // We only need one pending entry per LOD (atlas-level loading)
     private final Set<Integer> pendingLods = new HashSet<>();
@@ -38,40 +66,89 @@ public final class LodAwareTileTextureProvider implements TileTextureProvider, T
     private final List<Runnable> activeNotifications = new ArrayList<>();
 
     public LodAwareTileTextureProvider(AssetManager assetManager, Path textureAssetRoot) {
+        this(assetManager, textureAssetRoot, null);
+    }
+
+    /**
+     * @param residency budget manager fed with atlas usage, or {@code null} to keep every atlas resident
+     */
+    public LodAwareTileTextureProvider(AssetManager assetManager, Path textureAssetRoot, TextureResidencyManager residency) {
         this.assetManager = assetManager;
         this.textureAssetRoot = textureAssetRoot;
+        this.residency = residency;
+        for (int lod = 0; lod <= COARSEST_LOD; lod++) {
+            Path path = atlasPath(AssetCategory.TILE, lod);
+            tileAtlasPaths[lod] = path.toString();
+            tileAtlasExists[lod] = Files.exists(path);
+        }
     }
 
     @Override
-    public TextureRegion getTileTexture(int lod, Identifier tileTypeId) {
-        String regionName = String.format("%s/%s", tileTypeId.getNamespace(), tileTypeId.getPath());
-
-        // Try requested LOD → ... → LOD3
-        for (int candidateLod = lod; candidateLod <= 3; candidateLod++) {
-            Path path = atlasPath(AssetCategory.TILE, candidateLod);
-            if (Files.exists(path) && assetManager.isLoaded(path.toString(), TextureAtlas.class)) {
-                TextureAtlas atlas = assetManager.get(path.toString(), TextureAtlas.class);
-                TextureRegion region = atlas.findRegion(regionName);
-                if (region != null) {
-                    if (candidateLod > lod) {
-                        // We used a fallback; remember that the requested LOD should be upgraded later.
-                        if (pendingLods.add(lod)) {
-                            LOGGER.warn("Fallback LOD({}) → queued upgrade for requested LOD({})", candidateLod, lod);
-                        }
-                    }
-                    return region;
-                }
+    public TextureRegion getTileTexture(int requestedLod, Identifier tileTypeId) {
+        int lod = Math.clamp(requestedLod, 0, COARSEST_LOD);
+        LookupKey key = new LookupKey(tileTypeId, lod);
+        Resolved hit = resolved.get(key);
+        if (hit == null) {
+            hit = resolve(lod, tileTypeId);
+            if (hit == null) return forceLoadFallback(lod, tileTypeId);
+            resolved.put(key, hit);
+        }
+
+        if (residency != null) {
+            residency.touch(tileAtlasPaths[hit.lod()]);
+            if (hit.lod() > lod && tileAtlasExists[lod]) {
+                // Queues the requested LOD again if it was evicted; the fallback is used meanwhile
+                residency.request(tileAtlasPaths[lod]);
             }
         }
+        if (hit.lod() > lod && pendingLods.add(lod)) {
+            // We used a fallback; remember that the requested LOD should be upgraded later.
+            LOGGER.warn("Fallback LOD({}) → queued upgrade for requested LOD({})", hit.lod(), lod);
+        }
+        return hit.region();
+    }
+
+    /** Try requested LOD → ... → LOD3 among the loaded atlases. */
+    private Resolved resolve(int lod, Identifier tileTypeId) {
+        for (int candidateLod = lod; candidateLod <= COARSEST_LOD; candidateLod++) {
+            Map<String, TextureAtlas.AtlasRegion> regions = loadedRegions(candidateLod);
+            if (regions == null) continue;
+            TextureRegion region = regions.get(tileTypeId.toRegionKey());
+            if (region != null) return new Resolved(region, candidateLod);
+        }
+        return null;
+    }
+
+    /** @return name index of a loaded tile atlas, or {@code null} if it is missing or not loaded */
+    private Map<String, TextureAtlas.AtlasRegion> loadedRegions(int lod) {
+        Map<String, TextureAtlas.AtlasRegion> regions = regionIndex.get(lod);
+        if (regions != null) return regions;
+        if (!tileAtlasExists[lod] || !assetManager.isLoaded(tileAtlasPaths[lod], TextureAtlas.class)) return null;
+
+        TextureAtlas atlas = assetManager.get(tileAtlasPaths[lod], TextureAtlas.class);
+        regions = new HashMap<>();
+        for (TextureAtlas.AtlasRegion region : atlas.getRegions()) {
+            // First region wins, like TextureAtlas.findRegion
+            regions.putIfAbsent(region.name, region);
+        }
+        regionIndex.put(lod, regions);
+        return regions;
+    }
 
+    private TextureRegion forceLoadFallback(int lod, Identifier tileTypeId) {
         // Last-resort: force-load LOD3 atlas (blocks until loaded) and return its region if present
-        LOGGER.warn("No texture fallbacks for {} at LOD({}) — force loading LOD(3)", tileTypeId, lod);
-        Path lod3path = atlasPath(AssetCategory.TILE, 3);
-        assetManager.finishLoadingAsset(lod3path.toString());
-        TextureAtlas atlas = assetManager.get(lod3path.toString(), TextureAtlas.class);
+        LOGGER.warn("No texture fallbacks for {} at LOD({}) — force loading LOD({})", tileTypeId, lod, COARSEST_LOD);
+        String regionName = tileTypeId.toRegionKey();
+        String coarsestPath = tileAtlasPaths[COARSEST_LOD];
+        if (residency != null) {
+            residency.finishLoading(coarsestPath);
+        } else {
+            assetManager.finishLoadingAsset(coarsestPath);
+        }
+        TextureAtlas atlas = assetManager.get(coarsestPath, TextureAtlas.class);
         TextureRegion region = atlas.findRegion(regionName);
         if (region == null) {
-            LOGGER.error("Region '{}' not found in forced LOD(3) atlas! Returning null.", regionName);
+            LOGGER.error("Region '{}' not found in forced LOD({}) atlas! Returning null.", regionName, COARSEST_LOD);
         }
         return region;
     }
@@ -83,8 +160,7 @@ public final class LodAwareTileTextureProvider implements TileTextureProvider, T
         // 1) Move pending LODs that are loaded into active notifications
         for (Iterator<Integer> it = pendingLods.iterator(); it.hasNext(); ) {
             int lod = it.next();
-            Path path = atlasPath(AssetCategory.TILE, lod);
-            if (Files.exists(path) && assetManager.isLoaded(path.toString(), TextureAtlas.class)) {
+            if (tileAtlasExists[lod] && assetManager.isLoaded(tileAtlasPaths[lod], TextureAtlas.class)) {
                 LOGGER.info("LOD({}) atlas is now loaded — scheduling upgrade notification", lod);
                 activeNotifications.add(() -> notifyUpgrade(/*id=*/null, lod));
                 it.remove();
@@ -110,6 +186,33 @@ public final class LodAwareTileTextureProvider implements TileTextureProvider, T
         }
     }
 
+    @Override
+    public void markLodInUse(int lod) {
+        if (residency != null && lod >= 0 && lod <= COARSEST_LOD) {
+            residency.request(tileAtlasPaths[lod]);
+        }
+    }
+
+    @Override
+    public void onTextureEviction(TextureEvictionCallback<?> callback) {
+        evictionCallbacks.add(callback);
+    }
+
+    /**
+     * Called when the residency manager unloaded the atlas of a LOD.
+     */
+    public void onLodAtlasEvicted(int lod) {
+        pendingLods.remove(lod);
+        regionIndex.remove(lod);
+        // Regions of an unloaded atlas must not be handed out again
+        resolved.values().removeIf(entry -> entry.lod() == lod);
+        for (var cb : evictionCallbacks) {
+            @SuppressWarnings("unchecked")
+            TextureEvictionCallback<TileTextureProvider> typedCb = (TextureEvictionCallback<TileTextureProvider>) cb;
+            typedCb.onEvicted(this, lod);
+        }
+    }
+
     @Override
     public void onTextureUpgrade(TextureUpgradeCallback<?> callback) {
         // Only add if the callback is for TileTextureProvider
@@ -138,6 +241,9 @@ public final class LodAwareTileTextureProvider implements TileTextureProvider, T
     }
 
     public void onLodAtlasLoaded(int lod) {
+        regionIndex.remove(lod);
+        // Lookups that fell back past this LOD can now resolve finer
+        resolved.entrySet().removeIf(entry -> entry.getKey().lod() <= lod && entry.getValue().lod() > lod);
         notifyUpgrade(null, lod);
     }
 
@@ -0,0 +1,126 @@
+package io.github.hato1883.core.assets.management.textures;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import io.github.hato1883.api.LogManager;
+import io.github.hato1883.api.ui.model.RendererConfig;
+import io.github.hato1883.api.ui.screen.ICameraScreen;
+import org.slf4j.Logger;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * Streams LOD atlases in the order the camera needs them.
+ * <p>
+ * Each {@link #update()} reads the zoom of the screen's camera and maps it to a LOD with
+ * {@link RendererConfig#lodForZoom(float)}, the thresholds the board renderer uses. That LOD is requested
+ * first. Only once it is loaded is the next LOD in the direction the zoom is moving prefetched, so a
+ * prefetch never delays the LOD on screen. The direction comes from a smoothed zoom velocity, and a
+ * zoom that will cross a threshold within {@link #LOOKAHEAD_SECONDS} prefetches the LOD beyond it.
+ * Queued loads of any other LOD are canceled. Arrivals reach {@code TextureUpgradeNotifier} callbacks
+ * through the residency manager's queued listener, as with any other load.
+ */
+public final class LodStreamingScheduler {
+    private static final Logger LOGGER = LogManager.getLogger("TileTextures");
+
+    /** How far ahead the zoom is extrapolated when choosing the LOD to prefetch. */
+    public static final float LOOKAHEAD_SECONDS = 0.5f;
+
+    /** Zoom changes slower than this (zoom units per second) count as standing still. */
+    private static final float VELOCITY_EPSILON = 0.01f;
+    /** Weight of the newest sample in the velocity average. */
+    private static final float SMOOTHING = 0.3f;
+
+    private final TextureResidencyManager residency;
+    private final RendererConfig config;
+    private final ICameraScreen screen;
+    private final LongSupplier clock;
+
+    private float lastZoom = Float.NaN;
+    private long lastSampleNanos;
+    private float zoomVelocity;
+    private int targetLod = -1;
+    private int prefetchLod = -1;
+
+    public LodStreamingScheduler(TextureResidencyManager residency, RendererConfig config, ICameraScreen screen) {
+        this(residency, config, screen, System::nanoTime);
+    }
+
+    LodStreamingScheduler(TextureResidencyManager residency, RendererConfig config, ICameraScreen screen, LongSupplier clock) {
+        this.residency = residency;
+        this.config = config;
+        this.screen = screen;
+        this.clock = clock;
+    }
+
+    /**
+     * Samples the camera and adjusts the queued loads. Call once per frame before the asset manager updates;
+     * extra calls within the same frame are cheap.
+     */
+    public void update() {
+        OrthographicCamera camera = screen.getCamera();
+        if (camera == null) return;
+        sampleZoom(camera.zoom);
+
+        int coarsest = residency.getCoarsestLod();
+        if (coarsest < 0) return;
+        int target = Math.min(coarsest, config.lodForZoom(camera.zoom));
+        int prefetch = prefetchFor(target, coarsest);
+
+        Set<Integer> keep = new HashSet<>();
+        keep.add(target);
+        boolean targetLoaded = residency.requestLod(target);
+        if (targetLoaded && prefetch != target) {
+            keep.add(prefetch);
+            residency.requestLod(prefetch);
+        }
+        int canceled = residency.cancelQueued(keep);
+
+        if (target != targetLod || prefetch != prefetchLod || canceled > 0) {
+            LOGGER.debug("Streaming LOD({}) prefetch LOD({}), zoom={} velocity={}/s, canceled {} load(s)",
+                target, prefetch, camera.zoom, zoomVelocity, canceled);
+            targetLod = target;
+            prefetchLod = prefetch;
+        }
+    }
+
+    public int getTargetLod() {
+        return targetLod;
+    }
+
+    public int getPrefetchLod() {
+        return prefetchLod;
+    }
+
+    public float getZoomVelocity() {
+        return zoomVelocity;
+    }
+
+    private void sampleZoom(float zoom) {
+        long now = clock.getAsLong();
+        if (Float.isNaN(lastZoom)) {
+            lastZoom = zoom;
+            lastSampleNanos = now;
+            return;
+        }
+        float seconds = (now - lastSampleNanos) / 1_000_000_000f;
+        if (seconds < 0.001f) return; // Same frame, keep the last estimate
+        float velocity = (zoom - lastZoom) / seconds;
+        zoomVelocity += SMOOTHING * (velocity - zoomVelocity);
+        lastZoom = zoom;
+        lastSampleNanos = now;
+    }
+
+    private int prefetchFor(int target, int coarsest) {
+        if (Math.abs(zoomVelocity) < VELOCITY_EPSILON) return target;
+        // A smaller zoom shows tiles larger, which needs a finer (lower) LOD
+        int direction = zoomVelocity < 0 ? -1 : 1;
+        // Clamped to the camera's range; a fast zoom in would otherwise extrapolate past zero,
+        // which lodForZoom maps to the coarsest LOD
+        float predictedZoom = Math.max(config.minZoom(), Math.min(config.maxZoom(), lastZoom + zoomVelocity * LOOKAHEAD_SECONDS));
+        int predicted = Math.min(coarsest, config.lodForZoom(predictedZoom));
+        if (predicted != target) return predicted;
+        return Math.max(0, Math.min(coarsest, target + direction));
+    }
+}
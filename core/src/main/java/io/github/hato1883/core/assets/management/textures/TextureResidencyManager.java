@@ -0,0 +1,300 @@
+package io.github.hato1883.core.assets.management.textures;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import io.github.hato1883.api.LogManager;
+import org.slf4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Keeps LOD atlases resident within a memory budget on top of an {@link AssetManager}.
+ * <p>
+ * Every atlas is registered with a size estimate read from its {@code .atlas} descriptor (page sizes,
+ * 4 bytes per pixel, plus a third for mipmaps), so nothing has to be loaded to know its cost. Users
+ * mark atlases as used; {@link #endFrame()} advances the frame counter and, while the loaded atlases
+ * exceed the budget, unloads the least recently used one that was not used for
+ * {@link #EVICTION_GRACE_FRAMES} frames. Atlases of the coarsest LOD are pinned, so a fallback always
+ * stays resident, as are atlases registered pinned because nothing marks them as used.
+ * {@link #request(String)} queues an evicted atlas for loading again. {@link #endFrame()} must run once
+ * per rendered frame, since the grace period is counted in calls.
+ * <p>
+ * Atlases are loaded through an {@link AtlasPageUploader} when one is given, so pages decode off the
+ * render thread and upload within a frame budget, and through the {@link AssetManager} otherwise.
+ * <p>
+ * Not thread-safe; use from the render thread only, like the {@link AssetManager} itself.
+ */
+public final class TextureResidencyManager {
+    private static final Logger LOGGER = LogManager.getLogger("TileTextures");
+
+    /** Budget used when none is configured. */
+    public static final long DEFAULT_BUDGET_BYTES = 256L * 1024 * 1024;
+
+    /** Frames an atlas must go unused before it may be evicted, so zooming back and forth does not thrash. */
+    public static final int EVICTION_GRACE_FRAMES = 120;
+
+    private final AssetManager assetManager;
+    private final AtlasPageUploader uploader;
+    private final long budgetBytes;
+    private final Map<String, Resident> atlases = new LinkedHashMap<>();
+    private BiConsumer<String, Integer> queuedListener = (path, lod) -> {};
+    private BiConsumer<String, Integer> evictionListener = (path, lod) -> {};
+    private long frame;
+
+    private static final class Resident {
+        private final String path;
+        private final int lod;
+        private final long bytes;
+        private final boolean alwaysPinned;
+        private boolean pinned;
+        private long lastUsedFrame;
+
+        private Resident(String path, int lod, long bytes, boolean alwaysPinned) {
+            this.path = path;
+            this.lod = lod;
+            this.bytes = bytes;
+            this.alwaysPinned = alwaysPinned;
+        }
+    }
+
+    public TextureResidencyManager(AssetManager assetManager, long budgetBytes) {
+        this(assetManager, null, budgetBytes);
+    }
+
+    /**
+     * @param uploader loader for atlases, or {@code null} to load them through the {@link AssetManager}
+     */
+    public TextureResidencyManager(AssetManager assetManager, AtlasPageUploader uploader, long budgetBytes) {
+        if (budgetBytes <= 0) {
+            throw new IllegalArgumentException("budgetBytes must be positive: " + budgetBytes);
+        }
+        this.assetManager = Objects.requireNonNull(assetManager, "assetManager must not be null");
+        this.uploader = uploader;
+        this.budgetBytes = budgetBytes;
+    }
+
+    /**
+     * Called with the path and LOD of every atlas queued for loading, including reloads after eviction.
+     */
+    public void setQueuedListener(BiConsumer<String, Integer> listener) {
+        this.queuedListener = Objects.requireNonNull(listener, "listener must not be null");
+    }
+
+    /**
+     * Called with the path and LOD of every atlas unloaded to stay within the budget.
+     */
+    public void setEvictionListener(BiConsumer<String, Integer> listener) {
+        this.evictionListener = Objects.requireNonNull(listener, "listener must not be null");
+    }
+
+    /**
+     * Registers an atlas on disk. Atlases of the coarsest registered LOD are pinned.
+     */
+    public void register(Path atlasPath, int lod) {
+        register(atlasPath, lod, false);
+    }
+
+    /**
+     * Registers an atlas on disk.
+     *
+     * @param pinned keeps the atlas resident at every LOD; for atlases whose users do not {@link #touch} them
+     */
+    public void register(Path atlasPath, int lod, boolean pinned) {
+        String key = atlasPath.toString();
+        if (atlases.containsKey(key)) return;
+        atlases.put(key, new Resident(key, lod, estimateBytes(atlasPath), pinned));
+        int coarsest = atlases.values().stream().mapToInt(r -> r.lod).max().orElse(lod);
+        for (Resident resident : atlases.values()) {
+            resident.pinned = resident.alwaysPinned || resident.lod == coarsest;
+        }
+    }
+
+    /**
+     * Queues the atlases that fit the budget, coarsest LOD first; pinned atlases are always queued.
+     */
+    public void queueWithinBudget() {
+        List<Resident> byCoarseness = new ArrayList<>(atlases.values());
+        byCoarseness.sort(Comparator.comparingInt((Resident r) -> r.lod).reversed());
+        long planned = 0;
+        for (Resident resident : byCoarseness) {
+            if (resident.pinned || planned + resident.bytes <= budgetBytes) {
+                planned += resident.bytes;
+                queue(resident);
+            } else {
+                LOGGER.info("Deferring LOD({}) atlas {}: {} bytes over budget", resident.lod, resident.path, planned + resident.bytes - budgetBytes);
+            }
+        }
+    }
+
+    /**
+     * Queues only the pinned atlases, leaving every other LOD to be requested on demand.
+     */
+    public void queuePinned() {
+        for (Resident resident : atlases.values()) {
+            if (resident.pinned && !isQueuedOrLoaded(resident.path)) queue(resident);
+        }
+    }
+
+    /**
+     * Requests every atlas of a LOD, see {@link #request(String)}.
+     *
+     * @return {@code true} if all atlases of the LOD are loaded
+     */
+    public boolean requestLod(int lod) {
+        boolean loaded = true;
+        for (Resident resident : atlases.values()) {
+            if (resident.lod == lod) loaded &= request(resident.path);
+        }
+        return loaded;
+    }
+
+    /**
+     * Removes queued atlases that have not finished loading, unless pinned or of a LOD in {@code keep}.
+     *
+     * @return number of loads canceled
+     */
+    public int cancelQueued(Set<Integer> keep) {
+        int canceled = 0;
+        for (Resident resident : atlases.values()) {
+            if (resident.pinned || keep.contains(resident.lod)) continue;
+            if (isQueuedOrLoaded(resident.path) && !assetManager.isLoaded(resident.path, TextureAtlas.class)) {
+                if (uploader != null && uploader.isLoading(resident.path)) {
+                    uploader.cancel(resident.path);
+                } else {
+                    assetManager.unload(resident.path);
+                }
+                canceled++;
+            }
+        }
+        return canceled;
+    }
+
+    /**
+     * @return the coarsest registered LOD, whose atlases are pinned, or {@code -1} if none is registered
+     */
+    public int getCoarsestLod() {
+        return atlases.values().stream().mapToInt(r -> r.lod).max().orElse(-1);
+    }
+
+    /**
+     * Marks an atlas as used in the current frame.
+     */
+    public void touch(String atlasPath) {
+        Resident resident = atlases.get(atlasPath);
+        if (resident != null) resident.lastUsedFrame = frame;
+    }
+
+    /**
+     * Marks an atlas as used and queues it for loading if it is not resident.
+     *
+     * @return {@code true} if the atlas is loaded and can be used right away
+     */
+    public boolean request(String atlasPath) {
+        Resident resident = atlases.get(atlasPath);
+        if (resident == null) return assetManager.isLoaded(atlasPath, TextureAtlas.class);
+        resident.lastUsedFrame = frame;
+        if (assetManager.isLoaded(atlasPath, TextureAtlas.class)) return true;
+        if (!isQueuedOrLoaded(atlasPath)) queue(resident);
+        return false;
+    }
+
+    /**
+     * Queues an atlas if needed and blocks until it is loaded.
+     */
+    public void finishLoading(String atlasPath) {
+        Resident resident = atlases.get(atlasPath);
+        if (resident != null) {
+            resident.lastUsedFrame = frame;
+            if (!isQueuedOrLoaded(atlasPath)) queue(resident);
+        }
+        if (uploader != null && uploader.isLoading(atlasPath)) {
+            uploader.finishLoading(atlasPath);
+        } else {
+            assetManager.finishLoadingAsset(atlasPath);
+        }
+    }
+
+    /**
+     * Advances to the next frame and unloads cold atlases while over budget. Call once per rendered frame.
+     */
+    public void endFrame() {
+        frame++;
+        long resident = getResidentBytes();
+        while (resident > budgetBytes) {
+            Resident victim = null;
+            for (Resident candidate : atlases.values()) {
+                if (candidate.pinned || frame - candidate.lastUsedFrame <= EVICTION_GRACE_FRAMES) continue;
+                if (!assetManager.isLoaded(candidate.path, TextureAtlas.class)) continue;
+                // Oldest first; among equally old atlases the finest LOD frees the most memory
+                if (victim == null || candidate.lastUsedFrame < victim.lastUsedFrame
+                    || (candidate.lastUsedFrame == victim.lastUsedFrame && candidate.lod < victim.lod)) {
+                    victim = candidate;
+                }
+            }
+            if (victim == null) return; // Everything over budget is in use
+            assetManager.unload(victim.path);
+            resident -= victim.bytes;
+            LOGGER.info("Evicted LOD({}) atlas {} ({} bytes) to stay within {} bytes", victim.lod, victim.path, victim.bytes, budgetBytes);
+            evictionListener.accept(victim.path, victim.lod);
+        }
+    }
+
+    /**
+     * @return estimated bytes of all loaded or loading atlases
+     */
+    public long getResidentBytes() {
+        long total = 0;
+        for (Resident resident : atlases.values()) {
+            if (isQueuedOrLoaded(resident.path)) total += resident.bytes;
+        }
+        return total;
+    }
+
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    private boolean isQueuedOrLoaded(String atlasPath) {
+        return assetManager.contains(atlasPath) || (uploader != null && uploader.isLoading(atlasPath));
+    }
+
+    private void queue(Resident resident) {
+        if (uploader != null) {
+            uploader.load(resident.path, resident.lod);
+        } else {
+            assetManager.load(resident.path, TextureAtlas.class);
+        }
+        resident.lastUsedFrame = frame;
+        queuedListener.accept(resident.path, resident.lod);
+    }
+
+    /**
+     * Sums the pages of an atlas descriptor. Page headers are the only unindented {@code size:} lines
+     * in both the legacy and the current libGDX atlas format.
+     */
+    static long estimateBytes(Path atlasPath) {
+        long bytes = 0;
+        try (BufferedReader reader = Files.newBufferedReader(atlasPath)) {
+            long pageBytes = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("size:")) {
+                    bytes += pageBytes;
+                    String[] size = line.substring(5).split(",");
+                    pageBytes = 4L * Long.parseLong(size[0].trim()) * Long.parseLong(size[1].trim());
+                } else if (line.startsWith("filter:") && line.contains("MipMap")) {
+                    pageBytes += pageBytes / 3;
+                }
+            }
+            bytes += pageBytes;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Could not estimate size of atlas {}: {}", atlasPath, e.getMessage());
+        }
+        return bytes;
+    }
+}
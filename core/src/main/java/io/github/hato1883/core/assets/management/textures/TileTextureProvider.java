@@ -10,5 +10,11 @@ public interface TileTextureProvider extends TextureProvider<TileTextureProvider
      * @return a texture region, possibly a lower-res fallback
      */
     TextureRegion getTileTexture(int lod, Identifier tileTypeId);
+
+    /**
+     * Marks the tile textures of a LOD as in use this frame.
+     */
+    default void markLodInUse(int lod) {
+    }
 }
 
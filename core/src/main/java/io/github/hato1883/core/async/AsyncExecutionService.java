@@ -2,6 +2,7 @@ package io.github.hato1883.core.async;
 
 
 import io.github.hato1883.api.async.IAsyncExecutionService;
+import io.github.hato1883.api.async.TaskPool;
 import io.github.hato1883.core.config.AsyncExecutorConfig;
 
 import java.util.Collection;
@@ -55,14 +56,24 @@ public class AsyncExecutionService implements IAsyncExecutionService {
 
     @Override
     public CompletableFuture<Void> executeAsync(Runnable task, String taskName) {
-        checkNotShutdown();
-        return CompletableFuture.runAsync(wrapWithErrorHandling(task, taskName), getAppropriateExecutor(taskName));
+        return executeAsync(task, taskName, TaskPool.GENERAL);
     }
 
     @Override
     public <T> CompletableFuture<T> executeAsync(Supplier<T> task, String taskName) {
+        return executeAsync(task, taskName, TaskPool.GENERAL);
+    }
+
+    @Override
+    public CompletableFuture<Void> executeAsync(Runnable task, String taskName, TaskPool pool) {
         checkNotShutdown();
-        return CompletableFuture.supplyAsync(wrapSupplierWithErrorHandling(task, taskName), getAppropriateExecutor(taskName));
+        return CompletableFuture.runAsync(wrapWithErrorHandling(task, taskName), executorFor(pool));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> executeAsync(Supplier<T> task, String taskName, TaskPool pool) {
+        checkNotShutdown();
+        return CompletableFuture.supplyAsync(wrapSupplierWithErrorHandling(task, taskName), executorFor(pool));
     }
 
     @Override
@@ -116,15 +127,12 @@ public class AsyncExecutionService implements IAsyncExecutionService {
     }
 
     // Private helper methods (SRP)
-    private ExecutorService getAppropriateExecutor(String taskName) {
-        // Route IO-heavy tasks to IO pool (file loading, network, etc.)
-        if (taskName.contains("load") || taskName.contains("io") || taskName.contains("file")) {
-            return ioPool;
-        }
-        if (taskName.contains("event")) {
-            return scheduledPool;
-        }
-        return generalPool;
+    private ExecutorService executorFor(TaskPool pool) {
+        return switch (pool) {
+            case IO -> ioPool;
+            case EVENT -> scheduledPool;
+            case GENERAL -> generalPool;
+        };
     }
 
     private Runnable wrapWithErrorHandling(Runnable task, String taskName) {
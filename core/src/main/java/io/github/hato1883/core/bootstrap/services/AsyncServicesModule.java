@@ -13,6 +13,7 @@ import io.github.hato1883.core.config.AsyncExecutorConfig;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.Set;
 import java.util.function.Supplier;
 
 public class AsyncServicesModule implements IServiceModule {
@@ -28,6 +29,15 @@ public class AsyncServicesModule implements IServiceModule {
         return "AsyncServices";
     }
 
+    @Override
+    public Set<Class<?>> getProvidedServices() {
+        return Set.of(
+            IAsyncExecutionService.class,
+            IEventBusService.class,
+            IEventListenerRegistrar.class
+        );
+    }
+
     private void registerAsyncExecutionService(IServiceRegistrar registrar) {
         AsyncExecutorConfig config = new AsyncExecutorConfig.Builder()
             .withGeneralPoolSize(getOptimalGeneralPoolSize())
@@ -13,5 +13,10 @@ public class EventsFacadeModule implements IServiceModule {
     public String getModuleName() {
         return "EventsFacadeModule";
     }
+
+    @Override
+    public boolean isFacadeModule() {
+        return true;
+    }
 }
 
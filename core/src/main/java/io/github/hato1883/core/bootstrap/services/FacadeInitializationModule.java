@@ -18,5 +18,10 @@ public class FacadeInitializationModule implements IServiceModule {
     public String getModuleName() {
         return "FacadeInitializationModule";
     }
+
+    @Override
+    public boolean isFacadeModule() {
+        return true;
+    }
 }
 
@@ -13,5 +13,10 @@ public class FactoriesFacadeModule implements IServiceModule {
     public String getModuleName() {
         return "FactoriesFacadeModule";
     }
+
+    @Override
+    public boolean isFacadeModule() {
+        return true;
+    }
 }
 
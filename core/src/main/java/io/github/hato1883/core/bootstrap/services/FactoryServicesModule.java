@@ -8,6 +8,7 @@ import io.github.hato1883.api.services.IServiceRegistrar;
 import io.github.hato1883.core.factories.TileTypeFactory;
 import io.github.hato1883.core.factories.ResourceTypeFactory;
 
+import java.util.Set;
 import java.util.function.Supplier;
 
 public class FactoryServicesModule implements IServiceModule {
@@ -23,4 +24,12 @@ public class FactoryServicesModule implements IServiceModule {
     public String getModuleName() {
         return "FactoryServices";
     }
+
+    @Override
+    public Set<Class<?>> getProvidedServices() {
+        return Set.of(
+            ITileTypeFactory.class,
+            IResourceTypeFactory.class
+        );
+    }
 }
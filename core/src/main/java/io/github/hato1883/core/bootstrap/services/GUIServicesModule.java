@@ -15,6 +15,7 @@ import io.github.hato1883.core.assets.management.loaders.RenderAssetLoader;
 import io.github.hato1883.core.ui.gui.screen.ScreenManager;
 import io.github.hato1883.core.ui.gui.screen.ScreenRegistryImpl;
 
+import java.util.Set;
 import java.util.function.Supplier;
 
 /**
@@ -42,4 +43,20 @@ public class GUIServicesModule implements IServiceModule {
     public String getModuleName() {
         return "GUIServicesModule";
     }
+
+    @Override
+    public Set<Class<?>> getProvidedServices() {
+        return Set.of(
+            ScreenRegistry.class,
+            IScreenManager.class,
+            RenderAssetLoader.class,
+            IAssetProvider.class,
+            IBoardView.class
+        );
+    }
+
+    @Override
+    public Set<Class<?>> getRequiredServices() {
+        return Set.of(BoardProvider.class);
+    }
 }
@@ -7,6 +7,7 @@ import io.github.hato1883.api.world.board.IBoardGenerator;
 import io.github.hato1883.api.services.IServiceModule;
 import io.github.hato1883.core.world.board.DefaultBoardGenerator;
 
+import java.util.Set;
 import java.util.function.Supplier;
 
 public class GameLogicServicesModule implements IServiceModule {
@@ -30,4 +31,17 @@ public class GameLogicServicesModule implements IServiceModule {
     public String getModuleName() {
         return "GameLogicServices";
     }
+
+    @Override
+    public Set<Class<?>> getProvidedServices() {
+        return Set.of(
+            IBoardGenerator.class,
+            BoardProvider.class
+        );
+    }
+
+    @Override
+    public Set<Class<?>> getRequiredServices() {
+        return Set.of(IBoardTypeRegistry.class);
+    }
 }
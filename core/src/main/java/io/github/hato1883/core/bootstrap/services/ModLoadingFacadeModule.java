@@ -13,5 +13,10 @@ public class ModLoadingFacadeModule implements IServiceModule {
     public String getModuleName() {
         return "ModLoadingFacadeModule";
     }
+
+    @Override
+    public boolean isFacadeModule() {
+        return true;
+    }
 }
 
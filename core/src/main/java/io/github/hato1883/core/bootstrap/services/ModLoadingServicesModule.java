@@ -13,10 +13,13 @@ import io.github.hato1883.core.events.listeners.ClassGraphListenerScanner;
 import io.github.hato1883.core.modloading.assets.ModTextureModAssetLoader;
 import io.github.hato1883.core.modloading.assets.textures.CombinedTextureDiscoveryService;
 import io.github.hato1883.core.modloading.assets.textures.DefaultTextureAtlasBuilder;
+import io.github.hato1883.core.modloading.assets.textures.LodGeneratingTextureDiscovery;
 import io.github.hato1883.core.modloading.dependency.DependencyResolver;
 import io.github.hato1883.core.modloading.loading.*;
 import io.github.hato1883.core.common.util.PathResolver;
 
+import java.nio.file.Path;
+import java.util.Set;
 import java.util.function.Supplier;
 
 public class ModLoadingServicesModule implements IServiceModule {
@@ -60,13 +63,24 @@ public class ModLoadingServicesModule implements IServiceModule {
                 serviceContainer
             )
         );
-        serviceContainer.registerIfAbsent(IModAssetLoader.class, (Supplier<? extends IModAssetLoader>) () ->
-                new ModTextureModAssetLoader(
+        serviceContainer.registerIfAbsent(IModAssetLoader.class, (Supplier<? extends IModAssetLoader>) () -> {
+            AssetConfig assetConfig = AssetConfig.defaultConfig();
+            IAsyncExecutionService async = serviceContainer.require(IAsyncExecutionService.class);
+            Path texturesDir = PathResolver.getGameDataDir().resolve("assets").resolve("textures");
+            return new ModTextureModAssetLoader(
+                new LodGeneratingTextureDiscovery(
                     new CombinedTextureDiscoveryService(),
-                    new DefaultTextureAtlasBuilder(AssetConfig.defaultConfig()),
-                    PathResolver.getGameDataDir().resolve("assets").resolve("textures")
-                )
-        );
+                    assetConfig.lodSizes(),
+                    texturesDir.resolve("generated"),
+                    async
+                ),
+                new DefaultTextureAtlasBuilder(assetConfig, async),
+                texturesDir,
+                async,
+                serviceContainer.require(IEventBusService.class),
+                ModTextureModAssetLoader.DEFAULT_MAX_CONCURRENT_BUILDS
+            );
+        });
         serviceContainer.registerIfAbsent(IModInitializer.class, (Supplier<? extends IModInitializer>) DefaultModInitializer::new);
 
         // Add other game logic services as they're created
@@ -78,4 +92,23 @@ public class ModLoadingServicesModule implements IServiceModule {
     public String getModuleName() {
         return "ModLoadingServices";
     }
+
+    @Override
+    public Set<Class<?>> getProvidedServices() {
+        return Set.of(
+            IModDiscovery.class,
+            IDependencyResolver.class,
+            IModMetadataReader.class,
+            IModClassLoaderFactory.class,
+            IModListenerScanner.class,
+            IRegistryLoader.class,
+            IModAssetLoader.class,
+            IModInitializer.class
+        );
+    }
+
+    @Override
+    public Set<Class<?>> getRequiredServices() {
+        return Set.of(IAsyncExecutionService.class, IEventBusService.class, IEventListenerRegistrar.class);
+    }
 }
@@ -13,5 +13,10 @@ public class RegistriesFacadeModule implements IServiceModule {
     public String getModuleName() {
         return "RegistriesFacadeModule";
     }
+
+    @Override
+    public boolean isFacadeModule() {
+        return true;
+    }
 }
 
@@ -8,6 +8,7 @@ import io.github.hato1883.api.services.IServiceModule;
 import io.github.hato1883.api.services.IServiceRegistrar;
 import io.github.hato1883.core.registries.*;
 
+import java.util.Set;
 import java.util.function.Supplier;
 
 public class RegistryServicesModule implements IServiceModule {
@@ -24,6 +25,25 @@ public class RegistryServicesModule implements IServiceModule {
         return "RegistryServices";
     }
 
+    @Override
+    public Set<Class<?>> getProvidedServices() {
+        return Set.of(
+            IBoardTypeRegistry.class,
+            IBuildingTypeRegistry.class,
+            IGamePhaseRegistry.class,
+            IPortTypeRegistry.class,
+            IUIBatchingJobRegistry.class,
+            IResourceTypeRegistry.class,
+            IRoadTypeRegistry.class,
+            ITileTypeRegistry.class
+        );
+    }
+
+    @Override
+    public Set<Class<?>> getRequiredServices() {
+        return Set.of(IEventBusService.class, ITileTypeFactory.class);
+    }
+
     private void registerGameRegistries(IServiceContainer registrar) {
         registrar.registerIfAbsent(
             IBoardTypeRegistry.class, (Supplier<? extends IBoardTypeRegistry>) () -> new BoardTypeRegistry(
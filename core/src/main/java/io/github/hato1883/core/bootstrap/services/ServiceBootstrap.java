@@ -10,6 +10,7 @@ public final class ServiceBootstrap {
 
     private static IServiceContainer provider;
     private static boolean init = false;
+    private static ServiceStartupReport startupReport;
 
     /**
      * Initializes a singleton instance of a ServiceContainer with core services.
@@ -46,6 +47,7 @@ public final class ServiceBootstrap {
             .build();
 
         moduleManager.registerAllServices(provider);
+        startupReport = moduleManager.getLastReport();
     }
 
     /**
@@ -68,5 +70,19 @@ public final class ServiceBootstrap {
             .build();
 
         moduleManager.registerAllServices(provider);
+        startupReport = moduleManager.getLastReport();
+    }
+
+    /**
+     * Retrieves the per-module timing of the service startup.
+     *
+     * @return startup timing report
+     * @throws IllegalStateException if not initialized
+     */
+    public static ServiceStartupReport getStartupReport() {
+        if (!init) {
+            throw new IllegalStateException("ServiceBootstrap is not initialized!");
+        }
+        return startupReport;
     }
 }
@@ -1,14 +1,28 @@
 package io.github.hato1883.core.bootstrap.services;
 
+import io.github.hato1883.api.LogManager;
+import io.github.hato1883.api.async.IAsyncExecutionService;
+import io.github.hato1883.api.async.TaskPool;
 import io.github.hato1883.api.services.*;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.stream.Collectors;
 
+/**
+ * Runs {@link IServiceModule}s against a service container.
+ * <p>
+ * Modules are ordered by the services they declare as provided and required. Modules whose
+ * dependencies are satisfied form a wave; the modules of a wave run concurrently on the async pool
+ * once {@link IAsyncExecutionService} has been registered, otherwise on the calling thread.
+ * Modules that declare nothing keep their list order: they run after every module listed before them,
+ * and every module listed after them runs after them. Facade modules always run last, in list order,
+ * on the calling thread.
+ */
 public class ServiceModuleManager {
     private final List<IServiceModule> modules = new ArrayList<>();
+    private volatile ServiceStartupReport lastReport;
 
     // Builder pattern for easy configuration
     public static class Builder {
@@ -61,14 +75,31 @@ public class ServiceModuleManager {
     }
 
     public void registerAllServices(IServiceContainer registrar) {
+        long start = System.nanoTime();
+        List<IServiceModule> services = new ArrayList<>();
+        List<IServiceModule> facades = new ArrayList<>();
         for (IServiceModule module : modules) {
-            try {
-                module.registerServices(registrar);
-            } catch (ServiceLocatorException | IllegalArgumentException e) {
-                throw new ServiceRegistrationException(
-                    "Failed to register services from module: " + module.getModuleName(), e);
-            }
+            (module.isFacadeModule() ? facades : services).add(module);
+        }
+
+        List<ServiceStartupReport.ModuleTiming> timings = Collections.synchronizedList(new ArrayList<>());
+        List<List<IServiceModule>> waves = buildWaves(services);
+        for (int wave = 0; wave < waves.size(); wave++) {
+            runWave(waves.get(wave), wave, registrar, timings);
         }
+        for (IServiceModule facade : facades) {
+            timings.add(runModule(facade, waves.size(), registrar));
+        }
+
+        lastReport = new ServiceStartupReport(timings, System.nanoTime() - start);
+        LogManager.getLogger("Services").info(lastReport.toString());
+    }
+
+    /**
+     * @return the timing report of the last {@link #registerAllServices} call, or {@code null} before it
+     */
+    public ServiceStartupReport getLastReport() {
+        return lastReport;
     }
 
     public List<String> getRegisteredModuleNames() {
@@ -76,4 +107,123 @@ public class ServiceModuleManager {
             .map(IServiceModule::getModuleName)
             .collect(Collectors.toList());
     }
+
+    private void runWave(List<IServiceModule> wave, int index, IServiceContainer registrar,
+                         List<ServiceStartupReport.ModuleTiming> timings) {
+        Optional<IAsyncExecutionService> async = wave.size() > 1
+            ? registrar.get(IAsyncExecutionService.class)
+            : Optional.empty();
+        if (async.isEmpty()) {
+            for (IServiceModule module : wave) {
+                timings.add(runModule(module, index, registrar));
+            }
+            return;
+        }
+
+        // The first module runs on the calling thread while the rest run on the pool.
+        // The async service logs and swallows task exceptions, so failures are collected here instead.
+        Queue<RuntimeException> failures = new ConcurrentLinkedQueue<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (IServiceModule module : wave.subList(1, wave.size())) {
+            futures.add(async.get().executeAsync((Runnable) () -> {
+                try {
+                    timings.add(runModule(module, index, registrar));
+                } catch (RuntimeException e) {
+                    failures.add(e);
+                }
+            }, "ServiceModule-" + module.getModuleName(), TaskPool.GENERAL));
+        }
+        try {
+            timings.add(runModule(wave.get(0), index, registrar));
+        } catch (RuntimeException e) {
+            failures.add(e);
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        RuntimeException failure = failures.poll();
+        if (failure != null) {
+            failures.forEach(failure::addSuppressed);
+            throw failure;
+        }
+    }
+
+    private ServiceStartupReport.ModuleTiming runModule(IServiceModule module, int wave, IServiceContainer registrar) {
+        long start = System.nanoTime();
+        try {
+            module.registerServices(registrar);
+        } catch (ServiceLocatorException | IllegalArgumentException e) {
+            throw new ServiceRegistrationException(
+                "Failed to register services from module: " + module.getModuleName(), e);
+        }
+        return new ServiceStartupReport.ModuleTiming(
+            module.getModuleName(), wave, System.nanoTime() - start, Thread.currentThread().getName());
+    }
+
+    /**
+     * Groups modules into dependency levels (Kahn's algorithm), keeping list order within a level.
+     */
+    private static List<List<IServiceModule>> buildWaves(List<IServiceModule> modules) {
+        int count = modules.size();
+        Map<Class<?>, List<Integer>> providers = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            for (Class<?> type : modules.get(i).getProvidedServices()) {
+                providers.computeIfAbsent(type, t -> new ArrayList<>()).add(i);
+            }
+        }
+
+        List<Set<Integer>> dependencies = new ArrayList<>(count);
+        int lastUndeclared = -1;
+        for (int i = 0; i < count; i++) {
+            IServiceModule module = modules.get(i);
+            Set<Integer> deps = new TreeSet<>();
+            if (isUndeclared(module)) {
+                for (int j = 0; j < i; j++) deps.add(j);
+                lastUndeclared = i;
+            } else {
+                if (lastUndeclared >= 0) deps.add(lastUndeclared);
+                for (Class<?> type : module.getRequiredServices()) {
+                    for (int provider : providers.getOrDefault(type, List.of())) {
+                        if (provider != i) deps.add(provider);
+                    }
+                }
+            }
+            dependencies.add(deps);
+        }
+
+        List<List<IServiceModule>> waves = new ArrayList<>();
+        boolean[] done = new boolean[count];
+        int remaining = count;
+        while (remaining > 0) {
+            List<Integer> ready = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                if (!done[i] && allDone(dependencies.get(i), done)) ready.add(i);
+            }
+            if (ready.isEmpty()) {
+                List<String> cyclic = new ArrayList<>();
+                for (int i = 0; i < count; i++) {
+                    if (!done[i]) cyclic.add(modules.get(i).getModuleName());
+                }
+                throw new ServiceRegistrationException("Cyclic service module dependencies between: " + cyclic);
+            }
+            List<IServiceModule> wave = new ArrayList<>(ready.size());
+            for (int i : ready) {
+                done[i] = true;
+                wave.add(modules.get(i));
+            }
+            remaining -= ready.size();
+            waves.add(wave);
+        }
+        return waves;
+    }
+
+    private static boolean isUndeclared(IServiceModule module) {
+        return module.getProvidedServices().isEmpty() && module.getRequiredServices().isEmpty();
+    }
+
+    private static boolean allDone(Set<Integer> dependencies, boolean[] done) {
+        for (int dependency : dependencies) {
+            if (!done[dependency]) return false;
+        }
+        return true;
+    }
 }
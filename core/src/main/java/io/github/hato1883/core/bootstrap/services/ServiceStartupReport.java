@@ -0,0 +1,62 @@
+package io.github.hato1883.core.bootstrap.services;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timing of one service startup, as produced by {@link ServiceModuleManager#registerAllServices}.
+ * <p>
+ * Modules in the same wave had no dependencies on each other and ran concurrently, so the wall-clock
+ * time of a wave is that of its slowest module. Facade modules run last and are reported in their own wave.
+ *
+ * @param timings    one entry per module, in completion order
+ * @param totalNanos wall-clock time of the whole startup
+ */
+public record ServiceStartupReport(List<ModuleTiming> timings, long totalNanos) {
+
+    /**
+     * @param moduleName  {@code IServiceModule.getModuleName()}
+     * @param wave        dependency level the module ran in, starting at 0
+     * @param nanos       time spent in {@code registerServices}
+     * @param threadName  thread the module ran on
+     */
+    public record ModuleTiming(String moduleName, int wave, long nanos, String threadName) {
+        public double millis() {
+            return nanos / 1_000_000.0;
+        }
+    }
+
+    public ServiceStartupReport {
+        timings = List.copyOf(timings);
+    }
+
+    public double totalMillis() {
+        return totalNanos / 1_000_000.0;
+    }
+
+    /**
+     * @return the timings sorted from slowest to fastest
+     */
+    public List<ModuleTiming> slowestFirst() {
+        return timings.stream()
+            .sorted(Comparator.comparingLong(ModuleTiming::nanos).reversed())
+            .toList();
+    }
+
+    /**
+     * @return a single log line, e.g. {@code "Services started in 12 ms: AsyncServices 3.10 ms (wave 0), ..."}
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Services started in ")
+            .append(TimeUnit.NANOSECONDS.toMillis(totalNanos)).append(" ms:");
+        String separator = " ";
+        for (ModuleTiming timing : timings) {
+            sb.append(separator).append(timing.moduleName())
+                .append(String.format(" %.2f ms (wave %d)", timing.millis(), timing.wave()));
+            separator = ", ";
+        }
+        return sb.toString();
+    }
+}
@@ -13,5 +13,10 @@ public class ServicesFacadeModule implements IServiceModule {
     public String getModuleName() {
         return "ServicesFacadeModule";
     }
+
+    @Override
+    public boolean isFacadeModule() {
+        return true;
+    }
 }
 
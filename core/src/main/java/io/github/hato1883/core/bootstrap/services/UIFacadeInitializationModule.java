@@ -19,4 +19,9 @@ public class UIFacadeInitializationModule implements IServiceModule {
     public String getModuleName() {
         return "UIFacadeInitializationModule";
     }
+
+    @Override
+    public boolean isFacadeModule() {
+        return true;
+    }
 }
@@ -6,6 +6,7 @@ import io.github.hato1883.api.events.IEvent;
 import io.github.hato1883.api.events.IEventListener;
 import io.github.hato1883.api.events.IEventBus;
 import io.github.hato1883.api.async.IAsyncExecutionService;
+import io.github.hato1883.api.async.TaskPool;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -76,7 +77,7 @@ public class EventBus implements IEventBus {
         if (eventListeners.isEmpty()) return;
 
         // Submit async task that captures the current state of listeners
-        asyncExecutor.executeAsync(() -> dispatchToListeners(event, eventListeners), "event-dispatch");
+        asyncExecutor.executeAsync(() -> dispatchToListeners(event, eventListeners), "event-dispatch", TaskPool.EVENT);
     }
 
     @Override
@@ -5,13 +5,15 @@ import io.github.classgraph.ScanResult;
 import io.github.hato1883.api.LogManager;
 import io.github.hato1883.api.events.IEventListenerRegistrar;
 import io.github.hato1883.api.mod.load.ILoadedMod;
-import io.github.hato1883.api.mod.load.IModListenerScanner;
 import io.github.hato1883.api.async.IAsyncExecutionService;
+import io.github.hato1883.api.async.TaskPool;
 import org.slf4j.Logger;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
@@ -19,7 +21,7 @@ import java.util.concurrent.Future;
  * Uses ClassGraph to find classes with methods annotated with EventListener.
  * Executor is injected to allow lifecycle control and easier testing.
  */
-public class ClassGraphListenerScanner implements IModListenerScanner {
+public class ClassGraphListenerScanner implements IndexedListenerScanner {
 
     private static final Logger LOGGER = LogManager.getLogger("ListenerScanner");
 
@@ -33,11 +35,17 @@ public class ClassGraphListenerScanner implements IModListenerScanner {
 
     @Override
     public void scanAndRegister(List<ILoadedMod> mods) {
-        if (mods == null || mods.isEmpty()) return;
+        scanAndRegisterIndexed(mods);
+    }
+
+    @Override
+    public Map<String, List<String>> scanAndRegisterIndexed(List<ILoadedMod> mods) {
+        Map<String, List<String>> index = new LinkedHashMap<>();
+        if (mods == null || mods.isEmpty()) return index;
 
         List<Future<List<Class<?>>>> futures = new ArrayList<>();
         for (ILoadedMod mod : mods) {
-            futures.add(executor.executeAsync(() -> scanMod(mod), "file-scan"));
+            futures.add(executor.executeAsync(() -> scanMod(mod), "file-scan", TaskPool.IO));
         }
 
         // gather results sequentially and register (to preserve predictable ordering)
@@ -45,14 +53,8 @@ public class ClassGraphListenerScanner implements IModListenerScanner {
             ILoadedMod mod = mods.get(i);
             try {
                 List<Class<?>> classes = futures.get(i).get();
-                for (Class<?> c : classes) {
-                    try {
-                        Object inst = c.getDeclaredConstructor().newInstance();
-                        listenerRegistrar.register(mod.id(), inst);
-                    } catch (Throwable t) {
-                        LogManager.getLogger(mod.id()).error("Failed to instantiate listener {}", c.getName(), t);
-                    }
-                }
+                registerListeners(mod, classes);
+                index.put(mod.id(), classes.stream().map(Class::getName).toList());
             } catch (InterruptedException ie) {
                 Thread.currentThread().interrupt();
                 LOGGER.error("Listener scan interrupted", ie);
@@ -60,6 +62,44 @@ public class ClassGraphListenerScanner implements IModListenerScanner {
                 LOGGER.error("Listener scan failed for mod {}", mod.id(), ee.getCause());
             }
         }
+        return index;
+    }
+
+    @Override
+    public void registerFromIndex(List<ILoadedMod> mods, Map<String, List<String>> index) {
+        if (mods == null || mods.isEmpty()) return;
+
+        List<ILoadedMod> unindexed = new ArrayList<>();
+        for (ILoadedMod mod : mods) {
+            List<String> classNames = index.get(mod.id());
+            if (classNames == null) {
+                unindexed.add(mod);
+                continue;
+            }
+            List<Class<?>> classes = new ArrayList<>(classNames.size());
+            for (String className : classNames) {
+                try {
+                    classes.add(Class.forName(className, true, mod.classLoader()));
+                } catch (Throwable t) {
+                    LogManager.getLogger(mod.id()).error("Failed to load indexed listener {}", className, t);
+                }
+            }
+            registerListeners(mod, classes);
+        }
+        if (!unindexed.isEmpty()) {
+            scanAndRegisterIndexed(unindexed);
+        }
+    }
+
+    private void registerListeners(ILoadedMod mod, List<Class<?>> classes) {
+        for (Class<?> c : classes) {
+            try {
+                Object inst = c.getDeclaredConstructor().newInstance();
+                listenerRegistrar.register(mod.id(), inst);
+            } catch (Throwable t) {
+                LogManager.getLogger(mod.id()).error("Failed to instantiate listener {}", c.getName(), t);
+            }
+        }
     }
 
     private List<Class<?>> scanMod(ILoadedMod mod) {
@@ -0,0 +1,26 @@
+package io.github.hato1883.core.events.listeners;
+
+import io.github.hato1883.api.mod.load.ILoadedMod;
+import io.github.hato1883.api.mod.load.IModListenerScanner;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Listener scanner that can report what it found as an index of class names, and later register
+ * listeners straight from such an index without scanning again.
+ */
+public interface IndexedListenerScanner extends IModListenerScanner {
+
+    /**
+     * Scans and registers listeners like {@link #scanAndRegister(List)}.
+     *
+     * @return listener class names per mod id
+     */
+    Map<String, List<String>> scanAndRegisterIndexed(List<ILoadedMod> mods);
+
+    /**
+     * Registers the listeners named in {@code index}. Mods missing from the index are scanned.
+     */
+    void registerFromIndex(List<ILoadedMod> mods, Map<String, List<String>> index);
+}
@@ -3,6 +3,7 @@ package io.github.hato1883.core.game.entities.player;
 import com.badlogic.gdx.graphics.Color;
 import io.github.hato1883.api.entities.player.IPlayer;
 import io.github.hato1883.api.entities.player.IPlayerController;
+import io.github.hato1883.api.Registries;
 import io.github.hato1883.api.entities.player.IResourceBank;
 import io.github.hato1883.api.world.board.IStructure;
 
@@ -18,6 +19,7 @@ public class Player implements IPlayer {
     private String name;
     private Color color;  // Currently unused
     private int score;    // Currently unused
+    private final ResourceBank resourceBank = new ResourceBank(() -> Registries.resources().getResourceIndex());
 
     /**
      * Creates a new player with the given color.
@@ -49,10 +51,16 @@ public class Player implements IPlayer {
         return 0;
     }
 
+    /**
+     * Returns this player's resource bank, keyed by the current resource index of the registry.
+     * <p>
+     * The bank is always the same instance. If the registered resource types change
+     * (e.g. mod content is registered later, or the registry is frozen), it migrates its amounts
+     * to the new index on its next access.
+     */
     @Override
     public IResourceBank getResourceBank() {
-        // TODO:
-        return null;
+        return resourceBank;
     }
 
     @Override
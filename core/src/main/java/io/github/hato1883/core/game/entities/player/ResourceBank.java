@@ -0,0 +1,145 @@
+package io.github.hato1883.core.game.entities.player;
+
+import io.github.hato1883.api.entities.player.IResourceBank;
+import io.github.hato1883.api.entities.resource.IResourceType;
+import io.github.hato1883.api.entities.resource.ResourceIndex;
+import io.github.hato1883.api.entities.resource.ResourceVector;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Resource bank storing one {@code int} per resource type, indexed by {@link ResourceIndex} ordinal.
+ * <p>
+ * Single-type operations are an ordinal lookup plus an array access; vector operations are a loop
+ * over the array with no boxing.
+ * <p>
+ * A bank created from an index source follows it: once the index it holds is
+ * {@link ResourceIndex#isSuperseded() superseded}, the next access migrates the amounts in place to the
+ * source's current index, so references to the bank stay valid across registry changes.
+ * Like the rest of a player's state, a bank is not thread-safe.
+ */
+public class ResourceBank implements IResourceBank {
+    private final Supplier<ResourceIndex> indexSource;
+    private ResourceIndex index;
+    private int[] amounts;
+
+    /**
+     * Creates a bank keyed by a fixed index.
+     */
+    public ResourceBank(ResourceIndex index) {
+        this.indexSource = null;
+        this.index = Objects.requireNonNull(index, "index must not be null");
+        this.amounts = new int[index.size()];
+    }
+
+    /**
+     * Creates a bank that follows the index published by the source, e.g. the resource registry.
+     * The source is first queried on the first access.
+     */
+    public ResourceBank(Supplier<ResourceIndex> indexSource) {
+        this.indexSource = Objects.requireNonNull(indexSource, "indexSource must not be null");
+    }
+
+    /**
+     * Re-keys the amounts by another index, matched by resource type.
+     * Amounts of types missing from the new index are dropped.
+     */
+    public void migrateTo(ResourceIndex newIndex) {
+        Objects.requireNonNull(newIndex, "newIndex must not be null");
+        if (newIndex == index) return;
+        int[] migrated = new int[newIndex.size()];
+        if (index != null) {
+            for (int i = 0; i < amounts.length; i++) {
+                if (amounts[i] == 0) continue;
+                int ordinal = newIndex.ordinalOf(index.typeAt(i));
+                if (ordinal >= 0) migrated[ordinal] = amounts[i];
+            }
+        }
+        index = newIndex;
+        amounts = migrated;
+    }
+
+    @Override
+    public ResourceIndex getIndex() {
+        return currentIndex();
+    }
+
+    @Override
+    public int getAmount(IResourceType type) {
+        int ordinal = currentIndex().ordinalOf(type);
+        return ordinal < 0 ? 0 : amounts[ordinal];
+    }
+
+    @Override
+    public void add(IResourceType type, int amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Cannot add a negative amount: " + amount);
+        }
+        // Resolved before indexing, since a migration replaces the array
+        int ordinal = currentIndex().requireOrdinal(type);
+        amounts[ordinal] += amount;
+    }
+
+    @Override
+    public boolean remove(IResourceType type, int amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Cannot remove a negative amount: " + amount);
+        }
+        int ordinal = currentIndex().ordinalOf(type);
+        if (ordinal < 0 || amounts[ordinal] < amount) return false;
+        amounts[ordinal] -= amount;
+        return true;
+    }
+
+    @Override
+    public ResourceVector toVector() {
+        return ResourceVector.ofOrdinals(currentIndex(), amounts);
+    }
+
+    @Override
+    public boolean canAfford(ResourceVector cost) {
+        checkIndex(cost);
+        for (int i = 0; i < amounts.length; i++) {
+            if (amounts[i] < cost.get(i)) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void add(ResourceVector delta) {
+        checkIndex(delta);
+        if (!delta.isNonNegative()) {
+            throw new IllegalArgumentException("Cannot add negative amounts: " + delta);
+        }
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] += delta.get(i);
+        }
+    }
+
+    @Override
+    public boolean remove(ResourceVector cost) {
+        if (!canAfford(cost)) return false;
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] -= cost.get(i);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the index the amounts are keyed by, first migrating to the source's index if it was replaced.
+     * The check is a single volatile read while the index is current.
+     */
+    private ResourceIndex currentIndex() {
+        if (indexSource != null && (index == null || index.isSuperseded())) {
+            migrateTo(indexSource.get());
+        }
+        return index;
+    }
+
+    private void checkIndex(ResourceVector vector) {
+        if (vector.getIndex() != currentIndex()) {
+            throw new IllegalArgumentException("ResourceVector uses a different resource index than this bank");
+        }
+    }
+}
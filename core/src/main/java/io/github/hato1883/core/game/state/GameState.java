@@ -0,0 +1,249 @@
+package io.github.hato1883.core.game.state;
+
+import io.github.hato1883.api.entities.player.IPlayer;
+import io.github.hato1883.api.entities.resource.IResourceType;
+import io.github.hato1883.api.events.EventPriority;
+import io.github.hato1883.api.events.IEventBus;
+import io.github.hato1883.api.events.player.PlayerBuildBuildingEvent;
+import io.github.hato1883.api.events.player.PlayerBuildRoadEvent;
+import io.github.hato1883.api.events.player.RobberMoveEvent;
+import io.github.hato1883.api.events.resource.ResourceGainEvent;
+import io.github.hato1883.api.events.resource.ResourceSpendEvent;
+import io.github.hato1883.api.world.IGameState;
+import io.github.hato1883.api.world.board.EdgeCoord;
+import io.github.hato1883.api.world.board.IBoard;
+import io.github.hato1883.api.world.board.IBuilding;
+import io.github.hato1883.api.world.board.IRoad;
+import io.github.hato1883.api.world.board.ITile;
+import io.github.hato1883.api.world.board.VertexCoord;
+import io.github.hato1883.api.world.phase.IGamePhase;
+import io.github.hato1883.api.world.state.GameStateSnapshot;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * {@link IGameState} backed by immutable {@link GameStateSnapshot}s.
+ * <p>
+ * The live state is simply a pointer to the current snapshot. Applying a change swaps the pointer and
+ * pushes the previous snapshot onto the undo stack, so snapshots, undo and restore are all O(1);
+ * the cost of a change is only the structural copy done by the snapshot itself.
+ * <p>
+ * The state also keeps the {@link ZobristHash} of the current snapshot. The typed transitions
+ * ({@link #placeBuilding}, {@link #addResource}, ...) update it in O(1); {@link #apply} and
+ * {@link #restore} recompute it. Undo restores the hash stored with the previous snapshot.
+ * {@link #register} keeps the state in sync with the game's events.
+ *
+ * <h3>Example Usage:</h3>
+ * <pre>{@code
+ * GameState state = new GameState(GameStateSnapshot.initial(board, players, phases));
+ * state.apply(s -> s.withBuilding(settlement).addResource(player, brick, -1));
+ * state.undo(); // settlement removed, brick refunded
+ * }</pre>
+ */
+public class GameState implements IGameState {
+    /** Default number of undo levels kept before the oldest is dropped. */
+    public static final int DEFAULT_UNDO_LIMIT = 256;
+
+    private record HistoryEntry(GameStateSnapshot snapshot, long hash) {}
+
+    private final Deque<HistoryEntry> history = new ArrayDeque<>();
+    private final int undoLimit;
+    private final ZobristHash zobrist;
+    private GameStateSnapshot current;
+    private long hash;
+
+    public GameState(GameStateSnapshot initial) {
+        this(initial, DEFAULT_UNDO_LIMIT);
+    }
+
+    public GameState(GameStateSnapshot initial, int undoLimit) {
+        this(initial, undoLimit, ZobristHash.DEFAULT_SEED);
+    }
+
+    /**
+     * @param hashSeed seed of the Zobrist keys, must match between clients that compare hashes
+     */
+    public GameState(GameStateSnapshot initial, int undoLimit, long hashSeed) {
+        if (undoLimit < 0) {
+            throw new IllegalArgumentException("undoLimit cannot be negative");
+        }
+        this.current = Objects.requireNonNull(initial, "initial snapshot must not be null");
+        this.undoLimit = undoLimit;
+        this.zobrist = new ZobristHash(initial.getPlayers(), hashSeed);
+        this.hash = zobrist.hash(initial);
+    }
+
+    /**
+     * Registers listeners that apply built structures, robber moves and resource changes to this state.
+     * Only events created for this state are applied; listeners run at {@link EventPriority#LOWEST}
+     * and ignore canceled events.
+     *
+     * @param eventBus bus the game dispatches its events on
+     * @param ownerId  id the listeners are registered under
+     */
+    public void register(IEventBus eventBus, String ownerId) {
+        eventBus.registerListener(ownerId, PlayerBuildBuildingEvent.class, EventPriority.LOWEST, event -> {
+            if (event.getState() == this && !event.isCanceled()) placeBuilding(event.getBuilding());
+        });
+        eventBus.registerListener(ownerId, PlayerBuildRoadEvent.class, EventPriority.LOWEST, event -> {
+            if (event.getState() == this && !event.isCanceled()) placeRoad(event.getRoad());
+        });
+        eventBus.registerListener(ownerId, RobberMoveEvent.class, EventPriority.LOWEST, event -> {
+            if (event.getState() == this && !event.isCanceled()) moveRobber(event.getNewLocation());
+        });
+        eventBus.registerListener(ownerId, ResourceGainEvent.class, EventPriority.LOWEST, event -> {
+            if (event.getState() != this) return;
+            event.getResources().forEach((type, amount) -> addResource(event.getPlayer(), type, amount));
+        });
+        eventBus.registerListener(ownerId, ResourceSpendEvent.class, EventPriority.LOWEST, event -> {
+            if (event.getState() != this || event.isCanceled()) return;
+            event.getResources().forEach((type, amount) -> addResource(event.getPlayer(), type, -amount));
+        });
+    }
+
+    /**
+     * Returns the current snapshot. The returned object never changes, even as the game continues.
+     */
+    public GameStateSnapshot snapshot() {
+        return current;
+    }
+
+    /**
+     * Applies a transition to the current snapshot and records the previous one for {@link #undo()}.
+     *
+     * @param change function producing the next snapshot from the current one
+     * @return the new current snapshot
+     */
+    public GameStateSnapshot apply(UnaryOperator<GameStateSnapshot> change) {
+        GameStateSnapshot next = Objects.requireNonNull(change.apply(current), "change must not return null");
+        if (next == current) return current;
+        // An arbitrary change may touch anything, so the hash is recomputed
+        return commit(next, zobrist.hash(next));
+    }
+
+    /**
+     * Places (or upgrades) a building; any structure previously on the vertex is replaced.
+     */
+    public GameStateSnapshot placeBuilding(IBuilding building) {
+        IBuilding previous = current.getBuildingAt(building.getPosition());
+        return commit(current.withBuilding(building),
+            hash ^ zobrist.buildingKey(previous) ^ zobrist.buildingKey(building));
+    }
+
+    public GameStateSnapshot removeBuilding(VertexCoord position) {
+        return commit(current.withoutBuilding(position), hash ^ zobrist.buildingKey(current.getBuildingAt(position)));
+    }
+
+    /**
+     * Places (or replaces) a road on its edge.
+     */
+    public GameStateSnapshot placeRoad(IRoad road) {
+        IRoad previous = current.getRoadAt(road.getPosition());
+        return commit(current.withRoad(road), hash ^ zobrist.roadKey(previous) ^ zobrist.roadKey(road));
+    }
+
+    public GameStateSnapshot removeRoad(EdgeCoord position) {
+        return commit(current.withoutRoad(position), hash ^ zobrist.roadKey(current.getRoadAt(position)));
+    }
+
+    /**
+     * Moves the robber; {@code null} takes it off the board.
+     */
+    public GameStateSnapshot moveRobber(ITile tile) {
+        return commit(current.withRobberTile(tile),
+            hash ^ zobrist.robberKey(current.getRobberTile()) ^ zobrist.robberKey(tile));
+    }
+
+    /**
+     * Adds (or with a negative delta removes) resources from a player.
+     *
+     * @throws IllegalArgumentException if the player would end up with a negative amount
+     */
+    public GameStateSnapshot addResource(IPlayer player, IResourceType type, int delta) {
+        int before = current.getResourceAmount(player, type);
+        GameStateSnapshot next = current.addResource(player, type, delta);
+        return commit(next, hash ^ zobrist.resourceKey(player, type, before) ^ zobrist.resourceKey(player, type, before + delta));
+    }
+
+    /**
+     * @return the Zobrist hash of the current snapshot
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    private GameStateSnapshot commit(GameStateSnapshot next, long nextHash) {
+        if (next == current) return current;
+        if (undoLimit > 0) {
+            if (history.size() == undoLimit) {
+                history.removeLast();
+            }
+            history.push(new HistoryEntry(current, hash));
+        }
+        current = next;
+        hash = nextHash;
+        return current;
+    }
+
+    /**
+     * Reverts the most recent change.
+     *
+     * @return {@code true} if a change was reverted, {@code false} if there was nothing to undo
+     */
+    public boolean undo() {
+        HistoryEntry previous = history.poll();
+        if (previous == null) return false;
+        current = previous.snapshot();
+        hash = previous.hash();
+        return true;
+    }
+
+    public boolean canUndo() {
+        return !history.isEmpty();
+    }
+
+    public int getUndoDepth() {
+        return history.size();
+    }
+
+    /**
+     * Replaces the current snapshot, e.g. to rewind to a snapshot taken earlier.
+     * The undo history is cleared since it no longer leads to the restored state.
+     */
+    public void restore(GameStateSnapshot snapshot) {
+        current = Objects.requireNonNull(snapshot, "snapshot must not be null");
+        hash = zobrist.hash(snapshot);
+        history.clear();
+    }
+
+    @Override
+    public List<IPlayer> getPlayers() {
+        return current.getPlayers();
+    }
+
+    @Override
+    public IPlayer getCurrentPlayer() {
+        return current.getCurrentPlayer();
+    }
+
+    @Override
+    public IBoard getBoard() {
+        return current.getBoard();
+    }
+
+    @Override
+    public IGamePhase getCurrentPhase() {
+        return current.getCurrentPhase();
+    }
+
+    @Override
+    public void advancePhase() {
+        GameStateSnapshot next = current.withNextPhase();
+        // Only the player to move is hashed, not the phase
+        commit(next, hash ^ zobrist.turnKey(current.getCurrentPlayerIndex()) ^ zobrist.turnKey(next.getCurrentPlayerIndex()));
+    }
+}
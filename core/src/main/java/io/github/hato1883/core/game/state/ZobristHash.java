@@ -0,0 +1,211 @@
+package io.github.hato1883.core.game.state;
+
+import io.github.hato1883.api.Identifier;
+import io.github.hato1883.api.entities.player.IPlayer;
+import io.github.hato1883.api.entities.resource.IResourceType;
+import io.github.hato1883.api.world.board.EdgeCoord;
+import io.github.hato1883.api.world.board.IBoard;
+import io.github.hato1883.api.world.board.IBuilding;
+import io.github.hato1883.api.world.board.IRoad;
+import io.github.hato1883.api.world.board.ITile;
+import io.github.hato1883.api.world.board.ITilePosition;
+import io.github.hato1883.api.world.board.VertexCoord;
+import io.github.hato1883.api.world.state.GameStateSnapshot;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Zobrist keys for the features of a {@link GameStateSnapshot}.
+ * <p>
+ * The hash of a state is the XOR of the keys of its tile types and numbers, the robber position, the
+ * structure on every vertex and edge, every player's resource counts and the player to move. Because XOR
+ * is its own inverse, a transition updates the hash in O(1) by XOR-ing the old key of the changed feature
+ * out and the new one in; {@link GameState} does this for its typed transitions. {@link #hash(GameStateSnapshot)}
+ * recomputes it from scratch and always agrees with the incremental value.
+ * <p>
+ * Keys are derived from the seed and from stable values only (identifier strings, coordinates, player order),
+ * never from identity or {@code Object} hash codes, so two clients with the same seed and the same sequence of
+ * transitions always produce the same hash. That makes the hash usable both as a transposition table key for
+ * AI search and as a per-turn desync check between networked clients.
+ *
+ * <h3>Example Usage:</h3>
+ * <pre>{@code
+ * GameState state = new GameState(GameStateSnapshot.initial(board, players, phases));
+ * state.placeBuilding(settlement);
+ * network.send(new TurnChecksum(state.getHash()));
+ * }</pre>
+ */
+public class ZobristHash {
+    /** Seed shared by all clients unless a match negotiates its own. */
+    public static final long DEFAULT_SEED = 0x5DEECE66DL;
+
+    private static final long TAG_TILE = 1;
+    private static final long TAG_TILE_NUMBER = 2;
+    private static final long TAG_ROBBER = 3;
+    private static final long TAG_BUILDING = 4;
+    private static final long TAG_ROAD = 5;
+    private static final long TAG_RESOURCE = 6;
+    private static final long TAG_TURN = 7;
+
+    private final long seed;
+    private final Map<IPlayer, Integer> playerIndices = new IdentityHashMap<>();
+    // The board never changes during a match, so its keys are combined once
+    private IBoard hashedBoard;
+    private long boardHash;
+
+    /**
+     * @param players players in turn order, which fixes their keys
+     * @param seed    seed for key generation, must match between clients that compare hashes
+     */
+    public ZobristHash(List<IPlayer> players, long seed) {
+        this.seed = seed;
+        for (IPlayer player : players) {
+            playerIndices.putIfAbsent(player, playerIndices.size());
+        }
+    }
+
+    /**
+     * Computes the hash of a snapshot from scratch.
+     *
+     * @throws IllegalArgumentException if the snapshot holds players this hash was not created with
+     */
+    public long hash(GameStateSnapshot snapshot) {
+        long hash = boardHash(snapshot.getBoard()) ^ robberKey(snapshot.getRobberTile());
+        for (IBuilding building : snapshot.getBuildings().values()) {
+            hash ^= buildingKey(building);
+        }
+        for (IRoad road : snapshot.getRoads().values()) {
+            hash ^= roadKey(road);
+        }
+        for (IPlayer player : snapshot.getPlayers()) {
+            for (Map.Entry<IResourceType, Integer> entry : snapshot.getResources(player).toMap().entrySet()) {
+                hash ^= resourceKey(player, entry.getKey(), entry.getValue());
+            }
+        }
+        return hash ^ turnKey(snapshot.getCurrentPlayerIndex());
+    }
+
+    /**
+     * @return the combined keys of the tile types and numbers of a board
+     */
+    public long boardHash(IBoard board) {
+        if (board != hashedBoard) {
+            long hash = 0;
+            for (ITile tile : board.getTiles()) {
+                long position = positionHash(tile.getPosition());
+                hash ^= key(TAG_TILE, position, tile.getType() == null ? 0 : identifierHash(tile.getType().getId()), 0);
+                for (Integer number : tile.getProductionNumbers()) {
+                    hash ^= key(TAG_TILE_NUMBER, position, number, 0);
+                }
+            }
+            hashedBoard = board;
+            boardHash = hash;
+        }
+        return boardHash;
+    }
+
+    /**
+     * @return the key of a building on its vertex, or {@code 0} for no building
+     */
+    public long buildingKey(IBuilding building) {
+        if (building == null) return 0;
+        return key(TAG_BUILDING, vertexHash(building.getPosition()),
+            identifierHash(building.getType().getId()), playerIndex(building.getOwner()));
+    }
+
+    /**
+     * @return the key of a road on its edge, or {@code 0} for no road
+     */
+    public long roadKey(IRoad road) {
+        if (road == null) return 0;
+        return key(TAG_ROAD, edgeHash(road.getPosition()),
+            identifierHash(road.getType().getId()), playerIndex(road.getOwner()));
+    }
+
+    /**
+     * @return the key of the robber on a tile, or {@code 0} if it is off the board
+     */
+    public long robberKey(ITile tile) {
+        return tile == null ? 0 : key(TAG_ROBBER, positionHash(tile.getPosition()), 0, 0);
+    }
+
+    /**
+     * @return the key of a player holding {@code amount} of a resource, or {@code 0} for none
+     */
+    public long resourceKey(IPlayer player, IResourceType type, int amount) {
+        if (amount == 0) return 0;
+        return key(TAG_RESOURCE, playerIndex(player), identifierHash(type.getId()), amount);
+    }
+
+    /**
+     * @return the key of the player at {@code playerIndex} being the one to move
+     */
+    public long turnKey(int playerIndex) {
+        return key(TAG_TURN, playerIndex, 0, 0);
+    }
+
+    // ***
+    // * Key derivation
+    // ***
+
+    private int playerIndex(IPlayer player) {
+        if (player == null) return -1;
+        Integer index = playerIndices.get(player);
+        if (index == null) {
+            throw new IllegalArgumentException("Player is not part of this match: " + player);
+        }
+        return index;
+    }
+
+    private long key(long tag, long a, long b, long c) {
+        long h = seed + tag * 0x9E3779B97F4A7C15L;
+        h = mix(h ^ a);
+        h = mix(h ^ b);
+        return mix(h ^ c);
+    }
+
+    /** SplitMix64 finalizer: a cheap bijective mix with good avalanche. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /** 64-bit FNV-1a over {@code namespace:path}, independent of how Identifier computes its hash code. */
+    static long identifierHash(Identifier id) {
+        long h = 0xCBF29CE484222325L;
+        h = fnv(h, id.getNamespace());
+        h = (h ^ ':') * 0x100000001B3L;
+        return fnv(h, id.getPath());
+    }
+
+    private static long fnv(long h, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * 0x100000001B3L;
+        }
+        return h;
+    }
+
+    private static long positionHash(ITilePosition position) {
+        if (position == null) return 0;
+        long h = mix(Float.floatToIntBits(position.x()));
+        h = mix(h ^ Float.floatToIntBits(position.y()));
+        return mix(h ^ Float.floatToIntBits(position.z()));
+    }
+
+    private static long vertexHash(VertexCoord vertex) {
+        // Order independent, since VertexCoord orders its tiles by their hash codes
+        long h = 0;
+        for (ITilePosition position : vertex.getAdjacentTiles()) {
+            h += mix(positionHash(position) + 1);
+        }
+        return h;
+    }
+
+    private static long edgeHash(EdgeCoord edge) {
+        VertexCoord[] vertices = edge.getVertexCoords();
+        return mix(vertexHash(vertices[0])) + mix(vertexHash(vertices[1]));
+    }
+}
@@ -1,28 +1,72 @@
 package io.github.hato1883.core.modloading.assets;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.hato1883.api.async.IAsyncExecutionService;
+import io.github.hato1883.api.async.TaskPool;
+import io.github.hato1883.api.mod.load.asset.ModArchives;
 import io.github.hato1883.api.mod.load.asset.TextureEntry;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.security.MessageDigest;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Cache descriptor stored next to a built atlas.
+ * <p>
+ * Validation is tiered. Each texture is first compared by its {@link TextureStamp}: a {@code stat} for
+ * directory mods, and the size and CRC-32 from the central directory for jar mods, so a cache hit reads
+ * no texture bytes. Only textures whose stamp changed are hashed and compared by content; with an
+ * {@link IAsyncExecutionService} those hashes run in parallel on its IO pool. When the content still
+ * matches, {@link #isUpToDate} writes the new stamps back so the next check reads no texture bytes either.
+ * A texture that cannot be read never matches and is never saved.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
 public record AtlasCacheInfo(
     Map<String, String> modVersions,
     List<String> textures,
     Map<String, String> textureHashes,
+    Map<String, TextureStamp> textureStamps,
     String category,
     int lod
 ) {
     private static final ObjectMapper JACKSON = new ObjectMapper();
 
+    /**
+     * Cheap identity of a texture source. Unknown values are {@code -1}.
+     *
+     * @param source   archive or folder plus internal path
+     * @param size     size in bytes
+     * @param modified last modification in epoch millis, directory mods only
+     * @param crc      CRC-32 from the zip directory, jar mods only
+     */
+    public record TextureStamp(String source, long size, long modified, long crc) {
+
+        public static TextureStamp of(TextureEntry entry) throws IOException {
+            Path archive = entry.modArchivePath();
+            String source = archive + "!/" + entry.internalPath();
+            if (Files.isDirectory(archive)) {
+                BasicFileAttributes attributes = Files.readAttributes(
+                    archive.resolve(entry.internalPath()), BasicFileAttributes.class);
+                return new TextureStamp(source, attributes.size(), attributes.lastModifiedTime().toMillis(), -1);
+            }
+            return new TextureStamp(source,
+                ModArchives.entrySize(archive, entry.internalPath()), -1,
+                ModArchives.entryCrc(archive, entry.internalPath()));
+        }
+    }
+
     public static AtlasCacheInfo load(Path jsonPath) throws IOException {
         if (Files.exists(jsonPath)) {
             String content = Files.readString(jsonPath);
@@ -31,47 +75,162 @@ public record AtlasCacheInfo(
         return null;
     }
 
+    /**
+     * Checks the cache at {@code jsonPath} against the current mods and textures. Stamps of textures that
+     * changed on disk but still hash the same are saved, so a touched file is hashed only once.
+     *
+     * @param async pool to hash changed textures on, or {@code null} to hash on the calling thread
+     * @return {@code false} if there is no cache file or it no longer matches
+     * @throws IOException if the cache file cannot be read
+     */
+    public static boolean isUpToDate(Path jsonPath, Map<String, String> currentMods,
+                                     List<TextureEntry> currentTextures, IAsyncExecutionService async) throws IOException {
+        AtlasCacheInfo cached = load(jsonPath);
+        if (cached == null) return false;
+        Map<String, TextureStamp> refreshed = cached.refreshedStamps(currentMods, currentTextures, async);
+        if (refreshed == null) return false;
+        if (!refreshed.isEmpty()) {
+            Map<String, TextureStamp> stamps = new HashMap<>();
+            if (cached.textureStamps != null) stamps.putAll(cached.textureStamps);
+            stamps.putAll(refreshed);
+            try {
+                write(jsonPath, new AtlasCacheInfo(cached.modVersions, cached.textures, cached.textureHashes,
+                    stamps, cached.category, cached.lod));
+            } catch (IOException e) {
+                // The atlas is still valid; the old stamps only cost another hash on the next check
+            }
+        }
+        return true;
+    }
+
     public static void save(Path jsonPath, Map<String, String> modVersions,
                             List<TextureEntry> entries, String category, int lod) throws IOException {
+        save(jsonPath, modVersions, entries, category, lod, null);
+    }
+
+    /**
+     * @param async pool to hash textures on, or {@code null} to hash on the calling thread
+     * @throws IOException if a texture cannot be read; nothing is written then
+     */
+    public static void save(Path jsonPath, Map<String, String> modVersions,
+                            List<TextureEntry> entries, String category, int lod,
+                            IAsyncExecutionService async) throws IOException {
         List<String> texIds = entries.stream()
-            .map(e -> e.getId().toString())
+            .map(AtlasCacheInfo::key)
             .toList();
 
-        Map<String, String> hashes = entries.stream()
-            .collect(Collectors.toMap(
-                e -> e.getId().toString(),
-                AtlasCacheInfo::computeHash // your method to hash file contents
-            ));
+        Map<String, TextureStamp> stamps = new HashMap<>();
+        for (TextureEntry entry : entries) {
+            stamps.put(key(entry), TextureStamp.of(entry));
+        }
+        Map<String, String> hashes = computeHashes(entries, async);
+        for (TextureEntry entry : entries) {
+            if (hashes.get(key(entry)) == null) {
+                throw new IOException("Failed to hash texture: " + entry.getId());
+            }
+        }
+
+        write(jsonPath, new AtlasCacheInfo(modVersions, texIds, hashes, stamps, category, lod));
+    }
 
-        AtlasCacheInfo info = new AtlasCacheInfo(modVersions, texIds, hashes, category, lod);
+    private static void write(Path jsonPath, AtlasCacheInfo info) throws IOException {
         String json = JACKSON.writerWithDefaultPrettyPrinter().writeValueAsString(info);
         Files.writeString(jsonPath, json);
     }
 
     /** Check if cache matches current mods and textures */
     public boolean matches(Map<String, String> currentMods, List<TextureEntry> currentTextures) {
-        if (!modVersions.equals(currentMods)) return false;
+        return matches(currentMods, currentTextures, null);
+    }
 
+    /**
+     * Check if cache matches current mods and textures, hashing changed textures on {@code async}.
+     */
+    public boolean matches(Map<String, String> currentMods, List<TextureEntry> currentTextures,
+                           IAsyncExecutionService async) {
+        return refreshedStamps(currentMods, currentTextures, async) != null;
+    }
+
+    /**
+     * @return the current stamps of textures whose stamp changed but whose content did not, or
+     *         {@code null} if the cache does not match
+     */
+    private Map<String, TextureStamp> refreshedStamps(Map<String, String> currentMods,
+                                                      List<TextureEntry> currentTextures,
+                                                      IAsyncExecutionService async) {
+        if (!modVersions.equals(currentMods)) return null;
+        if (textures == null || textureHashes == null) return null;
+
+        // A texture added to or removed from the set invalidates the atlas
+        if (textures.size() != currentTextures.size()) return null;
+        Set<String> cachedIds = new HashSet<>(textures);
+        List<TextureEntry> changed = new ArrayList<>();
+        Map<String, TextureStamp> refreshed = new HashMap<>();
         for (TextureEntry entry : currentTextures) {
-            String currentHash = computeHash(entry);
-            String cachedHash = textureHashes.get(entry.getId().toString());
-            if (!Objects.equals(currentHash, cachedHash)) return false;
+            String id = key(entry);
+            if (!cachedIds.contains(id)) return null;
+
+            TextureStamp cached = textureStamps == null ? null : textureStamps.get(id);
+            try {
+                TextureStamp current = TextureStamp.of(entry);
+                if (!current.equals(cached)) {
+                    changed.add(entry);
+                    refreshed.put(id, current);
+                }
+            } catch (IOException e) {
+                return null;
+            }
         }
+        if (changed.isEmpty()) return refreshed;
 
-        return true;
+        // Stamps differ (e.g. a touched file): fall back to content hashes for those textures only
+        Map<String, String> currentHashes = computeHashes(changed, async);
+        for (TextureEntry entry : changed) {
+            String id = key(entry);
+            String currentHash = currentHashes.get(id);
+            if (currentHash == null || !currentHash.equals(textureHashes.get(id))) return null;
+        }
+        return refreshed;
+    }
+
+    private static Map<String, String> computeHashes(List<TextureEntry> entries, IAsyncExecutionService async) {
+        // A texture that cannot be read hashes to null, which never matches a cached hash
+        Map<String, String> hashes = new HashMap<>();
+        if (async == null || entries.size() < 2) {
+            for (TextureEntry entry : entries) {
+                hashes.put(key(entry), computeHash(entry));
+            }
+            return hashes;
+        }
+
+        List<CompletableFuture<String>> futures = new ArrayList<>(entries.size());
+        for (TextureEntry entry : entries) {
+            futures.add(async.executeAsync(() -> computeHash(entry), "texture-hash-" + entry.getId(), TaskPool.IO));
+        }
+        for (int i = 0; i < entries.size(); i++) {
+            hashes.put(key(entries.get(i)), futures.get(i).join());
+        }
+        return hashes;
+    }
+
+    /** Textures are keyed by id and LOD, since one cache may cover several LODs of a texture. */
+    private static String key(TextureEntry entry) {
+        return entry.getId() + "@" + entry.lod();
     }
 
     private static String computeHash(TextureEntry entry) {
         try {
-            byte[] bytes;
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
             try (InputStream is = entry.openStream()) {
-                bytes = is.readAllBytes();
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = is.read(buffer)) != -1) {
+                    md.update(buffer, 0, read);
+                }
             }
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] digest = md.digest(bytes);
-            return Base64.getEncoder().encodeToString(digest);
+            return Base64.getEncoder().encodeToString(md.digest());
         } catch (Exception e) {
-            throw new RuntimeException("Failed to hash texture: " + entry.getId(), e);
+            return null;
         }
     }
 }
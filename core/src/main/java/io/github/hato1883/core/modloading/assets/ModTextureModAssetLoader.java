@@ -1,95 +1,198 @@
 package io.github.hato1883.core.modloading.assets;
 
 import io.github.hato1883.api.LogManager;
+import io.github.hato1883.api.async.IAsyncExecutionService;
+import io.github.hato1883.api.async.TaskPool;
+import io.github.hato1883.api.events.IEventBusService;
+import io.github.hato1883.api.events.modding.AtlasBuildProgressEvent;
 import io.github.hato1883.api.mod.load.ILoadedMod;
 import io.github.hato1883.api.mod.load.asset.*;
 import io.github.hato1883.core.modloading.assets.textures.PrecedenceResolvedTextureIndex;
-import io.github.hato1883.core.modloading.assets.textures.DefaultTextureAtlasBuilder;
 import org.slf4j.Logger;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.util.*;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Packs the textures of every mod into one combined atlas per category and LOD, the atlases the game loads.
+ * <p>
+ * With an {@link IAsyncExecutionService} each category/LOD is an independent task on its general pool. At
+ * most {@code maxConcurrentBuilds} atlases are packed at once, since each build holds its full pages in
+ * memory. Each finished atlas fires an {@link AtlasBuildProgressEvent}.
+ */
 public class ModTextureModAssetLoader implements IModAssetLoader {
 
     private static final Logger LOGGER = LogManager.getLogger("ModTextureAssetLoader");
 
+    /** Leaves one core for the render thread and caps memory on many-core machines. */
+    public static final int DEFAULT_MAX_CONCURRENT_BUILDS =
+        Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
     private final TextureDiscoveryService discovery;
     private final TextureAtlasBuilder atlasBuilder;
     private final Path cacheDir;
+    private final IAsyncExecutionService asyncService;
+    private final IEventBusService eventBus;
+    private final int maxConcurrentBuilds;
 
     public ModTextureModAssetLoader(TextureDiscoveryService discovery,
                                     TextureAtlasBuilder atlasBuilder,
                                     Path cacheDir) {
+        this(discovery, atlasBuilder, cacheDir, null, null, 1);
+    }
+
+    /**
+     * @param asyncService        pool to build atlases on, or {@code null} to build on the calling thread
+     * @param eventBus            bus for {@link AtlasBuildProgressEvent}s, or {@code null} for none
+     * @param maxConcurrentBuilds upper bound on atlases packed at the same time
+     */
+    public ModTextureModAssetLoader(TextureDiscoveryService discovery,
+                                    TextureAtlasBuilder atlasBuilder,
+                                    Path cacheDir,
+                                    IAsyncExecutionService asyncService,
+                                    IEventBusService eventBus,
+                                    int maxConcurrentBuilds) {
+        if (maxConcurrentBuilds < 1) {
+            throw new IllegalArgumentException("maxConcurrentBuilds must be at least 1: " + maxConcurrentBuilds);
+        }
         this.discovery = discovery;
         this.atlasBuilder = atlasBuilder;
         this.cacheDir = cacheDir;
+        this.asyncService = asyncService;
+        this.eventBus = eventBus;
+        this.maxConcurrentBuilds = maxConcurrentBuilds;
     }
 
     public TextureDiscoveryService getDiscovery() {
         return this.discovery;
     }
 
-    record AtlasBuildResult(ILoadedMod mod, AssetCategory category, int lod,
-                            Path atlasFile, Path atlasDir, List<TextureEntry> textures) {}
+    /** Textures one mod contributes to a category/lod, in the mod order that decides precedence. */
+    record ModTextures(ILoadedMod mod, List<TextureEntry> textures) {}
+
+    /** One combined atlas to build. */
+    private record AtlasTask(AssetCategory category, int lod, AtlasWork work) {}
+
+    @FunctionalInterface
+    private interface AtlasWork {
+        void run() throws Exception;
+    }
 
     @Override
     public void loadAssets(List<ILoadedMod> mods) throws IOException {
-        Map<AssetCategory, Map<Integer, List<AtlasBuildResult>>> combinedGroups = new HashMap<>();
+        Map<AssetCategory, Map<Integer, List<ModTextures>>> combinedGroups = new LinkedHashMap<>();
 
         var discovered = discovery.discover(mods); // now Map<ILoadedMod, DiscoveredModTextures>
 
-        for (var modEntry : discovered.entrySet()) {
-            ILoadedMod mod = modEntry.getKey();
-            Map<AssetCategory, Map<Integer, List<TextureEntry>>> categories = modEntry.getValue();
-            Path modCache = cacheDir.resolve(mod.id());
-
-            try {
-                for (var catEntry : categories.entrySet()) {
-                    AssetCategory category = catEntry.getKey();
-                    for (var lodEntry : catEntry.getValue().entrySet()) {
-                        int lod = lodEntry.getKey();
-                        var textures = lodEntry.getValue();
-                        Path lodAssetsDir = modCache.resolve(String.format("%s/lod%d", category.getCategory(), lod));
-
-                        try {
-                            atlasBuilder.ensureAtlas(mod, category, lod, textures, lodAssetsDir);
-                        } catch (Exception e) {
-                            LOGGER.info("A Problem occurred when loading textures for mod={} category={} lod={}", mod.id(), category, lod);
-                            throw new RuntimeException("Texture load Error", e);
-                        }
-
-                        Path atlasPath = lodAssetsDir.resolve(String.format("%s_%s_lod%d.atlas", mod.id(), category.getCategory(), lod));
-                        combinedGroups
-                            .computeIfAbsent(category, k -> new HashMap<>())
-                            .computeIfAbsent(lod, k -> new ArrayList<>())
-                            .add(new AtlasBuildResult(mod, category, lod, atlasPath, lodAssetsDir, textures));
-
-                    }
+        // Follow the given mod order, which is also the precedence order for combined atlases
+        for (ILoadedMod mod : mods) {
+            Map<AssetCategory, Map<Integer, List<TextureEntry>>> categories = discovered.get(mod);
+            if (categories == null) continue;
+
+            for (var catEntry : categories.entrySet()) {
+                for (var lodEntry : catEntry.getValue().entrySet()) {
+                    combinedGroups
+                        .computeIfAbsent(catEntry.getKey(), k -> new LinkedHashMap<>())
+                        .computeIfAbsent(lodEntry.getKey(), k -> new ArrayList<>())
+                        .add(new ModTextures(mod, lodEntry.getValue()));
                 }
-            } catch (RuntimeException e) {
-                throw new RuntimeException(e);
             }
         }
 
-        // Merge per category/lod as before...
+        List<AtlasTask> tasks = new ArrayList<>();
         for (var catEntry : combinedGroups.entrySet()) {
             AssetCategory category = catEntry.getKey();
             for (var lodEntry : catEntry.getValue().entrySet()) {
-                mergeAtlases(category, lodEntry.getKey(), lodEntry.getValue());
+                int lod = lodEntry.getKey();
+                List<ModTextures> sources = lodEntry.getValue();
+                tasks.add(new AtlasTask(category, lod, () -> {
+                    try {
+                        mergeAtlases(category, lod, sources);
+                    } catch (IOException e) {
+                        LOGGER.info("A Problem occurred when building the combined atlas for category={} lod={}", category, lod);
+                        throw e;
+                    }
+                }));
+            }
+        }
+        runTasks(tasks);
+    }
+
+    /**
+     * Runs every task, at most {@code maxConcurrentBuilds} at a time, and waits for all of them.
+     * The first failure is rethrown once every started task finished, with any further failures suppressed.
+     */
+    private void runTasks(List<AtlasTask> tasks) throws IOException {
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        AtomicInteger completed = new AtomicInteger();
+        int total = tasks.size();
+
+        if (asyncService == null || maxConcurrentBuilds == 1 || tasks.size() < 2) {
+            for (AtlasTask task : tasks) {
+                runTask(task, failures, completed, total);
+                if (!failures.isEmpty()) break;
             }
+        } else {
+            Semaphore permits = new Semaphore(maxConcurrentBuilds);
+            List<CompletableFuture<Void>> futures = new ArrayList<>(tasks.size());
+            try {
+                for (int i = 0; i < tasks.size() && failures.isEmpty(); i++) {
+                    AtlasTask task = tasks.get(i);
+                    permits.acquire();
+                    futures.add(asyncService.executeAsync((Runnable) () -> {
+                        try {
+                            runTask(task, failures, completed, total);
+                        } finally {
+                            permits.release();
+                        }
+                    }, "atlas-pack-" + i, TaskPool.GENERAL));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failures.add(e);
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        }
+
+        Throwable first = failures.poll();
+        if (first == null) return;
+        for (Throwable other : failures) {
+            first.addSuppressed(other);
         }
+        if (first instanceof IOException io) throw io;
+        if (first instanceof RuntimeException runtime) throw runtime;
+        throw new RuntimeException("Texture load Error", first);
     }
 
+    private void runTask(AtlasTask task, Queue<Throwable> failures, AtomicInteger completed, int total) {
+        try {
+            task.work().run();
+        } catch (Throwable t) {
+            // The async executor only logs failures, so they are collected here
+            failures.add(t);
+            return;
+        }
+        int done = completed.incrementAndGet();
+        if (eventBus != null) {
+            eventBus.dispatch(new AtlasBuildProgressEvent(null, task.category(), task.lod(), done, total));
+        }
+    }
 
     /**
-     * Merges multiple per-mod atlases into one combined atlas for the category/lod.
+     * Repacks the textures of every mod into one combined atlas for the category/lod.
+     * <p>
+     * Textures are resolved with {@link PrecedenceResolvedTextureIndex}, sources ordered as the mods were
+     * given to {@link #loadAssets}, and packed together so the combined atlas uses as few pages as the
+     * page size allows. The result is cached by the mod versions and the resolved textures' stamps; the
+     * cache file is deleted before the old atlas is touched, so an interrupted build is redone next time.
      */
-    private void mergeAtlases(AssetCategory category, int lod, List<AtlasBuildResult> sources) throws IOException {
+    private void mergeAtlases(AssetCategory category, int lod, List<ModTextures> sources) throws IOException {
         if (sources.isEmpty()) return;
 
         Path combinedDir = cacheDir.resolve("combined")
@@ -97,59 +200,48 @@ public class ModTextureModAssetLoader implements IModAssetLoader {
             .resolve("lod" + lod);
         Files.createDirectories(combinedDir);
 
-        Path combinedAtlas = combinedDir.resolve("combined_" + category.getCategory() + "_lod" + lod + ".atlas");
-
-        try (BufferedWriter writer = Files.newBufferedWriter(combinedAtlas)) {
-            int pageCounter = 0;
-            for (AtlasBuildResult src : sources) {
-                List<String> lines = Files.readAllLines(src.atlasFile);
-
-                for (String line : lines) {
-                    if (line.endsWith(".png")) {
-                        // Page reference line
-                        String newPageName = String.format("page_%d.png", pageCounter++);
-                        Path srcPng = src.atlasDir.resolve(line);
-                        Files.copy(srcPng, combinedDir.resolve(newPageName), StandardCopyOption.REPLACE_EXISTING);
-                        writer.write(newPageName);
-                        writer.newLine();
-                    } else {
-                        writer.write(line);
-                        writer.newLine();
-                    }
-                }
-            }
-        }
+        String baseName = "combined_" + category.getCategory() + "_lod" + lod;
+        Path cacheJSONPath = combinedDir.resolve(baseName + ".cache.json");
 
-        // Save combined cache info
         Map<String, String> allMods = new HashMap<>();
-        List<TextureEntry> allTextures = new ArrayList<>();
-        for (AtlasBuildResult src : sources) {
+        List<List<TextureEntry>> precedence = new ArrayList<>(sources.size());
+        for (ModTextures src : sources) {
             allMods.put(src.mod.id(), src.mod.metadata().version());
-            allTextures.addAll(src.textures);
+            precedence.add(src.textures);
+        }
+        List<TextureEntry> resolved = new ArrayList<>(new PrecedenceResolvedTextureIndex(precedence).getResolvedEntries());
+
+        try {
+            if (Files.exists(combinedDir.resolve(baseName + ".atlas"))
+                && AtlasCacheInfo.isUpToDate(cacheJSONPath, allMods, resolved, asyncService)) {
+                return; // Combined atlas is up to date
+            }
+        } catch (IOException e) {
+            // Unreadable cache file, repack
+        }
+
+        Files.deleteIfExists(cacheJSONPath);
+        // Pages from an earlier, possibly larger, build must not linger next to the new descriptor
+        try (var pages = Files.list(combinedDir)) {
+            for (Path page : pages.filter(f -> f.getFileName().toString().endsWith(".png")).toList()) {
+                Files.delete(page);
+            }
         }
+        atlasBuilder.packAtlas(resolved, combinedDir, baseName);
 
-        AtlasCacheInfo.save(
-            combinedDir.resolve("combined_" + category.getCategory() + "_lod" + lod + ".cache.json"),
-            allMods,
-            allTextures,
-            category.getCategory(),
-            lod
-        );
+        AtlasCacheInfo.save(cacheJSONPath, allMods, resolved, category.getCategory(), lod, asyncService);
     }
 
     /**
-     * Loads all textures from all sources, resolves precedence, and builds a single atlas per category/lod.
-     * This bypasses per-mod merging and uses incremental, memory-efficient packing.
+     * Loads all textures from all sources, resolves precedence, and packs them into one atlas with the
+     * same {@code .atlas} descriptor and page files as the per-mod atlases.
      */
     public void loadAssetsWithPrecedence(List<List<TextureEntry>> allSources, Path atlasDirectory, String baseName) throws IOException {
         // Build precedence-resolved index
         PrecedenceResolvedTextureIndex index = new PrecedenceResolvedTextureIndex(allSources);
         List<TextureEntry> resolved = new ArrayList<>(index.getResolvedEntries());
-        // Use incremental builder
-        if (atlasBuilder instanceof DefaultTextureAtlasBuilder builder) {
-            builder.buildIncrementalAtlas(resolved, atlasDirectory, baseName);
-        } else {
-            throw new UnsupportedOperationException("Atlas builder does not support incremental packing");
-        }
+        if (resolved.isEmpty()) return;
+        Files.createDirectories(atlasDirectory);
+        atlasBuilder.packAtlas(resolved, atlasDirectory, baseName);
     }
 }
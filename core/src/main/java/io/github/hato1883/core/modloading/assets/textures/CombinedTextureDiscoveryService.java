@@ -7,7 +7,6 @@ import io.github.hato1883.api.mod.load.asset.TextureDiscoveryService;
 import io.github.hato1883.api.mod.load.asset.TextureEntry;
 
 import java.io.IOException;
-import java.nio.file.FileSystem;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -27,8 +26,8 @@ public class CombinedTextureDiscoveryService implements TextureDiscoveryService
 
             LogManager.getLogger("CombinedTextureDiscoveryService").info("Trying to load assets for: {} from path: \"{}\"", modId, modPath);
 
-            try (FileSystem fs = openFileSystem(modPath)) {
-                result.put(mod, discovery.discoverForMod(modId, fs, modPath));
+            try {
+                result.put(mod, discoverForMod(modId, modPath));
             } catch (IOException e) {
                 // cleanup on failure
                 LogManager.getLogger("CombinedTextureDiscoveryService").warn("A exception has occurred! {}", e.getMessage());
@@ -39,11 +38,13 @@ public class CombinedTextureDiscoveryService implements TextureDiscoveryService
         return result;
     }
 
-    private FileSystem openFileSystem(Path modPath) throws IOException {
+    private Map<AssetCategory, Map<Integer, List<TextureEntry>>> discoverForMod(String modId, Path modPath) throws IOException {
         if (Files.isDirectory(modPath)) {
-            return FileSystems.getDefault();
+            // The default filesystem is shared and must not be closed
+            return discovery.discoverForMod(modId, FileSystems.getDefault(), modPath);
         } else if (modPath.toString().endsWith(".jar")) {
-            return FileSystems.newFileSystem(modPath, (ClassLoader) null);
+            // Reads the central directory through the shared archive of the current load session
+            return discovery.discoverForArchive(modId, modPath);
         } else {
             throw new IOException("Unsupported mod path: " + modPath);
         }
@@ -1,14 +1,6 @@
 package io.github.hato1883.core.modloading.assets.textures;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.files.FileHandle;
-import com.badlogic.gdx.graphics.Pixmap;
-import com.badlogic.gdx.graphics.g2d.PixmapPacker;
-import com.badlogic.gdx.tools.texturepacker.TexturePacker;
-import com.badlogic.gdx.graphics.PixmapIO;
-import com.badlogic.gdx.utils.Json;
-import com.badlogic.gdx.utils.JsonWriter;
-import java.io.FileOutputStream;
+import io.github.hato1883.api.async.IAsyncExecutionService;
 import io.github.hato1883.api.mod.load.ILoadedMod;
 import io.github.hato1883.api.mod.load.asset.AssetCategory;
 import io.github.hato1883.api.mod.load.asset.AssetConfig;
@@ -16,12 +8,13 @@ import io.github.hato1883.api.mod.load.asset.TextureAtlasBuilder;
 import io.github.hato1883.api.mod.load.asset.TextureEntry;
 import io.github.hato1883.core.modloading.assets.*;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 
@@ -33,10 +26,19 @@ public class DefaultTextureAtlasBuilder implements TextureAtlasBuilder {
 
     private final boolean forceRebuild;
     private final AssetConfig cfg;
+    private final IAsyncExecutionService asyncService;
 
     public DefaultTextureAtlasBuilder(AssetConfig cfg) {
+        this(cfg, null);
+    }
+
+    /**
+     * @param asyncService pool to hash changed textures on, or {@code null} to hash on the calling thread
+     */
+    public DefaultTextureAtlasBuilder(AssetConfig cfg, IAsyncExecutionService asyncService) {
         this.forceRebuild = false;
         this.cfg = cfg;
+        this.asyncService = asyncService;
     }
 
     /**
@@ -60,10 +62,8 @@ public class DefaultTextureAtlasBuilder implements TextureAtlasBuilder {
         Path cacheJSONPath = atlasDirectory.resolve(baseName + CACHE_SUFFIX);
         Path cacheAtlasPath = atlasDirectory.resolve(baseName + ATLAS_SUFFIX);
 
-        AtlasCacheInfo cachedInfo;
         try {
-            cachedInfo = AtlasCacheInfo.load(cacheJSONPath);
-            if (!forceRebuild && cachedInfo != null && cachedInfo.matches(Map.of(mod.id(), mod.metadata().version()), textures)) {
+            if (!forceRebuild && AtlasCacheInfo.isUpToDate(cacheJSONPath, Map.of(mod.id(), mod.metadata().version()), textures, asyncService)) {
                 return; // Already built
             }
         } catch (IOException e) {
@@ -73,84 +73,102 @@ public class DefaultTextureAtlasBuilder implements TextureAtlasBuilder {
         Files.createDirectories(cacheJSONPath.getParent());
         Files.createDirectories(cacheAtlasPath.getParent());
 
-        Path tempInputDir = Files.createTempDirectory("texturepack-input");
-        try {
-            // Copy textures into temp folder
-            for (TextureEntry entry : textures) {
-                String fileName = entry.getFileName(); // abstract method to get a name for TexturePacker
-                Path targetFile = tempInputDir.resolve(fileName);
-                Files.createDirectories(targetFile.getParent());
-
-                try (InputStream in = entry.openStream()) {
-                    Files.copy(in, targetFile, StandardCopyOption.REPLACE_EXISTING);
-                }
-            }
+        packAtlas(textures, atlasDirectory, baseName);
 
-            // Configure TexturePacker
-            TexturePacker.Settings settings = new TexturePacker.Settings();
-            settings.maxWidth = cfg.atlasPageSize();
-            settings.maxHeight = cfg.atlasPageSize();
-            settings.filterMag = cfg.magFilter();
-            settings.filterMin = cfg.minFilter();
-            settings.paddingX = cfg.padding();
-            settings.paddingY = cfg.padding();
-            settings.duplicatePadding = true;
-            settings.pot = true;
-
-            TexturePacker.process(
-                settings,
-                tempInputDir.toString(),
-                atlasDirectory.toString(),
-                baseName // Omit ".atlas" as it is implied
-            );
-
-            AtlasCacheInfo.save(cacheJSONPath, Map.of(mod.id(), mod.metadata().version()), textures, category.getCategory(), lod);
-
-        } finally {
-            // Cleanup temp folder
-            try (var walk = Files.walk(tempInputDir)) {
-                walk.sorted(Comparator.reverseOrder())
-                    .map(Path::toFile)
-                    .forEach(java.io.File::delete);
-            }
-        }
+        AtlasCacheInfo.save(cacheJSONPath, Map.of(mod.id(), mod.metadata().version()), textures, category.getCategory(), lod, asyncService);
     }
 
     /**
-     * Incrementally builds an atlas from a precedence-resolved set of textures.
-     * Only one image and the atlas are in memory at a time.
+     * Decodes textures straight from their mod streams, packs them with {@link MaxRectsPacker} and writes
+     * the page PNGs and the {@code .atlas} descriptor in a single pass, without staging files on disk.
+     * <p>
+     * The descriptor uses the libGDX TextureAtlas format TexturePacker writes; region names are the
+     * texture file names without extension, so lookups by {@code Identifier#toRegionKey()} keep working.
+     * Edge pixels are duplicated into the padding to avoid bleeding when filtering.
      */
-    public void buildIncrementalAtlas(List<TextureEntry> resolvedTextures, Path atlasDirectory, String baseName) throws IOException {
-        if (resolvedTextures.isEmpty()) return;
-        Files.createDirectories(atlasDirectory);
+    @Override
+    public void packAtlas(List<TextureEntry> textures, Path atlasDirectory, String baseName) throws IOException {
+        int count = textures.size();
+        BufferedImage[] images = new BufferedImage[count];
+        int[] widths = new int[count];
+        int[] heights = new int[count];
+        for (int i = 0; i < count; i++) {
+            TextureEntry entry = textures.get(i);
+            try (InputStream in = entry.openStream()) {
+                images[i] = ImageIO.read(in);
+            }
+            if (images[i] == null) {
+                throw new IOException("Unsupported image format: " + entry);
+            }
+            widths[i] = images[i].getWidth();
+            heights[i] = images[i].getHeight();
+        }
 
-        PixmapPacker packer = new PixmapPacker(cfg.atlasPageSize(), cfg.atlasPageSize(), Pixmap.Format.RGBA8888, cfg.padding(), false);
-        try {
-            for (TextureEntry entry : resolvedTextures) {
-                try (InputStream in = entry.openStream()) {
-                    Pixmap pixmap = new Pixmap(in.readAllBytes(), 0, in.available());
-                    packer.pack(entry.getFileName(), pixmap);
-                    pixmap.dispose();
+        int padding = cfg.padding();
+        MaxRectsPacker.Result layout = new MaxRectsPacker(cfg.atlasPageSize(), cfg.atlasPageSize(), padding)
+            .pack(widths, heights);
+
+        Path atlasPath = atlasDirectory.resolve(baseName + ATLAS_SUFFIX);
+        try (BufferedWriter writer = Files.newBufferedWriter(atlasPath)) {
+            for (int page = 0; page < layout.pageCount(); page++) {
+                BufferedImage pageImage = new BufferedImage(
+                    layout.pageWidth(page), layout.pageHeight(page), BufferedImage.TYPE_INT_ARGB);
+                String pageName = baseName + (page == 0 ? "" : "_" + (page + 1)) + ".png";
+
+                writer.newLine();
+                writer.write(pageName);
+                writer.newLine();
+                writer.write("size: " + pageImage.getWidth() + "," + pageImage.getHeight());
+                writer.newLine();
+                writer.write("format: RGBA8888");
+                writer.newLine();
+                writer.write("filter: " + cfg.minFilter().name() + "," + cfg.magFilter().name());
+                writer.newLine();
+                writer.write("repeat: none");
+                writer.newLine();
+
+                for (int i = 0; i < count; i++) {
+                    if (layout.page(i) != page) continue;
+                    int x = layout.x(i) + padding / 2;
+                    int y = layout.y(i) + padding / 2;
+                    drawWithEdgePadding(pageImage, images[i], x, y, padding / 2);
+                    images[i] = null; // Release decoded pixels as soon as they are on a page
+
+                    String fileName = textures.get(i).getFileName();
+                    writer.write(fileName.substring(0, fileName.lastIndexOf('.')));
+                    writer.newLine();
+                    writer.write("  rotate: false");
+                    writer.newLine();
+                    writer.write("  xy: " + x + ", " + y);
+                    writer.newLine();
+                    writer.write("  size: " + widths[i] + ", " + heights[i]);
+                    writer.newLine();
+                    writer.write("  orig: " + widths[i] + ", " + heights[i]);
+                    writer.newLine();
+                    writer.write("  offset: 0, 0");
+                    writer.newLine();
+                    writer.write("  index: -1");
+                    writer.newLine();
                 }
+                ImageIO.write(pageImage, "png", atlasDirectory.resolve(pageName).toFile());
             }
-            // Save atlas pages as PNGs
-            int pageCount = packer.getPages().size;
-            for (int i = 0; i < pageCount; i++) {
-                Pixmap page = packer.getPages().get(i).getPixmap();
-                Path pagePath = atlasDirectory.resolve(baseName + "_page" + i + ".png");
-                FileHandle handel = Gdx.files.absolute(pagePath.toFile().getAbsoluteFile().toString());
-                PixmapIO.writePNG(handel, page);
-            }
-            // Save basic metadata as JSON
-            Path metaPath = atlasDirectory.resolve(baseName + ".atlas.json");
-            Json json = new Json();
-            json.setOutputType(JsonWriter.OutputType.json);
-            List<String> names = resolvedTextures.stream().map(TextureEntry::getFileName).toList();
-            try (FileOutputStream out = new FileOutputStream(metaPath.toFile())) {
-                out.write(json.toJson(names).getBytes());
+        }
+    }
+
+    private static void drawWithEdgePadding(BufferedImage page, BufferedImage image, int x, int y, int border) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] row = new int[width];
+        for (int sy = -border; sy < height + border; sy++) {
+            int ty = y + sy;
+            if (ty < 0 || ty >= page.getHeight()) continue;
+            int srcY = Math.max(0, Math.min(height - 1, sy));
+            image.getRGB(0, srcY, width, 1, row, 0, width);
+            page.setRGB(x, ty, width, 1, row, 0, width);
+            for (int b = 1; b <= border; b++) {
+                if (x - b >= 0) page.setRGB(x - b, ty, row[0]);
+                if (x + width - 1 + b < page.getWidth()) page.setRGB(x + width - 1 + b, ty, row[width - 1]);
             }
-        } finally {
-            packer.dispose();
         }
     }
 }
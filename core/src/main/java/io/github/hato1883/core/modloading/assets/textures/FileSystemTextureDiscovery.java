@@ -2,6 +2,7 @@ package io.github.hato1883.core.modloading.assets.textures;
 
 import io.github.hato1883.api.Identifier;
 import io.github.hato1883.api.mod.load.asset.AssetCategory;
+import io.github.hato1883.api.mod.load.asset.ModArchives;
 import io.github.hato1883.api.mod.load.asset.TextureEntry;
 
 import java.io.IOException;
@@ -17,6 +18,7 @@ import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 public class FileSystemTextureDiscovery {
+    private static final Pattern LOD_PATTERN = Pattern.compile("lod(\\d+)");
 
     public Map<AssetCategory, Map<Integer, List<TextureEntry>>> discoverForMod(
         String modId,
@@ -63,17 +65,55 @@ public class FileSystemTextureDiscovery {
         return result;
     }
 
+    /**
+     * Discovers textures in a jar by reading entry names from its central directory.
+     * Produces the same entries as {@link #discoverForMod} without mounting a zip filesystem.
+     */
+    public Map<AssetCategory, Map<Integer, List<TextureEntry>>> discoverForArchive(
+        String modId,
+        Path modArchivePath // Path to a jar
+    ) throws IOException {
+        Map<AssetCategory, Map<Integer, List<TextureEntry>>> result = new HashMap<>();
 
+        String root = "assets/" + modId + "/textures/";
+        List<String> names = ModArchives.listEntries(modArchivePath, root);
+
+        for (AssetCategory category : AssetCategory.values()) {
+            String categoryPrefix = root + category.getCategory().toLowerCase() + "/";
+
+            for (String name : names) {
+                if (!name.startsWith(categoryPrefix) || !isImageFile(name)) continue;
+
+                int lod = extractLod(name);
+                String fileName = name.substring(name.lastIndexOf('/') + 1);
+                Identifier id = Identifier.of(modId, fileName.split("\\.")[0]);
+
+                TextureEntry entry = new TextureEntry(category, lod, id, modArchivePath, name);
+
+                result.computeIfAbsent(category, c -> new HashMap<>())
+                    .computeIfAbsent(lod, l -> new ArrayList<>())
+                    .add(entry);
+            }
+        }
+        return result;
+    }
 
     private boolean isImageFile(Path file) {
-        String name = file.getFileName().toString().toLowerCase();
+        return isImageFile(file.getFileName().toString());
+    }
+
+    private boolean isImageFile(String fileName) {
+        String name = fileName.toLowerCase();
         return name.endsWith(".png") || name.endsWith(".jpg");
     }
 
     private int extractLod(Path file) {
+        return extractLod(file.toString());
+    }
+
+    private int extractLod(String path) {
         // Example: "house_lod2.png" → 2
-        String name = file.toString().toLowerCase();
-        Matcher m = Pattern.compile("lod(\\d+)").matcher(name);
+        Matcher m = LOD_PATTERN.matcher(path.toLowerCase());
         return m.find() ? Integer.parseInt(m.group(1)) : 0;
     }
 }
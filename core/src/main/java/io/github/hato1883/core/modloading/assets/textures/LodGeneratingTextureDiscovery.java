@@ -0,0 +1,232 @@
+package io.github.hato1883.core.modloading.assets.textures;
+
+import io.github.hato1883.api.Identifier;
+import io.github.hato1883.api.LogManager;
+import io.github.hato1883.api.async.IAsyncExecutionService;
+import io.github.hato1883.api.async.TaskPool;
+import io.github.hato1883.api.mod.load.ILoadedMod;
+import io.github.hato1883.api.mod.load.asset.AssetCategory;
+import io.github.hato1883.api.mod.load.asset.TextureDiscoveryService;
+import io.github.hato1883.api.mod.load.asset.TextureEntry;
+import io.github.hato1883.core.modloading.assets.AtlasCacheInfo;
+import org.slf4j.Logger;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Texture discovery that fills in LODs a mod does not ship.
+ * <p>
+ * For every texture, each configured LOD level above the most detailed shipped one that has no image
+ * of its own is derived from the next more detailed level, shipped or generated, by repeated 2x2 box
+ * filtering with alpha-weighted colors. Generated images are written to {@code generatedDir/<modid>}
+ * and returned as ordinary directory-backed {@link TextureEntry}s, so atlas building treats them like
+ * shipped files. They are kept between runs and regenerated only when the shipped sources change, as
+ * recorded by an {@link AtlasCacheInfo} per mod and category. Textures of one mod are generated in
+ * parallel on the general pool when an {@link IAsyncExecutionService} is given.
+ */
+public class LodGeneratingTextureDiscovery implements TextureDiscoveryService {
+    private static final Logger LOGGER = LogManager.getLogger("ModTextureAssetLoader");
+    private static final String CACHE_FILE = "lods.cache.json";
+
+    private final TextureDiscoveryService delegate;
+    private final List<Integer> lodLevels;
+    private final Path generatedDir;
+    private final IAsyncExecutionService asyncService;
+
+    /**
+     * @param delegate     discovery of the textures mods ship
+     * @param lodLevels    LOD levels every texture should have, e.g. {@code AssetConfig#lodSizes()}
+     * @param generatedDir directory generated images are cached in
+     * @param asyncService pool to downscale on, or {@code null} to downscale on the calling thread
+     */
+    public LodGeneratingTextureDiscovery(TextureDiscoveryService delegate, List<Integer> lodLevels,
+                                         Path generatedDir, IAsyncExecutionService asyncService) {
+        this.delegate = delegate;
+        this.lodLevels = lodLevels.stream().distinct().sorted().toList();
+        this.generatedDir = generatedDir;
+        this.asyncService = asyncService;
+    }
+
+    @Override
+    public Map<ILoadedMod, Map<AssetCategory, Map<Integer, List<TextureEntry>>>> discover(List<ILoadedMod> mods) throws IOException {
+        Map<ILoadedMod, Map<AssetCategory, Map<Integer, List<TextureEntry>>>> discovered = delegate.discover(mods);
+        for (var modEntry : discovered.entrySet()) {
+            ILoadedMod mod = modEntry.getKey();
+            for (var catEntry : modEntry.getValue().entrySet()) {
+                try {
+                    fillMissingLods(mod, catEntry.getKey(), catEntry.getValue());
+                } catch (IOException e) {
+                    // Generated LODs are an optimisation; the shipped ones still work on their own
+                    LOGGER.warn("Could not generate LODs for mod={} category={}: {}", mod.id(), catEntry.getKey(), e.getMessage());
+                }
+            }
+        }
+        return discovered;
+    }
+
+    /** One texture with its shipped LODs and the levels to generate for it. */
+    private record Plan(Identifier id, TreeMap<Integer, TextureEntry> shipped, List<Integer> missing) {}
+
+    private void fillMissingLods(ILoadedMod mod, AssetCategory category,
+                                 Map<Integer, List<TextureEntry>> byLod) throws IOException {
+        Map<Identifier, TreeMap<Integer, TextureEntry>> byId = new LinkedHashMap<>();
+        for (var lodEntry : byLod.entrySet()) {
+            for (TextureEntry entry : lodEntry.getValue()) {
+                byId.computeIfAbsent(entry.getId(), id -> new TreeMap<>()).put(lodEntry.getKey(), entry);
+            }
+        }
+
+        List<Plan> plans = new ArrayList<>();
+        List<TextureEntry> sources = new ArrayList<>();
+        for (var idEntry : byId.entrySet()) {
+            TreeMap<Integer, TextureEntry> shipped = idEntry.getValue();
+            // Only coarser levels are derived; upscaling would not add detail
+            List<Integer> missing = lodLevels.stream()
+                .filter(level -> level > shipped.firstKey() && !shipped.containsKey(level))
+                .toList();
+            if (missing.isEmpty()) continue;
+            plans.add(new Plan(idEntry.getKey(), shipped, missing));
+            sources.addAll(shipped.values());
+        }
+        if (plans.isEmpty()) return;
+
+        Path categoryDir = generatedDir.resolve(mod.id()).resolve(category.getCategory());
+        Path cacheFile = categoryDir.resolve(CACHE_FILE);
+        Map<String, String> modVersions = Map.of(mod.id(), mod.metadata().version());
+
+        boolean upToDate = false;
+        try {
+            upToDate = AtlasCacheInfo.isUpToDate(cacheFile, modVersions, sources, asyncService)
+                && plans.stream().allMatch(plan -> plan.missing().stream()
+                    .allMatch(level -> Files.exists(generatedDir.resolve(mod.id()).resolve(internalPath(category, level, plan)))));
+        } catch (IOException e) {
+            // Unreadable cache file, regenerate
+        }
+
+        if (!upToDate) {
+            Files.createDirectories(categoryDir);
+            generateAll(mod, category, plans);
+            AtlasCacheInfo.save(cacheFile, modVersions, sources, category.getCategory(), -1, asyncService);
+            LOGGER.info("Generated LODs for {} textures of mod={} category={}", plans.size(), mod.id(), category);
+        }
+
+        Path modDir = generatedDir.resolve(mod.id());
+        for (Plan plan : plans) {
+            for (int level : plan.missing()) {
+                byLod.computeIfAbsent(level, l -> new ArrayList<>())
+                    .add(new TextureEntry(category, level, plan.id(), modDir, internalPath(category, level, plan)));
+            }
+        }
+    }
+
+    private void generateAll(ILoadedMod mod, AssetCategory category, List<Plan> plans) throws IOException {
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        if (asyncService == null || plans.size() < 2) {
+            for (Plan plan : plans) {
+                generate(mod, category, plan, failures);
+            }
+        } else {
+            List<CompletableFuture<Void>> futures = new ArrayList<>(plans.size());
+            for (int i = 0; i < plans.size(); i++) {
+                Plan plan = plans.get(i);
+                futures.add(asyncService.executeAsync((Runnable) () -> generate(mod, category, plan, failures), "lod-generate-" + i, TaskPool.GENERAL));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        }
+
+        Throwable first = failures.poll();
+        if (first == null) return;
+        for (Throwable other : failures) {
+            first.addSuppressed(other);
+        }
+        throw first instanceof IOException io ? io : new IOException(first);
+    }
+
+    private void generate(ILoadedMod mod, AssetCategory category, Plan plan, Queue<Throwable> failures) {
+        try {
+            Path modDir = generatedDir.resolve(mod.id());
+            int level = plan.shipped().firstKey();
+            BufferedImage current = read(plan.shipped().firstEntry().getValue());
+            for (int target : plan.missing()) {
+                // Continue from the most detailed image below the target, shipped or generated
+                Map.Entry<Integer, TextureEntry> closerShipped = plan.shipped().floorEntry(target);
+                if (closerShipped.getKey() > level) {
+                    level = closerShipped.getKey();
+                    current = read(closerShipped.getValue());
+                }
+                while (level < target) {
+                    current = downscaleHalf(current);
+                    level++;
+                }
+                Path out = modDir.resolve(internalPath(category, target, plan));
+                Files.createDirectories(out.getParent());
+                ImageIO.write(current, "png", out.toFile());
+            }
+        } catch (Throwable t) {
+            // The async executor only logs failures, so they are collected here
+            failures.add(t);
+        }
+    }
+
+    private static String internalPath(AssetCategory category, int level, Plan plan) {
+        TextureEntry source = plan.shipped().firstEntry().getValue();
+        String fileName = source.internalPath().substring(source.internalPath().lastIndexOf('/') + 1);
+        // Always PNG: the generated image has alpha and must not be re-encoded lossy
+        String baseName = fileName.substring(0, fileName.lastIndexOf('.'));
+        return category.getCategory().toLowerCase() + "/lod" + level + "/" + baseName + ".png";
+    }
+
+    private static BufferedImage read(TextureEntry entry) throws IOException {
+        BufferedImage image;
+        try (InputStream in = entry.openStream()) {
+            image = ImageIO.read(in);
+        }
+        if (image == null) {
+            throw new IOException("Unsupported image format: " + entry);
+        }
+        return image;
+    }
+
+    /**
+     * Halves an image with a 2x2 box filter. Colors are weighted by alpha so transparent pixels do not
+     * darken edges; odd sizes clamp the last row and column.
+     */
+    static BufferedImage downscaleHalf(BufferedImage source) {
+        int sw = source.getWidth();
+        int sh = source.getHeight();
+        int dw = Math.max(1, sw / 2);
+        int dh = Math.max(1, sh / 2);
+        int[] src = source.getRGB(0, 0, sw, sh, null, 0, sw);
+        int[] dst = new int[dw * dh];
+        for (int y = 0; y < dh; y++) {
+            int y0 = Math.min(sh - 1, y * 2);
+            int y1 = Math.min(sh - 1, y * 2 + 1);
+            for (int x = 0; x < dw; x++) {
+                int x0 = Math.min(sw - 1, x * 2);
+                int x1 = Math.min(sw - 1, x * 2 + 1);
+                int[] samples = {src[y0 * sw + x0], src[y0 * sw + x1], src[y1 * sw + x0], src[y1 * sw + x1]};
+                int a = 0, r = 0, g = 0, b = 0;
+                for (int argb : samples) {
+                    int alpha = argb >>> 24;
+                    a += alpha;
+                    r += ((argb >> 16) & 0xFF) * alpha;
+                    g += ((argb >> 8) & 0xFF) * alpha;
+                    b += (argb & 0xFF) * alpha;
+                }
+                dst[y * dw + x] = a == 0 ? 0
+                    : ((a + 2) / 4) << 24 | (r + a / 2) / a << 16 | (g + a / 2) / a << 8 | (b + a / 2) / a;
+            }
+        }
+        BufferedImage result = new BufferedImage(dw, dh, BufferedImage.TYPE_INT_ARGB);
+        result.setRGB(0, 0, dw, dh, dst, 0, dw);
+        return result;
+    }
+}
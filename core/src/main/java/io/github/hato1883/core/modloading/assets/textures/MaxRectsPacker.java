@@ -0,0 +1,229 @@
+package io.github.hato1883.core.modloading.assets.textures;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * MaxRects bin packer placing rectangles on as few fixed-size pages as possible.
+ * <p>
+ * Every page keeps the list of maximal free rectangles. A rectangle goes to the free rectangle that
+ * leaves the shortest leftover side (Best Short Side Fit) on the first page it fits on; the chosen
+ * free rectangle is then split and free rectangles contained in others are pruned. Rectangles are
+ * placed largest side first, which keeps pages dense. Rotation is not used, so regions keep their
+ * orientation in the atlas.
+ *
+ * <h3>Example Usage:</h3>
+ * <pre>{@code
+ * MaxRectsPacker packer = new MaxRectsPacker(2048, 2048, 4);
+ * MaxRectsPacker.Result result = packer.pack(widths, heights);
+ * int page = result.page(0);
+ * int x = result.x(0), y = result.y(0);
+ * }</pre>
+ */
+public final class MaxRectsPacker {
+
+    private final int pageWidth;
+    private final int pageHeight;
+    private final int padding;
+
+    /**
+     * @param pageWidth  maximum page width in pixels
+     * @param pageHeight maximum page height in pixels
+     * @param padding    empty pixels kept to the right of and below every rectangle
+     */
+    public MaxRectsPacker(int pageWidth, int pageHeight, int padding) {
+        if (pageWidth <= 0 || pageHeight <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageWidth + "x" + pageHeight);
+        }
+        if (padding < 0) {
+            throw new IllegalArgumentException("Padding must not be negative: " + padding);
+        }
+        this.pageWidth = pageWidth;
+        this.pageHeight = pageHeight;
+        this.padding = padding;
+    }
+
+    /**
+     * Placement of every input rectangle, by input index.
+     */
+    public static final class Result {
+        private final int[] pages;
+        private final int[] xs;
+        private final int[] ys;
+        private final int[] pageWidths;
+        private final int[] pageHeights;
+
+        private Result(int[] pages, int[] xs, int[] ys, int[] pageWidths, int[] pageHeights) {
+            this.pages = pages;
+            this.xs = xs;
+            this.ys = ys;
+            this.pageWidths = pageWidths;
+            this.pageHeights = pageHeights;
+        }
+
+        public int page(int index) {
+            return pages[index];
+        }
+
+        public int x(int index) {
+            return xs[index];
+        }
+
+        public int y(int index) {
+            return ys[index];
+        }
+
+        public int pageCount() {
+            return pageWidths.length;
+        }
+
+        /**
+         * @return the used width of a page rounded up to a power of two
+         */
+        public int pageWidth(int page) {
+            return pageWidths[page];
+        }
+
+        /**
+         * @return the used height of a page rounded up to a power of two
+         */
+        public int pageHeight(int page) {
+            return pageHeights[page];
+        }
+    }
+
+    /**
+     * Packs rectangles given as parallel width and height arrays.
+     *
+     * @throws IllegalArgumentException if a rectangle plus padding is larger than a page
+     */
+    public Result pack(int[] widths, int[] heights) {
+        if (widths.length != heights.length) {
+            throw new IllegalArgumentException("widths and heights differ in length");
+        }
+        int count = widths.length;
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            if (widths[i] + padding > pageWidth || heights[i] + padding > pageHeight) {
+                throw new IllegalArgumentException("Rectangle " + i + " (" + widths[i] + "x" + heights[i]
+                    + ") does not fit a " + pageWidth + "x" + pageHeight + " page with padding " + padding);
+            }
+            order[i] = i;
+        }
+        // Largest side first, then area, then input order for a stable layout
+        Arrays.sort(order, (a, b) -> {
+            int bySide = Integer.compare(Math.max(widths[b], heights[b]), Math.max(widths[a], heights[a]));
+            if (bySide != 0) return bySide;
+            int byArea = Long.compare((long) widths[b] * heights[b], (long) widths[a] * heights[a]);
+            return byArea != 0 ? byArea : Integer.compare(a, b);
+        });
+
+        int[] pages = new int[count];
+        int[] xs = new int[count];
+        int[] ys = new int[count];
+        List<Page> open = new ArrayList<>();
+        for (int index : order) {
+            int w = widths[index] + padding;
+            int h = heights[index] + padding;
+            int target = -1;
+            int[] position = null;
+            for (int p = 0; p < open.size() && position == null; p++) {
+                position = open.get(p).find(w, h);
+                target = p;
+            }
+            if (position == null) {
+                open.add(new Page(pageWidth, pageHeight));
+                target = open.size() - 1;
+                position = open.get(target).find(w, h);
+            }
+            open.get(target).place(position[0], position[1], w, h);
+            pages[index] = target;
+            xs[index] = position[0];
+            ys[index] = position[1];
+        }
+
+        int[] pageWidths = new int[open.size()];
+        int[] pageHeights = new int[open.size()];
+        for (int p = 0; p < open.size(); p++) {
+            pageWidths[p] = Math.min(pageWidth, powerOfTwo(open.get(p).usedWidth));
+            pageHeights[p] = Math.min(pageHeight, powerOfTwo(open.get(p).usedHeight));
+        }
+        return new Result(pages, xs, ys, pageWidths, pageHeights);
+    }
+
+    private static int powerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    /** Free-rectangle bookkeeping of one page, stored as {x, y, w, h} quadruples. */
+    private static final class Page {
+        private final List<int[]> free = new ArrayList<>();
+        private int usedWidth;
+        private int usedHeight;
+
+        Page(int width, int height) {
+            free.add(new int[]{0, 0, width, height});
+        }
+
+        /** @return {x, y} of the best fit, or {@code null} if the rectangle does not fit */
+        int[] find(int w, int h) {
+            int[] best = null;
+            int bestShort = Integer.MAX_VALUE;
+            int bestLong = Integer.MAX_VALUE;
+            for (int[] rect : free) {
+                if (rect[2] < w || rect[3] < h) continue;
+                int leftoverW = rect[2] - w;
+                int leftoverH = rect[3] - h;
+                int shortSide = Math.min(leftoverW, leftoverH);
+                int longSide = Math.max(leftoverW, leftoverH);
+                if (shortSide < bestShort || (shortSide == bestShort && longSide < bestLong)) {
+                    best = new int[]{rect[0], rect[1]};
+                    bestShort = shortSide;
+                    bestLong = longSide;
+                }
+            }
+            return best;
+        }
+
+        void place(int x, int y, int w, int h) {
+            List<int[]> split = new ArrayList<>();
+            for (int i = free.size() - 1; i >= 0; i--) {
+                int[] rect = free.get(i);
+                if (x >= rect[0] + rect[2] || x + w <= rect[0] || y >= rect[1] + rect[3] || y + h <= rect[1]) {
+                    continue;
+                }
+                free.remove(i);
+                // Keep the maximal parts of the free rectangle around the placed one
+                if (x > rect[0]) split.add(new int[]{rect[0], rect[1], x - rect[0], rect[3]});
+                if (x + w < rect[0] + rect[2]) split.add(new int[]{x + w, rect[1], rect[0] + rect[2] - x - w, rect[3]});
+                if (y > rect[1]) split.add(new int[]{rect[0], rect[1], rect[2], y - rect[1]});
+                if (y + h < rect[1] + rect[3]) split.add(new int[]{rect[0], y + h, rect[2], rect[1] + rect[3] - y - h});
+            }
+            free.addAll(split);
+            prune();
+            usedWidth = Math.max(usedWidth, x + w);
+            usedHeight = Math.max(usedHeight, y + h);
+        }
+
+        private void prune() {
+            for (int i = 0; i < free.size(); i++) {
+                for (int j = i + 1; j < free.size(); j++) {
+                    if (contains(free.get(j), free.get(i))) {
+                        free.remove(i--);
+                        break;
+                    }
+                    if (contains(free.get(i), free.get(j))) {
+                        free.remove(j--);
+                    }
+                }
+            }
+        }
+
+        private static boolean contains(int[] outer, int[] inner) {
+            return inner[0] >= outer[0] && inner[1] >= outer[1]
+                && inner[0] + inner[2] <= outer[0] + outer[2]
+                && inner[1] + inner[3] <= outer[1] + outer[3];
+        }
+    }
+}
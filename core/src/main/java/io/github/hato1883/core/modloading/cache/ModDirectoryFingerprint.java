@@ -0,0 +1,68 @@
+package io.github.hato1883.core.modloading.cache;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 64-bit fingerprint of a mods directory.
+ * <p>
+ * Covers the game version, the absolute mods directory and, for every entry of the directory, its name,
+ * size and modification time. Snapshots are paths into the directory, so the same contents in another
+ * location fingerprint differently.
+ * Directory mods contribute every file below them. File contents are never read, so computing the
+ * fingerprint costs one {@code stat} per file.
+ */
+public final class ModDirectoryFingerprint {
+    private ModDirectoryFingerprint() {}
+
+    /**
+     * @return the fingerprint; a missing directory fingerprints as empty
+     */
+    public static long compute(Path modsDir, String gameVersion) throws IOException {
+        long hash = mixString(0x6A09E667F3BCC909L, gameVersion);
+        hash = mixString(hash, modsDir.toAbsolutePath().normalize().toString());
+        if (!Files.isDirectory(modsDir)) return hash;
+
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> walk = Files.walk(modsDir)) {
+            walk.filter(Files::isRegularFile).forEach(files::add);
+        }
+        // Sorted, so the result does not depend on directory listing order
+        files.sort(null);
+        for (Path file : files) {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            hash = mixString(hash, modsDir.relativize(file).toString().replace('\\', '/'));
+            hash = mix(hash ^ attributes.size());
+            hash = mix(hash ^ attributes.lastModifiedTime().toMillis());
+        }
+        return mix(hash ^ files.size());
+    }
+
+    /**
+     * @return the game version from the jar manifest, or {@code "dev"} when running from classes
+     */
+    public static String currentGameVersion() {
+        String version = ModDirectoryFingerprint.class.getPackage().getImplementationVersion();
+        return version != null ? version : "dev";
+    }
+
+    private static long mixString(long hash, String value) {
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ b) * 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    /** SplitMix64 finalizer. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,20 @@
+package io.github.hato1883.core.modloading.cache;
+
+import io.github.hato1883.api.mod.load.dependency.ModWithPath;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of the mod loading steps that depend only on the contents of the mods directory.
+ *
+ * @param fingerprint   {@link ModDirectoryFingerprint} of the mods directory the snapshot was taken from
+ * @param orderedMods   resolved load order with metadata and paths
+ * @param listenerIndex listener class names per mod id
+ */
+public record ModLoadSnapshot(long fingerprint, List<ModWithPath> orderedMods, Map<String, List<String>> listenerIndex) {
+    public ModLoadSnapshot {
+        orderedMods = List.copyOf(orderedMods);
+        listenerIndex = Map.copyOf(listenerIndex);
+    }
+}
@@ -0,0 +1,178 @@
+package io.github.hato1883.core.modloading.cache;
+
+import io.github.hato1883.api.LogManager;
+import io.github.hato1883.api.mod.load.LoadPriority;
+import io.github.hato1883.api.mod.load.ModMetadata;
+import io.github.hato1883.api.mod.load.dependency.ModDependency;
+import io.github.hato1883.api.mod.load.dependency.ModWithPath;
+import io.github.hato1883.api.mod.load.dependency.VersionConstraint;
+import org.slf4j.Logger;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Reads and writes {@link ModLoadSnapshot}s as a compact binary file.
+ * <p>
+ * Layout: magic, format version, fingerprint, then the ordered mods (path and metadata) and the
+ * listener index, using {@link DataOutputStream} primitives. Files are written to a temporary file
+ * and moved into place, so a crash never leaves a half-written snapshot behind. Any read error is
+ * treated as a cache miss.
+ */
+public class ModLoadSnapshotStore {
+    private static final Logger LOGGER = LogManager.getLogger("ModLoading");
+    private static final int MAGIC = 0x43544E53; // "CTNS"
+    private static final int FORMAT_VERSION = 1;
+
+    private final Path file;
+
+    public ModLoadSnapshotStore(Path file) {
+        this.file = file;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * @return the stored snapshot if it exists, is readable and matches {@code fingerprint}
+     */
+    public Optional<ModLoadSnapshot> load(long fingerprint) {
+        if (!Files.isRegularFile(file)) return Optional.empty();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) return Optional.empty();
+            if (in.readLong() != fingerprint) return Optional.empty();
+
+            int modCount = in.readInt();
+            List<ModWithPath> mods = new ArrayList<>(modCount);
+            for (int i = 0; i < modCount; i++) {
+                Path path = Path.of(in.readUTF());
+                mods.add(new ModWithPath(readMetadata(in), path));
+            }
+            int indexSize = in.readInt();
+            Map<String, List<String>> index = new HashMap<>(indexSize * 2);
+            for (int i = 0; i < indexSize; i++) {
+                String modId = in.readUTF();
+                int classCount = in.readInt();
+                List<String> classes = new ArrayList<>(classCount);
+                for (int c = 0; c < classCount; c++) {
+                    classes.add(in.readUTF());
+                }
+                index.put(modId, classes);
+            }
+            return Optional.of(new ModLoadSnapshot(fingerprint, mods, index));
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Ignoring unreadable mod load snapshot {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void save(ModLoadSnapshot snapshot) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(snapshot.fingerprint());
+
+            out.writeInt(snapshot.orderedMods().size());
+            for (ModWithPath mod : snapshot.orderedMods()) {
+                out.writeUTF(mod.path().toString());
+                writeMetadata(out, mod.metadata());
+            }
+            out.writeInt(snapshot.listenerIndex().size());
+            for (Map.Entry<String, List<String>> entry : snapshot.listenerIndex().entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().size());
+                for (String className : entry.getValue()) {
+                    out.writeUTF(className);
+                }
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeMetadata(DataOutputStream out, ModMetadata meta) throws IOException {
+        out.writeUTF(meta.id());
+        out.writeUTF(meta.name());
+        out.writeUTF(meta.version());
+        out.writeUTF(meta.entrypoint());
+        writeNullable(out, meta.description());
+        out.writeUTF(meta.loadPriority().name());
+        out.writeInt(meta.dependencies().size());
+        for (ModDependency dependency : meta.dependencies()) {
+            out.writeUTF(dependency.modId());
+            writeConstraint(out, dependency.versionConstraint());
+            out.writeBoolean(dependency.optional());
+        }
+    }
+
+    private static ModMetadata readMetadata(DataInputStream in) throws IOException {
+        String id = in.readUTF();
+        String name = in.readUTF();
+        String version = in.readUTF();
+        String entrypoint = in.readUTF();
+        String description = readNullable(in);
+        LoadPriority priority = LoadPriority.valueOf(in.readUTF());
+        int dependencyCount = in.readInt();
+        List<ModDependency> dependencies = new ArrayList<>(dependencyCount);
+        for (int i = 0; i < dependencyCount; i++) {
+            String modId = in.readUTF();
+            VersionConstraint constraint = readConstraint(in);
+            dependencies.add(new ModDependency(modId, constraint, in.readBoolean()));
+        }
+        return new ModMetadata(id, name, version, entrypoint, description, dependencies, priority);
+    }
+
+    // Stored structurally: the string form of open-ended ranges does not parse back to the same constraint
+    private static void writeConstraint(DataOutputStream out, VersionConstraint constraint) throws IOException {
+        switch (constraint) {
+            case VersionConstraint.AnyVersion any -> out.writeByte(0);
+            case VersionConstraint.ExactVersion exact -> {
+                out.writeByte(1);
+                out.writeUTF(exact.requiredVersion());
+            }
+            case VersionConstraint.TildeVersion tilde -> {
+                out.writeByte(2);
+                out.writeUTF(tilde.baseVersion());
+            }
+            case VersionConstraint.CaretVersion caret -> {
+                out.writeByte(3);
+                out.writeUTF(caret.baseVersion());
+            }
+            case VersionConstraint.RangeVersion range -> {
+                out.writeByte(4);
+                writeNullable(out, range.minVersion());
+                writeNullable(out, range.maxVersion());
+                out.writeBoolean(range.minInclusive());
+                out.writeBoolean(range.maxInclusive());
+            }
+            default -> {
+                out.writeByte(5);
+                out.writeUTF(constraint.toString());
+            }
+        }
+    }
+
+    private static VersionConstraint readConstraint(DataInputStream in) throws IOException {
+        return switch (in.readByte()) {
+            case 0 -> VersionConstraint.any();
+            case 1 -> new VersionConstraint.ExactVersion(in.readUTF());
+            case 2 -> new VersionConstraint.TildeVersion(in.readUTF());
+            case 3 -> new VersionConstraint.CaretVersion(in.readUTF());
+            case 4 -> new VersionConstraint.RangeVersion(readNullable(in), readNullable(in), in.readBoolean(), in.readBoolean());
+            case 5 -> VersionConstraint.parse(in.readUTF());
+            default -> throw new IOException("Unknown version constraint tag");
+        };
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeUTF(value);
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -2,6 +2,7 @@ package io.github.hato1883.core.modloading.loading;
 
 import io.github.hato1883.api.mod.load.IModListenerScanner;
 import io.github.hato1883.api.mod.load.ILoadedMod;
+import io.github.hato1883.core.events.listeners.IndexedListenerScanner;
 import org.slf4j.Logger;
 import io.github.hato1883.api.LogManager;
 import java.util.List;
@@ -20,7 +21,16 @@ public class DefaultEventListenerRegistrationStep implements ModLoadingStep {
     @Override
     public void execute(ModLoadingContext context) throws Exception {
         List<ILoadedMod> loadedMods = context.getLoadedMods();
-        listenerScanner.scanAndRegister(loadedMods);
+        if (listenerScanner instanceof IndexedListenerScanner indexed) {
+            // A restored snapshot names the listener classes, so the classpath scan can be skipped
+            if (context.getListenerIndex() != null) {
+                indexed.registerFromIndex(loadedMods, context.getListenerIndex());
+            } else {
+                context.setListenerIndex(indexed.scanAndRegisterIndexed(loadedMods));
+            }
+        } else {
+            listenerScanner.scanAndRegister(loadedMods);
+        }
         LOGGER.info("Event listener registration complete for {} mods.", loadedMods.size());
     }
 }
@@ -2,6 +2,7 @@ package io.github.hato1883.core.modloading.loading;
 
 import io.github.hato1883.api.mod.load.asset.IModAssetLoader;
 import io.github.hato1883.api.mod.load.asset.AssetCategory;
+import io.github.hato1883.api.mod.load.asset.ModArchives;
 import io.github.hato1883.api.mod.load.asset.TextureEntry;
 import io.github.hato1883.api.mod.load.ILoadedMod;
 import org.slf4j.Logger;
@@ -26,18 +27,21 @@ public class DefaultModAssetLoadingStep implements ModLoadingStep {
 
     @Override
     public void execute(ModLoadingContext context) throws Exception {
-        List<ILoadedMod> loadedMods = context.getLoadedMods();
-        List<List<TextureEntry>> allSources = new ArrayList<>();
-        for (ILoadedMod loadedMod : loadedMods) {
-            Map<ILoadedMod, Map<AssetCategory, Map<Integer, List<TextureEntry>>>> discovered = modAssetLoader.getDiscovery().discover(List.of(loadedMod));
-            for (Map<AssetCategory, Map<Integer, List<TextureEntry>>> catMap : discovered.values()) {
-                for (Map<Integer, List<TextureEntry>> lodMap : catMap.values()) {
-                    allSources.addAll(lodMap.values());
+        // Every jar is opened once for discovery, hashing and packing, and closed when the step ends
+        try (ModArchives.Session session = ModArchives.openSession()) {
+            List<ILoadedMod> loadedMods = context.getLoadedMods();
+            List<List<TextureEntry>> allSources = new ArrayList<>();
+            for (ILoadedMod loadedMod : loadedMods) {
+                Map<ILoadedMod, Map<AssetCategory, Map<Integer, List<TextureEntry>>>> discovered = modAssetLoader.getDiscovery().discover(List.of(loadedMod));
+                for (Map<AssetCategory, Map<Integer, List<TextureEntry>>> catMap : discovered.values()) {
+                    for (Map<Integer, List<TextureEntry>> lodMap : catMap.values()) {
+                        allSources.addAll(lodMap.values());
+                    }
                 }
             }
+            context.setAllTextureSources(allSources);
+            modAssetLoader.loadAssetsWithPrecedence(allSources, atlasDir, baseName);
         }
-        context.setAllTextureSources(allSources);
-        modAssetLoader.loadAssetsWithPrecedence(allSources, atlasDir, baseName);
         LOGGER.info("Asset loading complete. Atlases built at {}.", atlasDir);
     }
 }
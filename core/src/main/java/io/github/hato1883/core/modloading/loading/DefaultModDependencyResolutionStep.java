@@ -19,6 +19,11 @@ public class DefaultModDependencyResolutionStep implements ModLoadingStep {
         this.dependencyResolver = dependencyResolver;
     }
 
+    @Override
+    public boolean isSkippedWhenRestored() {
+        return true;
+    }
+
     @Override
     public void execute(ModLoadingContext context) throws Exception {
         Map<ModMetadata, java.nio.file.Path> metadataMap = context.getModMetadataMap();
@@ -19,6 +19,11 @@ public class DefaultModDiscoveryStep implements ModLoadingStep {
         this.modsDir = modsDir;
     }
 
+    @Override
+    public boolean isSkippedWhenRestored() {
+        return true;
+    }
+
     @Override
     public void execute(ModLoadingContext context) throws Exception {
         LOGGER.info("Discovering mods in {}...", modsDir);
@@ -1,5 +1,7 @@
 package io.github.hato1883.core.modloading.loading;
 
+import io.github.hato1883.api.async.IAsyncExecutionService;
+import io.github.hato1883.api.async.TaskPool;
 import io.github.hato1883.api.mod.CatanMod;
 import io.github.hato1883.api.mod.load.ModMetadata;
 import io.github.hato1883.api.mod.load.dependency.ModWithPath;
@@ -7,54 +9,126 @@ import org.slf4j.Logger;
 import io.github.hato1883.api.LogManager;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import io.github.hato1883.api.mod.load.IModClassLoaderFactory;
 import io.github.hato1883.api.mod.load.ILoadedMod;
 
 /**
  * Step 4: Instantiate mod classes and store loaded mod instances in the context.
+ * <p>
+ * Mods are grouped into waves: a mod's wave is one past the highest wave of the mods it depends on.
+ * When an {@link IAsyncExecutionService} is available, the class loaders and instances of a wave are
+ * created concurrently; waves run one after another, so a mod is only created once all of its
+ * dependencies have been. Loaded mods keep the resolved load order.
  */
 public class DefaultModInstanceCreationStep implements ModLoadingStep {
     private static final Logger LOGGER = LogManager.getLogger("ModLoading");
     private final IModClassLoaderFactory classLoaderFactory;
+    private final IAsyncExecutionService asyncService;
 
     public DefaultModInstanceCreationStep(IModClassLoaderFactory classLoaderFactory) {
+        this(classLoaderFactory, null);
+    }
+
+    /**
+     * @param asyncService pool to create independent mods on, or {@code null} to create them on the calling thread
+     */
+    public DefaultModInstanceCreationStep(IModClassLoaderFactory classLoaderFactory, IAsyncExecutionService asyncService) {
         this.classLoaderFactory = classLoaderFactory;
+        this.asyncService = asyncService;
     }
 
     @Override
     public void execute(ModLoadingContext context) {
         List<ModWithPath> mods = context.getOrderedMods();
-        List<ILoadedMod> loaded = new ArrayList<>(mods.size());
+        ILoadedMod[] created = new ILoadedMod[mods.size()];
         Set<String> failedIds = new HashSet<>();
-        for (ModWithPath mod : mods) {
-            ModMetadata meta = mod.metadata();
-            Path modPath = mod.path();
-            boolean hasFailedDep = false;
-            for (var dep : meta.dependencies()) {
-                if (!dep.optional() && failedIds.contains(dep.modId())) {
-                    hasFailedDep = true;
-                    break;
+
+        for (List<Integer> wave : buildWaves(mods)) {
+            List<Integer> runnable = new ArrayList<>(wave.size());
+            for (int i : wave) {
+                ModMetadata meta = mods.get(i).metadata();
+                if (hasFailedDependency(meta, failedIds)) {
+                    failedIds.add(meta.id());
+                    LOGGER.warn("Skipping mod '{}' due to failed dependency.", meta.id());
+                } else {
+                    runnable.add(i);
                 }
             }
-            if (hasFailedDep) {
-                failedIds.add(meta.id());
-                LOGGER.warn("Skipping mod '{}' due to failed dependency.", meta.id());
-                continue;
+
+            if (asyncService == null || runnable.size() < 2) {
+                for (int i : runnable) {
+                    created[i] = load(mods.get(i));
+                }
+            } else {
+                List<CompletableFuture<ILoadedMod>> futures = new ArrayList<>(runnable.size());
+                for (int i : runnable) {
+                    ModWithPath mod = mods.get(i);
+                    futures.add(asyncService.executeAsync(() -> load(mod), "mod-instance-" + mod.metadata().id(), TaskPool.GENERAL));
+                }
+                for (int k = 0; k < runnable.size(); k++) {
+                    created[runnable.get(k)] = futures.get(k).join();
+                }
             }
-            try {
-                ClassLoader cl = classLoaderFactory.createClassLoader(modPath);
-                CatanMod instance = instantiateMod(meta.entrypoint(), cl);
-                loaded.add(new LoadedMod(modPath, meta, instance, cl));
-                LOGGER.info("Loaded mod {} v{}", meta.id(), meta.version());
-            } catch (Exception e) {
-                LOGGER.error("Failed to load mod '{}' from {}: {}", meta.id(), modPath.getFileName(), e.getMessage(), e);
-                failedIds.add(meta.id());
+
+            for (int i : runnable) {
+                if (created[i] == null) failedIds.add(mods.get(i).metadata().id());
             }
         }
-        loaded.removeIf(m -> failedIds.contains(m.metadata().id()));
+
+        List<ILoadedMod> loaded = new ArrayList<>(mods.size());
+        for (ILoadedMod mod : created) {
+            if (mod != null) loaded.add(mod);
+        }
         context.setLoadedMods(loaded);
     }
 
+    /**
+     * @return the loaded mod, or {@code null} if it failed (the failure is logged)
+     */
+    private ILoadedMod load(ModWithPath mod) {
+        ModMetadata meta = mod.metadata();
+        Path modPath = mod.path();
+        try {
+            ClassLoader cl = classLoaderFactory.createClassLoader(modPath);
+            CatanMod instance = instantiateMod(meta.entrypoint(), cl);
+            LOGGER.info("Loaded mod {} v{}", meta.id(), meta.version());
+            return new LoadedMod(modPath, meta, instance, cl);
+        } catch (Exception e) {
+            LOGGER.error("Failed to load mod '{}' from {}: {}", meta.id(), modPath.getFileName(), e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private static boolean hasFailedDependency(ModMetadata meta, Set<String> failedIds) {
+        for (var dep : meta.dependencies()) {
+            if (!dep.optional() && failedIds.contains(dep.modId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Groups mod indices by dependency depth. Relies on {@code mods} already being in dependency order.
+     */
+    private static List<List<Integer>> buildWaves(List<ModWithPath> mods) {
+        Map<String, Integer> waveById = new HashMap<>();
+        List<List<Integer>> waves = new ArrayList<>();
+        for (int i = 0; i < mods.size(); i++) {
+            ModMetadata meta = mods.get(i).metadata();
+            int wave = 0;
+            for (var dep : meta.dependencies()) {
+                Integer depWave = waveById.get(dep.modId());
+                if (depWave != null) wave = Math.max(wave, depWave + 1);
+            }
+            waveById.put(meta.id(), wave);
+            while (waves.size() <= wave) waves.add(new ArrayList<>());
+            waves.get(wave).add(i);
+        }
+        return waves;
+    }
+
     private CatanMod instantiateMod(String mainClass, ClassLoader cl) throws ReflectiveOperationException {
         Class<?> clazz = Class.forName(mainClass, true, cl);
         Object inst = clazz.getDeclaredConstructor().newInstance();
@@ -0,0 +1,45 @@
+package io.github.hato1883.core.modloading.loading;
+
+import io.github.hato1883.api.LogManager;
+import io.github.hato1883.core.modloading.cache.ModDirectoryFingerprint;
+import io.github.hato1883.core.modloading.cache.ModLoadSnapshot;
+import io.github.hato1883.core.modloading.cache.ModLoadSnapshotStore;
+import org.slf4j.Logger;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Step 0: Fingerprint the mods directory and restore the last snapshot if it still matches.
+ * <p>
+ * On a match the resolved load order and listener index come from the snapshot, and discovery,
+ * metadata reading and dependency resolution are skipped.
+ */
+public class DefaultModLoadSnapshotRestoreStep implements ModLoadingStep {
+    private static final Logger LOGGER = LogManager.getLogger("ModLoading");
+    private final ModLoadSnapshotStore store;
+    private final Path modsDir;
+    private final String gameVersion;
+
+    public DefaultModLoadSnapshotRestoreStep(ModLoadSnapshotStore store, Path modsDir, String gameVersion) {
+        this.store = store;
+        this.modsDir = modsDir;
+        this.gameVersion = gameVersion;
+    }
+
+    @Override
+    public void execute(ModLoadingContext context) throws Exception {
+        long fingerprint = ModDirectoryFingerprint.compute(modsDir, gameVersion);
+        context.setModsFingerprint(fingerprint);
+
+        Optional<ModLoadSnapshot> snapshot = store.load(fingerprint);
+        if (snapshot.isEmpty()) {
+            LOGGER.info("No matching mod load snapshot, loading mods from scratch.");
+            return;
+        }
+        context.setOrderedMods(snapshot.get().orderedMods());
+        context.setListenerIndex(snapshot.get().listenerIndex());
+        context.setRestoredFromSnapshot(true);
+        LOGGER.info("Restored mod load snapshot with {} mods.", snapshot.get().orderedMods().size());
+    }
+}
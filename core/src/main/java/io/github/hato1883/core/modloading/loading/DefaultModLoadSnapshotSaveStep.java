@@ -0,0 +1,41 @@
+package io.github.hato1883.core.modloading.loading;
+
+import io.github.hato1883.api.LogManager;
+import io.github.hato1883.core.modloading.cache.ModLoadSnapshot;
+import io.github.hato1883.core.modloading.cache.ModLoadSnapshotStore;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Final step: Persist the load order and listener index for the next start.
+ * Does nothing when the run was restored from a snapshot or no fingerprint was taken.
+ * A failed write only costs the next start its warm path, so it is logged and ignored.
+ */
+public class DefaultModLoadSnapshotSaveStep implements ModLoadingStep {
+    private static final Logger LOGGER = LogManager.getLogger("ModLoading");
+    private final ModLoadSnapshotStore store;
+
+    public DefaultModLoadSnapshotSaveStep(ModLoadSnapshotStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void execute(ModLoadingContext context) {
+        if (context.isRestoredFromSnapshot() || context.getModsFingerprint() == null) return;
+
+        Map<String, List<String>> listenerIndex = context.getListenerIndex();
+        ModLoadSnapshot snapshot = new ModLoadSnapshot(
+            context.getModsFingerprint(),
+            context.getOrderedMods(),
+            listenerIndex != null ? listenerIndex : Map.of()
+        );
+        try {
+            store.save(snapshot);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write mod load snapshot {}: {}", store.getFile(), e.getMessage());
+        }
+    }
+}
@@ -45,13 +45,16 @@ public class DefaultModMetadataReader implements IModMetadataReader {
     }
 
     private InputStream openFromJar(Path modPath) throws IOException {
-        JarFile jarFile = new JarFile(modPath.toFile());
-        ZipEntry entry = findMetadataEntry(jarFile);
-        if (entry == null) {
-            jarFile.close();
-            throw new FileNotFoundException("Metadata file not found in jar: " + modPath);
+        // Metadata files are small; read them fully so the jar handle is released before parsing
+        try (JarFile jarFile = new JarFile(modPath.toFile())) {
+            ZipEntry entry = findMetadataEntry(jarFile);
+            if (entry == null) {
+                throw new FileNotFoundException("Metadata file not found in jar: " + modPath);
+            }
+            try (InputStream in = jarFile.getInputStream(entry)) {
+                return new ByteArrayInputStream(in.readAllBytes());
+            }
         }
-        return jarFile.getInputStream(entry);
     }
 
     private ZipEntry findMetadataEntry(JarFile jarFile) {
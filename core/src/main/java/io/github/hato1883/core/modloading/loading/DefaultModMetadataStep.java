@@ -1,31 +1,55 @@
 package io.github.hato1883.core.modloading.loading;
 
+import io.github.hato1883.api.async.IAsyncExecutionService;
+import io.github.hato1883.api.async.TaskPool;
 import io.github.hato1883.api.mod.load.IModMetadataReader;
 import io.github.hato1883.api.mod.load.ModMetadata;
 import org.slf4j.Logger;
 import io.github.hato1883.api.LogManager;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Step 2: Read metadata for each discovered mod and store in the context.
+ * <p>
+ * When an {@link IAsyncExecutionService} is available all files are read concurrently on its IO pool;
+ * duplicate resolution then runs on the calling thread in discovery order, so the result does not
+ * depend on which read finishes first.
  */
 public class DefaultModMetadataStep implements ModLoadingStep {
     private static final Logger LOGGER = LogManager.getLogger("ModLoading");
     private final IModMetadataReader metadataReader;
+    private final IAsyncExecutionService asyncService;
 
     public DefaultModMetadataStep(IModMetadataReader metadataReader) {
+        this(metadataReader, null);
+    }
+
+    /**
+     * @param asyncService pool to read metadata on, or {@code null} to read on the calling thread
+     */
+    public DefaultModMetadataStep(IModMetadataReader metadataReader, IAsyncExecutionService asyncService) {
         this.metadataReader = metadataReader;
+        this.asyncService = asyncService;
+    }
+
+    @Override
+    public boolean isSkippedWhenRestored() {
+        return true;
     }
 
     @Override
     public void execute(ModLoadingContext context) {
         List<Path> modPaths = context.getDiscoveredModPaths();
+        List<ReadResult> results = readAll(modPaths);
         Map<String, ModMetadata> highestVersionMeta = new HashMap<>();
         Map<String, Path> highestVersionPath = new HashMap<>();
-        for (Path p : modPaths) {
+        for (ReadResult result : results) {
+            Path p = result.path();
             try {
-                ModMetadata meta = metadataReader.readMetadata(p);
+                if (result.error() != null) throw result.error();
+                ModMetadata meta = result.metadata();
                 String modid = meta.id();
                 if (!highestVersionMeta.containsKey(modid)) {
                     highestVersionMeta.put(modid, meta);
@@ -55,6 +79,28 @@ public class DefaultModMetadataStep implements ModLoadingStep {
         context.setModMetadataMap(metadataMap);
     }
 
+    private List<ReadResult> readAll(List<Path> modPaths) {
+        if (asyncService == null || modPaths.size() < 2) {
+            return modPaths.stream().map(this::read).toList();
+        }
+        // Task names containing "io" are routed to the IO pool
+        List<CompletableFuture<ReadResult>> futures = new ArrayList<>(modPaths.size());
+        for (Path p : modPaths) {
+            futures.add(asyncService.executeAsync(() -> read(p), "mod-metadata-" + p.getFileName(), TaskPool.IO));
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private ReadResult read(Path p) {
+        try {
+            return new ReadResult(p, metadataReader.readMetadata(p), null);
+        } catch (Exception e) {
+            return new ReadResult(p, null, e);
+        }
+    }
+
+    private record ReadResult(Path path, ModMetadata metadata, Exception error) {}
+
     private int compareSemanticVersion(String v1, String v2) {
         String[] a1 = v1.split("[.-]", 4);
         String[] a2 = v2.split("[.-]", 4);
@@ -0,0 +1,28 @@
+package io.github.hato1883.core.modloading.loading;
+
+import io.github.hato1883.api.LogManager;
+import io.github.hato1883.api.registries.IRegistry;
+import org.slf4j.Logger;
+
+import java.util.List;
+
+/**
+ * Final step: freeze all content registries once every mod has registered and initialized.
+ * Frozen registries hand out stable int ids and serve lock-free reads for the rest of the session.
+ */
+public class DefaultRegistryFreezeStep implements ModLoadingStep {
+    private static final Logger LOGGER = LogManager.getLogger("ModLoading");
+    private final List<IRegistry<?>> registries;
+
+    public DefaultRegistryFreezeStep(List<IRegistry<?>> registries) {
+        this.registries = List.copyOf(registries);
+    }
+
+    @Override
+    public void execute(ModLoadingContext context) {
+        for (IRegistry<?> registry : registries) {
+            registry.freeze();
+        }
+        LOGGER.info("Froze {} registries.", registries.size());
+    }
+}
@@ -4,7 +4,7 @@ import io.github.hato1883.api.LogManager;
 import io.github.hato1883.api.mod.load.ILoadedMod;
 import io.github.hato1883.api.mod.load.IRegistryLoader;
 import io.github.hato1883.api.services.IServiceLocator;
-import io.github.hato1883.core.registries.ModRegistrar;
+import io.github.hato1883.core.registries.BatchedModRegistrar;
 
 import java.util.List;
 
@@ -19,9 +19,13 @@ public class DefaultRegistryLoader implements IRegistryLoader {
     @Override
     public void loadRegistries(List<ILoadedMod> loadedMods) {
         for (ILoadedMod mod : loadedMods) {
+            // Each mod's content is staged and committed as one batch per registry
+            BatchedModRegistrar registrar = new BatchedModRegistrar(serviceLocator);
             try {
-                mod.instance().registerModContent(new ModRegistrar(serviceLocator));
+                mod.instance().registerModContent(registrar);
+                registrar.commit();
             } catch (Exception e) {
+                registrar.discard();
                 LogManager.getLogger(mod.id()).error("Failed to register content", e);
             }
         }
@@ -1,15 +1,21 @@
 package io.github.hato1883.core.modloading.loading;
 
 import io.github.hato1883.api.LogManager;
+import io.github.hato1883.api.async.IAsyncExecutionService;
 import io.github.hato1883.api.mod.load.*;
 import io.github.hato1883.api.mod.load.asset.IModAssetLoader;
 import io.github.hato1883.api.mod.load.dependency.IDependencyResolver;
+import io.github.hato1883.api.registries.*;
 import io.github.hato1883.api.services.IServiceLocator;
+import io.github.hato1883.core.common.util.PathResolver;
+import io.github.hato1883.core.modloading.cache.ModDirectoryFingerprint;
+import io.github.hato1883.core.modloading.cache.ModLoadSnapshotStore;
 import org.slf4j.Logger;
 
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 import static io.github.hato1883.api.mod.load.dependency.ModDependencyException.logDependencyException;
 
@@ -19,20 +25,36 @@ public class ModLoader {
     private static final Logger LOGGER = LogManager.getLogger("ModLoading");
 
     private final List<ModLoadingStep> pipelineSteps;
+    private volatile Map<String, Long> lastStepTimings = Map.of();
 
     /**
      * Production factory: uses ModLoading facade for all dependencies.
      */
     public static ModLoader createDefault(IServiceLocator serviceLocator, Path modsDir, Path atlasDir, String atlasBaseName) {
+        // Metadata reading and mod instance creation run concurrently when the async pool is available
+        IAsyncExecutionService asyncService = serviceLocator.get(IAsyncExecutionService.class).orElse(null);
+        ModLoadSnapshotStore snapshotStore = new ModLoadSnapshotStore(
+            PathResolver.getGameDataDir().resolve("cache").resolve("modload.snapshot"));
         List<ModLoadingStep> steps = List.of(
+            new DefaultModLoadSnapshotRestoreStep(snapshotStore, modsDir, ModDirectoryFingerprint.currentGameVersion()),
             new DefaultModDiscoveryStep(serviceLocator.require(IModDiscovery.class), modsDir),
-            new DefaultModMetadataStep(serviceLocator.require(IModMetadataReader.class)),
+            new DefaultModMetadataStep(serviceLocator.require(IModMetadataReader.class), asyncService),
             new DefaultModDependencyResolutionStep(serviceLocator.require(IDependencyResolver.class)),
-            new DefaultModInstanceCreationStep(serviceLocator.require(IModClassLoaderFactory.class)),
+            new DefaultModInstanceCreationStep(serviceLocator.require(IModClassLoaderFactory.class), asyncService),
             new DefaultRegistryLoaderStep(serviceLocator.require(IRegistryLoader.class)),
             new DefaultModAssetLoadingStep(serviceLocator.require(IModAssetLoader.class), atlasDir, atlasBaseName),
             new DefaultEventListenerRegistrationStep(serviceLocator.require(IModListenerScanner.class)),
-            new DefaultModInitializerStep(serviceLocator.require(IModInitializer.class))
+            new DefaultModInitializerStep(serviceLocator.require(IModInitializer.class)),
+            new DefaultRegistryFreezeStep(List.of(
+                serviceLocator.require(IBoardTypeRegistry.class),
+                serviceLocator.require(IBuildingTypeRegistry.class),
+                serviceLocator.require(IGamePhaseRegistry.class),
+                serviceLocator.require(IPortTypeRegistry.class),
+                serviceLocator.require(IResourceTypeRegistry.class),
+                serviceLocator.require(IRoadTypeRegistry.class),
+                serviceLocator.require(ITileTypeRegistry.class)
+            )),
+            new DefaultModLoadSnapshotSaveStep(snapshotStore)
         );
         return new ModLoader(steps);
     }
@@ -46,18 +68,49 @@ public class ModLoader {
 
     /**
      * Full lifecycle: runs the modular pipeline steps in order.
+     * Each step is timed; see {@link #getLastStepTimings()}.
      */
     public List<ILoadedMod> loadAll() throws IOException {
         ModLoadingContext context = new ModLoadingContext();
-        for (ModLoadingStep step : pipelineSteps) {
-            try {
-                step.execute(context);
-            } catch (Exception ex) {
-                LOGGER.error("Mod loading failed at step {}: {}", step.getClass().getSimpleName(), ex.getMessage(), ex);
-                // Optionally, add cleanup or mod removal logic here if needed
-                throw new ModLoadingException("Mod loading failed at step " + step.getClass().getSimpleName(), ex);
+        long start = System.nanoTime();
+        try {
+            for (ModLoadingStep step : pipelineSteps) {
+                if (context.isRestoredFromSnapshot() && step.isSkippedWhenRestored()) continue;
+                String stepName = step.getClass().getSimpleName();
+                long stepStart = System.nanoTime();
+                try {
+                    step.execute(context);
+                } catch (Exception ex) {
+                    LOGGER.error("Mod loading failed at step {}: {}", stepName, ex.getMessage(), ex);
+                    // Optionally, add cleanup or mod removal logic here if needed
+                    throw new ModLoadingException("Mod loading failed at step " + stepName, ex);
+                } finally {
+                    context.recordStepTiming(stepName, System.nanoTime() - stepStart);
+                }
             }
+        } finally {
+            lastStepTimings = Collections.unmodifiableMap(new LinkedHashMap<>(context.getStepTimings()));
+            logStepTimings(context.getStepTimings(), System.nanoTime() - start);
         }
         return List.copyOf(context.getLoadedMods());
     }
+
+    /**
+     * @return nanoseconds spent in each step of the last {@link #loadAll()} run, keyed by step class name
+     */
+    public Map<String, Long> getLastStepTimings() {
+        return lastStepTimings;
+    }
+
+    private static void logStepTimings(Map<String, Long> timings, long totalNanos) {
+        StringBuilder sb = new StringBuilder("Mod loading took ")
+            .append(TimeUnit.NANOSECONDS.toMillis(totalNanos)).append(" ms:");
+        String separator = " ";
+        for (Map.Entry<String, Long> entry : timings.entrySet()) {
+            sb.append(separator).append(entry.getKey()).append(' ')
+                .append(TimeUnit.NANOSECONDS.toMillis(entry.getValue())).append(" ms");
+            separator = ", ";
+        }
+        LOGGER.info(sb.toString());
+    }
 }
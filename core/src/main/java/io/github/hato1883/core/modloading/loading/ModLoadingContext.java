@@ -22,6 +22,12 @@ public class ModLoadingContext {
     private List<ILoadedMod> loadedMods = new ArrayList<>();
     // Step 5: Asset info (textures, etc.)
     private List<List<TextureEntry>> allTextureSources = new ArrayList<>();
+    // Warm restart: fingerprint of the mods directory and snapshot state
+    private Long modsFingerprint;
+    private boolean restoredFromSnapshot;
+    private Map<String, List<String>> listenerIndex;
+    // Wall-clock time per executed step, in execution order
+    private final Map<String, Long> stepTimings = new LinkedHashMap<>();
     // Add more fields as needed for other steps
 
     public List<Path> getDiscoveredModPaths() { return discoveredModPaths; }
@@ -38,4 +44,17 @@ public class ModLoadingContext {
 
     public List<List<TextureEntry>> getAllTextureSources() { return allTextureSources; }
     public void setAllTextureSources(List<List<TextureEntry>> sources) { this.allTextureSources = sources; }
+
+    public Long getModsFingerprint() { return modsFingerprint; }
+    public void setModsFingerprint(Long modsFingerprint) { this.modsFingerprint = modsFingerprint; }
+
+    public boolean isRestoredFromSnapshot() { return restoredFromSnapshot; }
+    public void setRestoredFromSnapshot(boolean restoredFromSnapshot) { this.restoredFromSnapshot = restoredFromSnapshot; }
+
+    /** Listener class names per mod id, from a snapshot or the last scan; {@code null} if unknown. */
+    public Map<String, List<String>> getListenerIndex() { return listenerIndex; }
+    public void setListenerIndex(Map<String, List<String>> listenerIndex) { this.listenerIndex = listenerIndex; }
+
+    public Map<String, Long> getStepTimings() { return Collections.unmodifiableMap(stepTimings); }
+    public void recordStepTiming(String step, long nanos) { stepTimings.put(step, nanos); }
 }
@@ -10,5 +10,13 @@ public interface ModLoadingStep {
      * @throws Exception if the step fails (should be handled by the pipeline)
      */
     void execute(ModLoadingContext context) throws Exception;
+
+    /**
+     * Whether this step only produces state that a restored {@code ModLoadSnapshot} already provides.
+     * Such steps are skipped when {@link ModLoadingContext#isRestoredFromSnapshot()} is set.
+     */
+    default boolean isSkippedWhenRestored() {
+        return false;
+    }
 }
 
@@ -0,0 +1,130 @@
+package io.github.hato1883.core.registries;
+
+import io.github.hato1883.api.entities.resource.IResourceType;
+import io.github.hato1883.api.mod.IModRegistrar;
+import io.github.hato1883.api.registries.*;
+import io.github.hato1883.api.services.IServiceLocator;
+import io.github.hato1883.api.world.board.*;
+import io.github.hato1883.api.world.phase.IGamePhase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link IModRegistrar} that stages a mod's content in one {@link IRegistryBatch} per registry.
+ * <p>
+ * Nothing is registered until {@link #commit()}. It prepares every batch first, which validates them and
+ * fires all their events, so a conflict or a failing listener rejects the mod before any registry changes.
+ * Only then are the batches applied; if one of them still fails (another thread took an id in the
+ * meantime), the batches already applied are rolled back. A mod's content is accepted as a whole or not at all.
+ */
+public class BatchedModRegistrar implements IModRegistrar {
+    /** Initial staging capacity per registry; batches grow if a mod registers more. */
+    public static final int DEFAULT_BATCH_CAPACITY = 64;
+
+    private final IServiceLocator serviceLocator;
+    private final int expectedSize;
+    private final List<IRegistryBatch<?>> batches = new ArrayList<>();
+
+    private IRegistryBatch<IGamePhase> gamePhases;
+    private IRegistryBatch<IBoardType> boardTypes;
+    private IRegistryBatch<ITileType> tileTypes;
+    private IRegistryBatch<IResourceType> resourceTypes;
+    private IRegistryBatch<IBuildingType> buildingTypes;
+    private IRegistryBatch<IPortType> portTypes;
+    private IRegistryBatch<IRoadType> roadTypes;
+
+    public BatchedModRegistrar(IServiceLocator serviceLocator) {
+        this(serviceLocator, DEFAULT_BATCH_CAPACITY);
+    }
+
+    public BatchedModRegistrar(IServiceLocator serviceLocator, int expectedSize) {
+        this.serviceLocator = serviceLocator;
+        this.expectedSize = expectedSize;
+    }
+
+    @Override
+    public void registerGamePhase(IGamePhase gamePhase) {
+        if (gamePhases == null) gamePhases = open(IGamePhaseRegistry.class);
+        gamePhases.stage(gamePhase.getId(), gamePhase);
+    }
+
+    @Override
+    public void registerBoardType(IBoardType boardType) {
+        if (boardTypes == null) boardTypes = open(IBoardTypeRegistry.class);
+        boardTypes.stage(boardType.getIdentifier(), boardType);
+    }
+
+    @Override
+    public void registerTileType(ITileType tileType) {
+        if (tileTypes == null) tileTypes = open(ITileTypeRegistry.class);
+        tileTypes.stage(tileType.getId(), tileType);
+    }
+
+    @Override
+    public void registerResourceType(IResourceType resourceType) {
+        if (resourceTypes == null) resourceTypes = open(IResourceTypeRegistry.class);
+        resourceTypes.stage(resourceType.getId(), resourceType);
+    }
+
+    @Override
+    public void registerBuildingType(IBuildingType buildingType) {
+        if (buildingTypes == null) buildingTypes = open(IBuildingTypeRegistry.class);
+        buildingTypes.stage(buildingType.getId(), buildingType);
+    }
+
+    @Override
+    public void registerPortType(IPortType portType) {
+        if (portTypes == null) portTypes = open(IPortTypeRegistry.class);
+        portTypes.stage(portType.getId(), portType);
+    }
+
+    @Override
+    public void registerRoadType(IRoadType roadType) {
+        if (roadTypes == null) roadTypes = open(IRoadTypeRegistry.class);
+        roadTypes.stage(roadType.getId(), roadType);
+    }
+
+    /**
+     * Prepares every staged batch, then commits them, rolling back the committed ones if a later one fails.
+     *
+     * @return the total number of entries registered
+     * @throws IllegalArgumentException if any staged id is already registered; nothing stays registered
+     */
+    public int commit() {
+        for (IRegistryBatch<?> batch : batches) {
+            batch.prepare();
+        }
+        List<IRegistryBatch<?>> committed = new ArrayList<>(batches.size());
+        int total = 0;
+        try {
+            for (IRegistryBatch<?> batch : batches) {
+                total += batch.commit();
+                committed.add(batch);
+            }
+        } catch (RuntimeException e) {
+            for (int i = committed.size() - 1; i >= 0; i--) {
+                committed.get(i).rollback();
+            }
+            throw e;
+        }
+        batches.clear();
+        return total;
+    }
+
+    /**
+     * Drops everything staged so far. Batches that were committed are not affected.
+     */
+    public void discard() {
+        for (IRegistryBatch<?> batch : batches) {
+            batch.discard();
+        }
+        batches.clear();
+    }
+
+    private <T, R extends IRegistry<T>> IRegistryBatch<T> open(Class<R> registryType) {
+        IRegistryBatch<T> batch = serviceLocator.require(registryType).beginBatch(expectedSize);
+        batches.add(batch);
+        return batch;
+    }
+}
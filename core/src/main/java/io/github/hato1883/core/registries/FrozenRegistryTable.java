@@ -0,0 +1,139 @@
+package io.github.hato1883.core.registries;
+
+import io.github.hato1883.api.Identifier;
+
+import java.util.*;
+
+/**
+ * Immutable, array-backed snapshot of a registry's entries.
+ * <p>
+ * Entries are numbered {@code 0..size()-1} in identifier order, so the same set of mods always yields the
+ * same ids. Lookups by {@link Identifier} go through an open-addressing table with linear probing and a
+ * stored hash per slot; lookups by id are a plain array index. All fields are final and never mutated
+ * after construction, so instances can be read from any thread without locking.
+ * <p>
+ * {@link #without(Collection)} leaves tombstones in the slots of removed entries, so every remaining
+ * entry keeps its id.
+ *
+ * @param <T> registry element type
+ */
+final class FrozenRegistryTable<T> {
+    private final Identifier[] keysById;
+    private final Object[] valuesById;
+    private final List<T> values;
+
+    // Open-addressing index: slot -> id + 1 (0 marks an empty slot)
+    private final int[] slots;
+    private final int[] slotHashes;
+    private final int mask;
+
+    FrozenRegistryTable(Map<Identifier, T> entries) {
+        Identifier[] keys = entries.keySet().toArray(new Identifier[0]);
+        Arrays.sort(keys, Comparator.comparing(Identifier::toString));
+        this.keysById = keys;
+        this.valuesById = new Object[keys.length];
+        for (int id = 0; id < keys.length; id++) {
+            valuesById[id] = entries.get(keys[id]);
+        }
+        this.values = Collections.unmodifiableList(asList(valuesById));
+
+        // Load factor <= 0.5 keeps probe sequences short
+        int capacity = Integer.highestOneBit(Math.max(2, keys.length) * 2 - 1) << 1;
+        this.slots = new int[capacity];
+        this.slotHashes = new int[capacity];
+        this.mask = capacity - 1;
+        for (int id = 0; id < keys.length; id++) {
+            int hash = spread(keys[id].hashCode());
+            int slot = hash & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = id + 1;
+            slotHashes[slot] = hash;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private FrozenRegistryTable(FrozenRegistryTable<T> source, Object[] valuesById) {
+        // The probe table is shared; ids of removed entries resolve to an empty value slot
+        this.keysById = source.keysById;
+        this.valuesById = valuesById;
+        List<T> remaining = new ArrayList<>(valuesById.length);
+        for (Object value : valuesById) {
+            if (value != null) remaining.add((T) value);
+        }
+        this.values = Collections.unmodifiableList(remaining);
+        this.slots = source.slots;
+        this.slotHashes = source.slotHashes;
+        this.mask = source.mask;
+    }
+
+    /**
+     * Returns a table without the given entries. Their ids become tombstones that are never reused,
+     * and every other entry keeps its id.
+     */
+    FrozenRegistryTable<T> without(Collection<Identifier> removed) {
+        Object[] remaining = valuesById.clone();
+        for (Identifier key : removed) {
+            int id = idOf(key);
+            if (id >= 0) remaining[id] = null;
+        }
+        return new FrozenRegistryTable<>(this, remaining);
+    }
+
+    /**
+     * @return the id of the identifier, or {@code -1} if it is not in the table or was removed
+     */
+    int idOf(Identifier key) {
+        if (key == null) return -1;
+        int hash = spread(key.hashCode());
+        int slot = hash & mask;
+        int entry;
+        while ((entry = slots[slot]) != 0) {
+            if (slotHashes[slot] == hash) {
+                Identifier candidate = keysById[entry - 1];
+                if (candidate == key || candidate.equals(key)) {
+                    return valuesById[entry - 1] == null ? -1 : entry - 1;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    T get(Identifier key) {
+        int id = idOf(key);
+        return id < 0 ? null : byId(id);
+    }
+
+    @SuppressWarnings("unchecked")
+    T byId(int id) {
+        if (id < 0 || id >= valuesById.length) return null;
+        return (T) valuesById[id];
+    }
+
+    Identifier keyOf(int id) {
+        if (id < 0 || id >= keysById.length || valuesById[id] == null) return null;
+        return keysById[id];
+    }
+
+    /**
+     * @return the number of ids handed out, including tombstones
+     */
+    int size() {
+        return keysById.length;
+    }
+
+    List<T> values() {
+        return values;
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> asList(Object[] array) {
+        return (List<T>) Arrays.asList(array);
+    }
+}
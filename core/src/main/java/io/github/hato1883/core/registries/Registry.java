@@ -2,16 +2,31 @@ package io.github.hato1883.core.registries;
 
 import io.github.hato1883.api.Identifier;
 import io.github.hato1883.api.events.IEventBusService;
+import io.github.hato1883.api.events.registry.RegistryBatchEvent;
 import io.github.hato1883.api.events.registry.RegistryRegisterEvent;
 import io.github.hato1883.api.events.registry.RegistryReplaceEvent;
+import io.github.hato1883.api.events.registry.RegistryUnregisterAllEvent;
 import io.github.hato1883.api.events.registry.RegistryUnregisterEvent;
 import io.github.hato1883.api.registries.IRegistry;
+import io.github.hato1883.api.registries.IRegistryBatch;
 
 import java.util.*;
 
+/**
+ * Base registry with two phases.
+ * <p>
+ * While mods load, the registry is mutable and every access synchronizes on the registry.
+ * Pre-change events are dispatched outside that lock, so a listener may use this or any other registry
+ * from any thread; the change is validated again under the lock once the event was not canceled.
+ * Once {@link #freeze()} is called the entries are compacted into a {@link FrozenRegistryTable}
+ * published through a volatile field; from then on reads never lock and writes are rejected,
+ * except {@link #unregisterAll(String)}, which republishes the table with the removed ids left empty.
+ */
 abstract class Registry<T> implements IRegistry<T> {
     private final Map<Identifier, T> entries = new HashMap<>();
+    private final Map<String, Set<Identifier>> idsByNamespace = new HashMap<>();
     private final IEventBusService eventBus;
+    private volatile FrozenRegistryTable<T> frozen;
 
     protected Registry(IEventBusService eventBus) {
         this.eventBus = Objects.requireNonNull(eventBus, "eventBus must not be null");
@@ -19,88 +34,395 @@ abstract class Registry<T> implements IRegistry<T> {
 
     @Override
     public T register(Identifier id, T element) {
-        if (entries.containsKey(id)) {
-            throw new IllegalArgumentException("ID already registered: " + id);
-        }
+        checkRegistrable(id);
 
-        // Fire pre-register event
+        // Fire pre-register event, outside the lock so listeners may use any registry
         RegistryRegisterEvent<T> event = createRegistryRegisterEvent(id, element);
         eventBus.dispatch(event);
         if (event.isCanceled()) return null;
 
-        // Register element to id
-        entries.put(id, element);
+        synchronized (this) {
+            // Checked again, the id may have been taken while the event was dispatched
+            checkRegistrable(id);
+            // Register element to id
+            entries.put(id, element);
+            idsByNamespace.computeIfAbsent(id.getNamespace(), ns -> new LinkedHashSet<>()).add(id);
+            onEntriesChanged();
+        }
 
         // Fire post-register event (optional)
         return element;
     }
 
+    @Override
+    public IRegistryBatch<T> beginBatch(int expectedSize) {
+        return new Batch(expectedSize);
+    }
+
     @Override
     public void replace(Identifier id, T element) {
-        if (!entries.containsKey(id)) {
+        T existing;
+        synchronized (this) {
+            checkNotFrozen();
+            existing = entries.get(id);
+        }
+        if (existing == null) {
             throw new IllegalArgumentException("ID was not registered: \"" + id + "\" can not be replaced");
         }
 
-        // Fire pre-replace event
-        RegistryReplaceEvent<T> event = createRegistryReplaceEvent(id, entries.get(id), element);
+        // Fire pre-replace event, outside the lock
+        RegistryReplaceEvent<T> event = createRegistryReplaceEvent(id, existing, element);
         eventBus.dispatch(event);
         if (event.isCanceled()) return;
 
-        // Register element to id
-        entries.put(id, element);
+        synchronized (this) {
+            checkNotFrozen();
+            // Listeners approved replacing this exact element
+            if (!entries.replace(id, existing, element)) {
+                throw new ConcurrentModificationException("\"" + id + "\" changed while its replace event was dispatched");
+            }
+            onEntriesChanged();
+        }
 
         // fire post-replace event (optional)
     }
 
     @Override
     public Optional<T> get(Identifier id) {
-        return Optional.ofNullable(entries.get(id));
+        return Optional.ofNullable(lookup(id));
     }
 
     @Override
     public T require(Identifier id) {
-        if (entries.containsKey(id))
-            return entries.get(id);
+        T element = lookup(id);
+        if (element != null)
+            return element;
         throw new NullPointerException("No such element exists: " + id + ", Full list: " + getAll());
     }
 
     @Override
     public Collection<T> getAll() {
-        return Collections.unmodifiableCollection(entries.values());
+        FrozenRegistryTable<T> table = frozen;
+        if (table != null) return table.values();
+        synchronized (this) {
+            return List.copyOf(entries.values());
+        }
     }
 
     @Override
     public boolean unregister(Identifier id) {
-        if (entries.containsKey(id)) {
-            // Fire pre-unregister event
-            RegistryUnregisterEvent<T> event = createRegistryUnregisterEvent(id, entries.get(id));
-            eventBus.dispatch(event);
-            if (event.isCanceled()) return false;
-
-            entries.remove(id);
+        T existing;
+        synchronized (this) {
+            checkNotFrozen();
+            existing = entries.get(id);
+        }
+        if (existing == null) return false;
 
-            // Fire post-unregister event (optional)
+        // Fire pre-unregister event, outside the lock
+        RegistryUnregisterEvent<T> event = createRegistryUnregisterEvent(id, existing);
+        eventBus.dispatch(event);
+        if (event.isCanceled()) return false;
 
-            return true;
+        synchronized (this) {
+            checkNotFrozen();
+            // Another thread already removed or replaced the entry
+            if (!entries.remove(id, existing)) return false;
+            removeFromNamespaceIndex(id);
+            onEntriesChanged();
         }
-        return false;
+
+        // Fire post-unregister event (optional)
+        return true;
     }
 
     @Override
     public int unregisterAll(String modid) {
-        int totalUnregistered = 0;
-        for (Identifier key : entries.keySet()) {
-            if (key.toString().startsWith(modid)) {
-                if (unregister(key))
-                    totalUnregistered++;
+        Map<Identifier, T> removed = new LinkedHashMap<>();
+        synchronized (this) {
+            Set<Identifier> ids = idsByNamespace.get(modid);
+            if (ids == null || ids.isEmpty()) return 0;
+            for (Identifier id : ids) {
+                removed.put(id, entries.get(id));
+            }
+        }
+
+        // Fire a single pre-unregister event for the whole namespace, outside the lock
+        RegistryUnregisterAllEvent<T> event = new RegistryUnregisterAllEvent<>(this, modid, removed);
+        eventBus.dispatch(event);
+        if (event.isCanceled()) return 0;
+
+        synchronized (this) {
+            List<Identifier> unregistered = new ArrayList<>(removed.size());
+            for (Map.Entry<Identifier, T> entry : removed.entrySet()) {
+                Identifier id = entry.getKey();
+                if (event.isRetained(id)) continue;
+                // Skips entries another thread removed or replaced meanwhile
+                if (!entries.remove(id, entry.getValue())) continue;
+                removeFromNamespaceIndex(id);
+                unregistered.add(id);
+            }
+            if (unregistered.isEmpty()) return 0;
+            onEntriesChanged();
+            // Unloading a mod is the one write allowed after freezing; the removed ids become
+            // tombstones so every other entry keeps its raw id
+            if (frozen != null) {
+                frozen = frozen.without(unregistered);
+                onFrozen();
             }
+            return unregistered.size();
         }
-        return totalUnregistered;
     }
 
     @Override
     public boolean isRegistered(Identifier id) {
-        return entries.containsKey(id);
+        return lookup(id) != null;
+    }
+
+    @Override
+    public synchronized Set<Identifier> getIds(String namespace) {
+        Set<Identifier> ids = idsByNamespace.get(namespace);
+        return ids == null ? Set.of() : Set.copyOf(ids);
+    }
+
+    @Override
+    public synchronized void freeze() {
+        if (frozen != null) return;
+        frozen = new FrozenRegistryTable<>(entries);
+        onFrozen();
+    }
+
+    /**
+     * Returns the registry to its mutable phase, e.g. before unloading mods.
+     * Int ids handed out while frozen are invalid afterwards.
+     */
+    public synchronized void unfreeze() {
+        if (frozen == null) return;
+        frozen = null;
+        onUnfrozen();
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return frozen != null;
+    }
+
+    @Override
+    public int getRawId(Identifier id) {
+        FrozenRegistryTable<T> table = frozen;
+        return table == null ? -1 : table.idOf(id);
+    }
+
+    @Override
+    public T byId(int rawId) {
+        FrozenRegistryTable<T> table = frozen;
+        return table == null ? null : table.byId(rawId);
+    }
+
+    private T lookup(Identifier id) {
+        FrozenRegistryTable<T> table = frozen;
+        if (table != null) return table.get(id);
+        synchronized (this) {
+            return entries.get(id);
+        }
+    }
+
+    /**
+     * Validates the batch and fires its events, without touching the registry or holding its lock.
+     *
+     * @return the entries listeners kept, in staging order
+     */
+    private Map<Identifier, T> prepareBatch(Batch batch) {
+        batch.validate();
+
+        Map<Identifier, T> staged = new LinkedHashMap<>(capacityFor(batch.size));
+        for (int i = 0; i < batch.size; i++) {
+            staged.put(batch.ids[i], batch.elementAt(i));
+        }
+
+        // Fire a single pre-register event for the whole batch
+        RegistryBatchEvent<T> event = new RegistryBatchEvent<>(this, staged);
+        eventBus.dispatch(event);
+        if (event.isCanceled()) return Map.of();
+
+        // Then the per-entry event listeners of single registrations expect
+        staged.entrySet().removeIf(entry -> {
+            RegistryRegisterEvent<T> register = createRegistryRegisterEvent(entry.getKey(), entry.getValue());
+            eventBus.dispatch(register);
+            return register.isCanceled();
+        });
+        return staged;
+    }
+
+    private synchronized void applyBatch(Map<Identifier, T> prepared) {
+        // Checked again, ids may have been taken while the events were dispatched
+        checkNotFrozen();
+        for (Identifier id : prepared.keySet()) {
+            if (entries.containsKey(id)) {
+                throw new IllegalArgumentException("ID already registered: " + id);
+            }
+        }
+        if (prepared.isEmpty()) return;
+
+        for (Map.Entry<Identifier, T> entry : prepared.entrySet()) {
+            Identifier id = entry.getKey();
+            entries.put(id, entry.getValue());
+            idsByNamespace.computeIfAbsent(id.getNamespace(), ns -> new LinkedHashSet<>()).add(id);
+        }
+        onEntriesChanged();
+    }
+
+    private synchronized void rollbackBatch(Map<Identifier, T> applied) {
+        checkNotFrozen();
+        boolean changed = false;
+        for (Map.Entry<Identifier, T> entry : applied.entrySet()) {
+            // Entries replaced since the commit are left alone
+            if (entries.remove(entry.getKey(), entry.getValue())) {
+                removeFromNamespaceIndex(entry.getKey());
+                changed = true;
+            }
+        }
+        if (changed) onEntriesChanged();
+    }
+
+    private static int capacityFor(int size) {
+        return (int) (size / 0.75f) + 1;
+    }
+
+    /**
+     * Staging area backed by parallel arrays sized to the expected entry count.
+     * Duplicate ids inside the batch are rejected while staging; conflicts with the registry
+     * are checked under the registry lock on validate and again when the batch is applied.
+     */
+    private final class Batch implements IRegistryBatch<T> {
+        private Identifier[] ids;
+        private Object[] elements;
+        private final Set<Identifier> stagedIds;
+        private int size;
+        private Map<Identifier, T> prepared;
+        private Map<Identifier, T> applied;
+        private boolean closed;
+
+        Batch(int expectedSize) {
+            int capacity = Math.max(expectedSize, 4);
+            this.ids = new Identifier[capacity];
+            this.elements = new Object[capacity];
+            this.stagedIds = new HashSet<>(capacityFor(capacity));
+        }
+
+        @Override
+        public void stage(Identifier id, T element) {
+            checkOpen();
+            if (prepared != null) throw new IllegalStateException("Batch was already prepared");
+            Objects.requireNonNull(id, "id must not be null");
+            if (!stagedIds.add(id)) {
+                throw new IllegalArgumentException("ID already staged in batch: " + id);
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                elements = Arrays.copyOf(elements, size * 2);
+            }
+            ids[size] = id;
+            elements[size] = element;
+            size++;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void validate() {
+            checkOpen();
+            synchronized (Registry.this) {
+                checkNotFrozen();
+                for (int i = 0; i < size; i++) {
+                    if (entries.containsKey(ids[i])) {
+                        throw new IllegalArgumentException("ID already registered: " + ids[i]);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public int prepare() {
+            checkOpen();
+            if (prepared == null) {
+                prepared = prepareBatch(this);
+            }
+            return prepared.size();
+        }
+
+        @Override
+        public int commit() {
+            prepare();
+            applyBatch(prepared);
+            applied = prepared;
+            closed = true;
+            return applied.size();
+        }
+
+        @Override
+        public void rollback() {
+            if (applied == null) throw new IllegalStateException("Batch was not committed");
+            Map<Identifier, T> undo = applied;
+            applied = Map.of();
+            rollbackBatch(undo);
+        }
+
+        @Override
+        public void discard() {
+            if (closed) return;
+            closed = true;
+            Arrays.fill(ids, 0, size, null);
+            Arrays.fill(elements, 0, size, null);
+            stagedIds.clear();
+            prepared = null;
+            size = 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        private T elementAt(int i) {
+            return (T) elements[i];
+        }
+
+        private void checkOpen() {
+            if (closed) throw new IllegalStateException("Batch was already committed or discarded");
+        }
+    }
+
+    private void removeFromNamespaceIndex(Identifier id) {
+        Set<Identifier> ids = idsByNamespace.get(id.getNamespace());
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            idsByNamespace.remove(id.getNamespace());
+        }
+    }
+
+    private void checkRegistrable(Identifier id) {
+        synchronized (this) {
+            checkNotFrozen();
+            if (entries.containsKey(id)) {
+                throw new IllegalArgumentException("ID already registered: " + id);
+            }
+        }
+    }
+
+    private void checkNotFrozen() {
+        if (frozen != null) {
+            throw new IllegalStateException("Registry " + getClass().getSimpleName() + " is frozen");
+        }
+    }
+
+    // Optional hook — called after any entry was added, replaced or removed
+    protected void onEntriesChanged() {
+    }
+
+    // Optional hook — called once the frozen snapshot has been published
+    protected void onFrozen() {
+    }
+
+    // Optional hook — called after unfreeze() dropped the frozen snapshot
+    protected void onUnfrozen() {
     }
 
     // Abstract hook — must be implemented by each specific registry
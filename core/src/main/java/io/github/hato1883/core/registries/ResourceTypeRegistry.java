@@ -8,14 +8,18 @@ import io.github.hato1883.api.events.registry.resource.ResourceTypeRegisterEvent
 import io.github.hato1883.api.events.registry.resource.ResourceTypeReplaceEvent;
 import io.github.hato1883.api.events.registry.resource.ResourceTypeUnregisterEvent;
 import io.github.hato1883.api.entities.resource.IResourceType;
+import io.github.hato1883.api.entities.resource.ResourceIndex;
 import io.github.hato1883.api.world.board.ITileType;
 import io.github.hato1883.api.registries.IResourceTypeRegistry;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 public class ResourceTypeRegistry extends Registry<IResourceType> implements IResourceTypeRegistry {
 
+    private volatile ResourceIndex resourceIndex;
+
     public ResourceTypeRegistry(io.github.hato1883.api.events.IEventBusService eventBus) {
         super(eventBus);
     }
@@ -32,6 +36,42 @@ public class ResourceTypeRegistry extends Registry<IResourceType> implements IRe
         return products;
     }
 
+    @Override
+    public ResourceIndex getResourceIndex() {
+        ResourceIndex index = resourceIndex;
+        if (index != null) return index;
+        synchronized (this) {
+            // Built under the registry lock so a concurrent change cannot publish an outdated index
+            if (resourceIndex == null) {
+                resourceIndex = ResourceIndex.of(getAll());
+            }
+            return resourceIndex;
+        }
+    }
+
+    @Override
+    protected void onEntriesChanged() {
+        publishIndex(null);
+    }
+
+    @Override
+    protected void onFrozen() {
+        // Ordinals follow the frozen id order
+        publishIndex(ResourceIndex.ordered(List.copyOf(getAll())));
+    }
+
+    @Override
+    protected void onUnfrozen() {
+        // Ordinals of the frozen index followed raw ids, which are gone now
+        publishIndex(null);
+    }
+
+    private void publishIndex(ResourceIndex next) {
+        ResourceIndex previous = resourceIndex;
+        resourceIndex = next;
+        if (previous != null) previous.markSuperseded();
+    }
+
     @Override
     protected RegistryRegisterEvent<IResourceType> createRegistryRegisterEvent(Identifier id, IResourceType element) {
         return new ResourceTypeRegisterEvent(this, id, element);
@@ -26,7 +26,8 @@ import java.util.function.Supplier;
  * <ul>
  *     <li>Single Responsibility: Only manages services.</li>
  *     <li>DRY: Shared validation for type/instance checks.</li>
- *     <li>Thread-safe: Uses ConcurrentHashMap internally.</li>
+ *     <li>Thread-safe: Uses ConcurrentHashMap internally; once a service has been created,
+ *     lookups are a map read plus a volatile field read with no locking.</li>
  * </ul>
  *
  * <h2>Valid Usage Examples:</h2>
@@ -85,7 +86,7 @@ import java.util.function.Supplier;
  */
 public final class ServiceContainer implements IServiceContainer {
 
-    private final Map<Class<?>, Supplier<?>> SERVICES = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ServiceHolder> SERVICES = new ConcurrentHashMap<>();
 
     // Services that cannot be replaced or unregistered
     private final Set<Class<?>> PROTECTED_SERVICES = Set.of(
@@ -109,34 +110,29 @@ public final class ServiceContainer implements IServiceContainer {
 
     public <T> void register(@NotNull Class<T> type, @NotNull T instance) {
         validateTypeAndInstance(type, instance);
-        if (SERVICES.containsKey(type)) {
+        // Modules may register concurrently, so check and insert atomically
+        if (SERVICES.putIfAbsent(type, ServiceHolder.of(instance)) != null) {
             throw new ServiceAlreadyExistsException("Service already registered for type: " + type.getName());
         }
-        SERVICES.put(type, new SingletonSupplier<>(instance));
     }
 
     public <T> void register(@NotNull Class<T> type, @NotNull Supplier<? extends T> supplier) {
         validateTypeAndSupplier(type, supplier);
-        if (SERVICES.containsKey(type)) {
+        if (SERVICES.putIfAbsent(type, ServiceHolder.lazy(supplier)) != null) {
             throw new ServiceProtectedException("Service already registered for type: " + type.getName());
         }
-        SERVICES.put(type, supplier);
     }
 
     @Override
     public <T> void registerIfAbsent(@NotNull Class<T> type, @NotNull T instance){
         validateTypeAndInstance(type, instance);
-        if (!SERVICES.containsKey(type)) {
-            SERVICES.put(type, new SingletonSupplier<>(instance));
-        }
+        SERVICES.putIfAbsent(type, ServiceHolder.of(instance));
     }
 
     @Override
     public <T> void registerIfAbsent(@NotNull Class<T> type, @NotNull Supplier<? extends T> supplier) {
         validateTypeAndSupplier(type, supplier);
-        if (!SERVICES.containsKey(type)) {
-            SERVICES.put(type, supplier);
-        }
+        SERVICES.putIfAbsent(type, ServiceHolder.lazy(supplier));
     }
 
     public <T> void replace(@NotNull Class<T> type, @NotNull T instance) {
@@ -147,7 +143,7 @@ public final class ServiceContainer implements IServiceContainer {
         if (PROTECTED_SERVICES.contains(type)) {
             throw new ServiceProtectedException("Protected service cannot be replaced: " + type.getName());
         }
-        SERVICES.put(type, new SingletonSupplier<>(instance));
+        SERVICES.put(type, ServiceHolder.of(instance));
     }
 
     public <T> void replace(@NotNull Class<T> type, @NotNull Supplier<? extends T> supplier) {
@@ -158,7 +154,7 @@ public final class ServiceContainer implements IServiceContainer {
         if (PROTECTED_SERVICES.contains(type)) {
             throw new ServiceProtectedException("Protected service cannot be replaced: " + type.getName());
         }
-        SERVICES.put(type, supplier);
+        SERVICES.put(type, ServiceHolder.lazy(supplier));
     }
 
     public <T> boolean contains(@NotNull Class<T> type) {
@@ -174,40 +170,22 @@ public final class ServiceContainer implements IServiceContainer {
     }
 
     public <T> Optional<T> get(@NotNull Class<T> type) {
-        Supplier<?> supplier = SERVICES.get(type);
-        if (supplier == null) return Optional.empty();
+        ServiceHolder holder = SERVICES.get(type);
+        if (holder == null) return Optional.empty();
 
-        synchronized (supplier) {
-            // Replace supplier with singleton instance after first creation
-            Object instance;
-            if (supplier instanceof SingletonSupplier<?>(Object singleton)) {
-                instance = singleton;
-            } else {
-                instance = supplier.get();
-                SERVICES.put(type, new SingletonSupplier<>(instance));
-            }
-            return (instance == null) ? Optional.empty() : Optional.of(type.cast(instance));
-        }
+        Object instance = holder.get();
+        return (instance == null) ? Optional.empty() : Optional.of(type.cast(instance));
     }
 
     public <T> T require(@NotNull Class<T> type) {
-        Supplier<?> supplier = SERVICES.get(type);
-        if (supplier == null) throw new ServiceNotFoundException("No service registered for type: " + type.getName());
+        ServiceHolder holder = SERVICES.get(type);
+        if (holder == null) throw new ServiceNotFoundException("No service registered for type: " + type.getName());
 
-        synchronized (supplier) {
-            // Replace supplier with singleton instance after first creation
-            Object instance;
-            if (supplier instanceof SingletonSupplier<?>(Object singleton)) {
-                instance = singleton;
-            } else {
-                instance = supplier.get();
-                SERVICES.put(type, new SingletonSupplier<>(instance));
-            }
-            if (instance == null) {
-                throw new ServiceInstantiationException("Supplier for service " + type.getName() + " returned null");
-            }
-            return type.cast(instance);
+        Object instance = holder.get();
+        if (instance == null) {
+            throw new ServiceInstantiationException("Supplier for service " + type.getName() + " returned null");
         }
+        return type.cast(instance);
     }
 
     // --- Private helper ---
@@ -268,10 +246,46 @@ public final class ServiceContainer implements IServiceContainer {
     }
 
 
-    // Helper class to wrap singleton instance
-    private record SingletonSupplier<T>(T instance) implements Supplier<T> {
-        public T get() {
-            return instance;
+    /**
+     * Holds one registered service. The instance is published through a volatile field, so after the
+     * first resolution every lookup is a plain read. Lazy suppliers are invoked at most once, under
+     * double-checked locking on the holder.
+     */
+    private static final class ServiceHolder implements Supplier<Object> {
+        // Marks a supplier that returned null, so it is not invoked again
+        private static final Object NULL = new Object();
+
+        private volatile Object instance;
+        private Supplier<?> supplier;
+
+        private ServiceHolder(Object instance, Supplier<?> supplier) {
+            this.instance = instance;
+            this.supplier = supplier;
+        }
+
+        static ServiceHolder of(Object instance) {
+            return new ServiceHolder(instance, null);
+        }
+
+        static ServiceHolder lazy(Supplier<?> supplier) {
+            return new ServiceHolder(null, supplier);
+        }
+
+        @Override
+        public Object get() {
+            Object value = instance;
+            if (value == null) {
+                synchronized (this) {
+                    value = instance;
+                    if (value == null) {
+                        Object created = supplier.get();
+                        value = created == null ? NULL : created;
+                        instance = value;
+                        supplier = null;
+                    }
+                }
+            }
+            return value == NULL ? null : value;
         }
     }
 }
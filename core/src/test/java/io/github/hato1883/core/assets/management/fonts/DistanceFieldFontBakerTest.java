@@ -0,0 +1,66 @@
+package io.github.hato1883.core.assets.management.fonts;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the distance field, outline range and cache key of {@link DistanceFieldFontBaker}.
+ */
+@DisplayName("DistanceFieldFontBaker")
+class DistanceFieldFontBakerTest {
+
+    /** A 32x32 bitmap with a filled 16x16 square in the middle. */
+    private static byte[] square() {
+        byte[] alpha = new byte[32 * 32];
+        for (int y = 8; y < 24; y++) {
+            for (int x = 8; x < 24; x++) {
+                alpha[y * 32 + x] = (byte) 255;
+            }
+        }
+        return alpha;
+    }
+
+    private static int at(byte[] field, int width, int x, int y) {
+        return field[y * width + x] & 0xFF;
+    }
+
+    @Test
+    @DisplayName("Pads the downsampled bitmap by the spread on every side")
+    void fieldSize() {
+        byte[] field = DistanceFieldFontBaker.distanceField(square(), 32, 32, 4, 4);
+        assertEquals(16 * 16, field.length);
+    }
+
+    @Test
+    @DisplayName("Inside is above the edge value, far outside is zero")
+    void signedDistances() {
+        byte[] field = DistanceFieldFontBaker.distanceField(square(), 32, 32, 4, 4);
+        assertTrue(at(field, 16, 7, 7) > 128, "center of the square");
+        assertTrue(at(field, 16, 4, 7) < 128, "outside next to the square");
+        assertEquals(0, at(field, 16, 0, 0), "corner beyond the spread");
+        // Values fall off monotonically towards the outside
+        assertTrue(at(field, 16, 5, 7) > at(field, 16, 4, 7));
+        assertTrue(at(field, 16, 4, 7) > at(field, 16, 3, 7));
+    }
+
+    @Test
+    @DisplayName("Outlines may span the distance range the field covers")
+    void maxOutlineWidth() {
+        assertEquals(DistanceFieldFontBaker.SPREAD * DistanceFieldFontBaker.DOWNSAMPLE,
+            DistanceFieldFontBaker.maxOutlineWidth(DistanceFieldFontBaker.SOURCE_SIZE));
+        assertEquals(18f, DistanceFieldFontBaker.maxOutlineWidth(144));
+    }
+
+    @Test
+    @DisplayName("The cache key changes with the font and every parameter")
+    void cacheKey() {
+        byte[] font = {1, 2, 3};
+        String key = DistanceFieldFontBaker.cacheKey(font, 144, "0123");
+        assertEquals(key, DistanceFieldFontBaker.cacheKey(font.clone(), 144, "0123"));
+        assertNotEquals(key, DistanceFieldFontBaker.cacheKey(new byte[]{1, 2, 4}, 144, "0123"));
+        assertNotEquals(key, DistanceFieldFontBaker.cacheKey(font, 72, "0123"));
+        assertNotEquals(key, DistanceFieldFontBaker.cacheKey(font, 144, "01234"));
+    }
+}
@@ -0,0 +1,211 @@
+package io.github.hato1883.core.assets.management.textures;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import io.github.hato1883.api.async.IAsyncExecutionService;
+import io.github.hato1883.api.async.TaskPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedConstruction;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link AtlasPageUploader} covering the upload budget, cancellation and failed atlases.
+ * <p>
+ * Pixmaps, textures and atlases are construction mocks, so nothing is decoded or uploaded to a GPU.
+ * Decode tasks are collected and run on the test thread, where the construction mocks apply.
+ */
+@DisplayName("AtlasPageUploader")
+class AtlasPageUploaderTest extends AtlasTestSupport {
+
+    /** Bytes of one 64x64 RGBA page. */
+    private static final long PAGE_BYTES = 4L * 64 * 64;
+
+    private final List<Runnable> decodeTasks = new ArrayList<>();
+    private long frame;
+    private IAsyncExecutionService asyncService;
+    private MockedConstruction<Pixmap> pixmaps;
+    private MockedConstruction<Texture> textures;
+    private MockedConstruction<TextureAtlas> atlases;
+
+    @BeforeEach
+    void setUp() {
+        when(assetManager.getFileHandleResolver()).thenReturn(fileName -> new FileHandle(fileName));
+        doAnswer(inv -> loaded.add(inv.getArgument(0)))
+            .when(assetManager).addAsset(anyString(), eq(TextureAtlas.class), any(TextureAtlas.class));
+
+        asyncService = mock(IAsyncExecutionService.class);
+        when(asyncService.executeAsync(any(Runnable.class), anyString(), eq(TaskPool.IO))).thenAnswer(inv -> {
+            decodeTasks.add(inv.getArgument(0));
+            return CompletableFuture.completedFuture(null);
+        });
+
+        pixmaps = mockConstruction(Pixmap.class, (pixmap, context) -> {
+            if (((FileHandle) context.arguments().get(0)).name().startsWith("broken")) {
+                throw new GdxRuntimeException("Couldn't load file");
+            }
+            when(pixmap.getWidth()).thenReturn(64);
+            when(pixmap.getHeight()).thenReturn(64);
+        });
+        textures = mockConstruction(Texture.class);
+        atlases = mockConstruction(TextureAtlas.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pixmaps.close();
+        textures.close();
+        atlases.close();
+    }
+
+    private String atlas(String name, String... pages) throws IOException {
+        return atlas(name, 64, pages).toString();
+    }
+
+    private AtlasPageUploader uploader(long uploadBytesPerFrame) {
+        return new AtlasPageUploader(assetManager, asyncService, uploadBytesPerFrame, () -> frame);
+    }
+
+    /** Calls {@link AtlasPageUploader#update()} in a new frame. */
+    private void nextFrame(AtlasPageUploader uploader) {
+        frame++;
+        uploader.update();
+    }
+
+    private void runDecodes() {
+        List<Runnable> tasks = new ArrayList<>(decodeTasks);
+        decodeTasks.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    @Test
+    @DisplayName("Uploads pages within the frame budget and publishes the atlas with its last page")
+    void uploadsWithinBudget() throws IOException {
+        String path = atlas("lod0", "a.png", "b.png", "c.png");
+        AtlasPageUploader uploader = uploader(PAGE_BYTES + 1);
+        uploader.load(path, 0);
+        assertEquals(3, decodeTasks.size(), "one decode task per page");
+        assertTrue(uploader.isLoading(path));
+        runDecodes();
+
+        nextFrame(uploader);
+        assertEquals(2, textures.constructed().size(), "the second page starts while under budget");
+        assertFalse(loaded.contains(path));
+
+        nextFrame(uploader);
+        assertEquals(3, textures.constructed().size());
+        verify(assetManager).addAsset(eq(path), eq(TextureAtlas.class), any(TextureAtlas.class));
+        assertFalse(uploader.isLoading(path));
+        assertTrue(uploader.isIdle());
+        // Decoded pixmaps are released once uploaded
+        pixmaps.constructed().forEach(pixmap -> verify(pixmap).dispose());
+
+        // Loaded atlases are not loaded again
+        uploader.load(path, 0);
+        assertTrue(decodeTasks.isEmpty());
+    }
+
+    @Test
+    @DisplayName("The budget is shared by every update within a frame")
+    void budgetIsPerFrame() throws IOException {
+        String path = atlas("lod0", "a.png", "b.png", "c.png");
+        AtlasPageUploader uploader = uploader(PAGE_BYTES);
+        uploader.load(path, 0);
+        runDecodes();
+
+        nextFrame(uploader);
+        uploader.update();
+        assertEquals(1, textures.constructed().size(), "a second update in the same frame uploads nothing");
+
+        nextFrame(uploader);
+        assertEquals(2, textures.constructed().size());
+    }
+
+    @Test
+    @DisplayName("A page larger than the budget is still uploaded, one per frame")
+    void oversizedPagesProgress() throws IOException {
+        String path = atlas("lod0", "a.png", "b.png");
+        AtlasPageUploader uploader = uploader(1);
+        uploader.load(path, 0);
+        runDecodes();
+
+        nextFrame(uploader);
+        assertEquals(1, textures.constructed().size());
+        nextFrame(uploader);
+        assertEquals(2, textures.constructed().size());
+        assertTrue(loaded.contains(path));
+    }
+
+    @Test
+    @DisplayName("Canceling disposes uploaded pages and drops pages still queued")
+    void cancelDisposesUploadedPages() throws IOException {
+        String path = atlas("lod0", "a.png", "b.png");
+        AtlasPageUploader uploader = uploader(1);
+        uploader.load(path, 0);
+        runDecodes();
+        nextFrame(uploader);
+        Texture uploaded = textures.constructed().get(0);
+
+        uploader.cancel(path);
+        verify(uploaded).dispose();
+        assertFalse(uploader.isLoading(path));
+        assertTrue(uploader.isIdle());
+
+        nextFrame(uploader);
+        assertEquals(1, textures.constructed().size(), "the queued page is not uploaded");
+        verify(pixmaps.constructed().get(1)).dispose();
+        verify(assetManager, never()).addAsset(anyString(), any(), any());
+
+        // A canceled atlas can be requested again
+        uploader.load(path, 0);
+        assertTrue(uploader.isLoading(path));
+    }
+
+    @Test
+    @DisplayName("Atlases whose pages or descriptor cannot be read are marked failed and not retried")
+    void marksFailedAtlases() throws IOException {
+        String path = atlas("lod0", "a.png", "broken.png");
+        AtlasPageUploader uploader = uploader(Long.MAX_VALUE);
+        uploader.load(path, 0);
+        runDecodes();
+        nextFrame(uploader);
+
+        assertFalse(uploader.isLoading(path));
+        verify(textures.constructed().get(0)).dispose();
+        verify(assetManager, never()).addAsset(anyString(), any(), any());
+        uploader.load(path, 0);
+        assertTrue(decodeTasks.isEmpty(), "failed atlases are not decoded again");
+        assertFalse(uploader.isLoading(path));
+
+        String missing = tempDir.resolve("missing.atlas").toString();
+        uploader.load(missing, 0);
+        assertFalse(uploader.isLoading(missing));
+        assertTrue(decodeTasks.isEmpty());
+    }
+
+    @Test
+    @DisplayName("finishLoading uploads every page regardless of the budget")
+    void finishLoadingIgnoresBudget() throws IOException {
+        String path = atlas("lod0", "a.png", "b.png", "c.png");
+        AtlasPageUploader uploader = uploader(1);
+        uploader.load(path, 0);
+        runDecodes();
+
+        uploader.finishLoading(path);
+        assertEquals(3, textures.constructed().size());
+        assertTrue(loaded.contains(path));
+        assertTrue(uploader.isIdle());
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.hato1883.core.assets.management.textures;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Shared fixture for the atlas streaming tests: a mocked {@link AssetManager} that tracks queued and
+ * loaded atlases by path, and atlas descriptors written to a temporary directory.
+ */
+abstract class AtlasTestSupport {
+
+    @TempDir
+    Path tempDir;
+
+    /** Atlases queued on the asset manager and not loaded yet. */
+    protected final Set<String> queued = new HashSet<>();
+    protected final Set<String> loaded = new HashSet<>();
+    protected AssetManager assetManager;
+
+    /**
+     * @return whether {@code load} completes right away; otherwise atlases stay queued until {@link #complete}
+     */
+    protected boolean loadsCompleteImmediately() {
+        return true;
+    }
+
+    @BeforeEach
+    void setUpAssetManager() {
+        assetManager = mock(AssetManager.class);
+        doAnswer(inv -> (loadsCompleteImmediately() ? loaded : queued).add(inv.getArgument(0)))
+            .when(assetManager).load(anyString(), eq(TextureAtlas.class));
+        doAnswer(inv -> {
+            String path = inv.getArgument(0);
+            queued.remove(path);
+            loaded.remove(path);
+            return null;
+        }).when(assetManager).unload(anyString());
+        when(assetManager.isLoaded(anyString(), any())).thenAnswer(inv -> loaded.contains(inv.<String>getArgument(0)));
+        when(assetManager.contains(anyString())).thenAnswer(inv ->
+            queued.contains(inv.<String>getArgument(0)) || loaded.contains(inv.<String>getArgument(0)));
+    }
+
+    /**
+     * Finishes loading a queued atlas.
+     */
+    protected void complete(Path atlas) {
+        if (queued.remove(atlas.toString())) loaded.add(atlas.toString());
+    }
+
+    /**
+     * Writes an atlas descriptor with one square page per page name, each holding one 16x16 region.
+     *
+     * @param name  file name without {@code .atlas}, relative to {@link #tempDir}
+     * @param pages page file names; defaults to one page named after the atlas
+     */
+    protected Path atlas(String name, int pageSize, String... pages) throws IOException {
+        Path path = tempDir.resolve(name + ".atlas");
+        Files.createDirectories(path.getParent());
+        if (pages.length == 0) pages = new String[] {path.getFileName().toString().replace(".atlas", ".png")};
+        StringBuilder descriptor = new StringBuilder();
+        for (String page : pages) {
+            descriptor.append('\n').append(page)
+                .append("\nsize: ").append(pageSize).append(',').append(pageSize)
+                .append("\nformat: RGBA8888\nfilter: Linear,Linear\nrepeat: none\n")
+                .append(page, 0, page.indexOf('.')).append("\n  rotate: false\n  xy: 0, 0\n  size: 16, 16\n");
+        }
+        Files.writeString(path, descriptor.toString());
+        return path;
+    }
+}
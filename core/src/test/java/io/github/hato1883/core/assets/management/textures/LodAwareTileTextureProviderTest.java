@@ -0,0 +1,94 @@
+package io.github.hato1883.core.assets.management.textures;
+
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import io.github.hato1883.api.Identifier;
+import io.github.hato1883.api.mod.load.asset.AssetCategory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the memoized region lookup of {@link LodAwareTileTextureProvider}.
+ */
+@DisplayName("LodAwareTileTextureProvider")
+class LodAwareTileTextureProviderTest extends AtlasTestSupport {
+
+    private static final Identifier FOREST = Identifier.of("basemod", "forest");
+
+    private LodAwareTileTextureProvider provider;
+    private TextureAtlas.AtlasRegion lod0Region;
+    private TextureAtlas.AtlasRegion lod3Region;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        lod0Region = tileAtlas(0);
+        lod3Region = tileAtlas(3);
+        provider = new LodAwareTileTextureProvider(assetManager, tempDir);
+    }
+
+    private TextureAtlas.AtlasRegion tileAtlas(int lod) throws IOException {
+        Path path = atlas(name(lod), 64);
+
+        TextureAtlas.AtlasRegion region = mock(TextureAtlas.AtlasRegion.class);
+        region.name = FOREST.toRegionKey();
+        TextureAtlas atlas = mock(TextureAtlas.class);
+        when(atlas.getRegions()).thenReturn(Array.with(region));
+        when(assetManager.get(path.toString(), TextureAtlas.class)).thenReturn(atlas);
+        return region;
+    }
+
+    /** Same layout the provider resolves tile atlases with. */
+    private String name(int lod) {
+        String category = AssetCategory.TILE.getCategory();
+        return Path.of(category, "lod" + lod, String.format("combined_%s_lod%d", category, lod)).toString();
+    }
+
+    private String path(int lod) {
+        return tempDir.resolve(name(lod) + ".atlas").toString();
+    }
+
+    @Test
+    @DisplayName("Repeated lookups are answered from the cache")
+    void memoizesLookups() {
+        loaded.add(path(3));
+        TextureRegion first = provider.getTileTexture(0, FOREST);
+        clearInvocations(assetManager);
+
+        for (int i = 0; i < 100; i++) {
+            assertSame(first, provider.getTileTexture(0, FOREST));
+        }
+        verifyNoInteractions(assetManager);
+        assertSame(lod3Region, first);
+    }
+
+    @Test
+    @DisplayName("A loaded finer atlas replaces the fallback")
+    void upgradesOnLoad() {
+        loaded.add(path(3));
+        assertSame(lod3Region, provider.getTileTexture(0, FOREST));
+
+        loaded.add(path(0));
+        provider.onLodAtlasLoaded(0);
+        assertSame(lod0Region, provider.getTileTexture(0, FOREST));
+    }
+
+    @Test
+    @DisplayName("Regions of an evicted atlas are not handed out again")
+    void invalidatesOnEviction() {
+        loaded.add(path(0));
+        loaded.add(path(3));
+        assertSame(lod0Region, provider.getTileTexture(0, FOREST));
+
+        loaded.remove(path(0));
+        provider.onLodAtlasEvicted(0);
+        assertSame(lod3Region, provider.getTileTexture(0, FOREST));
+    }
+}
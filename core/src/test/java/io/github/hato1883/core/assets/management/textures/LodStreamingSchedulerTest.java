@@ -0,0 +1,134 @@
+package io.github.hato1883.core.assets.management.textures;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import io.github.hato1883.api.ui.model.RendererConfig;
+import io.github.hato1883.api.ui.screen.ICameraScreen;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link LodStreamingScheduler} covering request order, prefetch direction and cancellation.
+ * <p>
+ * With the default config a zoom below 0.39 needs LOD 0, below 0.78 LOD 1, below 1.56 LOD 2 and LOD 3 above.
+ */
+@DisplayName("LodStreamingScheduler")
+class LodStreamingSchedulerTest extends AtlasTestSupport {
+
+    private final Path[] atlases = new Path[4];
+    private final OrthographicCamera camera = new OrthographicCamera();
+    private long nanos;
+    private TextureResidencyManager residency;
+    private ICameraScreen screen;
+
+    @Override
+    protected boolean loadsCompleteImmediately() {
+        // Loads stay queued until completed by the test
+        return false;
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        residency = new TextureResidencyManager(assetManager, TextureResidencyManager.DEFAULT_BUDGET_BYTES);
+        for (int lod = 0; lod < atlases.length; lod++) {
+            atlases[lod] = atlas("lod" + lod, 64);
+            residency.register(atlases[lod], lod);
+        }
+        screen = mock(ICameraScreen.class);
+        when(screen.getCamera()).thenReturn(camera);
+    }
+
+    private LodStreamingScheduler scheduler() {
+        return new LodStreamingScheduler(residency, RendererConfig.defaultConfig(), screen, () -> nanos);
+    }
+
+    private void frame(LodStreamingScheduler scheduler, float zoom, long millis) {
+        camera.zoom = zoom;
+        nanos += millis * 1_000_000;
+        scheduler.update();
+    }
+
+    private boolean isQueued(int lod) {
+        return queued.contains(atlases[lod].toString());
+    }
+
+    private void complete(int lod) {
+        assertTrue(queued.contains(atlases[lod].toString()), "LOD " + lod + " was not queued");
+        complete(atlases[lod]);
+    }
+
+    @Test
+    @DisplayName("The LOD on screen is requested first and the prefetch only once it is loaded")
+    void targetBeforePrefetch() {
+        LodStreamingScheduler scheduler = scheduler();
+        frame(scheduler, 1.2f, 0);
+        frame(scheduler, 1.0f, 100);
+        assertEquals(2, scheduler.getTargetLod());
+        assertEquals(1, scheduler.getPrefetchLod(), "zooming in towards the LOD 1 threshold");
+        assertTrue(isQueued(2));
+        assertFalse(isQueued(1), "the prefetch waits for the target");
+
+        complete(2);
+        // Same frame time: the velocity estimate is kept
+        frame(scheduler, 1.0f, 0);
+        assertTrue(isQueued(1));
+        assertEquals(1, scheduler.getPrefetchLod());
+    }
+
+    @Test
+    @DisplayName("The prefetched LOD follows the direction of the zoom")
+    void prefetchFollowsVelocity() {
+        // LOD 1 is on screen throughout, so prefetches around it are requested right away
+        residency.requestLod(1);
+        complete(1);
+
+        LodStreamingScheduler zoomingOut = scheduler();
+        frame(zoomingOut, 0.45f, 0);
+        frame(zoomingOut, 0.5f, 100);
+        assertTrue(zoomingOut.getZoomVelocity() > 0);
+        assertEquals(1, zoomingOut.getTargetLod());
+        assertEquals(2, zoomingOut.getPrefetchLod());
+        assertTrue(isQueued(2));
+
+        LodStreamingScheduler zoomingIn = scheduler();
+        frame(zoomingIn, 0.55f, 0);
+        frame(zoomingIn, 0.5f, 100);
+        assertTrue(zoomingIn.getZoomVelocity() < 0);
+        assertEquals(0, zoomingIn.getPrefetchLod());
+        assertTrue(isQueued(0));
+        assertFalse(isQueued(2), "the other direction's prefetch is canceled");
+
+        LodStreamingScheduler still = scheduler();
+        frame(still, 0.5f, 0);
+        frame(still, 0.5f, 100);
+        assertEquals(1, still.getPrefetchLod(), "nothing is prefetched without movement");
+    }
+
+    @Test
+    @DisplayName("Queued loads of LODs no longer needed are canceled, loaded and pinned ones are kept")
+    void cancelsStaleLods() {
+        residency.queuePinned();
+        LodStreamingScheduler scheduler = scheduler();
+        frame(scheduler, 0.6f, 0);
+        complete(1);
+        frame(scheduler, 1.0f, 100);
+        assertTrue(isQueued(2));
+
+        // A fast zoom in: the extrapolated zoom is clamped, so the prefetch stays at the finest LOD
+        frame(scheduler, 0.3f, 100);
+        assertEquals(0, scheduler.getTargetLod());
+        assertEquals(0, scheduler.getPrefetchLod());
+        assertTrue(isQueued(0));
+        assertFalse(isQueued(2));
+        verify(assetManager).unload(atlases[2].toString());
+        verify(assetManager, never()).unload(atlases[1].toString());
+        assertTrue(loaded.contains(atlases[1].toString()));
+        assertTrue(isQueued(3), "the pinned fallback is never canceled");
+    }
+}
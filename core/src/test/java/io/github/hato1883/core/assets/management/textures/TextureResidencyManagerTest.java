@@ -0,0 +1,164 @@
+package io.github.hato1883.core.assets.management.textures;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link TextureResidencyManager} covering size estimates, budgeted queueing, eviction
+ * and loading through an {@link AtlasPageUploader}.
+ */
+@DisplayName("TextureResidencyManager")
+class TextureResidencyManagerTest extends AtlasTestSupport {
+
+    @Test
+    @DisplayName("Estimates four bytes per page pixel")
+    void estimatesPageBytes() throws IOException {
+        assertEquals(4L * 256 * 256, TextureResidencyManager.estimateBytes(atlas("a", 256)));
+    }
+
+    @Test
+    @DisplayName("Queues coarse LODs first and defers what does not fit")
+    void queuesWithinBudget() throws IOException {
+        TextureResidencyManager residency = new TextureResidencyManager(assetManager, 4L * 256 * 256 + 4L * 128 * 128);
+        Path lod0 = atlas("lod0", 512);
+        Path lod1 = atlas("lod1", 256);
+        Path lod3 = atlas("lod3", 128);
+        residency.register(lod0, 0);
+        residency.register(lod1, 1);
+        residency.register(lod3, 3);
+        residency.queueWithinBudget();
+
+        assertTrue(loaded.contains(lod3.toString()));
+        assertTrue(loaded.contains(lod1.toString()));
+        assertFalse(loaded.contains(lod0.toString()));
+    }
+
+    @Test
+    @DisplayName("Evicts the least recently used unpinned atlas once it went cold")
+    void evictsColdAtlases() throws IOException {
+        TextureResidencyManager residency = new TextureResidencyManager(assetManager, 4L * 256 * 256);
+        Path lod0 = atlas("lod0", 256);
+        Path lod3 = atlas("lod3", 128);
+        residency.register(lod0, 0);
+        residency.register(lod3, 3);
+        List<Integer> evicted = new ArrayList<>();
+        residency.setEvictionListener((path, lod) -> evicted.add(lod));
+
+        residency.request(lod3.toString());
+        residency.request(lod0.toString());
+        for (int frame = 0; frame < TextureResidencyManager.EVICTION_GRACE_FRAMES; frame++) {
+            residency.endFrame();
+        }
+        assertTrue(evicted.isEmpty(), "atlases within the grace period stay resident");
+
+        residency.endFrame();
+        assertEquals(List.of(0), evicted);
+        assertTrue(loaded.contains(lod3.toString()), "the coarsest LOD is pinned");
+
+        residency.request(lod0.toString());
+        assertTrue(loaded.contains(lod0.toString()), "requesting an evicted atlas loads it again");
+    }
+
+    @Test
+    @DisplayName("Keeps atlases registered as pinned resident without requests")
+    void keepsPinnedAtlases() throws IOException {
+        TextureResidencyManager residency = new TextureResidencyManager(assetManager, 4L * 256 * 256);
+        Path ui = atlas("ui", 256);
+        Path lod3 = atlas("lod3", 128);
+        residency.register(ui, 0, true);
+        residency.register(lod3, 3);
+        List<Integer> evicted = new ArrayList<>();
+        residency.setEvictionListener((path, lod) -> evicted.add(lod));
+
+        residency.queuePinned();
+        assertTrue(loaded.contains(ui.toString()), "pinned atlases are queued with the coarsest LOD");
+        for (int frame = 0; frame <= TextureResidencyManager.EVICTION_GRACE_FRAMES; frame++) {
+            residency.endFrame();
+        }
+        assertTrue(evicted.isEmpty(), "pinned atlases are never evicted");
+        assertTrue(loaded.contains(ui.toString()));
+    }
+
+    /** An uploader whose loads stay pending until finished by {@link AtlasPageUploader#finishLoading}. */
+    private AtlasPageUploader uploader(Set<String> uploading) {
+        AtlasPageUploader uploader = mock(AtlasPageUploader.class);
+        doAnswer(inv -> uploading.add(inv.getArgument(0))).when(uploader).load(anyString(), anyInt());
+        when(uploader.isLoading(anyString())).thenAnswer(inv -> uploading.contains(inv.<String>getArgument(0)));
+        doAnswer(inv -> uploading.remove(inv.<String>getArgument(0))).when(uploader).cancel(anyString());
+        doAnswer(inv -> {
+            if (uploading.remove(inv.<String>getArgument(0))) loaded.add(inv.getArgument(0));
+            return null;
+        }).when(uploader).finishLoading(anyString());
+        return uploader;
+    }
+
+    @Test
+    @DisplayName("Loads through the uploader and counts its pending atlases as resident")
+    void queuesThroughUploader() throws IOException {
+        Set<String> uploading = new HashSet<>();
+        AtlasPageUploader uploader = uploader(uploading);
+        TextureResidencyManager residency = new TextureResidencyManager(assetManager, uploader, 4L * 256 * 256);
+        Path lod0 = atlas("lod0", 256);
+        residency.register(lod0, 0);
+
+        assertFalse(residency.request(lod0.toString()));
+        assertFalse(residency.request(lod0.toString()));
+        verify(uploader, times(1)).load(lod0.toString(), 0);
+        verify(assetManager, never()).load(anyString(), any());
+        assertEquals(4L * 256 * 256, residency.getResidentBytes());
+    }
+
+    @Test
+    @DisplayName("Cancels pending uploads instead of unloading them")
+    void cancelsThroughUploader() throws IOException {
+        Set<String> uploading = new HashSet<>();
+        AtlasPageUploader uploader = uploader(uploading);
+        TextureResidencyManager residency = new TextureResidencyManager(assetManager, uploader, 4L * 256 * 256);
+        Path lod0 = atlas("lod0", 256);
+        Path lod1 = atlas("lod1", 128);
+        Path lod3 = atlas("lod3", 64);
+        residency.register(lod0, 0);
+        residency.register(lod1, 1);
+        residency.register(lod3, 3);
+        residency.requestLod(0);
+        residency.requestLod(1);
+        residency.finishLoading(lod1.toString());
+
+        assertEquals(1, residency.cancelQueued(Set.of()));
+        verify(uploader).cancel(lod0.toString());
+        verify(assetManager, never()).unload(anyString());
+        assertTrue(loaded.contains(lod1.toString()), "loaded atlases are not canceled");
+        assertEquals(4L * 128 * 128, residency.getResidentBytes(), "only the loaded atlas stays resident");
+    }
+
+    @Test
+    @DisplayName("finishLoading waits on the uploader for pending atlases only")
+    void finishesThroughUploader() throws IOException {
+        Set<String> uploading = new HashSet<>();
+        AtlasPageUploader uploader = uploader(uploading);
+        TextureResidencyManager residency = new TextureResidencyManager(assetManager, uploader, 4L * 256 * 256);
+        Path lod0 = atlas("lod0", 256);
+        residency.register(lod0, 0);
+
+        residency.finishLoading(lod0.toString());
+        verify(uploader).load(lod0.toString(), 0);
+        verify(uploader).finishLoading(lod0.toString());
+        verify(assetManager, never()).finishLoadingAsset(anyString());
+        assertTrue(loaded.contains(lod0.toString()));
+
+        // Already loaded: nothing is pending in the uploader, so the asset manager answers
+        residency.finishLoading(lod0.toString());
+        verify(uploader, times(1)).load(anyString(), anyInt());
+        verify(assetManager).finishLoadingAsset(lod0.toString());
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.hato1883.core.async;
+
+import io.github.hato1883.api.async.TaskPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link AsyncExecutionService} covering which pool a task runs on.
+ */
+@DisplayName("AsyncExecutionService")
+class AsyncExecutionServiceTest {
+    private ExecutorService general;
+    private ExecutorService io;
+    private ScheduledExecutorService scheduled;
+    private AsyncExecutionService service;
+
+    @BeforeEach
+    void setUp() {
+        general = Executors.newSingleThreadExecutor(r -> new Thread(r, "general"));
+        io = Executors.newSingleThreadExecutor(r -> new Thread(r, "io"));
+        scheduled = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "scheduled"));
+        service = new AsyncExecutionService(general, io, scheduled);
+    }
+
+    @AfterEach
+    void tearDown() {
+        general.shutdownNow();
+        io.shutdownNow();
+        scheduled.shutdownNow();
+    }
+
+    private String threadOf(String taskName, TaskPool pool) {
+        return service.executeAsync(() -> Thread.currentThread().getName(), taskName, pool).join();
+    }
+
+    @Test
+    @DisplayName("Tasks run on the pool they ask for")
+    void routesByPool() {
+        assertEquals("general", threadOf("pack", TaskPool.GENERAL));
+        assertEquals("io", threadOf("hash", TaskPool.IO));
+        assertEquals("scheduled", threadOf("dispatch", TaskPool.EVENT));
+    }
+
+    @Test
+    @DisplayName("Task names do not affect routing")
+    void namesDoNotRoute() {
+        assertEquals("general", threadOf("load-radio-file", TaskPool.GENERAL));
+        assertEquals("general",
+            service.executeAsync(() -> Thread.currentThread().getName(), "io-event-download").join());
+        assertEquals("io", threadOf("event", TaskPool.IO));
+    }
+}
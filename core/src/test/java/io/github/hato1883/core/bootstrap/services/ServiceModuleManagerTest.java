@@ -0,0 +1,58 @@
+package io.github.hato1883.core.bootstrap.services;
+
+import io.github.hato1883.api.services.IServiceContainer;
+import io.github.hato1883.api.services.IServiceModule;
+import io.github.hato1883.api.services.ServiceRegistrationException;
+import io.github.hato1883.core.services.ServiceContainer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceModuleManagerTest {
+    interface First {}
+    interface Second {}
+
+    private final List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+    private IServiceModule module(String name, Set<Class<?>> provides, Set<Class<?>> requires, boolean facade) {
+        return new IServiceModule() {
+            @Override public void registerServices(IServiceContainer container) { order.add(name); }
+            @Override public String getModuleName() { return name; }
+            @Override public Set<Class<?>> getProvidedServices() { return provides; }
+            @Override public Set<Class<?>> getRequiredServices() { return requires; }
+            @Override public boolean isFacadeModule() { return facade; }
+        };
+    }
+
+    @Test
+    void testModulesRunAfterTheirDependenciesAndFacadesLast() {
+        ServiceModuleManager manager = new ServiceModuleManager.Builder()
+            .withModule(module("facade", Set.of(), Set.of(), true))
+            .withModule(module("second", Set.of(Second.class), Set.of(First.class), false))
+            .withModule(module("first", Set.of(First.class), Set.of(), false))
+            .build();
+
+        manager.registerAllServices(new ServiceContainer());
+
+        assertEquals(List.of("first", "second", "facade"), order);
+        ServiceStartupReport report = manager.getLastReport();
+        assertEquals(3, report.timings().size());
+        assertTrue(report.toString().contains("second"));
+    }
+
+    @Test
+    void testCyclicDependenciesAreRejected() {
+        ServiceModuleManager manager = new ServiceModuleManager.Builder()
+            .withModule(module("a", Set.of(First.class), Set.of(Second.class), false))
+            .withModule(module("b", Set.of(Second.class), Set.of(First.class), false))
+            .build();
+
+        assertThrows(ServiceRegistrationException.class, () -> manager.registerAllServices(new ServiceContainer()));
+        assertTrue(order.isEmpty());
+    }
+}
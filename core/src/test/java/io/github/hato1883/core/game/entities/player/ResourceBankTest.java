@@ -0,0 +1,121 @@
+package io.github.hato1883.core.game.entities.player;
+
+import io.github.hato1883.api.Identifier;
+import io.github.hato1883.api.entities.resource.IResourceType;
+import io.github.hato1883.api.entities.resource.ResourceIndex;
+import io.github.hato1883.api.entities.resource.ResourceVector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ResourceBank}.
+ */
+@DisplayName("ResourceBank")
+class ResourceBankTest {
+
+    private record Type(String name) implements IResourceType {
+        @Override
+        public Identifier getId() {
+            return Identifier.of("basemod", name);
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getDescription() {
+            return "";
+        }
+    }
+
+    private final Type brick = new Type("brick");
+    private final Type ore = new Type("ore");
+    private final Type wool = new Type("wool");
+    private final ResourceIndex index = ResourceIndex.of(List.of(brick, ore, wool));
+
+    @Test
+    @DisplayName("Single-type add and remove")
+    void singleType() {
+        ResourceBank bank = new ResourceBank(index);
+        bank.add(brick, 3);
+        assertTrue(bank.remove(brick, 2));
+        assertFalse(bank.remove(brick, 2), "cannot go negative");
+        assertEquals(1, bank.getAmount(brick));
+        assertFalse(bank.remove(new Type("grain"), 1));
+        assertEquals(0, bank.getAmount(new Type("grain")));
+        assertThrows(IllegalArgumentException.class, () -> bank.add(brick, -1));
+        assertThrows(IllegalArgumentException.class, () -> bank.add(new Type("grain"), 1));
+    }
+
+    @Test
+    @DisplayName("Vector removal is all or nothing")
+    void vectorRemoval() {
+        ResourceBank bank = new ResourceBank(index);
+        bank.add(ResourceVector.of(index, Map.of(brick, 1, ore, 2)));
+        assertFalse(bank.remove(ResourceVector.of(index, Map.of(brick, 1, wool, 1))));
+        assertEquals(ResourceVector.of(index, Map.of(brick, 1, ore, 2)), bank.toVector());
+        assertTrue(bank.canAfford(ResourceVector.of(index, ore, 2)));
+        assertTrue(bank.remove(ResourceVector.of(index, Map.of(brick, 1, ore, 2))));
+        assertTrue(bank.toVector().isEmpty());
+        assertThrows(IllegalArgumentException.class,
+            () -> bank.add(ResourceVector.ofOrdinals(index, -1, 0, 0)));
+    }
+
+    @Test
+    @DisplayName("Vectors of another index are rejected")
+    void otherIndex() {
+        ResourceBank bank = new ResourceBank(index);
+        ResourceIndex other = ResourceIndex.of(List.of(brick, ore, wool));
+        assertThrows(IllegalArgumentException.class, () -> bank.canAfford(ResourceVector.of(other, brick, 1)));
+    }
+
+    @Test
+    @DisplayName("Migrating carries amounts over by type")
+    void migrateTo() {
+        ResourceBank bank = new ResourceBank(index);
+        bank.add(brick, 2);
+        bank.add(wool, 5);
+        Type grain = new Type("grain");
+        // Registered later and without wool; ordinals shift
+        ResourceIndex grown = ResourceIndex.ordered(List.of(grain, ore, brick));
+
+        bank.migrateTo(grown);
+        assertSame(grown, bank.getIndex());
+        assertEquals(2, bank.getAmount(brick));
+        assertEquals(0, bank.getAmount(grain));
+        assertEquals(0, bank.getAmount(wool), "types missing from the new index are dropped");
+        assertEquals(ResourceVector.ofOrdinals(grown, 0, 0, 2), bank.toVector());
+    }
+
+    @Test
+    @DisplayName("A bank following an index source migrates in place once its index is superseded")
+    void followsIndexSource() {
+        AtomicReference<ResourceIndex> published = new AtomicReference<>(index);
+        AtomicInteger queries = new AtomicInteger();
+        ResourceBank bank = new ResourceBank(() -> {
+            queries.incrementAndGet();
+            return published.get();
+        });
+        assertEquals(0, queries.get(), "the source is queried lazily");
+        bank.add(ore, 3);
+        bank.getAmount(ore);
+        assertEquals(1, queries.get(), "a current index is not looked up again");
+
+        ResourceIndex frozen = ResourceIndex.ordered(List.of(wool, ore, brick));
+        published.set(frozen);
+        index.markSuperseded();
+        assertEquals(3, bank.getAmount(ore));
+        assertSame(frozen, bank.getIndex());
+        assertTrue(bank.canAfford(ResourceVector.of(frozen, ore, 3)));
+        assertEquals(2, queries.get());
+    }
+}
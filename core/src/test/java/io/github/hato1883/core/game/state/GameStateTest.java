@@ -0,0 +1,145 @@
+package io.github.hato1883.core.game.state;
+
+import io.github.hato1883.api.Identifier;
+import io.github.hato1883.api.entities.player.IPlayer;
+import io.github.hato1883.api.entities.resource.IResourceType;
+import io.github.hato1883.api.world.board.IBoard;
+import io.github.hato1883.api.world.board.IBuilding;
+import io.github.hato1883.api.world.board.IBuildingType;
+import io.github.hato1883.api.world.board.TilePosition;
+import io.github.hato1883.api.world.board.VertexCoord;
+import io.github.hato1883.api.world.phase.IGamePhase;
+import io.github.hato1883.api.world.state.GameStateSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link GameState} covering transitions, undo, the undo limit and restore.
+ */
+@DisplayName("GameState")
+class GameStateTest {
+    private List<IPlayer> players;
+    private List<IGamePhase> phases;
+    private IResourceType brick;
+    private IBuilding settlement;
+    private GameStateSnapshot initial;
+
+    @BeforeEach
+    void setUp() {
+        players = List.of(mock(IPlayer.class), mock(IPlayer.class));
+        phases = List.of(mock(IGamePhase.class), mock(IGamePhase.class));
+        brick = mock(IResourceType.class);
+        when(brick.getId()).thenReturn(Identifier.of("basemod", "brick"));
+        IBuildingType type = mock(IBuildingType.class);
+        when(type.getId()).thenReturn(Identifier.of("basemod", "settlement"));
+        VertexCoord vertex = new VertexCoord(new TilePosition(0, 0, 0), new TilePosition(1, -1, 0), new TilePosition(1, 0, -1));
+        settlement = mock(IBuilding.class);
+        when(settlement.getPosition()).thenReturn(vertex);
+        when(settlement.getType()).thenReturn(type);
+        when(settlement.getOwner()).thenReturn(players.get(0));
+        IBoard board = mock(IBoard.class);
+        when(board.getTiles()).thenReturn(List.of());
+        initial = GameStateSnapshot.initial(board, players, phases);
+    }
+
+    @Test
+    @DisplayName("Applied changes produce new snapshots and leave earlier ones untouched")
+    void snapshotsAreImmutable() {
+        GameState state = new GameState(initial);
+        GameStateSnapshot before = state.snapshot();
+        state.apply(s -> s.withBuilding(settlement).addResource(players.get(0), brick, 2));
+
+        assertNotSame(before, state.snapshot());
+        assertNull(before.getBuildingAt(settlement.getPosition()));
+        assertEquals(0, before.getResourceAmount(players.get(0), brick));
+        assertSame(settlement, state.snapshot().getBuildingAt(settlement.getPosition()));
+        assertEquals(2, state.snapshot().getResourceAmount(players.get(0), brick));
+        assertEquals(1, state.getUndoDepth());
+    }
+
+    @Test
+    @DisplayName("Changes that return the same snapshot are not recorded")
+    void noOpNotRecorded() {
+        GameState state = new GameState(initial);
+        state.apply(s -> s);
+        state.apply(s -> s.addResource(players.get(0), brick, 0));
+        assertFalse(state.canUndo());
+        assertThrows(NullPointerException.class, () -> state.apply(s -> null));
+    }
+
+    @Test
+    @DisplayName("Undo steps back one change at a time")
+    void undo() {
+        GameState state = new GameState(initial);
+        state.apply(s -> s.withBuilding(settlement));
+        GameStateSnapshot built = state.snapshot();
+        state.apply(s -> s.addResource(players.get(0), brick, 1));
+
+        assertTrue(state.undo());
+        assertSame(built, state.snapshot());
+        assertTrue(state.undo());
+        assertSame(initial, state.snapshot());
+        assertFalse(state.undo());
+        assertSame(initial, state.snapshot());
+    }
+
+    @Test
+    @DisplayName("The oldest undo level is dropped at the limit, and a limit of zero keeps none")
+    void undoLimit() {
+        GameState state = new GameState(initial, 2);
+        for (int i = 0; i < 3; i++) {
+            state.apply(s -> s.addResource(players.get(0), brick, 1));
+        }
+        assertEquals(2, state.getUndoDepth());
+        state.undo();
+        state.undo();
+        assertEquals(1, state.snapshot().getResourceAmount(players.get(0), brick));
+
+        GameState noHistory = new GameState(initial, 0);
+        noHistory.apply(s -> s.withBuilding(settlement));
+        assertFalse(noHistory.undo());
+        assertThrows(IllegalArgumentException.class, () -> new GameState(initial, -1));
+    }
+
+    @Test
+    @DisplayName("Restore rewinds to an earlier snapshot and clears the undo history")
+    void restore() {
+        GameState state = new GameState(initial);
+        state.apply(s -> s.withBuilding(settlement));
+        state.apply(s -> s.addResource(players.get(1), brick, 3));
+
+        state.restore(initial);
+        assertSame(initial, state.snapshot());
+        assertFalse(state.canUndo());
+    }
+
+    @Test
+    @DisplayName("Advancing past the last phase passes the turn to the next player")
+    void advancePhase() {
+        GameState state = new GameState(initial);
+        assertSame(players.get(0), state.getCurrentPlayer());
+        assertSame(phases.get(0), state.getCurrentPhase());
+
+        state.advancePhase();
+        assertSame(players.get(0), state.getCurrentPlayer());
+        assertSame(phases.get(1), state.getCurrentPhase());
+
+        state.advancePhase();
+        assertSame(players.get(1), state.getCurrentPlayer());
+        assertSame(phases.get(0), state.getCurrentPhase());
+
+        state.advancePhase();
+        state.advancePhase();
+        assertSame(players.get(0), state.getCurrentPlayer());
+
+        state.undo();
+        assertSame(players.get(1), state.getCurrentPlayer());
+        assertSame(phases.get(1), state.getCurrentPhase());
+    }
+}
@@ -0,0 +1,249 @@
+package io.github.hato1883.core.game.state;
+
+import io.github.hato1883.api.Identifier;
+import io.github.hato1883.api.entities.player.IPlayer;
+import io.github.hato1883.api.entities.resource.IResourceType;
+import io.github.hato1883.api.events.EventPriority;
+import io.github.hato1883.api.events.IEvent;
+import io.github.hato1883.api.events.IEventBus;
+import io.github.hato1883.api.events.IEventListener;
+import io.github.hato1883.api.events.player.PlayerBuildBuildingEvent;
+import io.github.hato1883.api.events.resource.ResourceGainEvent;
+import io.github.hato1883.api.events.resource.ResourceSpendEvent;
+import io.github.hato1883.api.world.board.*;
+import io.github.hato1883.api.world.state.GameStateSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link ZobristHash} and the hash kept by {@link GameState}.
+ * <p>
+ * Every incremental update is checked against a full recompute of the resulting snapshot.
+ */
+@DisplayName("ZobristHash")
+class ZobristHashTest {
+    private List<IPlayer> players;
+    private List<ITile> tiles;
+    private IBoard board;
+    private IResourceType brick;
+    private IResourceType wool;
+    private VertexCoord vertex;
+    private EdgeCoord edge;
+
+    @BeforeEach
+    void setUp() {
+        players = List.of(mock(IPlayer.class), mock(IPlayer.class));
+        tiles = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            tiles.add(tile(new TilePosition(i, -i, 0), "forest", i + 2));
+        }
+        board = mock(IBoard.class);
+        when(board.getTiles()).thenReturn(tiles);
+        brick = resource("brick");
+        wool = resource("wool");
+
+        VertexCoord other = new VertexCoord(tiles.get(1).getPosition(), tiles.get(2).getPosition(), tiles.get(3).getPosition());
+        vertex = new VertexCoord(tiles.get(0).getPosition(), tiles.get(1).getPosition(), tiles.get(2).getPosition());
+        edge = new EdgeCoord(vertex, other);
+    }
+
+    private static ITile tile(ITilePosition position, String type, int number) {
+        ITileType tileType = mock(ITileType.class);
+        when(tileType.getId()).thenReturn(Identifier.of("basemod", type));
+        ITile tile = mock(ITile.class);
+        when(tile.getPosition()).thenReturn(position);
+        when(tile.getType()).thenReturn(tileType);
+        when(tile.getProductionNumbers()).thenReturn(List.of(number));
+        return tile;
+    }
+
+    private static IResourceType resource(String name) {
+        IResourceType type = mock(IResourceType.class);
+        when(type.getId()).thenReturn(Identifier.of("basemod", name));
+        return type;
+    }
+
+    private static IBuilding building(VertexCoord position, String type, IPlayer owner) {
+        IBuildingType buildingType = mock(IBuildingType.class);
+        when(buildingType.getId()).thenReturn(Identifier.of("basemod", type));
+        IBuilding building = mock(IBuilding.class);
+        when(building.getPosition()).thenReturn(position);
+        when(building.getType()).thenReturn(buildingType);
+        when(building.getOwner()).thenReturn(owner);
+        return building;
+    }
+
+    private static IRoad road(EdgeCoord position, IPlayer owner) {
+        IRoadType roadType = mock(IRoadType.class);
+        when(roadType.getId()).thenReturn(Identifier.of("basemod", "road"));
+        IRoad road = mock(IRoad.class);
+        when(road.getPosition()).thenReturn(position);
+        when(road.getType()).thenReturn(roadType);
+        when(road.getOwner()).thenReturn(owner);
+        return road;
+    }
+
+    private GameState newState() {
+        return new GameState(GameStateSnapshot.initial(board, players, List.of()));
+    }
+
+    private void assertMatchesRecompute(GameState state) {
+        long recomputed = new ZobristHash(players, ZobristHash.DEFAULT_SEED).hash(state.snapshot());
+        assertEquals(recomputed, state.getHash());
+    }
+
+    @Test
+    @DisplayName("Every typed transition keeps the hash equal to a full recompute")
+    void incrementalMatchesRecompute() {
+        GameState state = newState();
+        assertMatchesRecompute(state);
+
+        IPlayer first = players.get(0);
+        IPlayer second = players.get(1);
+        List<Runnable> steps = List.of(
+            () -> state.placeBuilding(building(vertex, "settlement", first)),
+            () -> state.placeRoad(road(edge, first)),
+            () -> state.moveRobber(tiles.get(1)),
+            () -> state.addResource(first, brick, 3),
+            () -> state.addResource(second, wool, 1),
+            () -> state.placeBuilding(building(vertex, "city", first)),
+            () -> state.moveRobber(tiles.get(2)),
+            () -> state.addResource(first, brick, -3),
+            state::advancePhase,
+            () -> state.placeRoad(road(edge, second)),
+            () -> state.removeRoad(edge),
+            () -> state.removeBuilding(vertex),
+            () -> state.moveRobber(null)
+        );
+        Set<Long> seen = new HashSet<>();
+        seen.add(state.getHash());
+        for (Runnable step : steps) {
+            step.run();
+            assertMatchesRecompute(state);
+            seen.add(state.getHash());
+        }
+        // Distinct states along the way hash differently
+        assertTrue(seen.size() > steps.size() / 2);
+    }
+
+    @Test
+    @DisplayName("Undo restores the hash of the previous snapshot")
+    void undoRestoresHash() {
+        GameState state = newState();
+        Deque<Long> hashes = new ArrayDeque<>();
+        hashes.push(state.getHash());
+        state.placeBuilding(building(vertex, "settlement", players.get(0)));
+        hashes.push(state.getHash());
+        state.addResource(players.get(0), brick, 2);
+        hashes.push(state.getHash());
+        state.moveRobber(tiles.get(3));
+
+        while (state.undo()) {
+            assertEquals(hashes.pop(), state.getHash());
+            assertMatchesRecompute(state);
+        }
+        assertTrue(hashes.isEmpty());
+    }
+
+    @Test
+    @DisplayName("The same state reached in a different order has the same hash")
+    void orderIndependent() {
+        IPlayer first = players.get(0);
+        GameState a = newState();
+        a.placeBuilding(building(vertex, "settlement", first));
+        a.addResource(first, brick, 2);
+        a.moveRobber(tiles.get(1));
+
+        GameState b = newState();
+        b.moveRobber(tiles.get(1));
+        b.addResource(first, brick, 1);
+        b.placeBuilding(building(vertex, "settlement", first));
+        b.addResource(first, brick, 1);
+
+        assertEquals(a.getHash(), b.getHash());
+        assertNotEquals(newState().getHash(), a.getHash());
+    }
+
+    @Test
+    @DisplayName("Generic changes and restore recompute the hash")
+    void applyAndRestoreRecompute() {
+        GameState state = newState();
+        GameStateSnapshot initial = state.snapshot();
+        long initialHash = state.getHash();
+        state.apply(s -> s.withBuilding(building(vertex, "settlement", players.get(0))).addResource(players.get(1), wool, 4));
+        assertMatchesRecompute(state);
+        state.restore(initial);
+        assertEquals(initialHash, state.getHash());
+    }
+
+    @Test
+    @DisplayName("Dispatched events update the state they were created for")
+    void eventsUpdateState() {
+        Map<Class<?>, List<IEventListener<?>>> listeners = new HashMap<>();
+        IEventBus bus = new IEventBus() {
+            @Override
+            public <T extends IEvent> void registerListener(String modId, Class<T> eventType, EventPriority priority, IEventListener<T> listener) {
+                listeners.computeIfAbsent(eventType, k -> new ArrayList<>()).add(listener);
+            }
+            @Override
+            public <T extends IEvent> void unregisterListener(String modId, Class<T> eventType, IEventListener<T> listener) {}
+            @Override
+            public void unregisterMod(String modId) {}
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T extends IEvent> void dispatch(T event) {
+                for (IEventListener<?> listener : listeners.getOrDefault(event.getClass(), List.of())) {
+                    ((IEventListener<T>) listener).onEvent(event);
+                }
+            }
+            @Override
+            public <T extends IEvent> void dispatchAsync(T event) {}
+            @Override
+            public <T extends IEvent> void dispatchOnMainThread(T event) {}
+        };
+        GameState state = newState();
+        GameState otherMatch = newState();
+        state.register(bus, "core");
+        IPlayer first = players.get(0);
+
+        IBuilding settlement = building(vertex, "settlement", first);
+        bus.dispatch(new PlayerBuildBuildingEvent(state, settlement));
+        bus.dispatch(new ResourceGainEvent(state, first, Map.of(brick, 2, wool, 1)));
+        ResourceSpendEvent canceled = new ResourceSpendEvent(state, first, Map.of(brick, 2));
+        canceled.cancel();
+        bus.dispatch(canceled);
+        bus.dispatch(new ResourceSpendEvent(state, first, Map.of(wool, 1)));
+        bus.dispatch(new ResourceGainEvent(otherMatch, first, Map.of(wool, 5)));
+
+        GameStateSnapshot snapshot = state.snapshot();
+        assertSame(settlement, snapshot.getBuildingAt(vertex));
+        assertEquals(2, snapshot.getResourceAmount(first, brick));
+        assertEquals(0, snapshot.getResourceAmount(first, wool));
+        assertMatchesRecompute(state);
+        assertEquals(newState().getHash(), otherMatch.getHash());
+    }
+
+    @Test
+    @DisplayName("Keys depend on the seed and not on identity hash codes")
+    void stableAcrossInstances() {
+        GameStateSnapshot initial = GameStateSnapshot.initial(board, players, List.of())
+            .withBuilding(building(vertex, "settlement", players.get(1)));
+        assertEquals(new ZobristHash(players, 42).hash(initial), new ZobristHash(players, 42).hash(initial));
+        assertNotEquals(new ZobristHash(players, 42).hash(initial), new ZobristHash(players, 43).hash(initial));
+        assertEquals(ZobristHash.identifierHash(Identifier.of("basemod:brick")),
+            ZobristHash.identifierHash(Identifier.of("basemod", "brick")));
+    }
+
+    @Test
+    @DisplayName("Players outside the match are rejected")
+    void unknownPlayer() {
+        GameState state = newState();
+        assertThrows(IllegalArgumentException.class, () -> state.addResource(mock(IPlayer.class), brick, 1));
+    }
+}
@@ -0,0 +1,105 @@
+package io.github.hato1883.core.modloading.assets;
+
+import io.github.hato1883.api.Identifier;
+import io.github.hato1883.api.async.IAsyncExecutionService;
+import io.github.hato1883.api.async.TaskPool;
+import io.github.hato1883.api.mod.load.asset.AssetCategory;
+import io.github.hato1883.api.mod.load.asset.TextureEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link AtlasCacheInfo} covering stamp refresh, content changes and textures that
+ * cannot be hashed.
+ */
+@DisplayName("AtlasCacheInfo")
+class AtlasCacheInfoTest {
+    private static final Map<String, String> MODS = Map.of("basemod", "1.0.0");
+
+    @TempDir
+    Path modDir;
+    private Path cacheFile;
+    private TextureEntry brick;
+    private TextureEntry wool;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.createDirectories(modDir.resolve("textures"));
+        Files.writeString(modDir.resolve("textures/brick.png"), "brick");
+        Files.writeString(modDir.resolve("textures/wool.png"), "wool");
+        brick = entry("brick");
+        wool = entry("wool");
+        cacheFile = modDir.resolve("atlas.cache.json");
+    }
+
+    private TextureEntry entry(String name) {
+        return new TextureEntry(AssetCategory.TILE, 0, Identifier.of("basemod", name), modDir, "textures/" + name + ".png");
+    }
+
+    private void touch(String name) throws IOException {
+        Path file = modDir.resolve("textures/" + name + ".png");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 60_000));
+    }
+
+    @Test
+    @DisplayName("A touched texture with unchanged content still matches and its new stamp is saved")
+    void refreshesStamps() throws IOException {
+        AtlasCacheInfo.save(cacheFile, MODS, List.of(brick, wool), "tiles", 0);
+        touch("brick");
+        AtlasCacheInfo.TextureStamp current = AtlasCacheInfo.TextureStamp.of(brick);
+        assertNotEquals(current, AtlasCacheInfo.load(cacheFile).textureStamps().get("basemod:brick@0"));
+
+        assertTrue(AtlasCacheInfo.isUpToDate(cacheFile, MODS, List.of(brick, wool), null));
+        assertEquals(current, AtlasCacheInfo.load(cacheFile).textureStamps().get("basemod:brick@0"));
+    }
+
+    @Test
+    @DisplayName("Changed content or a changed mod version no longer matches")
+    void detectsChanges() throws IOException {
+        AtlasCacheInfo.save(cacheFile, MODS, List.of(brick, wool), "tiles", 0);
+        assertFalse(AtlasCacheInfo.isUpToDate(cacheFile, Map.of("basemod", "1.0.1"), List.of(brick, wool), null));
+
+        Files.writeString(modDir.resolve("textures/brick.png"), "bricks");
+        assertFalse(AtlasCacheInfo.isUpToDate(cacheFile, MODS, List.of(brick, wool), null));
+        assertFalse(AtlasCacheInfo.isUpToDate(modDir.resolve("missing.json"), MODS, List.of(brick), null));
+    }
+
+    @Test
+    @DisplayName("A texture that cannot be hashed is never saved")
+    void unreadableTextureNotSaved() throws IOException {
+        Files.createDirectories(modDir.resolve("textures/broken.png"));
+        TextureEntry broken = entry("broken");
+
+        assertThrows(IOException.class, () -> AtlasCacheInfo.save(cacheFile, MODS, List.of(brick, broken), "tiles", 0));
+        assertFalse(Files.exists(cacheFile));
+    }
+
+    @Test
+    @DisplayName("A hash that failed on the IO pool is a mismatch")
+    @SuppressWarnings("unchecked")
+    void failedAsyncHashMismatches() throws IOException {
+        AtlasCacheInfo.save(cacheFile, MODS, List.of(brick, wool), "tiles", 0);
+        touch("brick");
+        touch("wool");
+        IAsyncExecutionService async = mock(IAsyncExecutionService.class);
+        when(async.executeAsync(any(Supplier.class), anyString(), eq(TaskPool.IO)))
+            .thenReturn(CompletableFuture.completedFuture(null));
+
+        assertFalse(AtlasCacheInfo.isUpToDate(cacheFile, MODS, List.of(brick, wool), async));
+        verify(async, times(2)).executeAsync(any(Supplier.class), anyString(), eq(TaskPool.IO));
+    }
+}
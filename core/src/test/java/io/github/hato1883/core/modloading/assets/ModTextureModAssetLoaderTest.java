@@ -0,0 +1,181 @@
+package io.github.hato1883.core.modloading.assets;
+
+import io.github.hato1883.api.Identifier;
+import io.github.hato1883.api.mod.load.ILoadedMod;
+import io.github.hato1883.api.mod.load.LoadPriority;
+import io.github.hato1883.api.mod.load.ModMetadata;
+import io.github.hato1883.api.mod.load.asset.AssetCategory;
+import io.github.hato1883.api.mod.load.asset.TextureAtlasBuilder;
+import io.github.hato1883.api.mod.load.asset.TextureEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link ModTextureModAssetLoader} covering combined atlas packing, texture precedence
+ * between mods and the combined atlas cache.
+ */
+@DisplayName("ModTextureModAssetLoader")
+class ModTextureModAssetLoaderTest {
+
+    @TempDir
+    Path tempDir;
+    private Path cacheDir;
+    private RecordingBuilder builder;
+    private final Map<ILoadedMod, Map<AssetCategory, Map<Integer, List<TextureEntry>>>> discovered = new HashMap<>();
+
+    /** Records every pack and writes an empty descriptor, like a real build would. */
+    private static final class RecordingBuilder implements TextureAtlasBuilder {
+        final Map<String, List<TextureEntry>> packed = new LinkedHashMap<>();
+        boolean fail;
+
+        @Override
+        public void ensureAtlas(ILoadedMod mod, AssetCategory category, int lod, List<TextureEntry> textures, Path modCacheDir) {
+            fail("Per-mod atlases are not loaded at runtime and must not be built");
+        }
+
+        @Override
+        public void packAtlas(List<TextureEntry> textures, Path atlasDirectory, String baseName) throws IOException {
+            if (fail) throw new IOException("Packing failed");
+            packed.put(baseName, List.copyOf(textures));
+            Files.writeString(atlasDirectory.resolve(baseName + ".atlas"), "");
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        cacheDir = tempDir.resolve("cache");
+        builder = new RecordingBuilder();
+    }
+
+    private ModTextureModAssetLoader loader() {
+        return new ModTextureModAssetLoader(mods -> discovered, builder, cacheDir);
+    }
+
+    private ILoadedMod mod(String id, String version) {
+        ILoadedMod mod = mock(ILoadedMod.class);
+        when(mod.id()).thenReturn(id);
+        when(mod.metadata()).thenReturn(new ModMetadata(id, id, version, "Main", null, List.of(), LoadPriority.NORMAL));
+        return mod;
+    }
+
+    private TextureEntry texture(String modId, AssetCategory category, int lod, String id) throws IOException {
+        Path modDir = tempDir.resolve(modId);
+        String internalPath = "textures/" + category.getCategory() + "/lod" + lod + "/" + Identifier.of(id).getPath() + ".png";
+        Files.createDirectories(modDir.resolve(internalPath).getParent());
+        Files.writeString(modDir.resolve(internalPath), modId + ":" + id);
+        return new TextureEntry(category, lod, Identifier.of(id), modDir, internalPath);
+    }
+
+    private void discover(ILoadedMod mod, TextureEntry... textures) {
+        for (TextureEntry texture : textures) {
+            discovered.computeIfAbsent(mod, m -> new LinkedHashMap<>())
+                .computeIfAbsent(texture.category(), c -> new LinkedHashMap<>())
+                .computeIfAbsent(texture.lod(), l -> new ArrayList<>())
+                .add(texture);
+        }
+    }
+
+    @Test
+    @DisplayName("Packs one combined atlas per category and LOD and no per-mod atlases")
+    void packsCombinedAtlases() throws IOException {
+        ILoadedMod basemod = mod("basemod", "1.0.0");
+        discover(basemod,
+            texture("basemod", AssetCategory.TILE, 0, "basemod:forest"),
+            texture("basemod", AssetCategory.TILE, 1, "basemod:forest"),
+            texture("basemod", AssetCategory.BUILDING, 0, "basemod:city"));
+
+        loader().loadAssets(List.of(basemod));
+
+        assertEquals(List.of("combined_tiles_lod0", "combined_tiles_lod1", "combined_buildings_lod0"),
+            List.copyOf(builder.packed.keySet()));
+        assertTrue(Files.exists(cacheDir.resolve("combined/tiles/lod0/combined_tiles_lod0.cache.json")));
+    }
+
+    @Test
+    @DisplayName("A texture shipped by several mods comes from the mod given first")
+    void precedenceFollowsModOrder() throws IOException {
+        ILoadedMod basemod = mod("basemod", "1.0.0");
+        ILoadedMod seafarers = mod("seafarers", "1.0.0");
+        TextureEntry baseForest = texture("basemod", AssetCategory.TILE, 0, "basemod:forest");
+        TextureEntry otherForest = texture("seafarers", AssetCategory.TILE, 0, "basemod:forest");
+        TextureEntry sea = texture("seafarers", AssetCategory.TILE, 0, "seafarers:sea");
+        discover(basemod, baseForest);
+        discover(seafarers, otherForest, sea);
+
+        loader().loadAssets(List.of(basemod, seafarers));
+        assertEquals(List.of(baseForest, sea), builder.packed.get("combined_tiles_lod0"));
+
+        builder.packed.clear();
+        loader().loadAssets(List.of(seafarers, basemod));
+        assertEquals(List.of(otherForest, sea), builder.packed.get("combined_tiles_lod0"));
+    }
+
+    @Test
+    @DisplayName("An up-to-date combined atlas is not packed again")
+    void reusesCachedAtlas() throws IOException {
+        ILoadedMod basemod = mod("basemod", "1.0.0");
+        discover(basemod, texture("basemod", AssetCategory.TILE, 0, "basemod:forest"));
+        loader().loadAssets(List.of(basemod));
+
+        builder.packed.clear();
+        loader().loadAssets(List.of(basemod));
+        assertTrue(builder.packed.isEmpty());
+
+        discovered.clear();
+        ILoadedMod updated = mod("basemod", "1.1.0");
+        discover(updated, texture("basemod", AssetCategory.TILE, 0, "basemod:forest"));
+        loader().loadAssets(List.of(updated));
+        assertEquals(1, builder.packed.size());
+    }
+
+    @Test
+    @DisplayName("A failed pack leaves no cache behind, so the atlas is packed again next time")
+    void failedPackInvalidatesCache() throws IOException {
+        ILoadedMod basemod = mod("basemod", "1.0.0");
+        TextureEntry forest = texture("basemod", AssetCategory.TILE, 0, "basemod:forest");
+        discover(basemod, forest);
+        loader().loadAssets(List.of(basemod));
+        Path cacheFile = cacheDir.resolve("combined/tiles/lod0/combined_tiles_lod0.cache.json");
+        assertTrue(Files.exists(cacheFile));
+
+        discovered.clear();
+        discover(mod("basemod", "1.1.0"), forest);
+        builder.fail = true;
+        assertThrows(IOException.class, () -> loader().loadAssets(List.copyOf(discovered.keySet())));
+        assertFalse(Files.exists(cacheFile));
+
+        // Going back to the first version must not trust the pages the failed build deleted
+        discovered.clear();
+        discover(basemod, forest);
+        builder.fail = false;
+        builder.packed.clear();
+        loader().loadAssets(List.of(basemod));
+        assertEquals(1, builder.packed.size());
+    }
+
+    @Test
+    @DisplayName("loadAssetsWithPrecedence packs the resolved textures through the builder")
+    void loadAssetsWithPrecedencePacks() throws IOException {
+        TextureEntry baseForest = texture("basemod", AssetCategory.TILE, 0, "basemod:forest");
+        TextureEntry otherForest = texture("seafarers", AssetCategory.TILE, 0, "basemod:forest");
+        Path atlasDir = tempDir.resolve("atlas");
+
+        loader().loadAssetsWithPrecedence(List.of(List.of(baseForest), List.of(otherForest)), atlasDir, "all");
+        assertEquals(List.of(baseForest), builder.packed.get("all"));
+        assertTrue(Files.exists(atlasDir.resolve("all.atlas")));
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.hato1883.core.modloading.assets.textures;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Page;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Region;
+import io.github.hato1883.api.Identifier;
+import io.github.hato1883.api.mod.load.asset.AssetCategory;
+import io.github.hato1883.api.mod.load.asset.AssetConfig;
+import io.github.hato1883.api.mod.load.asset.TextureEntry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link DefaultTextureAtlasBuilder#packAtlas} checking the written descriptor parses
+ * as a libGDX atlas and matches the page images. Parsing needs no GL context.
+ */
+@DisplayName("DefaultTextureAtlasBuilder")
+class DefaultTextureAtlasBuilderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private TextureEntry texture(Path modDir, String name, int width, int height, int argb) throws IOException {
+        Path file = modDir.resolve("textures/tile/" + name + ".png");
+        Files.createDirectories(file.getParent());
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, argb);
+            }
+        }
+        ImageIO.write(image, "png", file.toFile());
+        return new TextureEntry(AssetCategory.TILE, 0, Identifier.of("basemod", name), modDir,
+            "textures/tile/" + name + ".png");
+    }
+
+    @Test
+    @DisplayName("Packed atlas parses with region names, positions and sizes matching the pages")
+    void packedAtlasParses() throws IOException {
+        Path modDir = tempDir.resolve("mod");
+        Path atlasDir = Files.createDirectories(tempDir.resolve("atlas"));
+        List<TextureEntry> textures = List.of(
+            texture(modDir, "forest", 32, 24, 0xFF00FF00),
+            texture(modDir, "hill", 16, 40, 0xFFFF0000));
+        AssetConfig cfg = new AssetConfig(List.of(0), 256, 4, false, TextureFilter.Linear, TextureFilter.Nearest);
+
+        new DefaultTextureAtlasBuilder(cfg).packAtlas(textures, atlasDir, "basemod_tiles_lod0");
+
+        TextureAtlasData data = new TextureAtlasData(
+            new FileHandle(atlasDir.resolve("basemod_tiles_lod0.atlas").toFile()), new FileHandle(atlasDir.toFile()), false);
+        assertEquals(1, data.getPages().size);
+        Page page = data.getPages().first();
+        assertEquals("basemod_tiles_lod0.png", page.textureFile.name());
+        assertEquals(TextureFilter.Linear, page.minFilter);
+        assertEquals(TextureFilter.Nearest, page.magFilter);
+
+        Map<String, Region> regions = new HashMap<>();
+        for (Region region : data.getRegions()) {
+            assertSame(page, region.page);
+            regions.put(region.name, region);
+        }
+        assertEquals(2, regions.size());
+        Region forest = regions.get("basemod/forest");
+        Region hill = regions.get("basemod/hill");
+        assertNotNull(forest);
+        assertNotNull(hill);
+        assertEquals(32, forest.width);
+        assertEquals(24, forest.height);
+        assertEquals(16, hill.width);
+        assertEquals(40, hill.height);
+
+        // Regions sit inside the page, apart from each other, and point at their own pixels
+        BufferedImage pageImage = ImageIO.read(page.textureFile.file());
+        assertEquals(pageImage.getWidth(), (int) page.width);
+        assertEquals(pageImage.getHeight(), (int) page.height);
+        for (Region region : List.of(forest, hill)) {
+            assertTrue(region.left >= 0 && region.left + region.width <= pageImage.getWidth());
+            assertTrue(region.top >= 0 && region.top + region.height <= pageImage.getHeight());
+        }
+        boolean apart = forest.left + forest.width <= hill.left || hill.left + hill.width <= forest.left
+            || forest.top + forest.height <= hill.top || hill.top + hill.height <= forest.top;
+        assertTrue(apart, "regions overlap");
+        assertEquals(0xFF00FF00, pageImage.getRGB(forest.left, forest.top));
+        assertEquals(0xFF00FF00, pageImage.getRGB(forest.left + forest.width - 1, forest.top + forest.height - 1));
+        assertEquals(0xFFFF0000, pageImage.getRGB(hill.left, hill.top));
+        assertEquals(0xFFFF0000, pageImage.getRGB(hill.left + hill.width - 1, hill.top + hill.height - 1));
+    }
+}
@@ -0,0 +1,137 @@
+package io.github.hato1883.core.modloading.assets.textures;
+
+import io.github.hato1883.api.Identifier;
+import io.github.hato1883.api.mod.load.ILoadedMod;
+import io.github.hato1883.api.mod.load.ModMetadata;
+import io.github.hato1883.api.mod.load.asset.AssetCategory;
+import io.github.hato1883.api.mod.load.asset.TextureEntry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link LodGeneratingTextureDiscovery} covering the box filter and which levels are generated.
+ */
+@DisplayName("LodGeneratingTextureDiscovery")
+class LodGeneratingTextureDiscoveryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static BufferedImage image(int width, int height, int... argb) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int i = 0; i < width * height; i++) {
+            image.setRGB(i % width, i / width, argb.length == 1 ? argb[0] : argb[i]);
+        }
+        return image;
+    }
+
+    @Test
+    @DisplayName("Transparent pixels do not darken the colors they are averaged with")
+    void downscaleWeightsByAlpha() {
+        BufferedImage edge = image(2, 2, 0xFFFF0000, 0x00000000, 0x00000000, 0x00000000);
+        assertEquals(0x40FF0000, LodGeneratingTextureDiscovery.downscaleHalf(edge).getRGB(0, 0));
+
+        BufferedImage opaque = image(2, 2, 0xFF000000, 0xFF640000, 0xFFC80000, 0xFF640000);
+        assertEquals(0xFF640000, LodGeneratingTextureDiscovery.downscaleHalf(opaque).getRGB(0, 0));
+
+        BufferedImage clear = image(2, 2, 0x00FFFFFF);
+        assertEquals(0, LodGeneratingTextureDiscovery.downscaleHalf(clear).getRGB(0, 0));
+    }
+
+    @Test
+    @DisplayName("Odd sizes round down and never drop below one pixel")
+    void downscaleOddSizes() {
+        BufferedImage odd = LodGeneratingTextureDiscovery.downscaleHalf(image(5, 3, 0xFF00FF00));
+        assertEquals(2, odd.getWidth());
+        assertEquals(1, odd.getHeight());
+        assertEquals(0xFF00FF00, odd.getRGB(1, 0));
+
+        // A single row or column is clamped instead of reading outside the image
+        BufferedImage column = LodGeneratingTextureDiscovery.downscaleHalf(image(1, 4, 0xFF0000FF, 0xFF0000FF, 0xFFFF0000, 0xFFFF0000));
+        assertEquals(1, column.getWidth());
+        assertEquals(2, column.getHeight());
+        assertEquals(0xFF0000FF, column.getRGB(0, 0));
+        assertEquals(0xFFFF0000, column.getRGB(0, 1));
+
+        BufferedImage pixel = LodGeneratingTextureDiscovery.downscaleHalf(image(1, 1, 0x80123456));
+        assertEquals(1, pixel.getWidth());
+        assertEquals(1, pixel.getHeight());
+        assertEquals(0x80123456, pixel.getRGB(0, 0));
+    }
+
+    private TextureEntry ship(Path modDir, String name, int lod, int size, int argb) throws IOException {
+        String internalPath = "textures/tile/lod" + lod + "/" + name + ".png";
+        Path file = modDir.resolve(internalPath);
+        Files.createDirectories(file.getParent());
+        ImageIO.write(image(size, size, argb), "png", file.toFile());
+        return new TextureEntry(AssetCategory.TILE, lod, Identifier.of("testmod", name), modDir, internalPath);
+    }
+
+    private static BufferedImage read(TextureEntry entry) throws IOException {
+        try (InputStream in = entry.openStream()) {
+            return ImageIO.read(in);
+        }
+    }
+
+    private static TextureEntry find(List<TextureEntry> entries, String name) {
+        if (entries == null) return null;
+        return entries.stream().filter(entry -> entry.getId().getPath().equals(name)).findFirst().orElse(null);
+    }
+
+    @Test
+    @DisplayName("Only levels coarser than the most detailed shipped one are generated")
+    void generatesCoarserLevelsOnly() throws IOException {
+        Path modDir = tempDir.resolve("mod");
+        Map<Integer, List<TextureEntry>> byLod = new HashMap<>();
+        byLod.put(0, new ArrayList<>(List.of(ship(modDir, "forest", 0, 64, 0xFF00FF00), ship(modDir, "pasture", 0, 64, 0xFF00FF00))));
+        byLod.put(1, new ArrayList<>(List.of(ship(modDir, "hill", 1, 32, 0xFFFF0000))));
+        byLod.put(2, new ArrayList<>(List.of(ship(modDir, "pasture", 2, 16, 0xFF0000FF))));
+
+        ILoadedMod mod = mock(ILoadedMod.class);
+        when(mod.id()).thenReturn("testmod");
+        when(mod.metadata()).thenReturn(new ModMetadata("testmod", null, "1.0.0", "Main", null, null, null));
+        Map<AssetCategory, Map<Integer, List<TextureEntry>>> byCategory = new HashMap<>(Map.of(AssetCategory.TILE, byLod));
+        Map<ILoadedMod, Map<AssetCategory, Map<Integer, List<TextureEntry>>>> shipped = new HashMap<>(Map.of(mod, byCategory));
+
+        new LodGeneratingTextureDiscovery(mods -> shipped, List.of(3, 0, 1, 2, 1), tempDir.resolve("generated"), null)
+            .discover(List.of(mod));
+
+        // hill ships LOD 1 only: LOD 0 would need upscaling and is left out
+        assertNull(find(byLod.get(0), "hill"));
+        assertEquals(2, byLod.get(0).size());
+        BufferedImage hill2 = read(find(byLod.get(2), "hill"));
+        assertEquals(16, hill2.getWidth());
+        assertEquals(0xFFFF0000, hill2.getRGB(0, 0));
+        assertEquals(8, read(find(byLod.get(3), "hill")).getWidth());
+
+        // forest is halved once per level from LOD 0
+        assertEquals(32, read(find(byLod.get(1), "forest")).getWidth());
+        assertEquals(16, read(find(byLod.get(2), "forest")).getWidth());
+        assertEquals(8, read(find(byLod.get(3), "forest")).getWidth());
+
+        // pasture keeps its shipped LOD 2, and LOD 3 continues from it rather than from LOD 0
+        assertEquals(1, byLod.get(2).stream().filter(entry -> entry.getId().getPath().equals("pasture")).count());
+        assertEquals(modDir, find(byLod.get(2), "pasture").modArchivePath());
+        BufferedImage pasture3 = read(find(byLod.get(3), "pasture"));
+        assertEquals(8, pasture3.getWidth());
+        assertEquals(0xFF0000FF, pasture3.getRGB(0, 0));
+        assertEquals(0xFF00FF00, read(find(byLod.get(1), "pasture")).getRGB(0, 0));
+
+        // Generated entries are directory backed under the generated dir
+        TextureEntry generated = find(byLod.get(3), "forest");
+        assertEquals(tempDir.resolve("generated").resolve("testmod"), generated.modArchivePath());
+        assertEquals(3, generated.lod());
+    }
+}
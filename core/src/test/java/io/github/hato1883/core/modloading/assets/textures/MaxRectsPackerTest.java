@@ -0,0 +1,70 @@
+package io.github.hato1883.core.modloading.assets.textures;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link MaxRectsPacker} covering overlap, page bounds and page overflow.
+ */
+@DisplayName("MaxRectsPacker")
+class MaxRectsPackerTest {
+
+    private static void assertValid(MaxRectsPacker.Result result, int[] widths, int[] heights, int padding) {
+        for (int i = 0; i < widths.length; i++) {
+            int page = result.page(i);
+            assertTrue(result.x(i) >= 0 && result.y(i) >= 0);
+            assertTrue(result.x(i) + widths[i] + padding <= result.pageWidth(page), "rect " + i + " exceeds page width");
+            assertTrue(result.y(i) + heights[i] + padding <= result.pageHeight(page), "rect " + i + " exceeds page height");
+            for (int j = i + 1; j < widths.length; j++) {
+                if (result.page(j) != page) continue;
+                boolean apart = result.x(i) + widths[i] + padding <= result.x(j)
+                    || result.x(j) + widths[j] + padding <= result.x(i)
+                    || result.y(i) + heights[i] + padding <= result.y(j)
+                    || result.y(j) + heights[j] + padding <= result.y(i);
+                assertTrue(apart, "rects " + i + " and " + j + " overlap");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Packs random rectangles without overlap")
+    void packsWithoutOverlap() {
+        Random random = new Random(42);
+        int[] widths = new int[200];
+        int[] heights = new int[200];
+        for (int i = 0; i < widths.length; i++) {
+            widths[i] = 8 + random.nextInt(120);
+            heights[i] = 8 + random.nextInt(120);
+        }
+        MaxRectsPacker.Result result = new MaxRectsPacker(1024, 1024, 2).pack(widths, heights);
+        assertValid(result, widths, heights, 2);
+    }
+
+    @Test
+    @DisplayName("Opens a new page when the current one is full")
+    void overflowsToNewPage() {
+        int[] sizes = {64, 64, 64, 64, 64};
+        MaxRectsPacker.Result result = new MaxRectsPacker(128, 128, 0).pack(sizes, sizes);
+        assertEquals(2, result.pageCount());
+        assertValid(result, sizes, sizes, 0);
+    }
+
+    @Test
+    @DisplayName("Shrinks pages to the used power-of-two size")
+    void shrinksPages() {
+        MaxRectsPacker.Result result = new MaxRectsPacker(2048, 2048, 0).pack(new int[]{100}, new int[]{30});
+        assertEquals(128, result.pageWidth(0));
+        assertEquals(32, result.pageHeight(0));
+    }
+
+    @Test
+    @DisplayName("Rejects rectangles larger than a page")
+    void rejectsOversized() {
+        MaxRectsPacker packer = new MaxRectsPacker(64, 64, 4);
+        assertThrows(IllegalArgumentException.class, () -> packer.pack(new int[]{64}, new int[]{10}));
+    }
+}
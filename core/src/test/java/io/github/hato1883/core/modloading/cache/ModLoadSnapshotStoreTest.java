@@ -0,0 +1,77 @@
+package io.github.hato1883.core.modloading.cache;
+
+import io.github.hato1883.api.mod.load.LoadPriority;
+import io.github.hato1883.api.mod.load.ModMetadata;
+import io.github.hato1883.api.mod.load.dependency.ModDependency;
+import io.github.hato1883.api.mod.load.dependency.ModWithPath;
+import io.github.hato1883.api.mod.load.dependency.VersionConstraint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModLoadSnapshotStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should round-trip load order, dependencies and listener index")
+    void testSaveAndLoadRoundTrip() throws Exception {
+        ModMetadata meta = new ModMetadata("extra", "Extra", "1.0.0", "com.example.Extra", null,
+            List.of(ModDependency.required("basemod", VersionConstraint.parse(">=1.0.0")),
+                ModDependency.optional("maps", VersionConstraint.parse("^2.1.0"))),
+            LoadPriority.NORMAL);
+        ModLoadSnapshot snapshot = new ModLoadSnapshot(42L,
+            List.of(new ModWithPath(meta, tempDir.resolve("extra.jar"))),
+            Map.of("extra", List.of("com.example.ExtraListener")));
+
+        ModLoadSnapshotStore store = new ModLoadSnapshotStore(tempDir.resolve("cache").resolve("modload.snapshot"));
+        store.save(snapshot);
+
+        ModLoadSnapshot loaded = store.load(42L).orElseThrow();
+        assertEquals(snapshot.orderedMods(), loaded.orderedMods());
+        assertEquals(snapshot.listenerIndex(), loaded.listenerIndex());
+        assertTrue(store.load(43L).isEmpty(), "A different fingerprint must miss");
+    }
+
+    @Test
+    @DisplayName("Should change the fingerprint when a mod jar changes")
+    void testFingerprintTracksModFiles() throws Exception {
+        Path modsDir = Files.createDirectory(tempDir.resolve("mods"));
+        Path jar = Files.writeString(modsDir.resolve("a.jar"), "one");
+        long before = ModDirectoryFingerprint.compute(modsDir, "1.0");
+
+        assertEquals(before, ModDirectoryFingerprint.compute(modsDir, "1.0"));
+        assertNotEquals(before, ModDirectoryFingerprint.compute(modsDir, "1.1"));
+        Files.writeString(jar, "one more");
+        assertNotEquals(before, ModDirectoryFingerprint.compute(modsDir, "1.0"));
+    }
+
+    @Test
+    @DisplayName("Should change the fingerprint when the mods directory moves")
+    void testFingerprintTracksModsDirectory() throws Exception {
+        Path modsDir = Files.createDirectory(tempDir.resolve("mods"));
+        Path copy = Files.createDirectory(tempDir.resolve("mods-copy"));
+        Path jar = Files.writeString(modsDir.resolve("a.jar"), "one");
+        Files.copy(jar, copy.resolve("a.jar"), StandardCopyOption.COPY_ATTRIBUTES);
+
+        assertNotEquals(ModDirectoryFingerprint.compute(modsDir, "1.0"), ModDirectoryFingerprint.compute(copy, "1.0"));
+        assertEquals(ModDirectoryFingerprint.compute(modsDir, "1.0"),
+            ModDirectoryFingerprint.compute(copy.resolve("..").resolve("mods"), "1.0"));
+    }
+
+    @Test
+    @DisplayName("Should treat a corrupt snapshot as a miss")
+    void testCorruptSnapshotIsIgnored() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("modload.snapshot"), "garbage");
+        assertTrue(new ModLoadSnapshotStore(file).load(42L).isEmpty());
+    }
+}
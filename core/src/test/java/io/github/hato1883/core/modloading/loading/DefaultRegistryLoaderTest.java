@@ -3,7 +3,7 @@ package io.github.hato1883.core.modloading.loading;
 import io.github.hato1883.api.mod.CatanMod;
 import io.github.hato1883.api.mod.load.ILoadedMod;
 import io.github.hato1883.api.services.IServiceLocator;
-import io.github.hato1883.core.registries.ModRegistrar;
+import io.github.hato1883.core.registries.BatchedModRegistrar;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -95,21 +95,21 @@ class DefaultRegistryLoaderTest {
     }
 
     /**
-     * Tests that the ModRegistrar is constructed with the correct IServiceLocator.
+     * Tests that the BatchedModRegistrar is constructed with the correct IServiceLocator.
      * <p>
      * Functionality: Ensures that the registrar passed to mods is not null and is properly constructed.
      */
     @Test
-    @DisplayName("Should pass correct IServiceLocator to ModRegistrar")
+    @DisplayName("Should pass correct IServiceLocator to BatchedModRegistrar")
     void testLoadRegistries_PassesServiceLocator() {
         ModWithInstance mod = createLoadedModMock("mod");
-        ArgumentCaptor<ModRegistrar> registrarCaptor = ArgumentCaptor.forClass(ModRegistrar.class);
+        ArgumentCaptor<BatchedModRegistrar> registrarCaptor = ArgumentCaptor.forClass(BatchedModRegistrar.class);
 
         registryLoader.loadRegistries(Collections.singletonList(mod.loadedMod));
 
         verify(mod.modInstance, times(1)).registerModContent(registrarCaptor.capture());
-        ModRegistrar registrar = registrarCaptor.getValue();
-        assertNotNull(registrar, "ModRegistrar should not be null");
+        BatchedModRegistrar registrar = registrarCaptor.getValue();
+        assertNotNull(registrar, "BatchedModRegistrar should not be null");
     }
 
     /**
@@ -0,0 +1,156 @@
+package io.github.hato1883.core.registries;
+
+import io.github.hato1883.api.Identifier;
+import io.github.hato1883.api.entities.resource.IResourceType;
+import io.github.hato1883.api.events.EventPriority;
+import io.github.hato1883.api.events.IEvent;
+import io.github.hato1883.api.events.IEventBusService;
+import io.github.hato1883.api.events.IEventListener;
+import io.github.hato1883.api.events.registry.RegistryBatchEvent;
+import io.github.hato1883.api.events.registry.resource.ResourceTypeRegisterEvent;
+import io.github.hato1883.api.events.registry.tile.TileTypeRegisterEvent;
+import io.github.hato1883.api.registries.IResourceTypeRegistry;
+import io.github.hato1883.api.registries.ITileTypeRegistry;
+import io.github.hato1883.api.services.IServiceLocator;
+import io.github.hato1883.api.world.board.ITileType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link BatchedModRegistrar} covering which events fire, that a mod's content is
+ * registered in every registry or none, and what discard does.
+ */
+@DisplayName("BatchedModRegistrar")
+class BatchedModRegistrarTest {
+    private final List<IEvent> dispatched = new ArrayList<>();
+    private Consumer<IEvent> listener = event -> {};
+    private ResourceTypeRegistry resources;
+    private TileTypeRegistry tiles;
+    private IServiceLocator locator;
+
+    @BeforeEach
+    void setUp() {
+        IEventBusService eventBus = new IEventBusService() {
+            public void shutdown() {}
+            public boolean isShutdown() { return false; }
+            public <T extends IEvent> void registerListener(String modId, Class<T> eventType, EventPriority priority, IEventListener<T> l) {}
+            public <T extends IEvent> void unregisterListener(String modId, Class<T> eventType, IEventListener<T> l) {}
+            public void unregisterMod(String modId) {}
+            public <T extends IEvent> void dispatch(T event) {
+                dispatched.add(event);
+                listener.accept(event);
+            }
+            public <T extends IEvent> void dispatchAsync(T event) {}
+            public <T extends IEvent> void dispatchOnMainThread(T event) {}
+        };
+        resources = new ResourceTypeRegistry(eventBus);
+        tiles = new TileTypeRegistry(eventBus, null);
+        locator = mock(IServiceLocator.class);
+        when(locator.require(IResourceTypeRegistry.class)).thenReturn(resources);
+        when(locator.require(ITileTypeRegistry.class)).thenReturn(tiles);
+    }
+
+    private static IResourceType resource(String id) {
+        IResourceType type = mock(IResourceType.class);
+        when(type.getId()).thenReturn(Identifier.of(id));
+        return type;
+    }
+
+    private static ITileType tile(String id) {
+        ITileType type = mock(ITileType.class);
+        when(type.getId()).thenReturn(Identifier.of(id));
+        return type;
+    }
+
+    @Test
+    @DisplayName("Each batch fires its batch event and then the per-type register events before anything is registered")
+    void firesBatchAndPerEntryEvents() {
+        listener = event -> assertTrue(resources.getAll().isEmpty() && tiles.getAll().isEmpty(),
+            "events run before any registry changes");
+        BatchedModRegistrar registrar = new BatchedModRegistrar(locator);
+        registrar.registerResourceType(resource("basemod:brick"));
+        registrar.registerResourceType(resource("basemod:wool"));
+        registrar.registerTileType(tile("basemod:forest"));
+
+        assertEquals(3, registrar.commit());
+        assertEquals(5, dispatched.size());
+        assertInstanceOf(RegistryBatchEvent.class, dispatched.get(0));
+        assertInstanceOf(ResourceTypeRegisterEvent.class, dispatched.get(1));
+        assertInstanceOf(ResourceTypeRegisterEvent.class, dispatched.get(2));
+        assertInstanceOf(RegistryBatchEvent.class, dispatched.get(3));
+        assertInstanceOf(TileTypeRegisterEvent.class, dispatched.get(4));
+        assertTrue(resources.isRegistered(Identifier.of("basemod:wool")));
+        assertTrue(tiles.isRegistered(Identifier.of("basemod:forest")));
+    }
+
+    @Test
+    @DisplayName("Canceling a per-type register event excludes only that entry")
+    void perEntryCancelExcludes() {
+        listener = event -> {
+            if (event instanceof ResourceTypeRegisterEvent register && register.getId().getPath().equals("wool")) {
+                register.cancel();
+            }
+        };
+        BatchedModRegistrar registrar = new BatchedModRegistrar(locator);
+        registrar.registerResourceType(resource("basemod:brick"));
+        registrar.registerResourceType(resource("basemod:wool"));
+
+        assertEquals(1, registrar.commit());
+        assertTrue(resources.isRegistered(Identifier.of("basemod:brick")));
+        assertFalse(resources.isRegistered(Identifier.of("basemod:wool")));
+    }
+
+    @Test
+    @DisplayName("A conflict in a later registry leaves every registry unchanged")
+    void conflictRegistersNothing() {
+        tiles.register(Identifier.of("basemod:forest"), tile("basemod:forest"));
+        BatchedModRegistrar registrar = new BatchedModRegistrar(locator);
+        registrar.registerResourceType(resource("basemod:brick"));
+        registrar.registerTileType(tile("basemod:forest"));
+
+        assertThrows(IllegalArgumentException.class, registrar::commit);
+        assertTrue(resources.getAll().isEmpty());
+        assertEquals(1, tiles.getAll().size());
+    }
+
+    @Test
+    @DisplayName("Batches already applied are rolled back when a later one fails to apply")
+    void rollsBackAppliedBatches() {
+        ITileType taken = tile("basemod:forest");
+        listener = event -> {
+            // Someone else takes the id after the batch was validated but before it is applied
+            if (event instanceof TileTypeRegisterEvent register && register.getEntry() != taken) {
+                tiles.register(taken.getId(), taken);
+            }
+        };
+        BatchedModRegistrar registrar = new BatchedModRegistrar(locator);
+        registrar.registerResourceType(resource("basemod:brick"));
+        registrar.registerTileType(tile("basemod:forest"));
+
+        assertThrows(IllegalArgumentException.class, registrar::commit);
+        assertTrue(resources.getAll().isEmpty(), "the resource batch was rolled back");
+        assertTrue(resources.getIds("basemod").isEmpty());
+        assertSame(taken, tiles.require(taken.getId()));
+        registrar.discard();
+    }
+
+    @Test
+    @DisplayName("Discarding drops staged content without firing events")
+    void discard() {
+        BatchedModRegistrar registrar = new BatchedModRegistrar(locator);
+        registrar.registerResourceType(resource("basemod:brick"));
+        registrar.discard();
+
+        assertEquals(0, registrar.commit());
+        assertTrue(dispatched.isEmpty());
+        assertTrue(resources.getAll().isEmpty());
+    }
+}
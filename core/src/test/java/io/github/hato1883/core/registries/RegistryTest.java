@@ -1,6 +1,8 @@
 package io.github.hato1883.core.registries;
 
 import io.github.hato1883.api.Identifier;
+import io.github.hato1883.api.entities.resource.IResourceType;
+import io.github.hato1883.api.entities.resource.ResourceIndex;
 import io.github.hato1883.api.events.registry.RegistryRegisterEvent;
 import io.github.hato1883.api.events.registry.RegistryReplaceEvent;
 import io.github.hato1883.api.events.registry.RegistryUnregisterEvent;
@@ -16,8 +18,11 @@ import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 class DummyRegistry extends Registry<String> {
     public DummyRegistry(IEventBusService eventBus) {
@@ -48,6 +53,7 @@ class DummyRegistry extends Registry<String> {
 
 public class RegistryTest {
     private DummyRegistry registry;
+    private IEventBusService eventBusService;
     private Identifier id;
 
     @BeforeAll
@@ -94,7 +100,7 @@ public class RegistryTest {
     @BeforeEach
     void setUp() {
         // Provide a dummy IEventBusService to DummyRegistry
-        IEventBusService dummyEventBusService = new IEventBusService() {
+        eventBusService = new IEventBusService() {
             public void shutdown() {}
             public boolean isShutdown() { return false; }
             public <T extends IEvent> void registerListener(String modId, Class<T> eventType, EventPriority priority, IEventListener<T> listener) {}
@@ -104,7 +110,7 @@ public class RegistryTest {
             public <T extends IEvent> void dispatchAsync(T event) {}
             public <T extends IEvent> void dispatchOnMainThread(T event) {}
         };
-        registry = new DummyRegistry(dummyEventBusService);
+        registry = new DummyRegistry(eventBusService);
         id = Identifier.of("test:test");
     }
 
@@ -127,4 +133,211 @@ public class RegistryTest {
     void testReplaceNonexistentThrows() {
         assertThrows(IllegalArgumentException.class, () -> registry.replace(id, "bar"));
     }
+
+    @Test
+    void testFreezeAssignsIdsInIdentifierOrder() {
+        registry.register(Identifier.of("test:zeta"), "z");
+        registry.register(Identifier.of("test:alpha"), "a");
+        registry.register(Identifier.of("other:beta"), "b");
+        registry.freeze();
+
+        assertTrue(registry.isFrozen());
+        assertEquals(0, registry.getRawId(Identifier.of("other:beta")));
+        assertEquals(1, registry.getRawId(Identifier.of("test:alpha")));
+        assertEquals(2, registry.getRawId(Identifier.of("test:zeta")));
+        assertEquals("a", registry.byId(1));
+        assertEquals("z", registry.require(Identifier.of("test:zeta")));
+        assertEquals(-1, registry.getRawId(Identifier.of("test:missing")));
+        assertNull(registry.byId(3));
+        assertEquals(3, registry.getAll().size());
+    }
+
+    @Test
+    void testFrozenRegistryRejectsWrites() {
+        registry.register(id, "foo");
+        registry.freeze();
+        assertThrows(IllegalStateException.class, () -> registry.register(Identifier.of("test:other"), "bar"));
+        assertThrows(IllegalStateException.class, () -> registry.replace(id, "bar"));
+        assertThrows(IllegalStateException.class, () -> registry.unregister(id));
+        assertEquals("foo", registry.require(id));
+    }
+
+    @Test
+    void testRawIdsUnavailableBeforeFreeze() {
+        registry.register(id, "foo");
+        assertFalse(registry.isFrozen());
+        assertEquals(-1, registry.getRawId(id));
+        assertNull(registry.byId(0));
+    }
+
+    @Test
+    void testUnregisterAllMatchesNamespaceExactly() {
+        registry.register(Identifier.of("basemod:brick"), "brick");
+        registry.register(Identifier.of("basemod:wool"), "wool");
+        registry.register(Identifier.of("basemod_extra:gold"), "gold");
+
+        assertEquals(2, registry.unregisterAll("basemod"));
+        assertFalse(registry.isRegistered(Identifier.of("basemod:brick")));
+        assertTrue(registry.isRegistered(Identifier.of("basemod_extra:gold")));
+        assertTrue(registry.getIds("basemod").isEmpty());
+        assertEquals(0, registry.unregisterAll("basemod"));
+    }
+
+    @Test
+    void testUnregisterAllKeepsRawIdsOfFrozenRegistry() {
+        Identifier brick = Identifier.of("basemod:brick");
+        Identifier gold = Identifier.of("extra:gold");
+        Identifier wool = Identifier.of("extra:wool");
+        Identifier zinc = Identifier.of("zmod:zinc");
+        registry.register(brick, "brick");
+        registry.register(gold, "gold");
+        registry.register(wool, "wool");
+        registry.register(zinc, "zinc");
+        registry.freeze();
+        int goldId = registry.getRawId(gold);
+        int woolId = registry.getRawId(wool);
+        int zincId = registry.getRawId(zinc);
+        int brickId = registry.getRawId(brick);
+
+        assertEquals(1, registry.unregisterAll("basemod"));
+        assertTrue(registry.isFrozen());
+        assertFalse(registry.isRegistered(brick));
+        assertEquals(-1, registry.getRawId(brick));
+        assertNull(registry.byId(brickId), "the removed id is left empty");
+        assertEquals(goldId, registry.getRawId(gold));
+        assertEquals(woolId, registry.getRawId(wool));
+        assertEquals(zincId, registry.getRawId(zinc));
+        assertEquals("wool", registry.byId(woolId));
+        assertEquals("zinc", registry.byId(zincId));
+        assertEquals(java.util.List.of("gold", "wool", "zinc"), java.util.List.copyOf(registry.getAll()));
+        assertTrue(registry.getIds("basemod").isEmpty());
+
+        assertEquals(2, registry.unregisterAll("extra"));
+        assertEquals(zincId, registry.getRawId(zinc));
+        assertEquals(java.util.List.of("zinc"), java.util.List.copyOf(registry.getAll()));
+        // Other writes stay rejected
+        assertThrows(IllegalStateException.class, () -> registry.register(brick, "brick"));
+    }
+
+    @Test
+    void testResourceIndexSupersededOnChange() {
+        ResourceTypeRegistry resources = new ResourceTypeRegistry(eventBusService);
+        IResourceType brick = mock(IResourceType.class);
+        when(brick.getId()).thenReturn(Identifier.of("basemod:brick"));
+        IResourceType wool = mock(IResourceType.class);
+        when(wool.getId()).thenReturn(Identifier.of("basemod:wool"));
+        resources.register(brick.getId(), brick);
+
+        ResourceIndex first = resources.getResourceIndex();
+        assertSame(first, resources.getResourceIndex());
+        assertFalse(first.isSuperseded());
+
+        resources.register(wool.getId(), wool);
+        assertTrue(first.isSuperseded());
+        assertEquals(2, resources.getResourceIndex().size());
+        assertFalse(resources.getResourceIndex().isSuperseded());
+    }
+
+    @Test
+    void testUnfreezeDropsFrozenResourceIndex() {
+        ResourceTypeRegistry resources = new ResourceTypeRegistry(eventBusService);
+        IResourceType brick = mock(IResourceType.class);
+        when(brick.getId()).thenReturn(Identifier.of("basemod:brick"));
+        resources.register(brick.getId(), brick);
+        resources.freeze();
+        ResourceIndex frozen = resources.getResourceIndex();
+
+        resources.unfreeze();
+        assertTrue(frozen.isSuperseded());
+        assertNotSame(frozen, resources.getResourceIndex());
+        assertEquals(0, resources.getResourceIndex().ordinalOf(brick));
+    }
+
+    private static IEventBusService dispatchingTo(Consumer<IEvent> listener) {
+        return new IEventBusService() {
+            public void shutdown() {}
+            public boolean isShutdown() { return false; }
+            public <T extends IEvent> void registerListener(String modId, Class<T> eventType, EventPriority priority, IEventListener<T> l) {}
+            public <T extends IEvent> void unregisterListener(String modId, Class<T> eventType, IEventListener<T> l) {}
+            public void unregisterMod(String modId) {}
+            public <T extends IEvent> void dispatch(T event) { listener.accept(event); }
+            public <T extends IEvent> void dispatchAsync(T event) {}
+            public <T extends IEvent> void dispatchOnMainThread(T event) {}
+        };
+    }
+
+    @Test
+    void testListenersRunOutsideTheLock() {
+        Identifier other = Identifier.of("test:other");
+        AtomicBoolean finished = new AtomicBoolean();
+        DummyRegistry[] holder = new DummyRegistry[1];
+        holder[0] = new DummyRegistry(dispatchingTo(event -> {
+            if (!(event instanceof RegistryRegisterEvent<?> register) || !register.getId().equals(id)) return;
+            // A listener handing work to another thread that writes the same registry
+            Thread writer = new Thread(() -> {
+                holder[0].register(other, "bar");
+                finished.set(true);
+            });
+            writer.start();
+            try {
+                writer.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+
+        holder[0].register(id, "foo");
+        assertTrue(finished.get(), "the listener's thread was blocked by the registry lock");
+        assertEquals("bar", holder[0].require(other));
+        assertEquals("foo", holder[0].require(id));
+    }
+
+    @Test
+    void testChangesAreCheckedAgainAfterDispatch() {
+        DummyRegistry[] holder = new DummyRegistry[1];
+        holder[0] = new DummyRegistry(dispatchingTo(event -> {
+            // Takes the id while its register event is being dispatched
+            if (event instanceof RegistryRegisterEvent<?> register && "foo".equals(register.getEntry())) {
+                holder[0].register(id, "bar");
+            }
+        }));
+        assertThrows(IllegalArgumentException.class, () -> holder[0].register(id, "foo"));
+        assertEquals("bar", holder[0].require(id));
+    }
+
+    @Test
+    void testNamespaceIndexFollowsUnregister() {
+        Identifier other = Identifier.of("test:other");
+        registry.register(id, "foo");
+        registry.register(other, "bar");
+        registry.unregister(id);
+        assertEquals(java.util.Set.of(other), registry.getIds("test"));
+    }
+
+    @Test
+    void testBatchCommitRegistersAllEntries() {
+        var batch = registry.beginBatch(2);
+        batch.stage(Identifier.of("test:a"), "a");
+        batch.stage(Identifier.of("test:b"), "b");
+        batch.stage(Identifier.of("test:c"), "c");
+        assertFalse(registry.isRegistered(Identifier.of("test:a")));
+
+        assertEquals(3, batch.commit());
+        assertEquals("c", registry.require(Identifier.of("test:c")));
+        assertEquals(3, registry.getIds("test").size());
+        assertThrows(IllegalStateException.class, () -> batch.stage(id, "late"));
+    }
+
+    @Test
+    void testBatchWithConflictIsRejectedAtomically() {
+        registry.register(id, "foo");
+        var batch = registry.beginBatch(2);
+        batch.stage(Identifier.of("test:new"), "new");
+        batch.stage(id, "bar");
+        assertThrows(IllegalArgumentException.class, () -> batch.stage(id, "baz"));
+
+        assertThrows(IllegalArgumentException.class, batch::commit);
+        assertFalse(registry.isRegistered(Identifier.of("test:new")));
+        assertEquals("foo", registry.require(id));
+    }
 }
@@ -2,6 +2,13 @@ package io.github.hato1883.core.services;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ServiceContainerTest {
@@ -40,4 +47,28 @@ class ServiceContainerTest {
         serviceContainer.unregister(DummyService.class);
         assertTrue(serviceContainer.get(DummyService.class).isEmpty());
     }
+
+    @Test
+    void testLazySupplierCreatedOnceUnderConcurrentGets() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        serviceContainer.register(DummyService.class, (Supplier<DummyService>) () -> {
+            created.incrementAndGet();
+            return new DummyServiceImpl();
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            Future<?>[] futures = new Future<?>[64];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = pool.submit(() -> serviceContainer.require(DummyService.class));
+            }
+            Object first = futures[0].get(5, TimeUnit.SECONDS);
+            for (Future<?> future : futures) {
+                assertSame(first, future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, created.get());
+    }
 }
@@ -1,7 +1,8 @@
 package io.github.hato1883.api;
 
-import java.util.Objects;
-import java.util.regex.Pattern;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Immutable identifier consisting of a namespace (usually modId) and a path (usually resourceId).
@@ -32,36 +33,109 @@ import java.util.regex.Pattern;
  * Identifier.of("basemod:Brick!");
  * // InvalidIdentifierException: "Invalid path 'Brick!'. Paths may only contain lowercase letters, digits or underscores."
  * }
+ *
+ * <h3>Interning:</h3>
+ * Identifiers are interned in a global weak table, so equal identifiers are the same instance.
+ * Validation runs once per distinct identifier, the hash code, {@link #toString()} and
+ * {@link #toRegionKey()} are computed once, and {@link #equals(Object)} is an identity check in practice.
+ * Looking up an existing identifier does not allocate: {@link #of(String)} finds it by its full name and
+ * {@link #of(String, String)} by namespace, then path, without joining the two.
  */
 public final class Identifier {
-    static final Pattern VALID_NAMESPACE = Pattern.compile("^[a-z_-]+$"); // shared
-    static final Pattern VALID_PATH = Pattern.compile("^[a-z0-9_-]+$"); // shared
+    /** Interned identifiers keyed by {@code namespace:path}; entries vanish once nothing references them. */
+    private static final ConcurrentHashMap<String, InternEntry> BY_FULL_NAME = new ConcurrentHashMap<>();
+    /** The same entries keyed by namespace, then path. */
+    private static final ConcurrentHashMap<String, ConcurrentHashMap<String, InternEntry>> BY_NAMESPACE = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<Identifier> STALE = new ReferenceQueue<>();
 
     private final String namespace;
     private final String path;
+    private final String fullName;
+    private final int hash;
+    private String regionKey; // lazily computed, benign race like String.hash
 
-    private Identifier(String namespace, String path) {
-        validate(namespace, path);
+    private Identifier(String namespace, String path, String fullName) {
         this.namespace = namespace;
         this.path = path;
+        this.fullName = fullName;
+        this.hash = fullName.hashCode();
     }
 
     public static Identifier of(String namespace, String path) {
-        return new Identifier(namespace, path);
+        if (namespace == null || path == null) {
+            throw new InvalidIdentifierException("Invalid identifier '" + namespace + ":" + path + "'. Namespace and path must not be null.");
+        }
+        ConcurrentHashMap<String, InternEntry> paths = BY_NAMESPACE.get(namespace);
+        if (paths != null) {
+            Identifier existing = live(paths.get(path));
+            if (existing != null) return existing;
+        }
+        validate(namespace, path);
+        return intern(new Identifier(namespace, path, namespace + ":" + path));
     }
 
     public static Identifier of(String fqn) {
-        String[] split = fqn.split(":", 2);
-        if (split.length != 2) {
+        if (fqn == null) {
+            throw new InvalidIdentifierException("Invalid identifier 'null'. Expected namespace:path.");
+        }
+        Identifier existing = live(BY_FULL_NAME.get(fqn));
+        if (existing != null) return existing;
+        int separator = fqn.indexOf(':');
+        if (separator < 0) {
             throw new InvalidIdentifierException(
                 "Invalid identifier format. Missing ':' character. Expected namespace:path but got '" + fqn + "'"
             );
         }
-        return new Identifier(split[0], split[1]);
+        String namespace = fqn.substring(0, separator);
+        String path = fqn.substring(separator + 1);
+        validate(namespace, path);
+        return intern(new Identifier(namespace, path, fqn));
+    }
+
+    private static Identifier live(InternEntry entry) {
+        return entry == null ? null : entry.get();
+    }
+
+    private static Identifier intern(Identifier candidate) {
+        expungeStaleEntries();
+        // The full-name table decides which instance wins; the namespace table follows it
+        InternEntry fresh = new InternEntry(candidate, STALE);
+        while (true) {
+            InternEntry existing = BY_FULL_NAME.putIfAbsent(candidate.fullName, fresh);
+            if (existing == null) break;
+            Identifier winner = existing.get();
+            if (winner != null) return winner;
+            // The previous instance was collected; replace its dead entry
+            if (BY_FULL_NAME.replace(candidate.fullName, existing, fresh)) break;
+        }
+        BY_NAMESPACE.computeIfAbsent(candidate.namespace, ns -> new ConcurrentHashMap<>()).put(candidate.path, fresh);
+        return candidate;
+    }
+
+    private static void expungeStaleEntries() {
+        InternEntry stale;
+        while ((stale = (InternEntry) STALE.poll()) != null) {
+            BY_FULL_NAME.remove(stale.fullName, stale);
+            ConcurrentHashMap<String, InternEntry> paths = BY_NAMESPACE.get(stale.namespace);
+            if (paths != null) paths.remove(stale.path, stale);
+        }
+    }
+
+    private static final class InternEntry extends WeakReference<Identifier> {
+        private final String namespace;
+        private final String path;
+        private final String fullName;
+
+        InternEntry(Identifier identifier, ReferenceQueue<Identifier> queue) {
+            super(identifier, queue);
+            this.namespace = identifier.namespace;
+            this.path = identifier.path;
+            this.fullName = identifier.fullName;
+        }
     }
 
     static void validateNamespace(String namespace) {
-        if (!VALID_NAMESPACE.matcher(namespace).matches()) {
+        if (!isValid(namespace, false)) {
             throw new InvalidIdentifierException(
                 "Invalid namespace '" + namespace + "'. "
                     + "Namespaces must contain only lowercase letters, dashes and underscores, no digits allowed."
@@ -70,7 +144,7 @@ public final class Identifier {
     }
 
     static void validatePath(String path) {
-        if (!VALID_PATH.matcher(path).matches()) {
+        if (!isValid(path, true)) {
             throw new InvalidIdentifierException(
                 "Invalid path '" + path + "'. "
                     + "Paths may only contain lowercase letters, digits, dashes, or underscores."
@@ -83,21 +157,44 @@ public final class Identifier {
         validatePath(path);
     }
 
+    /** Equivalent to {@code ^[a-z_-]+$} (or {@code ^[a-z0-9_-]+$} with digits) without a regex engine. */
+    private static boolean isValid(String value, boolean allowDigits) {
+        int length = value.length();
+        if (length == 0) return false;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            boolean ok = (c >= 'a' && c <= 'z') || c == '_' || c == '-' || (allowDigits && c >= '0' && c <= '9');
+            if (!ok) return false;
+        }
+        return true;
+    }
+
     public String getNamespace() { return namespace; }
     public String getPath() { return path; }
 
+    /**
+     * Returns {@code namespace/path}, the name used for this identifier's texture atlas regions.
+     */
+    public String toRegionKey() {
+        String key = regionKey;
+        if (key == null) {
+            key = namespace + "/" + path;
+            regionKey = key;
+        }
+        return key;
+    }
+
     @Override
-    public String toString() { return namespace + ":" + path; }
+    public String toString() { return fullName; }
 
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (!(o instanceof Identifier)) return false;
-        Identifier that = (Identifier) o;
-        return Objects.equals(namespace, that.namespace) &&
-            Objects.equals(path, that.path);
+        if (!(o instanceof Identifier that)) return false;
+        // Interning makes this unreachable for equal identifiers; kept for safety
+        return hash == that.hash && fullName.equals(that.fullName);
     }
 
     @Override
-    public int hashCode() { return Objects.hash(namespace, path); }
+    public int hashCode() { return hash; }
 }
@@ -14,6 +14,13 @@ public interface IAssetProvider {
     TextureRegion getTextureRegion(Identifier id, int lod);
     BitmapFont getFont(String id);
     TextureAtlas getAtlas(String id);
+
+    /**
+     * Marks the textures of a LOD as in use this frame, keeping them resident and loading them
+     * again if they were evicted. Call once per frame for every LOD that is drawn or wanted.
+     */
+    default void markLodInUse(int lod) {
+    }
     // Object getModel(String id);
     // Object getAudio(String id);
 }
@@ -0,0 +1,10 @@
+package io.github.hato1883.api.assets;
+
+/**
+ * Called when the textures of a LOD were unloaded to stay within the texture memory budget.
+ * Regions obtained for that LOD must not be drawn anymore; request them again to reload the LOD.
+ */
+@FunctionalInterface
+public interface TextureEvictionCallback<T> {
+    void onEvicted(T provider, int lod);
+}
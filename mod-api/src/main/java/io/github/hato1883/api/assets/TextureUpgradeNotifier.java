@@ -2,4 +2,10 @@ package io.github.hato1883.api.assets;
 
 public interface TextureUpgradeNotifier extends AssetUpgradeNotifier {
     void onTextureUpgrade(TextureUpgradeCallback<?> callback);
+
+    /**
+     * Registers a callback for LODs that were unloaded; notifiers without a memory budget never call it.
+     */
+    default void onTextureEviction(TextureEvictionCallback<?> callback) {
+    }
 }
@@ -10,9 +10,28 @@ import java.util.function.Supplier;
 public interface IAsyncExecutionService {
     CompletableFuture<Void> executeAsync(Runnable task);
     <T> CompletableFuture<T> executeAsync(Supplier<T> task);
+
+    /**
+     * Runs the task on the {@link TaskPool#GENERAL general} pool.
+     *
+     * @param taskName name used when reporting a failure of the task
+     */
     CompletableFuture<Void> executeAsync(Runnable task, String taskName);
     <T> CompletableFuture<T> executeAsync(Supplier<T> task, String taskName);
 
+    /**
+     * Runs the task on the given pool.
+     *
+     * <h3>Example Usage:</h3>
+     * <pre>{@code
+     * async.executeAsync(() -> readArchive(path), "read-" + modId, TaskPool.IO);
+     * }</pre>
+     *
+     * @param taskName name used when reporting a failure of the task
+     */
+    CompletableFuture<Void> executeAsync(Runnable task, String taskName, TaskPool pool);
+    <T> CompletableFuture<T> executeAsync(Supplier<T> task, String taskName, TaskPool pool);
+
     // Batch operations for performance
     CompletableFuture<Void> executeAllAsync(Collection<Runnable> tasks);
     <T> CompletableFuture<List<T>> executeAllAsync(Collection<Supplier<T>> tasks, Class<T> resultType);
@@ -0,0 +1,14 @@
+package io.github.hato1883.api.async;
+
+/**
+ * Thread pool an {@link IAsyncExecutionService} task runs on. Callers choose it explicitly;
+ * task names are only used for error reporting.
+ */
+public enum TaskPool {
+    /** CPU-bound work such as packing, hashing in memory or creating instances. */
+    GENERAL,
+    /** Work that mostly waits on files or the network, such as reading archives or decoding images from disk. */
+    IO,
+    /** Event dispatch, kept apart from the general workers so long tasks cannot delay it. */
+    EVENT
+}
@@ -1,9 +1,51 @@
 package io.github.hato1883.api.entities.player;
 
 import io.github.hato1883.api.entities.resource.IResourceType;
+import io.github.hato1883.api.entities.resource.ResourceIndex;
+import io.github.hato1883.api.entities.resource.ResourceVector;
 
 public interface IResourceBank {
     int getAmount(IResourceType type);
     void add(IResourceType type, int amount);
     boolean remove(IResourceType type, int amount);
+
+    /**
+     * @return the index this bank's amounts are keyed by
+     */
+    ResourceIndex getIndex();
+
+    /**
+     * @return an immutable copy of the current amounts
+     */
+    default ResourceVector toVector() {
+        ResourceIndex index = getIndex();
+        int[] amounts = new int[index.size()];
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = getAmount(index.typeAt(i));
+        }
+        return ResourceVector.ofOrdinals(index, amounts);
+    }
+
+    default boolean canAfford(ResourceVector cost) {
+        return toVector().canAfford(cost);
+    }
+
+    default void add(ResourceVector amounts) {
+        for (int i = 0; i < amounts.size(); i++) {
+            if (amounts.get(i) != 0) add(amounts.getIndex().typeAt(i), amounts.get(i));
+        }
+    }
+
+    /**
+     * Removes all amounts at once, or nothing if the bank cannot afford them.
+     *
+     * @return {@code true} if the amounts were removed
+     */
+    default boolean remove(ResourceVector amounts) {
+        if (!canAfford(amounts)) return false;
+        for (int i = 0; i < amounts.size(); i++) {
+            if (amounts.get(i) != 0) remove(amounts.getIndex().typeAt(i), amounts.get(i));
+        }
+        return true;
+    }
 }
@@ -0,0 +1,105 @@
+package io.github.hato1883.api.entities.resource;
+
+import io.github.hato1883.api.Identifier;
+
+import java.util.*;
+
+/**
+ * Immutable assignment of a dense ordinal {@code 0..size()-1} to every registered {@link IResourceType}.
+ * <p>
+ * Ordinals let resource amounts live in plain {@code int[]} arrays (see {@link ResourceVector}) instead of
+ * boxed {@code Map<IResourceType, Integer>}s. Ordinals follow identifier order, so every client with the
+ * same mods installed assigns the same ordinal to the same resource.
+ *
+ * <h3>Example Usage:</h3>
+ * <pre>{@code
+ * ResourceIndex index = Registries.resources().getResourceIndex();
+ * int brick = index.ordinalOf(brickType);
+ * }</pre>
+ */
+public final class ResourceIndex {
+    private final IResourceType[] types;
+    private final Map<IResourceType, Integer> byInstance;
+    private final Map<Identifier, Integer> byId;
+    private volatile boolean superseded;
+
+    private ResourceIndex(IResourceType[] types) {
+        this.types = types;
+        this.byInstance = new IdentityHashMap<>(types.length * 2);
+        this.byId = new HashMap<>(types.length * 2);
+        for (int i = 0; i < types.length; i++) {
+            byInstance.put(types[i], i);
+            byId.put(types[i].getId(), i);
+        }
+    }
+
+    /**
+     * Creates an index over the given resource types, ordered by identifier.
+     */
+    public static ResourceIndex of(Collection<? extends IResourceType> types) {
+        IResourceType[] sorted = types.toArray(new IResourceType[0]);
+        Arrays.sort(sorted, Comparator.comparing(type -> type.getId().toString()));
+        return new ResourceIndex(sorted);
+    }
+
+    /**
+     * Creates an index that keeps the given ordering, e.g. the id order of a frozen registry.
+     */
+    public static ResourceIndex ordered(List<? extends IResourceType> types) {
+        return new ResourceIndex(types.toArray(new IResourceType[0]));
+    }
+
+    /**
+     * @return the number of resource types, which is also the length of every vector using this index
+     */
+    public int size() {
+        return types.length;
+    }
+
+    /**
+     * @return the ordinal of the type, or {@code -1} if it is not part of this index
+     */
+    public int ordinalOf(IResourceType type) {
+        Integer ordinal = byInstance.get(type);
+        if (ordinal == null && type != null) {
+            // A replaced registry entry is a new instance with the same id
+            ordinal = byId.get(type.getId());
+        }
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    /**
+     * @return the ordinal of the type
+     * @throws IllegalArgumentException if the type is not part of this index
+     */
+    public int requireOrdinal(IResourceType type) {
+        int ordinal = ordinalOf(type);
+        if (ordinal < 0) {
+            throw new IllegalArgumentException("Unknown resource type: " + (type == null ? null : type.getId()));
+        }
+        return ordinal;
+    }
+
+    public IResourceType typeAt(int ordinal) {
+        return types[ordinal];
+    }
+
+    public List<IResourceType> getTypes() {
+        return List.of(types);
+    }
+
+    /**
+     * @return whether the registry that published this index has since replaced it
+     */
+    public boolean isSuperseded() {
+        return superseded;
+    }
+
+    /**
+     * Marks this index as replaced by a newer one. Called by the registry that published it;
+     * banks holding it move to the registry's current index on their next access.
+     */
+    public void markSuperseded() {
+        superseded = true;
+    }
+}
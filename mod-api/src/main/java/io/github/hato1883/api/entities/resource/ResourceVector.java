@@ -0,0 +1,199 @@
+package io.github.hato1883.api.entities.resource;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable amount per resource type, stored as an {@code int[]} indexed by {@link ResourceIndex} ordinal.
+ * <p>
+ * Use this for costs, production offers and trades instead of {@code Map<IResourceType, Integer>}:
+ * arithmetic and affordability checks are tight loops over a small array with no boxing or hashing.
+ *
+ * <h3>Example Usage:</h3>
+ * <pre>{@code
+ * ResourceVector cost = ResourceVector.of(index, Map.of(brick, 1, lumber, 1));
+ * if (hand.canAfford(cost)) {
+ *     hand = hand.minus(cost);
+ * }
+ * }</pre>
+ */
+public final class ResourceVector {
+    private final ResourceIndex index;
+    private final int[] amounts;
+
+    private ResourceVector(ResourceIndex index, int[] amounts) {
+        this.index = index;
+        this.amounts = amounts;
+    }
+
+    public static ResourceVector empty(ResourceIndex index) {
+        return new ResourceVector(index, new int[index.size()]);
+    }
+
+    public static ResourceVector of(ResourceIndex index, IResourceType type, int amount) {
+        int[] amounts = new int[index.size()];
+        amounts[index.requireOrdinal(type)] = amount;
+        return new ResourceVector(index, amounts);
+    }
+
+    /**
+     * Converts a map of amounts, e.g. from a {@code ProductionOffer} or an event.
+     *
+     * @throws IllegalArgumentException if the map contains a type that is not part of the index
+     */
+    public static ResourceVector of(ResourceIndex index, Map<IResourceType, Integer> amounts) {
+        int[] result = new int[index.size()];
+        for (Map.Entry<IResourceType, Integer> entry : amounts.entrySet()) {
+            result[index.requireOrdinal(entry.getKey())] += entry.getValue();
+        }
+        return new ResourceVector(index, result);
+    }
+
+    /**
+     * Wraps a copy of an ordinal-indexed array.
+     */
+    public static ResourceVector ofOrdinals(ResourceIndex index, int... amounts) {
+        if (amounts.length != index.size()) {
+            throw new IllegalArgumentException(
+                "Expected " + index.size() + " amounts but got " + amounts.length);
+        }
+        return new ResourceVector(index, amounts.clone());
+    }
+
+    public ResourceIndex getIndex() {
+        return index;
+    }
+
+    public int get(IResourceType type) {
+        int ordinal = index.ordinalOf(type);
+        return ordinal < 0 ? 0 : amounts[ordinal];
+    }
+
+    public int get(int ordinal) {
+        return amounts[ordinal];
+    }
+
+    /**
+     * @return the number of ordinals, i.e. {@code getIndex().size()}
+     */
+    public int size() {
+        return amounts.length;
+    }
+
+    public ResourceVector with(IResourceType type, int amount) {
+        int ordinal = index.requireOrdinal(type);
+        if (amounts[ordinal] == amount) return this;
+        int[] result = amounts.clone();
+        result[ordinal] = amount;
+        return new ResourceVector(index, result);
+    }
+
+    public ResourceVector plus(ResourceVector other) {
+        checkCompatible(other);
+        int[] result = new int[amounts.length];
+        for (int i = 0; i < amounts.length; i++) {
+            result[i] = amounts[i] + other.amounts[i];
+        }
+        return new ResourceVector(index, result);
+    }
+
+    /**
+     * Subtracts component-wise. The result may contain negative amounts; check {@link #canAfford} first
+     * when that is not wanted.
+     */
+    public ResourceVector minus(ResourceVector other) {
+        checkCompatible(other);
+        int[] result = new int[amounts.length];
+        for (int i = 0; i < amounts.length; i++) {
+            result[i] = amounts[i] - other.amounts[i];
+        }
+        return new ResourceVector(index, result);
+    }
+
+    public ResourceVector times(int factor) {
+        int[] result = new int[amounts.length];
+        for (int i = 0; i < amounts.length; i++) {
+            result[i] = amounts[i] * factor;
+        }
+        return new ResourceVector(index, result);
+    }
+
+    /**
+     * @return {@code true} if every amount in this vector is at least the matching amount in {@code cost}
+     */
+    public boolean canAfford(ResourceVector cost) {
+        checkCompatible(cost);
+        for (int i = 0; i < amounts.length; i++) {
+            if (amounts[i] < cost.amounts[i]) return false;
+        }
+        return true;
+    }
+
+    public boolean isEmpty() {
+        for (int amount : amounts) {
+            if (amount != 0) return false;
+        }
+        return true;
+    }
+
+    public boolean isNonNegative() {
+        for (int amount : amounts) {
+            if (amount < 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return the sum of all amounts, e.g. a hand size
+     */
+    public int total() {
+        int total = 0;
+        for (int amount : amounts) {
+            total += amount;
+        }
+        return total;
+    }
+
+    /**
+     * Copies the amounts into an array indexed by ordinal.
+     */
+    public int[] toArray() {
+        return amounts.clone();
+    }
+
+    /**
+     * Converts back to a map of the non-zero amounts, for APIs and events that still use maps.
+     */
+    public Map<IResourceType, Integer> toMap() {
+        Map<IResourceType, Integer> map = new HashMap<>();
+        for (int i = 0; i < amounts.length; i++) {
+            if (amounts[i] != 0) map.put(index.typeAt(i), amounts[i]);
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    private void checkCompatible(ResourceVector other) {
+        if (other.index != index) {
+            throw new IllegalArgumentException("ResourceVectors use different resource indices");
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ResourceVector that)) return false;
+        return index == that.index && Arrays.equals(amounts, that.amounts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(amounts);
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.hato1883.api.events.modding;
+
+import io.github.hato1883.api.events.IEvent;
+import io.github.hato1883.api.mod.load.asset.AssetCategory;
+
+/**
+ * Fired each time a texture atlas finished building while mod assets load.
+ * <p>
+ * Atlases are built in parallel, so this event is dispatched from worker threads and may arrive in any
+ * order. Every event of a load carries a distinct {@link #getCompleted()} count, but a lower count can
+ * arrive after a higher one, so listeners should keep the highest value seen. Listeners that touch
+ * rendering state should hand the values over to the render thread.
+ *
+ * <h3>Example Usage:</h3>
+ * <pre>{@code
+ * eventBus.registerListener(AtlasBuildProgressEvent.class, event ->
+ *     progress.accumulateAndGet(event.getCompleted(), Math::max));
+ * }</pre>
+ */
+public class AtlasBuildProgressEvent implements IEvent {
+
+    private final String modId;
+    private final AssetCategory category;
+    private final int lod;
+    private final int completed;
+    private final int total;
+
+    /**
+     * @param modId     mod whose atlas finished, or {@code null} for a combined atlas
+     * @param category  category of the atlas
+     * @param lod       level of detail of the atlas
+     * @param completed number of atlases finished so far, including this one
+     * @param total     number of atlases in this load
+     */
+    public AtlasBuildProgressEvent(String modId, AssetCategory category, int lod, int completed, int total) {
+        this.modId = modId;
+        this.category = category;
+        this.lod = lod;
+        this.completed = completed;
+        this.total = total;
+    }
+
+    public String getModId() {
+        return modId;
+    }
+
+    public AssetCategory getCategory() {
+        return category;
+    }
+
+    public int getLod() {
+        return lod;
+    }
+
+    public int getCompleted() {
+        return completed;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * @return fraction of atlases finished, between {@code 0} and {@code 1}
+     */
+    public float getProgress() {
+        return total == 0 ? 1f : (float) completed / total;
+    }
+}
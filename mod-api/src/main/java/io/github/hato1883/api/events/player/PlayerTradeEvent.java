@@ -3,6 +3,8 @@ package io.github.hato1883.api.events.player;
 import io.github.hato1883.api.world.IGameState;
 import io.github.hato1883.api.entities.player.IPlayer;
 import io.github.hato1883.api.entities.resource.IResourceType;
+import io.github.hato1883.api.entities.resource.ResourceIndex;
+import io.github.hato1883.api.entities.resource.ResourceVector;
 
 import java.util.Map;
 
@@ -136,6 +138,33 @@ public abstract class PlayerTradeEvent extends PlayerEvent {
      * @return The resources requested by the sender
      */
     public Map<IResourceType, Integer> getRequestedResources() {
-        return offeredResources;
+        return requestedResources;
+    }
+
+    /**
+     * Returns the offered resources as a vector, for arithmetic without boxing.
+     *
+     * <h3>Example Usage:</h3>
+     * <pre>{@code
+     * ResourceIndex index = Registries.resources().getResourceIndex();
+     * boolean canPay = event.getSender().getResourceBank().canAfford(event.getOfferedVector(index));
+     * }</pre>
+     *
+     * @param index index to key the vector by, usually the resource registry's current index
+     * @return The resources offered by the sender
+     */
+    public ResourceVector getOfferedVector(ResourceIndex index) {
+        return ResourceVector.of(index, offeredResources);
+    }
+
+    /**
+     * Returns the requested resources as a vector, for arithmetic without boxing.
+     *
+     * @param index index to key the vector by, usually the resource registry's current index
+     * @return The resources requested by the sender
+     * @see #getOfferedVector(ResourceIndex)
+     */
+    public ResourceVector getRequestedVector(ResourceIndex index) {
+        return ResourceVector.of(index, requestedResources);
     }
 }
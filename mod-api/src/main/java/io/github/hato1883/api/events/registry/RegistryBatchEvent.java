@@ -0,0 +1,83 @@
+package io.github.hato1883.api.events.registry;
+
+import io.github.hato1883.api.Identifier;
+import io.github.hato1883.api.events.Cancelable;
+import io.github.hato1883.api.events.IEvent;
+import io.github.hato1883.api.registries.IRegistry;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Fired once when a {@code IRegistryBatch} is prepared, before any of its entries are registered.
+ * The per-entry {@link RegistryRegisterEvent}s follow for the entries still kept, so listeners of
+ * single registrations keep working; canceling one of them excludes that entry.
+ * <p>
+ * Listeners see every staged entry together. Canceling the event drops the whole batch;
+ * {@link #exclude(Identifier)} and {@link #replace(Identifier, Object)} adjust single entries.
+ *
+ * <h3>Example Usage:</h3>
+ * <pre>{@code
+ * eventBus.registerListener(MOD_ID, RegistryBatchEvent.class, EventPriority.NORMAL, event -> {
+ *     if (event.getRegistry() == Registries.tiles()) {
+ *         event.exclude(Identifier.of("basemod:desert"));
+ *     }
+ * });
+ * }</pre>
+ */
+public class RegistryBatchEvent<T> implements IEvent, Cancelable {
+    private final IRegistry<T> registry;
+    private final Map<Identifier, T> entries;
+    private boolean isCanceled = false;
+
+    /**
+     * @param entries staged entries; adjustments made by listeners are written through to this map
+     */
+    public RegistryBatchEvent(IRegistry<T> registry, Map<Identifier, T> entries) {
+        this.registry = registry;
+        this.entries = entries;
+    }
+
+    public IRegistry<T> getRegistry() { return registry; }
+
+    /**
+     * @return a read-only view of the entries that will be registered
+     */
+    public Map<Identifier, T> getEntries() { return Collections.unmodifiableMap(entries); }
+
+    /**
+     * Removes a single entry from the batch.
+     */
+    public void exclude(Identifier id) {
+        entries.remove(id);
+    }
+
+    /**
+     * Swaps the element staged under {@code id}. Ids that are not part of the batch are ignored.
+     */
+    public void replace(Identifier id, T element) {
+        entries.computeIfPresent(id, (key, old) -> element);
+    }
+
+    /**
+     * Checks if this event has been canceled.
+     *
+     * @return {@code true} if the event has been canceled, {@code false} otherwise.
+     */
+    @Override
+    public boolean isCanceled() {
+        return isCanceled;
+    }
+
+    /**
+     * Cancels this event.
+     * <p>
+     * Once an event is canceled, it should not be uncanceled.
+     * Multiple calls to this method have no additional effect.
+     * </p>
+     */
+    @Override
+    public void cancel() {
+        isCanceled = true;
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.hato1883.api.events.registry;
+
+import io.github.hato1883.api.Identifier;
+import io.github.hato1883.api.events.Cancelable;
+import io.github.hato1883.api.events.IEvent;
+import io.github.hato1883.api.registries.IRegistry;
+
+import java.util.*;
+
+/**
+ * Fired once before all entries of a namespace are removed from a registry, e.g. when a mod is unloaded.
+ * Replaces the per-entry {@link RegistryUnregisterEvent}s for bulk removal.
+ * <p>
+ * Canceling the event keeps every entry; {@link #retain(Identifier)} keeps individual entries
+ * while the rest are removed.
+ *
+ * <h3>Example Usage:</h3>
+ * <pre>{@code
+ * eventBus.registerListener(MOD_ID, RegistryUnregisterAllEvent.class, EventPriority.NORMAL, event -> {
+ *     if (event.getNamespace().equals("basemod")) {
+ *         event.retain(Identifier.of("basemod:desert"));
+ *     }
+ * });
+ * }</pre>
+ */
+public class RegistryUnregisterAllEvent<T> implements IEvent, Cancelable {
+    private final IRegistry<T> registry;
+    private final String namespace;
+    private final Map<Identifier, T> entries;
+    private final Set<Identifier> retained = new HashSet<>();
+    private boolean isCanceled = false;
+
+    public RegistryUnregisterAllEvent(IRegistry<T> registry, String namespace, Map<Identifier, T> entries) {
+        this.registry = registry;
+        this.namespace = namespace;
+        this.entries = Collections.unmodifiableMap(entries);
+    }
+
+    public IRegistry<T> getRegistry() { return registry; }
+    public String getNamespace() { return namespace; }
+
+    /**
+     * @return every entry that is about to be removed, keyed by id
+     */
+    public Map<Identifier, T> getEntries() { return entries; }
+
+    /**
+     * Keeps a single entry in the registry while the rest of the namespace is removed.
+     */
+    public void retain(Identifier id) {
+        if (entries.containsKey(id)) retained.add(id);
+    }
+
+    public boolean isRetained(Identifier id) {
+        return retained.contains(id);
+    }
+
+    /**
+     * Checks if this event has been canceled.
+     *
+     * @return {@code true} if the event has been canceled, {@code false} otherwise.
+     */
+    @Override
+    public boolean isCanceled() {
+        return isCanceled;
+    }
+
+    /**
+     * Cancels this event.
+     * <p>
+     * Once an event is canceled, it should not be uncanceled.
+     * Multiple calls to this method have no additional effect.
+     * </p>
+     */
+    @Override
+    public void cancel() {
+        isCanceled = true;
+    }
+}
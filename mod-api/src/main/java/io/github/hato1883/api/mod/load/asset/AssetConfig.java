@@ -8,10 +8,11 @@ import java.util.List;
 import static com.badlogic.gdx.graphics.GL20.GL_MAX_TEXTURE_SIZE;
 
 /**
- * Configuration for the asset pipeline: LOD sizes, atlas page size,
+ * Configuration for the asset pipeline: LOD levels, atlas page size,
  * padding, and mipmap / texture filter options.
  *
- * @param lodSizes      LOD sizes in pixels (e.g. [64,128,256,512]). Order matters for nearest-Lod heuristics.
+ * @param lodSizes      LOD levels to build atlases for (e.g. [0,1,2,3]). Level 0 is the most detailed and each
+ *                      level halves the resolution of the one before; missing coarser levels are generated.
  * @param atlasPageSize Max atlas page width/height (square). Keep <= device max texture size (e.g. 4096).
  * @param padding       Padding between packed regions in pixels.
  * @param useMipMaps    Whether to generate mipmaps for atlas textures.
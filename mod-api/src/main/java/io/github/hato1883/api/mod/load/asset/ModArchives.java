@@ -0,0 +1,251 @@
+package io.github.hato1883.api.mod.load.asset;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Shared read access to jar-packed mods.
+ * <p>
+ * While a {@link Session} is open, each jar is opened once as a {@link ZipFile} and reused by every
+ * caller: the central directory is parsed once and entries are streamed straight from the archive.
+ * Closing the last session closes every archive; one that still has entry streams open is closed when
+ * the last of those streams is closed.
+ * Outside a session each call opens the jar, copies the entry into memory and closes it again.
+ *
+ * <h3>Example Usage:</h3>
+ * <pre>{@code
+ * try (ModArchives.Session session = ModArchives.openSession()) {
+ *     for (TextureEntry entry : textures) {
+ *         try (InputStream in = entry.openStream()) {
+ *             // ...
+ *         }
+ *     }
+ * } // all jars closed here
+ * }</pre>
+ */
+public final class ModArchives {
+    private static final Map<Path, SharedArchive> OPEN = new ConcurrentHashMap<>();
+    // Reads hold the read side while they use a shared archive; opening and closing sessions take the
+    // write side, so the last session cannot close an archive under a reader that just looked it up
+    private static final ReadWriteLock LOCK = new ReentrantReadWriteLock();
+    private static int sessions;
+
+    private ModArchives() {}
+
+    /**
+     * A load session; archives stay open until every open session is closed.
+     */
+    public static final class Session implements AutoCloseable {
+        private boolean closed;
+
+        private Session() {}
+
+        @Override
+        public void close() {
+            LOCK.writeLock().lock();
+            try {
+                if (closed) return;
+                closed = true;
+                if (--sessions == 0) closeAll();
+            } finally {
+                LOCK.writeLock().unlock();
+            }
+        }
+    }
+
+    public static Session openSession() {
+        LOCK.writeLock().lock();
+        try {
+            sessions++;
+            return new Session();
+        } finally {
+            LOCK.writeLock().unlock();
+        }
+    }
+
+    /**
+     * A shared archive and the number of entry streams reading from it.
+     */
+    private static final class SharedArchive {
+        final ZipFile zip;
+        private int streams;
+        private boolean retired;
+
+        SharedArchive(ZipFile zip) {
+            this.zip = zip;
+        }
+
+        synchronized void acquire() {
+            streams++;
+        }
+
+        synchronized void release() {
+            if (--streams == 0 && retired) closeQuietly(zip);
+        }
+
+        // Called with the write lock held, so no stream can acquire it afterwards
+        synchronized void retire() {
+            retired = true;
+            if (streams == 0) closeQuietly(zip);
+        }
+    }
+
+    /**
+     * Opens an entry of a jar. The caller must close the returned stream; a stream opened during a session
+     * stays readable after the session closes.
+     *
+     * @throws java.io.FileNotFoundException if the entry does not exist
+     */
+    public static InputStream openEntry(Path archive, String entryName) throws IOException {
+        LOCK.readLock().lock();
+        try {
+            SharedArchive shared = shared(archive);
+            if (shared != null) return openShared(shared, archive, entryName);
+        } finally {
+            LOCK.readLock().unlock();
+        }
+        try (ZipFile zip = new ZipFile(archive.toFile())) {
+            try (InputStream in = open(zip, archive, entryName)) {
+                return new ByteArrayInputStream(in.readAllBytes());
+            }
+        }
+    }
+
+    /**
+     * @return the size of an entry in bytes, or {@code -1} if the archive does not record it
+     */
+    public static long entrySize(Path archive, String entryName) throws IOException {
+        return read(archive, zip -> requireEntry(zip, archive, entryName).getSize());
+    }
+
+    /**
+     * @return the CRC-32 of an entry, or {@code -1} if the archive does not record it
+     */
+    public static long entryCrc(Path archive, String entryName) throws IOException {
+        return read(archive, zip -> requireEntry(zip, archive, entryName).getCrc());
+    }
+
+    /**
+     * Lists the file entries under a directory prefix, e.g. {@code "assets/basemod/textures/"}.
+     */
+    public static List<String> listEntries(Path archive, String prefix) throws IOException {
+        return read(archive, zip -> list(zip, prefix));
+    }
+
+    private interface ArchiveRead<R> {
+        R apply(ZipFile zip) throws IOException;
+    }
+
+    /**
+     * Runs {@code action} on the shared archive while a session is open, or on a briefly opened one otherwise.
+     */
+    private static <R> R read(Path archive, ArchiveRead<R> action) throws IOException {
+        LOCK.readLock().lock();
+        try {
+            SharedArchive shared = shared(archive);
+            if (shared != null) return action.apply(shared.zip);
+        } finally {
+            LOCK.readLock().unlock();
+        }
+        try (ZipFile zip = new ZipFile(archive.toFile())) {
+            return action.apply(zip);
+        }
+    }
+
+    /**
+     * Must be called with the read lock held.
+     *
+     * @return the archive opened for the current sessions, or {@code null} if no session is open
+     */
+    private static SharedArchive shared(Path archive) throws IOException {
+        if (sessions == 0) return null;
+        try {
+            return OPEN.computeIfAbsent(archive.toAbsolutePath().normalize(), path -> {
+                try {
+                    return new SharedArchive(new ZipFile(path.toFile()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Must be called with the read lock held. The stream holds a reference to the archive until it is closed.
+     */
+    private static InputStream openShared(SharedArchive shared, Path archive, String entryName) throws IOException {
+        InputStream in = open(shared.zip, archive, entryName);
+        shared.acquire();
+        return new FilterInputStream(in) {
+            private boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                synchronized (this) {
+                    if (closed) return;
+                    closed = true;
+                }
+                try {
+                    super.close();
+                } finally {
+                    shared.release();
+                }
+            }
+        };
+    }
+
+    private static InputStream open(ZipFile zip, Path archive, String entryName) throws IOException {
+        return zip.getInputStream(requireEntry(zip, archive, entryName));
+    }
+
+    private static ZipEntry requireEntry(ZipFile zip, Path archive, String entryName) throws IOException {
+        ZipEntry entry = zip.getEntry(entryName);
+        if (entry == null) {
+            throw new java.io.FileNotFoundException(entryName + " not found in " + archive);
+        }
+        return entry;
+    }
+
+    private static List<String> list(ZipFile zip, String prefix) {
+        List<String> names = new ArrayList<>();
+        Enumeration<? extends ZipEntry> entries = zip.entries();
+        while (entries.hasMoreElements()) {
+            ZipEntry entry = entries.nextElement();
+            if (!entry.isDirectory() && entry.getName().startsWith(prefix)) {
+                names.add(entry.getName());
+            }
+        }
+        return names;
+    }
+
+    // Called with the write lock held
+    private static void closeAll() {
+        for (SharedArchive shared : OPEN.values()) {
+            shared.retire();
+        }
+        OPEN.clear();
+    }
+
+    private static void closeQuietly(ZipFile zip) {
+        try {
+            zip.close();
+        } catch (IOException ignored) {
+            // Read-only archive, nothing to flush
+        }
+    }
+}
@@ -2,13 +2,20 @@ package io.github.hato1883.api.mod.load.asset;
 
 import io.github.hato1883.api.mod.load.ILoadedMod;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.List;
 
 /**
  * Responsible for building (or reusing) atlas files for a given mod/category/lod.
- * Implementation encapsulates caching checks and the actual TexturePacker invocation.
+ * Implementation encapsulates caching checks and packing the textures into libGDX atlas pages.
  */
 public interface TextureAtlasBuilder {
     void ensureAtlas(ILoadedMod mod, AssetCategory category, int lod, List<TextureEntry> textures, Path modCacheDir) throws Exception;
+
+    /**
+     * Packs {@code textures} into {@code <baseName>.atlas} and its page PNGs in {@code atlasDirectory},
+     * without any cache check. Region names are the texture file names without extension.
+     */
+    void packAtlas(List<TextureEntry> textures, Path atlasDirectory, String baseName) throws IOException;
 }
@@ -3,12 +3,9 @@ package io.github.hato1883.api.mod.load.asset;
 import io.github.hato1883.api.Identifier;
 import org.jetbrains.annotations.NotNull;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
-import java.nio.file.FileSystem;
-import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
@@ -29,13 +26,8 @@ public record TextureEntry(AssetCategory category, int lod, Identifier identifie
                 // Direct file system mod folder
                 return Files.newInputStream(modArchivePath.resolve(internalPath));
             } else {
-                // Packed jar - open FS on demand
-                try (FileSystem fs = FileSystems.newFileSystem(modArchivePath, (ClassLoader) null)) {
-                    Path p = fs.getPath(internalPath);
-                    // Need to copy to memory since FS closes at end of try
-                    byte[] bytes = Files.readAllBytes(p);
-                    return new ByteArrayInputStream(bytes);
-                }
+                // Packed jar - shared ZipFile while a ModArchives session is open
+                return ModArchives.openEntry(modArchivePath, internalPath);
             }
         } catch (IOException e) {
             throw new UncheckedIOException(e);
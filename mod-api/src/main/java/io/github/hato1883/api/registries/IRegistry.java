@@ -4,14 +4,64 @@ import io.github.hato1883.api.Identifier;
 
 import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 public interface IRegistry<T> {
     T register(Identifier id, T element);
+
+    /**
+     * Starts a batch of registrations that is validated and applied together, firing one
+     * {@code RegistryBatchEvent} ahead of the per-entry {@code RegistryRegisterEvent}s and taking the
+     * registry lock once.
+     *
+     * @param expectedSize number of entries the caller expects to stage, used to size the staging area
+     */
+    IRegistryBatch<T> beginBatch(int expectedSize);
     void replace(Identifier id, T element);
     Optional<T> get(Identifier id);
     T require(Identifier id);
     Collection<T> getAll();
     boolean unregister(Identifier id);
+
+    /**
+     * Removes every entry whose identifier namespace equals {@code modid}, firing a single
+     * {@code RegistryUnregisterAllEvent} for the whole batch.
+     * <p>
+     * Unlike the other writes this is allowed on a frozen registry, so mods can be unloaded after
+     * freezing. The removed entries' int ids are left unused and every other entry keeps its id, so
+     * ids cached by callers stay valid.
+     *
+     * @return the number of entries removed
+     */
     int unregisterAll(String modid);
     boolean isRegistered(Identifier id);
+
+    /**
+     * @return the ids currently registered under the namespace (usually a mod id)
+     */
+    Set<Identifier> getIds(String namespace);
+
+    /**
+     * Compacts the registry into an immutable snapshot and assigns every entry a stable int id
+     * (entries are numbered in identifier order). After freezing, reads are lock-free and safe from
+     * any thread, and register, replace and unregister throw {@link IllegalStateException}.
+     * Only {@link #unregisterAll(String)} still applies, without reassigning ids.
+     * Freezing an already frozen registry has no effect.
+     */
+    void freeze();
+
+    boolean isFrozen();
+
+    /**
+     * @return the int id of the entry, or {@code -1} if the registry is not frozen or has no such entry
+     */
+    int getRawId(Identifier id);
+
+    /**
+     * Array-indexed lookup by the int id assigned at freeze time.
+     *
+     * @return the entry, or {@code null} if the registry is not frozen, the id is out of range or its entry
+     *         was removed by {@link #unregisterAll(String)}
+     */
+    T byId(int rawId);
 }
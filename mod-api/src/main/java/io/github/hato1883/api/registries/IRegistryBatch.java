@@ -0,0 +1,84 @@
+package io.github.hato1883.api.registries;
+
+import io.github.hato1883.api.Identifier;
+
+/**
+ * A staged set of registrations that is applied to a registry all at once.
+ * <p>
+ * Staging never touches the registry. Committing happens in two steps:
+ * <ol>
+ *   <li>{@link #prepare()} validates the whole batch and fires the events: one {@code RegistryBatchEvent}
+ *   for the whole batch, then the registry's usual per-entry register event for every entry still kept.
+ *   The registry is not changed and not locked while listeners run.</li>
+ *   <li>{@link #commit()} prepares if that has not happened yet and applies the kept entries under the
+ *   registry lock, either all of them or none.</li>
+ * </ol>
+ * Callers applying several batches together prepare all of them first, so no registry changes before every
+ * event has run, and {@link #rollback()} the ones already committed if a later commit fails.
+ * A batch can be committed once; staging or committing afterwards throws {@link IllegalStateException}.
+ *
+ * <h3>Example Usage:</h3>
+ * <pre>{@code
+ * IRegistryBatch<ITileType> batch = tileRegistry.beginBatch(tiles.size());
+ * for (ITileType tile : tiles) {
+ *     batch.stage(tile.getId(), tile);
+ * }
+ * batch.commit();
+ * }</pre>
+ *
+ * @param <T> registry element type
+ */
+public interface IRegistryBatch<T> {
+
+    /**
+     * Adds a registration to the batch.
+     *
+     * @throws IllegalArgumentException if the id is already staged in this batch
+     */
+    void stage(Identifier id, T element);
+
+    /**
+     * @return the number of staged registrations
+     */
+    int size();
+
+    /**
+     * Checks the staged registrations against the registry without applying them.
+     *
+     * @throws IllegalArgumentException if an id is already registered
+     * @throws IllegalStateException    if the registry is frozen
+     */
+    void validate();
+
+    /**
+     * Validates and fires the batch's events without changing the registry. Calling it again has no effect.
+     * Staging is rejected afterwards.
+     *
+     * @return the number of entries listeners kept, {@code 0} if the batch event was canceled
+     * @throws IllegalArgumentException if an id is already registered
+     * @throws IllegalStateException    if the registry is frozen
+     */
+    int prepare();
+
+    /**
+     * Prepares the batch if needed, then registers every entry listeners kept.
+     *
+     * @return the number of entries registered, {@code 0} if the batch event was canceled
+     * @throws IllegalArgumentException if an id was registered by someone else since the batch was prepared;
+     *                                  nothing is registered
+     */
+    int commit();
+
+    /**
+     * Unregisters the entries this batch registered, without firing events. Used to undo a committed batch
+     * when a related batch failed. Entries replaced since the commit are kept.
+     *
+     * @throws IllegalStateException if the batch was not committed, or the registry has since been frozen
+     */
+    void rollback();
+
+    /**
+     * Drops every staged registration. Has no effect on a batch that was already committed or discarded.
+     */
+    void discard();
+}
@@ -1,6 +1,13 @@
 package io.github.hato1883.api.registries;
 
 import io.github.hato1883.api.entities.resource.IResourceType;
+import io.github.hato1883.api.entities.resource.ResourceIndex;
 
 public interface IResourceTypeRegistry extends IRegistry<IResourceType> {
+    /**
+     * Returns the dense ordinal assignment for all currently registered resource types.
+     * The same instance is returned until the registry changes; the replaced instance is then
+     * {@link ResourceIndex#isSuperseded() superseded}.
+     */
+    ResourceIndex getResourceIndex();
 }
@@ -1,5 +1,7 @@
 package io.github.hato1883.api.services;
 
+import java.util.Set;
+
 /**
  * Defines a service module that can register services with a service registrar.
  * <p>
@@ -25,8 +27,20 @@ package io.github.hato1883.api.services;
  *     public String getModuleName() {
  *         return "BoardGeneration";
  *     }
+ *
+ *     public Set<Class<?>> getProvidedServices() {
+ *         return Set.of(IBoardGenerator.class, IBoardValidator.class);
+ *     }
+ *
+ *     public Set<Class<?>> getRequiredServices() {
+ *         return Set.of(IBoardTypeRegistry.class);
+ *     }
  * }
  * }</pre>
+ * <p>
+ * Modules that declare what they provide and require can be initialized concurrently with
+ * unrelated modules. Modules that declare neither are initialized in list order, after every
+ * module listed before them.
  *
  * @author Hampus Toft
  * @version 1.0.0
@@ -68,4 +82,38 @@ public interface IServiceModule {
      * @return the name of this module, never null
      */
     String getModuleName();
+
+    /**
+     * Returns the service types this module registers.
+     * <p>
+     * Other modules that require one of these types are initialized after this module.
+     *
+     * @return the provided service types, empty if undeclared
+     */
+    default Set<Class<?>> getProvidedServices() {
+        return Set.of();
+    }
+
+    /**
+     * Returns the service types this module needs, either while registering or when its
+     * lazy suppliers are resolved.
+     * <p>
+     * Types that no module in the same startup provides are assumed to be registered already.
+     *
+     * @return the required service types, empty if undeclared
+     */
+    default Set<Class<?>> getRequiredServices() {
+        return Set.of();
+    }
+
+    /**
+     * Returns whether this module initializes facades.
+     * <p>
+     * Facade modules run on the calling thread after every other module, in list order.
+     *
+     * @return {@code true} for facade initialization modules
+     */
+    default boolean isFacadeModule() {
+        return false;
+    }
 }
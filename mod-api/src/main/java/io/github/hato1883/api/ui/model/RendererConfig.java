@@ -10,8 +10,27 @@ public record RendererConfig(
     float minZoom,
     float maxZoom
 ) {
+    /** Coarsest LOD the renderer selects. */
+    public static final int COARSEST_LOD = 3;
+
     public static RendererConfig defaultConfig() {
         return new RendererConfig(50f, 10f, 0.05f, 2.0f);
     }
+
+    /**
+     * Selects the LOD for a camera zoom from the tile's height in screen pixels.
+     * Shared by the renderer and texture streaming so both agree on the LOD a zoom needs.
+     *
+     * @return {@code 0} (finest) to {@link #COARSEST_LOD}
+     */
+    public int lodForZoom(float zoom) {
+        if (zoom <= 0) return COARSEST_LOD; // fallback to lowest LOD
+        float tileWorldHeight = 2f * tileRadius;
+        float tilePixelHeight = tileWorldHeight / zoom;
+        if (tilePixelHeight > 256) return 0;
+        else if (tilePixelHeight > 128) return 1;
+        else if (tilePixelHeight > 64)  return 2;
+        else return COARSEST_LOD;
+    }
 }
 
@@ -104,7 +104,6 @@ public class EdgeCoord {
         return hashCode;
     }
 
-    // TODO: Add getVertexCoords() method
     /**
      * Gets the vertex coordinates this edge connects.
      * @return array containing both vertex coordinates [v1, v2]
@@ -117,5 +116,5 @@ public class EdgeCoord {
      *     <li>Network validation</li>
      * </ul>
      */
-    // public VertexCoord[] getVertexCoords() { return new VertexCoord[]{v1, v2}; }
+    public VertexCoord[] getVertexCoords() { return new VertexCoord[]{v1, v2}; }
 }
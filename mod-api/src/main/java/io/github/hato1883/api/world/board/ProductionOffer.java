@@ -1,6 +1,8 @@
 package io.github.hato1883.api.world.board;
 
 import io.github.hato1883.api.entities.resource.IResourceType;
+import io.github.hato1883.api.entities.resource.ResourceIndex;
+import io.github.hato1883.api.entities.resource.ResourceVector;
 
 import java.util.Map;
 
@@ -14,4 +16,11 @@ public record ProductionOffer(ITile sourceTile, ITileType tileType, int rolledNu
         this.baseProduction = Map.copyOf(baseProduction);
         this.isBlocked = isBlocked;
     }
+
+    /**
+     * Returns the base production as a vector, for arithmetic without boxing.
+     */
+    public ResourceVector baseProductionVector(ResourceIndex index) {
+        return ResourceVector.of(index, baseProduction);
+    }
 }
@@ -0,0 +1,219 @@
+package io.github.hato1883.api.world.state;
+
+import io.github.hato1883.api.entities.player.IPlayer;
+import io.github.hato1883.api.entities.resource.IResourceType;
+import io.github.hato1883.api.world.board.EdgeCoord;
+import io.github.hato1883.api.world.board.IBoard;
+import io.github.hato1883.api.world.board.IBuilding;
+import io.github.hato1883.api.world.board.IRoad;
+import io.github.hato1883.api.world.board.ITile;
+import io.github.hato1883.api.world.board.VertexCoord;
+import io.github.hato1883.api.world.phase.IGamePhase;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable, structurally shared view of everything that changes during a match:
+ * placed buildings and roads, the robber, each player's resources, the current player and the current phase.
+ * <p>
+ * Every {@code with*} method returns a new snapshot that shares all unchanged parts with this one,
+ * so keeping a snapshot around (for undo or for a search tree) costs nothing, and each change only
+ * copies the handful of trie nodes it touches.
+ * The tile layout of the {@link IBoard} is fixed once generated and is shared by reference.
+ *
+ * <h3>Example Usage:</h3>
+ * <pre>{@code
+ * GameStateSnapshot before = state.snapshot();
+ * GameStateSnapshot after = before
+ *     .withBuilding(settlement)
+ *     .addResource(player, brick, -1);
+ * // a bot can explore "after" and simply drop it, "before" is untouched
+ * }</pre>
+ */
+public final class GameStateSnapshot {
+    private final IBoard board;
+    private final List<IPlayer> players;
+    private final List<IGamePhase> phases;
+    private final int currentPlayerIndex;
+    private final int phaseIndex;
+    private final ITile robberTile;
+    private final PersistentMap<VertexCoord, IBuilding> buildings;
+    private final PersistentMap<EdgeCoord, IRoad> roads;
+    private final PersistentMap<IPlayer, PersistentMap<IResourceType, Integer>> resources;
+
+    private GameStateSnapshot(IBoard board, List<IPlayer> players, List<IGamePhase> phases,
+                              int currentPlayerIndex, int phaseIndex, ITile robberTile,
+                              PersistentMap<VertexCoord, IBuilding> buildings,
+                              PersistentMap<EdgeCoord, IRoad> roads,
+                              PersistentMap<IPlayer, PersistentMap<IResourceType, Integer>> resources) {
+        this.board = board;
+        this.players = players;
+        this.phases = phases;
+        this.currentPlayerIndex = currentPlayerIndex;
+        this.phaseIndex = phaseIndex;
+        this.robberTile = robberTile;
+        this.buildings = buildings;
+        this.roads = roads;
+        this.resources = resources;
+    }
+
+    /**
+     * Creates the initial snapshot of a match: no structures, no resources,
+     * first player to move and the first phase active.
+     *
+     * @param board   the generated board
+     * @param players players in turn order
+     * @param phases  phases of a turn in execution order (see {@code IPhaseGraph#getExecutionOrder()})
+     */
+    public static GameStateSnapshot initial(IBoard board, List<IPlayer> players, List<IGamePhase> phases) {
+        Objects.requireNonNull(board, "board must not be null");
+        return new GameStateSnapshot(board, List.copyOf(players), List.copyOf(phases), 0, 0, null,
+            PersistentMap.empty(), PersistentMap.empty(), PersistentMap.empty());
+    }
+
+    // ***
+    // * Queries
+    // ***
+
+    public IBoard getBoard() {
+        return board;
+    }
+
+    public List<IPlayer> getPlayers() {
+        return players;
+    }
+
+    public IPlayer getCurrentPlayer() {
+        return players.isEmpty() ? null : players.get(currentPlayerIndex);
+    }
+
+    public int getCurrentPlayerIndex() {
+        return currentPlayerIndex;
+    }
+
+    public IGamePhase getCurrentPhase() {
+        return phases.isEmpty() ? null : phases.get(phaseIndex);
+    }
+
+    public List<IGamePhase> getPhases() {
+        return phases;
+    }
+
+    /**
+     * @return the tile currently holding the robber, or {@code null} if it has not been placed
+     */
+    public ITile getRobberTile() {
+        return robberTile;
+    }
+
+    public PersistentMap<VertexCoord, IBuilding> getBuildings() {
+        return buildings;
+    }
+
+    public PersistentMap<EdgeCoord, IRoad> getRoads() {
+        return roads;
+    }
+
+    public IBuilding getBuildingAt(VertexCoord position) {
+        return buildings.get(position);
+    }
+
+    public IRoad getRoadAt(EdgeCoord position) {
+        return roads.get(position);
+    }
+
+    public PersistentMap<IResourceType, Integer> getResources(IPlayer player) {
+        return resources.getOrDefault(player, PersistentMap.empty());
+    }
+
+    public int getResourceAmount(IPlayer player, IResourceType type) {
+        return getResources(player).getOrDefault(type, 0);
+    }
+
+    // ***
+    // * Transitions (each returns a new snapshot)
+    // ***
+
+    public GameStateSnapshot withBuilding(IBuilding building) {
+        return withBuildings(buildings.with(building.getPosition(), building));
+    }
+
+    public GameStateSnapshot withoutBuilding(VertexCoord position) {
+        return withBuildings(buildings.without(position));
+    }
+
+    public GameStateSnapshot withRoad(IRoad road) {
+        return withRoads(roads.with(road.getPosition(), road));
+    }
+
+    public GameStateSnapshot withoutRoad(EdgeCoord position) {
+        return withRoads(roads.without(position));
+    }
+
+    public GameStateSnapshot withRobberTile(ITile tile) {
+        if (tile == robberTile) return this;
+        return new GameStateSnapshot(board, players, phases, currentPlayerIndex, phaseIndex, tile,
+            buildings, roads, resources);
+    }
+
+    /**
+     * Sets a player's amount of a resource. Amounts of zero are dropped from the map.
+     *
+     * @throws IllegalArgumentException if amount is negative
+     */
+    public GameStateSnapshot withResourceAmount(IPlayer player, IResourceType type, int amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Resource amount cannot be negative: " + type.getId() + "=" + amount);
+        }
+        PersistentMap<IResourceType, Integer> current = getResources(player);
+        PersistentMap<IResourceType, Integer> updated = amount == 0
+            ? current.without(type)
+            : current.with(type, amount);
+        if (updated == current) return this;
+        return new GameStateSnapshot(board, players, phases, currentPlayerIndex, phaseIndex, robberTile,
+            buildings, roads, resources.with(player, updated));
+    }
+
+    /**
+     * Adds (or with a negative delta removes) resources from a player.
+     *
+     * @throws IllegalArgumentException if the player would end up with a negative amount
+     */
+    public GameStateSnapshot addResource(IPlayer player, IResourceType type, int delta) {
+        if (delta == 0) return this;
+        return withResourceAmount(player, type, getResourceAmount(player, type) + delta);
+    }
+
+    /**
+     * Passes the turn to the next player and restarts the phase cycle.
+     */
+    public GameStateSnapshot withNextPlayer() {
+        if (players.isEmpty()) return this;
+        return new GameStateSnapshot(board, players, phases, (currentPlayerIndex + 1) % players.size(), 0,
+            robberTile, buildings, roads, resources);
+    }
+
+    /**
+     * Moves to the next phase; after the last phase the turn passes to the next player.
+     */
+    public GameStateSnapshot withNextPhase() {
+        if (phases.isEmpty() || phaseIndex + 1 >= phases.size()) {
+            return withNextPlayer();
+        }
+        return new GameStateSnapshot(board, players, phases, currentPlayerIndex, phaseIndex + 1,
+            robberTile, buildings, roads, resources);
+    }
+
+    private GameStateSnapshot withBuildings(PersistentMap<VertexCoord, IBuilding> updated) {
+        if (updated == buildings) return this;
+        return new GameStateSnapshot(board, players, phases, currentPlayerIndex, phaseIndex, robberTile,
+            updated, roads, resources);
+    }
+
+    private GameStateSnapshot withRoads(PersistentMap<EdgeCoord, IRoad> updated) {
+        if (updated == roads) return this;
+        return new GameStateSnapshot(board, players, phases, currentPlayerIndex, phaseIndex, robberTile,
+            buildings, updated, resources);
+    }
+}
@@ -0,0 +1,343 @@
+package io.github.hato1883.api.world.state;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable hash map with structural sharing (a hash array mapped trie).
+ * <p>
+ * Every "modifying" operation returns a new map that shares all untouched branches with the original,
+ * so taking a snapshot is free and an update only copies the path from the root to the changed entry
+ * (at most 7 nodes of up to 32 slots each).
+ *
+ * <h3>Key Features:</h3>
+ * <ul>
+ *     <li>O(1) snapshots: a map is its own snapshot</li>
+ *     <li>O(log32 n) {@link #get}, {@link #with} and {@link #without}</li>
+ *     <li>Safe to share between threads without synchronization</li>
+ * </ul>
+ *
+ * <h3>Example Usage:</h3>
+ * <pre>{@code
+ * PersistentMap<VertexCoord, IBuilding> before = PersistentMap.empty();
+ * PersistentMap<VertexCoord, IBuilding> after = before.with(coord, settlement);
+ * // before is unchanged and can be used to undo the placement
+ * }</pre>
+ *
+ * @param <K> key type, must have consistent equals/hashCode
+ * @param <V> value type
+ */
+public final class PersistentMap<K, V> {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(null, 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Returns the shared empty map.
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentMap<K, V> empty() {
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Creates a persistent map holding the same entries as the given map.
+     */
+    public static <K, V> PersistentMap<K, V> copyOf(Map<? extends K, ? extends V> source) {
+        PersistentMap<K, V> result = empty();
+        for (Map.Entry<? extends K, ? extends V> entry : source.entrySet()) {
+            result = result.with(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(K key) {
+        return find(key) != null;
+    }
+
+    /**
+     * Returns the value mapped to the key, or {@code null} if absent.
+     */
+    public V get(K key) {
+        Leaf leaf = find(key);
+        return leaf == null ? null : value(leaf);
+    }
+
+    public V getOrDefault(K key, V defaultValue) {
+        Leaf leaf = find(key);
+        return leaf == null ? defaultValue : value(leaf);
+    }
+
+    /**
+     * Returns a map with the key bound to the value.
+     * Returns {@code this} if the key is already bound to the same value instance.
+     *
+     * @throws NullPointerException if key or value is null
+     */
+    public PersistentMap<K, V> with(K key, V value) {
+        Objects.requireNonNull(key, "key must not be null");
+        Objects.requireNonNull(value, "value must not be null");
+        int[] added = new int[1];
+        Node newRoot = put(root, new Leaf(hash(key), key, value), 0, added);
+        if (newRoot == root) return this;
+        return new PersistentMap<>(newRoot, size + added[0]);
+    }
+
+    /**
+     * Returns a map without the key. Returns {@code this} if the key is absent.
+     */
+    public PersistentMap<K, V> without(K key) {
+        if (root == null || key == null) return this;
+        Node newRoot = remove(root, hash(key), key, 0);
+        if (newRoot == root) return this;
+        return newRoot == null ? empty() : new PersistentMap<>(newRoot, size - 1);
+    }
+
+    /**
+     * Visits every entry. Iteration order is unspecified but stable for a given map.
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        visit(root, action);
+    }
+
+    public Collection<V> values() {
+        List<V> values = new ArrayList<>(size);
+        forEach((k, v) -> values.add(v));
+        return Collections.unmodifiableList(values);
+    }
+
+    public Set<K> keySet() {
+        Set<K> keys = new HashSet<>(Math.max(16, size * 2));
+        forEach((k, v) -> keys.add(k));
+        return Collections.unmodifiableSet(keys);
+    }
+
+    /**
+     * Copies the entries into a regular unmodifiable map, for APIs that expect {@link Map}.
+     */
+    public Map<K, V> toMap() {
+        Map<K, V> map = new HashMap<>(Math.max(16, size * 2));
+        forEach(map::put);
+        return Collections.unmodifiableMap(map);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PersistentMap<?, ?> that)) return false;
+        return size == that.size && toMap().equals(that.toMap());
+    }
+
+    @Override
+    public int hashCode() {
+        int[] h = {0};
+        forEach((k, v) -> h[0] += k.hashCode() ^ v.hashCode());
+        return h[0];
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+
+    // ***
+    // * Trie internals
+    // ***
+
+    private sealed interface Node permits Leaf, Collision, Branch {}
+
+    /** A single entry. */
+    private record Leaf(int hash, Object key, Object value) implements Node {}
+
+    /** Entries whose keys have identical 32-bit hashes. */
+    private record Collision(int hash, Leaf[] leaves) implements Node {}
+
+    /** Interior node; {@code bitmap} marks which of the 32 slots are present in {@code children}. */
+    private record Branch(int bitmap, Node[] children) implements Node {}
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int slot(int hash, int shift) {
+        return (hash >>> shift) & MASK;
+    }
+
+    private static int index(int bitmap, int bit) {
+        return Integer.bitCount(bitmap & (bit - 1));
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(Leaf leaf) {
+        return (V) leaf.value();
+    }
+
+    private Leaf find(Object key) {
+        if (key == null) return null;
+        int hash = hash(key);
+        Node node = root;
+        int shift = 0;
+        while (node != null) {
+            if (node instanceof Branch branch) {
+                int bit = 1 << slot(hash, shift);
+                if ((branch.bitmap() & bit) == 0) return null;
+                node = branch.children()[index(branch.bitmap(), bit)];
+                shift += BITS;
+            } else if (node instanceof Leaf leaf) {
+                return leaf.hash() == hash && leaf.key().equals(key) ? leaf : null;
+            } else {
+                Collision collision = (Collision) node;
+                if (collision.hash() != hash) return null;
+                for (Leaf leaf : collision.leaves()) {
+                    if (leaf.key().equals(key)) return leaf;
+                }
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static Node put(Node node, Leaf leaf, int shift, int[] added) {
+        if (node == null) {
+            added[0] = 1;
+            return leaf;
+        }
+        if (node instanceof Leaf existing) {
+            if (existing.hash() == leaf.hash() && existing.key().equals(leaf.key())) {
+                return existing.value() == leaf.value() ? existing : leaf;
+            }
+            added[0] = 1;
+            if (existing.hash() == leaf.hash()) {
+                return new Collision(leaf.hash(), new Leaf[]{existing, leaf});
+            }
+            return merge(existing, existing.hash(), leaf, shift);
+        }
+        if (node instanceof Collision collision) {
+            if (collision.hash() != leaf.hash()) {
+                added[0] = 1;
+                return merge(collision, collision.hash(), leaf, shift);
+            }
+            Leaf[] leaves = collision.leaves();
+            for (int i = 0; i < leaves.length; i++) {
+                if (leaves[i].key().equals(leaf.key())) {
+                    if (leaves[i].value() == leaf.value()) return collision;
+                    Leaf[] copy = leaves.clone();
+                    copy[i] = leaf;
+                    return new Collision(collision.hash(), copy);
+                }
+            }
+            added[0] = 1;
+            Leaf[] copy = Arrays.copyOf(leaves, leaves.length + 1);
+            copy[leaves.length] = leaf;
+            return new Collision(collision.hash(), copy);
+        }
+        Branch branch = (Branch) node;
+        int bit = 1 << slot(leaf.hash(), shift);
+        int idx = index(branch.bitmap(), bit);
+        Node[] children = branch.children();
+        if ((branch.bitmap() & bit) == 0) {
+            added[0] = 1;
+            Node[] copy = new Node[children.length + 1];
+            System.arraycopy(children, 0, copy, 0, idx);
+            copy[idx] = leaf;
+            System.arraycopy(children, idx, copy, idx + 1, children.length - idx);
+            return new Branch(branch.bitmap() | bit, copy);
+        }
+        Node child = children[idx];
+        Node newChild = put(child, leaf, shift + BITS, added);
+        if (newChild == child) return branch;
+        Node[] copy = children.clone();
+        copy[idx] = newChild;
+        return new Branch(branch.bitmap(), copy);
+    }
+
+    /** Builds the smallest branch chain that separates two nodes with different hashes. */
+    private static Node merge(Node existing, int existingHash, Leaf leaf, int shift) {
+        int a = slot(existingHash, shift);
+        int b = slot(leaf.hash(), shift);
+        if (a == b) {
+            return new Branch(1 << a, new Node[]{merge(existing, existingHash, leaf, shift + BITS)});
+        }
+        Node[] children = a < b ? new Node[]{existing, leaf} : new Node[]{leaf, existing};
+        return new Branch((1 << a) | (1 << b), children);
+    }
+
+    private static Node remove(Node node, int hash, Object key, int shift) {
+        if (node instanceof Leaf leaf) {
+            return leaf.hash() == hash && leaf.key().equals(key) ? null : leaf;
+        }
+        if (node instanceof Collision collision) {
+            if (collision.hash() != hash) return collision;
+            Leaf[] leaves = collision.leaves();
+            for (int i = 0; i < leaves.length; i++) {
+                if (leaves[i].key().equals(key)) {
+                    if (leaves.length == 2) return leaves[1 - i];
+                    Leaf[] copy = new Leaf[leaves.length - 1];
+                    System.arraycopy(leaves, 0, copy, 0, i);
+                    System.arraycopy(leaves, i + 1, copy, i, leaves.length - i - 1);
+                    return new Collision(hash, copy);
+                }
+            }
+            return collision;
+        }
+        Branch branch = (Branch) node;
+        int bit = 1 << slot(hash, shift);
+        if ((branch.bitmap() & bit) == 0) return branch;
+        int idx = index(branch.bitmap(), bit);
+        Node[] children = branch.children();
+        Node child = children[idx];
+        Node newChild = remove(child, hash, key, shift + BITS);
+        if (newChild == child) return branch;
+        if (newChild == null) {
+            if (children.length == 1) return null;
+            if (children.length == 2 && !(children[1 - idx] instanceof Branch)) {
+                // Collapse: a lone entry can live at any depth along its own hash path
+                return children[1 - idx];
+            }
+            Node[] copy = new Node[children.length - 1];
+            System.arraycopy(children, 0, copy, 0, idx);
+            System.arraycopy(children, idx + 1, copy, idx, children.length - idx - 1);
+            return new Branch(branch.bitmap() & ~bit, copy);
+        }
+        if (children.length == 1 && !(newChild instanceof Branch)) {
+            return newChild;
+        }
+        Node[] copy = children.clone();
+        copy[idx] = newChild;
+        return new Branch(branch.bitmap(), copy);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> void visit(Node node, BiConsumer<? super K, ? super V> action) {
+        if (node == null) return;
+        if (node instanceof Leaf leaf) {
+            action.accept((K) leaf.key(), (V) leaf.value());
+        } else if (node instanceof Collision collision) {
+            for (Leaf leaf : collision.leaves()) {
+                action.accept((K) leaf.key(), (V) leaf.value());
+            }
+        } else {
+            for (Node child : ((Branch) node).children()) {
+                visit(child, action);
+            }
+        }
+    }
+}
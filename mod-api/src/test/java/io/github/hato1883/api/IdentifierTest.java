@@ -0,0 +1,78 @@
+package io.github.hato1883.api;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link Identifier} covering interning, validation and region keys.
+ */
+@DisplayName("Identifier")
+class IdentifierTest {
+
+    @Test
+    @DisplayName("Equal identifiers are the same instance")
+    void interned() {
+        Identifier a = Identifier.of("basemod", "brick");
+        Identifier b = Identifier.of("basemod", "brick");
+        Identifier c = Identifier.of("basemod:brick");
+        assertSame(a, b);
+        assertSame(a, c);
+        assertEquals("basemod", c.getNamespace());
+        assertEquals("brick", c.getPath());
+        assertEquals("basemod:brick", c.toString());
+        assertEquals("basemod:brick".hashCode(), c.hashCode());
+        assertNotSame(a, Identifier.of("basemod", "wool"));
+        assertNotEquals(a, Identifier.of("othermod", "brick"));
+    }
+
+    @Test
+    @DisplayName("Invalid namespaces, paths and formats are rejected")
+    void validation() {
+        assertThrows(InvalidIdentifierException.class, () -> Identifier.of("basemod1", "brick"));
+        assertThrows(InvalidIdentifierException.class, () -> Identifier.of("BaseMod", "brick"));
+        assertThrows(InvalidIdentifierException.class, () -> Identifier.of("", "brick"));
+        assertThrows(InvalidIdentifierException.class, () -> Identifier.of("basemod", "Brick!"));
+        assertThrows(InvalidIdentifierException.class, () -> Identifier.of("basemod", ""));
+        assertThrows(InvalidIdentifierException.class, () -> Identifier.of("basemodbrick"));
+        assertThrows(InvalidIdentifierException.class, () -> Identifier.of("basemod:brick:red"));
+
+        assertDoesNotThrow(() -> Identifier.of("base_mod-x", "brick_2-red"));
+        assertDoesNotThrow(() -> Identifier.of("basemod:brick1"));
+    }
+
+    @Test
+    @DisplayName("Rejected identifiers are rejected again on every lookup")
+    void invalidNotInterned() {
+        assertThrows(InvalidIdentifierException.class, () -> Identifier.of("basemod", "Rejected"));
+        // Neither lookup path may let a rejected name through on a second attempt
+        assertThrows(InvalidIdentifierException.class, () -> Identifier.of("basemod:Rejected"));
+        assertThrows(InvalidIdentifierException.class, () -> Identifier.of("basemod", "Rejected"));
+    }
+
+    @Test
+    @DisplayName("Null namespaces, paths and names are rejected")
+    void nullRejected() {
+        assertThrows(InvalidIdentifierException.class, () -> Identifier.of(null, "brick"));
+        assertThrows(InvalidIdentifierException.class, () -> Identifier.of("basemod", null));
+        assertThrows(InvalidIdentifierException.class, () -> Identifier.of(null));
+    }
+
+    @Test
+    @DisplayName("Both factories return the instance created by the other")
+    void factoriesShareInstances() {
+        Identifier byName = Identifier.of("sharetest:first");
+        assertSame(byName, Identifier.of("sharetest", "first"));
+        Identifier byParts = Identifier.of("sharetest", "second");
+        assertSame(byParts, Identifier.of("sharetest:second"));
+    }
+
+    @Test
+    @DisplayName("Region keys join namespace and path with a slash")
+    void regionKey() {
+        Identifier id = Identifier.of("basemod", "forest");
+        assertEquals("basemod/forest", id.toRegionKey());
+        assertSame(id.toRegionKey(), id.toRegionKey());
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.hato1883.api.entities.resource;
+
+import io.github.hato1883.api.Identifier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ResourceIndex} and {@link ResourceVector}.
+ */
+@DisplayName("ResourceVector")
+class ResourceVectorTest {
+
+    private record Type(String name) implements IResourceType {
+        @Override
+        public Identifier getId() {
+            return Identifier.of("basemod", name);
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getDescription() {
+            return "";
+        }
+    }
+
+    private final Type wool = new Type("wool");
+    private final Type brick = new Type("brick");
+    private final Type ore = new Type("ore");
+    private final ResourceIndex index = ResourceIndex.of(List.of(wool, brick, ore));
+
+    @Test
+    @DisplayName("Ordinals follow identifier order and fall back to the id for replaced instances")
+    void indexOrdinals() {
+        assertEquals(3, index.size());
+        assertEquals(0, index.ordinalOf(brick));
+        assertEquals(1, index.ordinalOf(ore));
+        assertEquals(2, index.ordinalOf(wool));
+        assertEquals(0, index.ordinalOf(new Type("brick")));
+        assertEquals(-1, index.ordinalOf(new Type("grain")));
+        assertThrows(IllegalArgumentException.class, () -> index.requireOrdinal(new Type("grain")));
+        assertEquals(List.of(wool, brick), ResourceIndex.ordered(List.of(wool, brick)).getTypes());
+    }
+
+    @Test
+    @DisplayName("Arithmetic is component-wise and leaves the operands unchanged")
+    void arithmetic() {
+        ResourceVector hand = ResourceVector.of(index, Map.of(brick, 2, wool, 1));
+        ResourceVector cost = ResourceVector.of(index, brick, 1);
+
+        assertEquals(ResourceVector.ofOrdinals(index, 3, 0, 1), hand.plus(cost));
+        assertEquals(ResourceVector.ofOrdinals(index, 1, 0, 1), hand.minus(cost));
+        assertEquals(ResourceVector.ofOrdinals(index, 4, 0, 2), hand.times(2));
+        assertEquals(2, hand.get(brick));
+        assertEquals(0, hand.get(new Type("grain")));
+        assertEquals(3, hand.total());
+        assertEquals(Map.of(brick, 2, wool, 1), hand.toMap());
+        assertSame(hand, hand.with(brick, 2));
+        assertEquals(5, hand.with(ore, 5).get(ore));
+    }
+
+    @Test
+    @DisplayName("Affordability and sign checks")
+    void affordability() {
+        ResourceVector hand = ResourceVector.of(index, Map.of(brick, 1, ore, 2));
+        assertTrue(hand.canAfford(ResourceVector.of(index, ore, 2)));
+        assertFalse(hand.canAfford(ResourceVector.of(index, wool, 1)));
+        assertFalse(hand.minus(ResourceVector.of(index, wool, 1)).isNonNegative());
+        assertTrue(ResourceVector.empty(index).isEmpty());
+        assertFalse(hand.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Vectors over different indices or of the wrong length are rejected")
+    void incompatibleVectors() {
+        ResourceIndex other = ResourceIndex.of(List.of(wool, brick, ore));
+        ResourceVector a = ResourceVector.of(index, brick, 1);
+        ResourceVector b = ResourceVector.of(other, brick, 1);
+        assertThrows(IllegalArgumentException.class, () -> a.plus(b));
+        assertThrows(IllegalArgumentException.class, () -> a.canAfford(b));
+        assertThrows(IllegalArgumentException.class, () -> ResourceVector.ofOrdinals(index, 1, 2));
+        assertThrows(IllegalArgumentException.class, () -> ResourceVector.of(index, Map.of(new Type("grain"), 1)));
+    }
+
+    @Test
+    @DisplayName("ofOrdinals and toArray copy their arrays")
+    void defensiveCopies() {
+        int[] amounts = {1, 2, 3};
+        ResourceVector vector = ResourceVector.ofOrdinals(index, amounts);
+        amounts[0] = 99;
+        vector.toArray()[1] = 99;
+        assertArrayEquals(new int[]{1, 2, 3}, vector.toArray());
+    }
+}
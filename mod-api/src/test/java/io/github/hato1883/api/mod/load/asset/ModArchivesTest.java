@@ -0,0 +1,126 @@
+package io.github.hato1883.api.mod.load.asset;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ModArchives} covering session-scoped sharing, listing, streams that outlive their
+ * session and concurrent session close.
+ */
+@DisplayName("ModArchives")
+class ModArchivesTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path createJar() throws IOException {
+        Path jar = tempDir.resolve("mod.jar");
+        try (OutputStream out = Files.newOutputStream(jar); ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry("assets/mod/textures/tile/forest.png"));
+            zip.write("forest".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("assets/mod/lang/en.json"));
+            zip.write("{}".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        return jar;
+    }
+
+    @Test
+    @DisplayName("Reads entries with and without an open session")
+    void readsEntries() throws IOException {
+        Path jar = createJar();
+        try (InputStream in = ModArchives.openEntry(jar, "assets/mod/textures/tile/forest.png")) {
+            assertEquals("forest", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        try (ModArchives.Session session = ModArchives.openSession();
+             InputStream in = ModArchives.openEntry(jar, "assets/mod/textures/tile/forest.png")) {
+            assertEquals("forest", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertThrows(FileNotFoundException.class, () -> ModArchives.openEntry(jar, "missing.png"));
+    }
+
+    @Test
+    @DisplayName("Lists only file entries under the prefix")
+    void listsEntriesUnderPrefix() throws IOException {
+        Path jar = createJar();
+        assertEquals(List.of("assets/mod/textures/tile/forest.png"),
+            ModArchives.listEntries(jar, "assets/mod/textures/"));
+    }
+
+    @Test
+    @DisplayName("A stream opened during a session stays readable after the session closes")
+    void streamOutlivesSession() throws IOException {
+        Path jar = createJar();
+        InputStream open;
+        try (ModArchives.Session session = ModArchives.openSession()) {
+            open = ModArchives.openEntry(jar, "assets/mod/lang/en.json");
+        }
+        // The shared ZipFile stays open until its last stream is closed
+        try (InputStream in = open) {
+            assertEquals("{}", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertThrows(IOException.class, open::read);
+        Files.delete(jar);
+        assertFalse(Files.exists(jar));
+    }
+
+    @Test
+    @DisplayName("Reads and open streams racing with the last session closing never see a closed archive")
+    void readsRaceWithSessionClose() throws Exception {
+        Path jar = createJar();
+        ExecutorService pool = Executors.newFixedThreadPool(5);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int t = 0; t < 3; t++) {
+                readers.add(pool.submit(() -> {
+                    for (int i = 0; i < 5000; i++) {
+                        assertEquals(6, ModArchives.entrySize(jar, "assets/mod/textures/tile/forest.png"));
+                        assertEquals(1, ModArchives.listEntries(jar, "assets/mod/textures/").size());
+                    }
+                    return null;
+                }));
+            }
+            readers.add(pool.submit(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    try (ModArchives.Session session = ModArchives.openSession();
+                         InputStream in = ModArchives.openEntry(jar, "assets/mod/textures/tile/forest.png")) {
+                        session.close();
+                        assertEquals("forest", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                    }
+                }
+                return null;
+            }));
+            Future<?> sessions = pool.submit(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    ModArchives.openSession().close();
+                }
+            });
+            sessions.get(30, TimeUnit.SECONDS);
+            for (Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.hato1883.api.world.state;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link PersistentMap} covering structural sharing, hash collisions and removal.
+ */
+@DisplayName("PersistentMap")
+class PersistentMapTest {
+
+    /** Key with a controllable hash so collisions can be forced. */
+    private record Key(int value, int hash) {
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    @Test
+    @DisplayName("Updates return new maps and leave earlier snapshots untouched")
+    void snapshotsAreIndependent() {
+        PersistentMap<String, Integer> empty = PersistentMap.empty();
+        PersistentMap<String, Integer> one = empty.with("a", 1);
+        PersistentMap<String, Integer> two = one.with("b", 2);
+        PersistentMap<String, Integer> replaced = two.with("a", 3);
+
+        assertTrue(empty.isEmpty());
+        assertEquals(1, one.size());
+        assertEquals(1, one.get("a"));
+        assertNull(one.get("b"));
+        assertEquals(2, two.size());
+        assertEquals(1, two.get("a"));
+        assertEquals(3, replaced.get("a"));
+        assertEquals(2, replaced.size());
+    }
+
+    @Test
+    @DisplayName("No-op updates return the same instance")
+    void noOpUpdatesShareInstance() {
+        Integer value = 1;
+        PersistentMap<String, Integer> map = PersistentMap.<String, Integer>empty().with("a", value);
+        assertSame(map, map.with("a", value));
+        assertSame(map, map.without("missing"));
+    }
+
+    @Test
+    @DisplayName("Colliding keys are stored and removed independently")
+    void hashCollisions() {
+        Key a = new Key(1, 42);
+        Key b = new Key(2, 42);
+        Key c = new Key(3, 42);
+        PersistentMap<Key, String> map = PersistentMap.<Key, String>empty().with(a, "a").with(b, "b").with(c, "c");
+
+        assertEquals(3, map.size());
+        assertEquals("b", map.get(b));
+
+        PersistentMap<Key, String> withoutB = map.without(b);
+        assertEquals(2, withoutB.size());
+        assertNull(withoutB.get(b));
+        assertEquals("a", withoutB.get(a));
+        assertEquals("c", withoutB.get(c));
+        assertEquals("b", map.get(b));
+    }
+
+    @Test
+    @DisplayName("Random operations match java.util.HashMap")
+    void matchesHashMap() {
+        Random random = new Random(7);
+        PersistentMap<Key, Integer> map = PersistentMap.empty();
+        Map<Key, Integer> reference = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            int v = random.nextInt(500);
+            Key key = new Key(v, v % 64 == 0 ? 0 : v * 0x9E3779B1);
+            if (random.nextInt(3) == 0) {
+                map = map.without(key);
+                reference.remove(key);
+            } else {
+                int value = random.nextInt(10);
+                map = map.with(key, value);
+                reference.put(key, value);
+            }
+            assertEquals(reference.size(), map.size());
+        }
+        assertEquals(reference, map.toMap());
+    }
+}
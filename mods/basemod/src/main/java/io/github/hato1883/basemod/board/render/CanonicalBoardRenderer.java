@@ -1,11 +1,10 @@
 package io.github.hato1883.basemod.board.render;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.*;
-import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 
 import io.github.hato1883.api.assets.AssetUpgradeNotifier;
@@ -17,6 +16,7 @@ import io.github.hato1883.api.ui.render.IBoardRenderer;
 import io.github.hato1883.api.world.board.*;
 import io.github.hato1883.api.ui.sprites.PolygonTileSprite;
 import io.github.hato1883.api.ui.factories.PolygonSpriteFactory;
+import io.github.hato1883.core.assets.management.fonts.DistanceFieldFontBaker;
 
 import java.util.*;
 
@@ -24,9 +24,22 @@ import java.util.*;
  * Canonical board renderer for Catan using the new ITileGrid/ITile system.
  */
 public class CanonicalBoardRenderer implements IBoardRenderer {
+    // Mesh chunks span this many tiles per side, so off-screen parts of a large board are skipped
+    private static final int MESH_BLOCK_TILES = 16;
+    private static final float TOKEN_FONT_SCALE = 0.10f; // Shrink text
+
     private final RendererConfig config;
     private final PolygonSpriteFactory spriteFactory;
     private final Map<Integer, List<PolygonTileSprite>> lodToSprites = new HashMap<>();
+    // Sprites of each LOD baked into static meshes, drawn instead of the sprites
+    private final Map<Integer, StaticBoardMesh> lodToMesh = new HashMap<>();
+    // Sprites of each LOD by world bounds, so a frame only visits the tiles on screen
+    private final Map<Integer, SpatialGrid<PolygonTileSprite>> lodToIndex = new HashMap<>();
+    private final List<PolygonTileSprite> visibleSprites = new ArrayList<>();
+    private final List<ITile> visibleTiles = new ArrayList<>();
+    private final float[] visibleArea = new float[4];
+    private float[] boardCenter;
+    private ShaderProgram meshShader;
     private List<PolygonTileSprite> currentSpriteList = Collections.emptyList();
     private int currentLod = -1;
     private IAssetProvider assets;
@@ -37,11 +50,13 @@ public class CanonicalBoardRenderer implements IBoardRenderer {
 
     private final Set<Integer> availableLods = new HashSet<>();
     private BitmapFont numberFont;
+    private boolean ownsNumberFont;
+    private ShaderProgram fontShader;
     private SpriteBatch textBatch;
-    private final GlyphLayout glyphLayout = new GlyphLayout();
 
     private Texture bandTexture;
     private TileBandRenderer bandRenderer;
+    private NumberTokenLayer tokenLayer;
 
     public CanonicalBoardRenderer(RendererConfig config) {
         this.config = config;
@@ -59,33 +74,19 @@ public class CanonicalBoardRenderer implements IBoardRenderer {
             shapeRenderer = new ShapeRenderer();
         }
         if (numberFont == null) {
-            // Use getFont from asset provider, and generate a large font (size 144) from Roboto-Regular.ttf
-            try {
-                // Try to get a font from the asset provider (should be Roboto-Regular.ttf)
-                BitmapFont baseFont = assets.getFont("font/Roboto-Regular.ttf");
-                if (baseFont != null) {
-                    // Generate a large font using FreeTypeFontGenerator
-                    FreeTypeFontGenerator generator =
-                        new FreeTypeFontGenerator(
-                            Gdx.files.internal("fonts/Roboto-Regular.ttf"));
-                    FreeTypeFontGenerator.FreeTypeFontParameter param =
-                        new FreeTypeFontGenerator.FreeTypeFontParameter();
-                    param.size = 144;
-                    param.minFilter = Texture.TextureFilter.Linear;
-                    param.magFilter = Texture.TextureFilter.Linear;
-                    numberFont = generator.generateFont(param);
-                    generator.dispose();
-                } else {
-                    numberFont = new BitmapFont();
-                }
-            } catch (Exception e) {
+            // The loader's token font is shared; it is a prebaked distance field font when baking succeeded
+            numberFont = assets.getFont("fonts/Roboto-Regular.ttf");
+            ownsNumberFont = numberFont == null;
+            if (ownsNumberFont) {
                 numberFont = new BitmapFont(); // fallback, but may be low-res
             }
         }
+        if (numberFont instanceof DistanceFieldFont && fontShader == null) {
+            fontShader = DistanceFieldFontBaker.createShader();
+        }
         if (textBatch == null) {
             textBatch = new SpriteBatch();
         }
-        float fontScale = 0.10f; // Shrink text
         float bandPadding = config.tileRadius() * 0.05f; // Shrink band
         if (bandTexture == null) {
             Pixmap pixmap = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
@@ -95,6 +96,7 @@ public class CanonicalBoardRenderer implements IBoardRenderer {
             pixmap.dispose();
         }
         bandRenderer = new TileBandRenderer(bandTexture, bandPadding);
+        tokenLayer = new NumberTokenLayer(bandRenderer);
         // Only generate sprites for the lowest available LOD
         int lowestLod = 3;
         regenerateHexagonSpritesForLod(board, lowestLod);
@@ -119,6 +121,19 @@ public class CanonicalBoardRenderer implements IBoardRenderer {
                 }
             }
         );
+        if (notifier instanceof TextureUpgradeNotifier textures) {
+            // Sprites of an evicted LOD reference disposed textures; the next render picks another LOD
+            textures.onTextureEviction((provider, lod) -> {
+                availableLods.remove(lod);
+                lodToSprites.remove(lod);
+                lodToIndex.remove(lod);
+                disposeMesh(lod);
+                if (lod == currentLod) {
+                    currentLod = -1;
+                    currentSpriteList = Collections.emptyList();
+                }
+            });
+        }
     }
 
     private float getTileDiameter() {
@@ -128,7 +143,7 @@ public class CanonicalBoardRenderer implements IBoardRenderer {
     private void regenerateHexagonSpritesForLod(IBoardView board, int lod) {
         List<PolygonTileSprite> sprites = new ArrayList<>(board.getTiles().size());
         float diameter = getTileDiameter();
-        float[] boardCenter = computeBoardPixelCenter(board, diameter);
+        boardCenter = computeBoardPixelCenter(board, diameter);
         float centerX = boardCenter[0];
         float centerY = boardCenter[1];
         boolean debugPrinted = false;
@@ -159,11 +174,20 @@ public class CanonicalBoardRenderer implements IBoardRenderer {
             sprites.add(sprite);
         }
         lodToSprites.put(lod, sprites);
+        lodToIndex.put(lod, SpatialGrid.build(sprites, PolygonSprite::getBoundingRectangle));
+        // The geometry is static, so it is uploaded once here instead of every frame
+        disposeMesh(lod);
+        lodToMesh.put(lod, StaticBoardMesh.bake(sprites, MESH_BLOCK_TILES * diameter));
         if (lod == currentLod) {
             currentSpriteList = lodToSprites.get(currentLod);
         }
     }
 
+    private void disposeMesh(int lod) {
+        StaticBoardMesh mesh = lodToMesh.remove(lod);
+        if (mesh != null) mesh.dispose();
+    }
+
     /**
      * Computes the average pixel position (center) of all tiles for centering the board.
      */
@@ -224,16 +248,50 @@ public class CanonicalBoardRenderer implements IBoardRenderer {
         ensureBatchesAndFont();
         int bestLod = selectBestLod(camera.zoom);
         updateCurrentLod(bestLod);
-        renderHexTiles(camera);
+        // Keep the drawn LOD resident and stream in the one the zoom asks for
+        assets.markLodInUse(currentLod);
+        assets.markLodInUse(lodFromZoom(camera.zoom));
+        updateVisibleArea(camera);
+        collectVisibleTiles(board, visibleArea);
+        renderHexTiles(camera, visibleArea);
         renderNumberTokens(camera, board);
     }
 
+    /**
+     * Sets minX, minY, maxX, maxY of the world area the camera shows, grown by one tile on each side.
+     */
+    private void updateVisibleArea(OrthographicCamera camera) {
+        float margin = getTileDiameter();
+        float extentX = camera.viewportWidth * camera.zoom / 2f + margin;
+        float extentY = camera.viewportHeight * camera.zoom / 2f + margin;
+        visibleArea[0] = camera.position.x - extentX;
+        visibleArea[1] = camera.position.y - extentY;
+        visibleArea[2] = camera.position.x + extentX;
+        visibleArea[3] = camera.position.y + extentY;
+    }
+
+    private void collectVisibleTiles(IBoardView board, float[] view) {
+        visibleTiles.clear();
+        SpatialGrid<PolygonTileSprite> index = lodToIndex.get(currentLod);
+        if (index == null) {
+            // No sprites for this LOD yet; tokens are still drawn for every tile
+            visibleSprites.clear();
+            visibleTiles.addAll(board.getTiles());
+            return;
+        }
+        index.query(view[0], view[1], view[2], view[3], visibleSprites);
+        for (int i = 0; i < visibleSprites.size(); i++) {
+            visibleTiles.add(visibleSprites.get(i).getTile());
+        }
+    }
+
     private void ensureBatchesAndFont() {
         if (polyBatch == null) {
             polyBatch = new PolygonSpriteBatch();
         }
         if (numberFont == null) {
             numberFont = new BitmapFont();
+            ownsNumberFont = true;
         }
         if (textBatch == null) {
             textBatch = new SpriteBatch();
@@ -258,10 +316,18 @@ public class CanonicalBoardRenderer implements IBoardRenderer {
         }
     }
 
-    private void renderHexTiles(OrthographicCamera camera) {
+    private void renderHexTiles(OrthographicCamera camera, float[] view) {
+        StaticBoardMesh mesh = lodToMesh.get(currentLod);
+        if (mesh != null) {
+            if (meshShader == null) {
+                meshShader = SpriteBatch.createDefaultShader();
+            }
+            mesh.render(meshShader, camera.combined, view[0], view[1], view[2], view[3]);
+            return;
+        }
         polyBatch.setProjectionMatrix(camera.combined);
         polyBatch.begin();
-        for (PolygonTileSprite s : currentSpriteList) {
+        for (PolygonTileSprite s : visibleSprites) {
             s.draw(polyBatch);
         }
         polyBatch.end();
@@ -314,68 +380,30 @@ public class CanonicalBoardRenderer implements IBoardRenderer {
     }
 
     private void renderNumberTokens(OrthographicCamera camera, IBoardView board) {
-        float diameter = getTileDiameter();
-        float[] boardCenter = computeBoardPixelCenter(board, diameter);
-        float centerX = boardCenter[0];
-        float centerY = boardCenter[1];
-        float tileRadius = config.tileRadius();
-        float tileGap = config.tileGap();
-        float fontScale = 0.10f; // Shrink text
-        float prevFontScaleX = numberFont.getData().scaleX;
-        float prevFontScaleY = numberFont.getData().scaleY;
-        numberFont.getData().setScale(fontScale);
-        // Draw filled band polygons using TileBandRenderer
+        if (!tokenLayer.isBuiltFor(board, numberFont)) {
+            // Labels and bands depend only on the board and font, not on the LOD drawn
+            float[] center = boardCenter != null ? boardCenter : computeBoardPixelCenter(board, getTileDiameter());
+            tokenLayer.rebuild(board, numberFont, TOKEN_FONT_SCALE, config.tileRadius(), config.tileGap(), center);
+        }
+        polyBatch.setProjectionMatrix(camera.combined);
         polyBatch.begin();
-        bandRenderer.drawBands(polyBatch, board, tileRadius, tileGap, boardCenter, numberFont);
+        tokenLayer.drawBands(polyBatch, visibleTiles);
         polyBatch.end();
-        // Draw text as before
         textBatch.setProjectionMatrix(camera.combined);
+        if (fontShader != null && numberFont instanceof DistanceFieldFont sdfFont) {
+            // One small field page stays sharp at every zoom; only the edge smoothing follows the zoom
+            textBatch.setShader(fontShader);
+            DistanceFieldFontBaker.updateSmoothing(sdfFont, camera.zoom);
+        }
+        // The font scale still applies when drawing, to the distance field edge width
+        float prevFontScaleX = numberFont.getData().scaleX;
+        float prevFontScaleY = numberFont.getData().scaleY;
+        numberFont.getData().setScale(TOKEN_FONT_SCALE);
         textBatch.begin();
-        for (ITile tile : board.getTiles()) {
-            float x = tile.getPosition().x() * diameter - centerX;
-            float y = tile.getPosition().y() * diameter - centerY;
-            Collection<Integer> numbers = null;
-            try {
-                numbers = tile.getProductionNumbers();
-            } catch (Exception ignored) {}
-            if (numbers != null && !numbers.isEmpty()) {
-                String text = numbers.stream().map(String::valueOf).reduce((a, b) -> a + ", " + b).orElse("");
-                glyphLayout.setText(numberFont, text);
-                float textWidth = glyphLayout.width;
-                float textHeight = glyphLayout.height;
-                float bandHeight = textHeight + tileRadius * 0.05f;
-                PolygonShape shape = board.getGrid().orElseGet(() -> board.getGridForTile(tile)).getPolygonShape(tile);
-                float[] verts = shape.vertices;
-                float[] origin = shape.origin;
-                // Use canonical vertex order: verts[0,1]=A, verts[2,3]=B, verts[4,5]=C
-                // For up triangle: tip is C (verts[4,5]), for down: tip is C (verts[4,5])
-                boolean up = Math.abs(tile.getPosition().getYaw()) < 1e-3 || Math.abs(tile.getPosition().getYaw() - 360f) < 1e-3;
-                int tipIdx = 4; // always C
-                float[] tip = { verts[tipIdx], verts[tipIdx+1] };
-                float[] centroid = { origin[0], origin[1] };
-                // Compute base midpoint (A and B)
-                float baseMidX = (verts[0] + verts[2]) / 2f;
-                float baseMidY = (verts[1] + verts[3]) / 2f;
-                float bandFrac = 0.6f;
-                float bandCenterX, bandCenterY;
-                if (verts.length == 6) { // triangle
-                    baseMidX = (verts[0] + verts[2]) / 2f;
-                    baseMidY = (verts[1] + verts[3]) / 2f;
-                    bandFrac = 0.6f;
-                    bandCenterX = centroid[0] + bandFrac * (baseMidX - centroid[0]);
-                    bandCenterY = centroid[1] + bandFrac * (baseMidY - centroid[1]);
-                } else { // hexagon or other
-                    bandCenterX = centroid[0];
-                    bandCenterY = centroid[1];
-                }
-                float scale = tileRadius * 2;
-                float bandCenterWorldX = bandCenterX * scale + x - origin[0] * scale;
-                float bandCenterWorldY = bandCenterY * scale + y - origin[1] * scale;
-                float textX = bandCenterWorldX - textWidth / 2f;
-                float textY = bandCenterWorldY + textHeight / 2f;
-                numberFont.draw(textBatch, glyphLayout, textX, textY);
-            }
+        if (fontShader != null && numberFont instanceof DistanceFieldFont sdfFont) {
+            DistanceFieldFontBaker.applyOutline(fontShader, sdfFont);
         }
+        tokenLayer.drawLabels(textBatch, visibleTiles);
         textBatch.end();
         numberFont.getData().setScale(prevFontScaleX, prevFontScaleY);
     }
@@ -391,25 +419,35 @@ public class CanonicalBoardRenderer implements IBoardRenderer {
             textBatch = null;
         }
         if (numberFont != null) {
-            numberFont.dispose();
+            // A font from the asset provider is disposed by its loader
+            if (ownsNumberFont) numberFont.dispose();
             numberFont = null;
         }
+        if (fontShader != null) {
+            fontShader.dispose();
+            fontShader = null;
+        }
+        for (StaticBoardMesh mesh : lodToMesh.values()) {
+            mesh.dispose();
+        }
+        lodToMesh.clear();
+        lodToIndex.clear();
+        visibleSprites.clear();
+        visibleTiles.clear();
+        if (meshShader != null) {
+            meshShader.dispose();
+            meshShader = null;
+        }
         if (bandTexture != null) {
             bandTexture.dispose();
             bandTexture = null;
         }
-        if (bandRenderer != null) bandRenderer.clearCache();
+        if (tokenLayer != null) tokenLayer.invalidate();
     }
 
     private int lodFromZoom(float zoom) {
         // Select LOD based on the tile's height in screen pixels after zoom
-        if (zoom <= 0) return 3; // fallback to lowest LOD
-        float tileWorldHeight = 2f * config.tileRadius();
-        float tilePixelHeight = tileWorldHeight / zoom;
-        if (tilePixelHeight > 256) return 0;
-        else if (tilePixelHeight > 128) return 1;
-        else if (tilePixelHeight > 64)  return 2;
-        else return 3;
+        return config.lodForZoom(zoom);
     }
 
     /**
@@ -0,0 +1,156 @@
+package io.github.hato1883.basemod.board.render;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.PolygonSprite;
+import com.badlogic.gdx.graphics.g2d.PolygonSpriteBatch;
+import io.github.hato1883.api.ui.model.IBoardView;
+import io.github.hato1883.api.world.board.ITile;
+import io.github.hato1883.api.world.board.PolygonShape;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Number tokens of a board laid out once: the label, its band and its glyph vertices per tile.
+ * <p>
+ * {@link #rebuild} formats the production numbers, lays the text out into a {@link BitmapFontCache}
+ * and builds the band sprite, all in world coordinates. Drawing replays the cached vertices of the
+ * requested tiles without allocating. Rebuild whenever the tiles, their numbers, the font or the
+ * board geometry change; {@link #isBuiltFor} detects changed tiles, positions and numbers itself, since
+ * the board view has no revision to compare.
+ */
+final class NumberTokenLayer {
+    private record Token(PolygonSprite band, BitmapFontCache label) {}
+
+    private final TileBandRenderer bandRenderer;
+    private final Map<ITile, Token> tokens = new HashMap<>();
+    private final GlyphLayout glyphLayout = new GlyphLayout();
+    private IBoardView board;
+    private BitmapFont font;
+    private int boardState;
+
+    NumberTokenLayer(TileBandRenderer bandRenderer) {
+        this.bandRenderer = bandRenderer;
+    }
+
+    /**
+     * Lays out the tokens of every tile.
+     *
+     * @param fontScale font scale the labels are laid out and drawn at
+     */
+    void rebuild(IBoardView board, BitmapFont font, float fontScale, float tileRadius, float tileGap, float[] boardCenter) {
+        tokens.clear();
+        this.board = board;
+        this.font = font;
+        this.boardState = stateHash(board);
+        float diameter = tileRadius * 2 + tileGap;
+        float scale = tileRadius * 2;
+        float prevScaleX = font.getData().scaleX;
+        float prevScaleY = font.getData().scaleY;
+        font.getData().setScale(fontScale);
+        try {
+            for (ITile tile : board.getTiles()) {
+                String text = label(tile);
+                if (text == null) continue;
+                glyphLayout.setText(font, text);
+                float textWidth = glyphLayout.width;
+                float textHeight = glyphLayout.height;
+
+                PolygonShape shape = board.getGrid().orElseGet(() -> board.getGridForTile(tile)).getPolygonShape(tile);
+                float x = tile.getPosition().x() * diameter - boardCenter[0];
+                float y = tile.getPosition().y() * diameter - boardCenter[1];
+                float bandCenterWorldX = TileBandRenderer.bandCenterX(shape) * scale + x - shape.origin[0] * scale;
+                float bandCenterWorldY = TileBandRenderer.bandCenterY(shape) * scale + y - shape.origin[1] * scale;
+
+                // Tokens are drawn white on the dark bands, whatever color the shared font is styled with
+                BitmapFontCache cache = font.newFontCache();
+                cache.setColor(Color.WHITE);
+                cache.setText(text, bandCenterWorldX - textWidth / 2f, bandCenterWorldY + textHeight / 2f);
+                PolygonSprite band = bandRenderer.createBand(board, tile, tileRadius, tileGap, boardCenter, textHeight);
+                tokens.put(tile, new Token(band, cache));
+            }
+        } finally {
+            font.getData().setScale(prevScaleX, prevScaleY);
+        }
+    }
+
+    /**
+     * @return {@code true} if the layer was laid out for this board and font, and the tiles, their
+     *         positions and production numbers did not change since
+     */
+    boolean isBuiltFor(IBoardView board, BitmapFont font) {
+        return this.board == board && this.font == font && boardState == stateHash(board);
+    }
+
+    /**
+     * Hashes what the labels are laid out from, without allocating beyond the iterators.
+     */
+    static int stateHash(IBoardView board) {
+        int hash = 1;
+        for (ITile tile : board.getTiles()) {
+            hash = 31 * hash + System.identityHashCode(tile);
+            hash = 31 * hash + Float.hashCode(tile.getPosition().x());
+            hash = 31 * hash + Float.hashCode(tile.getPosition().y());
+            Collection<Integer> numbers = productionNumbers(tile);
+            if (numbers == null) continue;
+            for (Integer number : numbers) {
+                hash = 31 * hash + Objects.hashCode(number);
+            }
+            hash = 31 * hash + numbers.size();
+        }
+        return hash;
+    }
+
+    void invalidate() {
+        tokens.clear();
+        board = null;
+        font = null;
+    }
+
+    void drawBands(PolygonSpriteBatch batch, List<ITile> tiles) {
+        // Indexed loops; an iterator per frame is the only allocation left otherwise
+        for (int i = 0; i < tiles.size(); i++) {
+            Token token = tokens.get(tiles.get(i));
+            if (token != null && token.band() != null) token.band().draw(batch);
+        }
+    }
+
+    /**
+     * Draws the labels; the font must be at the scale the layer was built with.
+     */
+    void drawLabels(Batch batch, List<ITile> tiles) {
+        for (int i = 0; i < tiles.size(); i++) {
+            Token token = tokens.get(tiles.get(i));
+            if (token != null) token.label().draw(batch);
+        }
+    }
+
+    /**
+     * @return the production numbers of the tile joined by commas, or {@code null} if it has none
+     */
+    private static String label(ITile tile) {
+        Collection<Integer> numbers = productionNumbers(tile);
+        if (numbers == null || numbers.isEmpty()) return null;
+        StringBuilder text = new StringBuilder();
+        for (Integer number : numbers) {
+            if (!text.isEmpty()) text.append(", ");
+            text.append(number);
+        }
+        return text.toString();
+    }
+
+    private static Collection<Integer> productionNumbers(ITile tile) {
+        try {
+            return tile.getProductionNumbers();
+        } catch (Exception ignored) {
+            return null;
+        }
+    }
+}
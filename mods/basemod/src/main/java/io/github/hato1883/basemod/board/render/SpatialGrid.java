@@ -0,0 +1,167 @@
+package io.github.hato1883.basemod.board.render;
+
+import com.badlogic.gdx.math.Rectangle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Uniform grid over the world bounds of board items, for finding the ones in a visible area.
+ * <p>
+ * Cells are about twice the size of an average item, so an item lies in a few cells and a query
+ * visits roughly the items it returns. Items spanning several cells are returned once. The grid is
+ * immutable; rebuild it when the items move.
+ */
+final class SpatialGrid<T> {
+    // Keeps the cell array proportional to the item count for sparse or oddly shaped boards
+    private static final int MAX_CELLS_PER_ITEM = 4;
+
+    private final List<T> items;
+    private final float[] bounds; // minX, minY, maxX, maxY per item
+    private final float originX;
+    private final float originY;
+    private final float cellSize;
+    private final int columns;
+    private final int rows;
+    private final int[] cellStart; // items of cell c are cellItems[cellStart[c] .. cellStart[c + 1])
+    private final int[] cellItems;
+    private final int[] seenStamp;
+    private int stamp;
+
+    private SpatialGrid(List<T> items, float[] bounds, float originX, float originY, float cellSize,
+                        int columns, int rows, int[] cellStart, int[] cellItems) {
+        this.items = items;
+        this.bounds = bounds;
+        this.originX = originX;
+        this.originY = originY;
+        this.cellSize = cellSize;
+        this.columns = columns;
+        this.rows = rows;
+        this.cellStart = cellStart;
+        this.cellItems = cellItems;
+        this.seenStamp = new int[items.size()];
+    }
+
+    static <T> SpatialGrid<T> build(List<T> items, Function<? super T, Rectangle> boundsOf) {
+        List<T> copy = List.copyOf(items);
+        int count = copy.size();
+        float[] bounds = new float[count * 4];
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+        double extentSum = 0;
+        for (int i = 0; i < count; i++) {
+            Rectangle r = boundsOf.apply(copy.get(i));
+            bounds[i * 4] = r.x;
+            bounds[i * 4 + 1] = r.y;
+            bounds[i * 4 + 2] = r.x + r.width;
+            bounds[i * 4 + 3] = r.y + r.height;
+            minX = Math.min(minX, r.x);
+            minY = Math.min(minY, r.y);
+            maxX = Math.max(maxX, r.x + r.width);
+            maxY = Math.max(maxY, r.y + r.height);
+            extentSum += Math.max(r.width, r.height);
+        }
+        if (count == 0) {
+            return new SpatialGrid<>(copy, bounds, 0, 0, 1, 1, 1, new int[2], new int[0]);
+        }
+
+        float width = Math.max(maxX - minX, 1e-3f);
+        float height = Math.max(maxY - minY, 1e-3f);
+        float cellSize = Math.max((float) (2 * extentSum / count), 1e-3f);
+        while ((long) cellsAlong(width, cellSize) * cellsAlong(height, cellSize) > (long) MAX_CELLS_PER_ITEM * count) {
+            cellSize *= 2;
+        }
+        int columns = cellsAlong(width, cellSize);
+        int rows = cellsAlong(height, cellSize);
+
+        // Count the items per cell, then fill a flat array in cell order
+        int[] cellStart = new int[columns * rows + 1];
+        for (int i = 0; i < count; i++) {
+            int[] range = cellRange(bounds, i, minX, minY, cellSize, columns, rows);
+            for (int r = range[1]; r <= range[3]; r++) {
+                for (int c = range[0]; c <= range[2]; c++) {
+                    cellStart[r * columns + c + 1]++;
+                }
+            }
+        }
+        for (int c = 0; c < columns * rows; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        int[] cursor = Arrays.copyOf(cellStart, cellStart.length);
+        int[] cellItems = new int[cellStart[columns * rows]];
+        for (int i = 0; i < count; i++) {
+            int[] range = cellRange(bounds, i, minX, minY, cellSize, columns, rows);
+            for (int r = range[1]; r <= range[3]; r++) {
+                for (int c = range[0]; c <= range[2]; c++) {
+                    cellItems[cursor[r * columns + c]++] = i;
+                }
+            }
+        }
+        return new SpatialGrid<>(copy, bounds, minX, minY, cellSize, columns, rows, cellStart, cellItems);
+    }
+
+    /** @return first column, first row, last column, last row covered by item {@code i} */
+    private static int[] cellRange(float[] bounds, int i, float originX, float originY, float cellSize,
+                                   int columns, int rows) {
+        return new int[]{
+            clamp((int) ((bounds[i * 4] - originX) / cellSize), columns),
+            clamp((int) ((bounds[i * 4 + 1] - originY) / cellSize), rows),
+            clamp((int) ((bounds[i * 4 + 2] - originX) / cellSize), columns),
+            clamp((int) ((bounds[i * 4 + 3] - originY) / cellSize), rows)
+        };
+    }
+
+    /**
+     * Collects the items whose bounds overlap the area into {@code out}, which is cleared first.
+     */
+    void query(float minX, float minY, float maxX, float maxY, List<T> out) {
+        out.clear();
+        if (items.isEmpty() || maxX < minX || maxY < minY) return;
+        if (++stamp == 0) {
+            // Wrapped around; forget every earlier query
+            Arrays.fill(seenStamp, 0);
+            stamp = 1;
+        }
+        int c0 = clamp((int) Math.floor((minX - originX) / cellSize), columns);
+        int r0 = clamp((int) Math.floor((minY - originY) / cellSize), rows);
+        int c1 = clamp((int) Math.floor((maxX - originX) / cellSize), columns);
+        int r1 = clamp((int) Math.floor((maxY - originY) / cellSize), rows);
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int cell = r * columns + c;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int i = cellItems[k];
+                    if (seenStamp[i] == stamp) continue;
+                    seenStamp[i] = stamp;
+                    if (bounds[i * 4] <= maxX && bounds[i * 4 + 2] >= minX
+                        && bounds[i * 4 + 1] <= maxY && bounds[i * 4 + 3] >= minY) {
+                        out.add(items.get(i));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return a new list of the items overlapping the area
+     */
+    List<T> query(float minX, float minY, float maxX, float maxY) {
+        List<T> out = new ArrayList<>();
+        query(minX, minY, maxX, maxY, out);
+        return out;
+    }
+
+    int size() {
+        return items.size();
+    }
+
+    private static int cellsAlong(float length, float cellSize) {
+        return Math.max(1, (int) Math.ceil(length / cellSize));
+    }
+
+    private static int clamp(int cell, int cells) {
+        return Math.max(0, Math.min(cells - 1, cell));
+    }
+}
@@ -0,0 +1,174 @@
+package io.github.hato1883.basemod.board.render;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.g2d.PolygonSprite;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.ShortArray;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tile polygons of one LOD baked into static meshes.
+ * <p>
+ * The world-space vertices of every sprite are copied once into static vertex buffers, one per atlas
+ * page and square block of the board (more if one holds over 65535 vertices, the limit of 16-bit
+ * indices). Drawing skips the blocks outside the visible area and issues one draw call for each
+ * remaining buffer, with the camera passed only as the projection uniform, so a frame does no
+ * per-tile vertex work. The vertex layout is that of {@link com.badlogic.gdx.graphics.g2d.SpriteBatch},
+ * so its default shader is used.
+ * <p>
+ * The meshes reference the atlas textures of their LOD; dispose and rebuild them when that atlas is
+ * unloaded or the sprites are regenerated.
+ */
+final class StaticBoardMesh implements Disposable {
+    // x, y, packed color, u, v; the layout of PolygonSprite.getVertices()
+    private static final int VERTEX_SIZE = 5;
+    private static final int MAX_VERTICES = 65535;
+
+    private record Page(Texture texture, Mesh mesh, float minX, float minY, float maxX, float maxY) {}
+
+    private record BlockKey(Texture texture, int column, int row) {}
+
+    /** Vertices and 16-bit indices of one buffer before upload, with the world bounds of its vertices. */
+    record Geometry(Texture texture, float[] vertices, short[] indices,
+                    float minX, float minY, float maxX, float maxY) {
+
+        int vertexCount() {
+            return vertices.length / VERTEX_SIZE;
+        }
+
+        Mesh toMesh() {
+            Mesh mesh = new Mesh(true, vertexCount(), indices.length, new VertexAttributes(
+                new VertexAttribute(VertexAttributes.Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+                VertexAttribute.ColorPacked(),
+                VertexAttribute.TexCoords(0)));
+            mesh.setVertices(vertices);
+            mesh.setIndices(indices);
+            return mesh;
+        }
+    }
+
+    private final List<Page> pages;
+
+    private StaticBoardMesh(List<Page> pages) {
+        this.pages = pages;
+    }
+
+    /**
+     * Bakes the current world-space vertices of the sprites. Must run on the render thread.
+     *
+     * @param blockSize world size of the square blocks the board is split into for culling
+     */
+    static StaticBoardMesh bake(List<? extends PolygonSprite> sprites, float blockSize) {
+        List<Page> pages = new ArrayList<>();
+        for (Geometry geometry : layout(sprites, blockSize)) {
+            pages.add(new Page(geometry.texture(), geometry.toMesh(),
+                geometry.minX(), geometry.minY(), geometry.maxX(), geometry.maxY()));
+        }
+        return new StaticBoardMesh(pages);
+    }
+
+    /**
+     * Groups the current world-space vertices of the sprites into buffers by texture and block, without
+     * touching the GL.
+     */
+    static List<Geometry> layout(List<? extends PolygonSprite> sprites, float blockSize) {
+        Map<BlockKey, List<Chunk>> chunksByBlock = new LinkedHashMap<>();
+        for (PolygonSprite sprite : sprites) {
+            Texture texture = sprite.getRegion().getRegion().getTexture();
+            float[] vertices = sprite.getVertices();
+            short[] triangles = sprite.getRegion().getTriangles();
+            int vertexCount = vertices.length / VERTEX_SIZE;
+            // A sprite belongs to the block of its first vertex; block bounds grow to cover it whole
+            BlockKey key = new BlockKey(texture,
+                (int) Math.floor(vertices[0] / blockSize), (int) Math.floor(vertices[1] / blockSize));
+
+            List<Chunk> chunks = chunksByBlock.computeIfAbsent(key, k -> new ArrayList<>());
+            Chunk chunk = chunks.isEmpty() ? null : chunks.getLast();
+            if (chunk == null || chunk.vertexCount() + vertexCount > MAX_VERTICES) {
+                chunk = new Chunk();
+                chunks.add(chunk);
+            }
+            chunk.add(vertices, triangles);
+        }
+
+        List<Geometry> geometries = new ArrayList<>();
+        for (Map.Entry<BlockKey, List<Chunk>> entry : chunksByBlock.entrySet()) {
+            for (Chunk chunk : entry.getValue()) {
+                geometries.add(chunk.toGeometry(entry.getKey().texture()));
+            }
+        }
+        return geometries;
+    }
+
+    /**
+     * Draws the buffers overlapping the world area with one draw call each.
+     */
+    void render(ShaderProgram shader, Matrix4 projection, float minX, float minY, float maxX, float maxY) {
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        shader.bind();
+        shader.setUniformMatrix("u_projTrans", projection);
+        shader.setUniformi("u_texture", 0);
+        for (Page page : pages) {
+            if (page.minX() > maxX || page.maxX() < minX || page.minY() > maxY || page.maxY() < minY) continue;
+            page.texture().bind(0);
+            page.mesh().render(shader, GL20.GL_TRIANGLES);
+        }
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+    }
+
+    int pageCount() {
+        return pages.size();
+    }
+
+    @Override
+    public void dispose() {
+        for (Page page : pages) {
+            page.mesh().dispose();
+        }
+        pages.clear();
+    }
+
+    /** Vertices and indices collected for one buffer. */
+    private static final class Chunk {
+        private final FloatArray vertices = new FloatArray();
+        private final ShortArray indices = new ShortArray();
+        private float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY;
+        private float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+
+        int vertexCount() {
+            return vertices.size / VERTEX_SIZE;
+        }
+
+        void add(float[] spriteVertices, short[] triangles) {
+            int base = vertexCount();
+            vertices.addAll(spriteVertices);
+            for (int i = 0; i < spriteVertices.length; i += VERTEX_SIZE) {
+                minX = Math.min(minX, spriteVertices[i]);
+                minY = Math.min(minY, spriteVertices[i + 1]);
+                maxX = Math.max(maxX, spriteVertices[i]);
+                maxY = Math.max(maxY, spriteVertices[i + 1]);
+            }
+            for (short index : triangles) {
+                // Unsigned 16-bit indices, as the GL reads them
+                indices.add((short) (base + (index & 0xFFFF)));
+            }
+        }
+
+        Geometry toGeometry(Texture texture) {
+            return new Geometry(texture, vertices.toArray(), indices.toArray(), minX, minY, maxX, maxY);
+        }
+    }
+}
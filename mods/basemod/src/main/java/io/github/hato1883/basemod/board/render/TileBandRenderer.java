@@ -2,86 +2,70 @@ package io.github.hato1883.basemod.board.render;
 
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.PolygonSprite;
-import com.badlogic.gdx.graphics.g2d.PolygonSpriteBatch;
 import com.badlogic.gdx.graphics.g2d.PolygonRegion;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
-import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import io.github.hato1883.api.ui.model.IBoardView;
 import io.github.hato1883.api.world.board.ITile;
 import io.github.hato1883.api.world.board.ITilePosition;
 import io.github.hato1883.api.world.board.PolygonShape;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
 
+/**
+ * Builds the translucent band drawn behind the number token of a tile.
+ * <p>
+ * Bands are built in world coordinates, so callers keep the sprites and draw them every frame
+ * until the board layout changes.
+ */
 public class TileBandRenderer {
-    private final Map<ITile, PolygonSprite> bandSprites = new HashMap<>();
     private final Texture bandTexture;
     private final float bandPadding;
-    private final GlyphLayout glyphLayout = new GlyphLayout();
 
     public TileBandRenderer(Texture bandTexture, float bandPadding) {
         this.bandTexture = bandTexture;
         this.bandPadding = bandPadding;
     }
 
-    public void drawBands(PolygonSpriteBatch polyBatch, IBoardView board, float tileRadius, float tileGap, float[] boardCenter, BitmapFont numberFont) {
+    /**
+     * @param textHeight height of the label the band sits behind
+     * @return the band of the tile, or {@code null} if it is clipped away entirely
+     */
+    public PolygonSprite createBand(IBoardView board, ITile tile, float tileRadius, float tileGap, float[] boardCenter, float textHeight) {
         float spacingRadius = tileRadius * 2 + tileGap;
-        float centerX = boardCenter[0];
-        float centerY = boardCenter[1];
-        for (ITile tile : board.getTiles()) {
-            ITilePosition pixelPos = tile.getPosition();
-            float x = pixelPos.x() * spacingRadius - centerX;
-            float y = pixelPos.y() * spacingRadius - centerY;
-            Collection<Integer> numbers = null;
-            try { numbers = tile.getProductionNumbers(); } catch (Exception ignored) {}
-            if (numbers != null && !numbers.isEmpty()) {
-                glyphLayout.setText(numberFont, numbers.stream().map(String::valueOf).reduce((a, b) -> a + ", " + b).orElse(""));
-                float textHeight = glyphLayout.height;
-                float bandHeight = textHeight + bandPadding;
-                PolygonShape shape = board.getGrid().orElseGet(() -> board.getGridForTile(tile)).getPolygonShape(tile);
-                float[] verts = shape.vertices;
-                float[] origin = shape.origin;
-                float[] centroid = { origin[0], origin[1] };
-                float bandCenterX, bandCenterY;
-                if (verts.length == 6) { // triangle
-                    float baseMidX = (verts[0] + verts[2]) / 2f;
-                    float baseMidY = (verts[1] + verts[3]) / 2f;
-                    float bandFrac = 0.6f;
-                    bandCenterX = centroid[0] + bandFrac * (baseMidX - centroid[0]);
-                    bandCenterY = centroid[1] + bandFrac * (baseMidY - centroid[1]);
-                } else { // hexagon or other
-                    bandCenterX = centroid[0];
-                    bandCenterY = centroid[1];
-                }
-                float scale = tileRadius * 2;
-                float bandCenterWorldY = bandCenterY * scale + y - origin[1] * scale;
-                float[] triVerts = new float[verts.length];
-                for (int i = 0; i < verts.length; i += 2) {
-                    triVerts[i] = verts[i] * scale + x - origin[0] * scale;
-                    triVerts[i+1] = verts[i+1] * scale + y - origin[1] * scale;
-                }
-                float bandBottom = bandCenterWorldY - bandHeight / 2f;
-                float bandTop = bandCenterWorldY + bandHeight / 2f;
-                float[] bandPoly = CanonicalBoardRenderer.clipPolygonToBand(triVerts, bandBottom, bandTop);
-                if (bandPoly.length >= 6) {
-                    PolygonSprite bandSprite = bandSprites.get(tile);
-                    boolean needsUpdate = bandSprite == null || bandSprite.getVertices().length != bandPoly.length;
-                    if (needsUpdate) {
-                        PolygonRegion region = new PolygonRegion(new TextureRegion(bandTexture), bandPoly, CanonicalBoardRenderer.triangulateBand(bandPoly));
-                        bandSprite = new PolygonSprite(region);
-                        bandSprites.put(tile, bandSprite);
-                    } else {
-                        bandSprite.setPosition(0, 0);
-                    }
-                    bandSprite.draw(polyBatch);
-                }
-            }
+        ITilePosition pixelPos = tile.getPosition();
+        float x = pixelPos.x() * spacingRadius - boardCenter[0];
+        float y = pixelPos.y() * spacingRadius - boardCenter[1];
+        float bandHeight = textHeight + bandPadding;
+        PolygonShape shape = board.getGrid().orElseGet(() -> board.getGridForTile(tile)).getPolygonShape(tile);
+        float[] verts = shape.vertices;
+        float[] origin = shape.origin;
+        float scale = tileRadius * 2;
+        float bandCenterWorldY = bandCenterY(shape) * scale + y - origin[1] * scale;
+        float[] triVerts = new float[verts.length];
+        for (int i = 0; i < verts.length; i += 2) {
+            triVerts[i] = verts[i] * scale + x - origin[0] * scale;
+            triVerts[i+1] = verts[i+1] * scale + y - origin[1] * scale;
         }
+        float bandBottom = bandCenterWorldY - bandHeight / 2f;
+        float bandTop = bandCenterWorldY + bandHeight / 2f;
+        float[] bandPoly = CanonicalBoardRenderer.clipPolygonToBand(triVerts, bandBottom, bandTop);
+        if (bandPoly.length < 6) return null;
+        PolygonRegion region = new PolygonRegion(new TextureRegion(bandTexture), bandPoly, CanonicalBoardRenderer.triangulateBand(bandPoly));
+        return new PolygonSprite(region);
     }
 
-    public void clearCache() {
-        bandSprites.clear();
+    /**
+     * @return the band center within the normalized shape; triangles carry it towards their base
+     */
+    static float bandCenterX(PolygonShape shape) {
+        float[] verts = shape.vertices;
+        if (verts.length != 6) return shape.origin[0]; // hexagon or other
+        float baseMidX = (verts[0] + verts[2]) / 2f;
+        return shape.origin[0] + 0.6f * (baseMidX - shape.origin[0]);
+    }
+
+    static float bandCenterY(PolygonShape shape) {
+        float[] verts = shape.vertices;
+        if (verts.length != 6) return shape.origin[1];
+        float baseMidY = (verts[1] + verts[3]) / 2f;
+        return shape.origin[1] + 0.6f * (baseMidY - shape.origin[1]);
     }
 }
@@ -15,6 +15,8 @@ import io.github.hato1883.api.world.board.IBoardGenerator;
 import io.github.hato1883.core.assets.management.loaders.RenderAssetLoader;
 import io.github.hato1883.core.assets.management.loaders.DefaultRenderAssetLoader;
 import io.github.hato1883.core.assets.AssetProvider;
+import io.github.hato1883.core.assets.management.textures.TextureResidencyManager;
+import io.github.hato1883.api.async.IAsyncExecutionService;
 import io.github.hato1883.basemod.board.render.CanonicalBoardRenderer;
 import io.github.hato1883.api.ui.model.RendererConfig;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
@@ -62,7 +64,9 @@ public class GameScreen extends AbstractEventDrivenScreen {
         // Fetch the up-to-date IBoardView
         boardView = Services.require(IBoardView.class);
         // Use DefaultRenderAssetLoader with font path
-        renderAssetLoader = new DefaultRenderAssetLoader("fonts/Roboto-Regular.ttf");
+        renderAssetLoader = new DefaultRenderAssetLoader("fonts/Roboto-Regular.ttf",
+            TextureResidencyManager.DEFAULT_BUDGET_BYTES, Services.require(IAsyncExecutionService.class));
+        renderAssetLoader.enableLodStreaming(this, rendererConfig);
         renderAssetLoader.queueAssets();
         assetProvider = null;
         assetsLoaded = false;
@@ -94,8 +98,8 @@ public class GameScreen extends AbstractEventDrivenScreen {
         }
         getCamera().zoom = Math.max(rendererConfig.minZoom(), Math.min(rendererConfig.maxZoom(), getCamera().zoom));
         getCamera().update();
-        // Always update asset loader to process LOD upgrades
-        renderAssetLoader.update();
+        // Always update asset loader to process LOD upgrades; once per frame, it also ages unused atlases
+        boolean assetsDone = renderAssetLoader.update();
         // Create assetProvider and initialize sprites as soon as possible
         if (assetProvider == null) {
             assetProvider = new AssetProvider(renderAssetLoader);
@@ -103,7 +107,7 @@ public class GameScreen extends AbstractEventDrivenScreen {
         }
         // Optionally show loading bar if not done
         if (!assetsLoaded) {
-            if (renderAssetLoader.update()) {
+            if (assetsDone) {
                 assetsLoaded = true;
             } else {
                 renderAssetLoader.renderLoading();
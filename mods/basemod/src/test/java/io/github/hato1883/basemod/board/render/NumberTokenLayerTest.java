@@ -0,0 +1,88 @@
+package io.github.hato1883.basemod.board.render;
+
+import io.github.hato1883.api.ui.model.IBoardView;
+import io.github.hato1883.api.world.board.ITile;
+import io.github.hato1883.api.world.board.ITilePosition;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the board state {@link NumberTokenLayer} compares to decide whether to rebuild its labels.
+ */
+@DisplayName("NumberTokenLayer")
+class NumberTokenLayerTest {
+
+    private final List<ITile> tiles = new ArrayList<>();
+    private final IBoardView board = mock(IBoardView.class);
+
+    NumberTokenLayerTest() {
+        when(board.getTiles()).thenReturn(tiles);
+    }
+
+    private static ITile tile(float x, float y, List<Integer> numbers) {
+        ITilePosition position = mock(ITilePosition.class);
+        when(position.x()).thenReturn(x);
+        when(position.y()).thenReturn(y);
+        ITile tile = mock(ITile.class);
+        when(tile.getPosition()).thenReturn(position);
+        when(tile.getProductionNumbers()).thenReturn(numbers);
+        return tile;
+    }
+
+    @Test
+    @DisplayName("The state hash is stable while nothing changes")
+    void stableState() {
+        tiles.add(tile(0, 0, List.of(6)));
+        tiles.add(tile(1, 0, List.of()));
+        assertEquals(NumberTokenLayer.stateHash(board), NumberTokenLayer.stateHash(board));
+    }
+
+    @Test
+    @DisplayName("Changed production numbers change the state hash")
+    void numbersChangeState() {
+        ITile tile = tile(0, 0, List.of(6));
+        tiles.add(tile);
+        int before = NumberTokenLayer.stateHash(board);
+
+        when(tile.getProductionNumbers()).thenReturn(List.of(8));
+        assertNotEquals(before, NumberTokenLayer.stateHash(board));
+        when(tile.getProductionNumbers()).thenReturn(List.of(6, 8));
+        assertNotEquals(before, NumberTokenLayer.stateHash(board));
+        when(tile.getProductionNumbers()).thenReturn(List.of(6));
+        assertEquals(before, NumberTokenLayer.stateHash(board));
+    }
+
+    @Test
+    @DisplayName("Added, replaced or moved tiles change the state hash")
+    void tilesChangeState() {
+        tiles.add(tile(0, 0, List.of(6)));
+        int before = NumberTokenLayer.stateHash(board);
+
+        tiles.add(tile(1, 0, List.of(5)));
+        int added = NumberTokenLayer.stateHash(board);
+        assertNotEquals(before, added);
+
+        tiles.set(1, tile(1, 0, List.of(5)));
+        assertNotEquals(added, NumberTokenLayer.stateHash(board), "a new tile with the same number");
+
+        ITile moved = tiles.get(0);
+        int unmoved = NumberTokenLayer.stateHash(board);
+        when(moved.getPosition().x()).thenReturn(2f);
+        assertNotEquals(unmoved, NumberTokenLayer.stateHash(board));
+    }
+
+    @Test
+    @DisplayName("Tiles whose numbers cannot be read hash as having none")
+    void failingNumbers() {
+        ITile tile = tile(0, 0, null);
+        when(tile.getProductionNumbers()).thenThrow(new IllegalStateException("no numbers"));
+        tiles.add(tile);
+        assertEquals(NumberTokenLayer.stateHash(board), NumberTokenLayer.stateHash(board));
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.hato1883.basemod.board.render;
+
+import com.badlogic.gdx.math.Rectangle;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SpatialGrid} covering building, overlap queries and items on cell boundaries.
+ */
+@DisplayName("SpatialGrid")
+class SpatialGridTest {
+
+    /** A 10 by 10 board of unit squares two units apart, so cells are two units wide. */
+    private static Map<String, Rectangle> board() {
+        Map<String, Rectangle> items = new LinkedHashMap<>();
+        for (int row = 0; row < 10; row++) {
+            for (int column = 0; column < 10; column++) {
+                items.put(column + "," + row, new Rectangle(2 * column, 2 * row, 1, 1));
+            }
+        }
+        return items;
+    }
+
+    private static SpatialGrid<String> grid(Map<String, Rectangle> items) {
+        return SpatialGrid.build(new ArrayList<>(items.keySet()), items::get);
+    }
+
+    @Test
+    @DisplayName("An empty grid returns nothing")
+    void emptyGrid() {
+        SpatialGrid<String> grid = SpatialGrid.build(List.of(), item -> new Rectangle());
+        assertEquals(0, grid.size());
+        assertTrue(grid.query(-100, -100, 100, 100).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Returns exactly the items overlapping the area")
+    void queriesOverlaps() {
+        SpatialGrid<String> grid = grid(board());
+        assertEquals(100, grid.size());
+        assertEquals(Set.of("1,1", "2,1", "1,2", "2,2"), new HashSet<>(grid.query(2.5f, 2.5f, 4.5f, 4.5f)));
+        assertEquals(List.of("3,3"), grid.query(6.2f, 6.2f, 6.8f, 6.8f));
+        assertTrue(grid.query(1.2f, 1.2f, 1.8f, 1.8f).isEmpty(), "the gap between items");
+        assertEquals(100, grid.query(-1, -1, 100, 100).size(), "areas past the bounds are clamped");
+        assertTrue(grid.query(5, 5, 4, 4).isEmpty(), "an inverted area is empty");
+    }
+
+    @Test
+    @DisplayName("Items touching the area or on a cell boundary are found")
+    void cellBoundaries() {
+        SpatialGrid<String> grid = grid(board());
+        // Item 1,0 spans 2..3; 2 is the boundary between the first two cells
+        assertEquals(List.of("1,0"), grid.query(1.5f, 0, 2, 0.5f), "touching the left edge");
+        assertEquals(List.of("0,0"), grid.query(1, 0, 1.5f, 0.5f), "touching the right edge");
+        assertEquals(List.of("1,0"), grid.query(2, 0, 2, 0), "a point on the boundary");
+        assertTrue(grid.query(3.001f, 0, 3.999f, 0.5f).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Items spanning several cells are returned once")
+    void spanningItems() {
+        Map<String, Rectangle> items = board();
+        items.put("road", new Rectangle(0, 0.25f, 19, 0.5f));
+        SpatialGrid<String> grid = grid(items);
+
+        List<String> found = grid.query(0, 0, 19, 1);
+        assertEquals(1, found.stream().filter("road"::equals).count());
+        assertEquals(11, found.size());
+        assertTrue(grid.query(9.2f, 0.5f, 9.8f, 0.6f).contains("road"));
+    }
+
+    @Test
+    @DisplayName("Matches a linear scan on random items and reuses the output list")
+    void matchesLinearScan() {
+        Random random = new Random(7);
+        Map<String, Rectangle> items = new LinkedHashMap<>();
+        for (int i = 0; i < 300; i++) {
+            items.put("item" + i, new Rectangle(random.nextFloat() * 200 - 50, random.nextFloat() * 100,
+                random.nextFloat() * 8, random.nextFloat() * 8));
+        }
+        SpatialGrid<String> grid = grid(items);
+
+        List<String> out = new ArrayList<>();
+        for (int q = 0; q < 200; q++) {
+            float minX = random.nextFloat() * 240 - 70;
+            float minY = random.nextFloat() * 120 - 10;
+            float maxX = minX + random.nextFloat() * 40;
+            float maxY = minY + random.nextFloat() * 40;
+            Set<String> expected = new HashSet<>();
+            items.forEach((item, r) -> {
+                if (r.x <= maxX && r.x + r.width >= minX && r.y <= maxY && r.y + r.height >= minY) expected.add(item);
+            });
+            grid.query(minX, minY, maxX, maxY, out);
+            assertEquals(expected.size(), out.size(), "no duplicates");
+            assertEquals(expected, new HashSet<>(out));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.hato1883.basemod.board.render;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.PolygonRegion;
+import com.badlogic.gdx.graphics.g2d.PolygonSprite;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the vertex and index layout of {@link StaticBoardMesh}, checked before anything is
+ * uploaded so no GL context is needed.
+ */
+@DisplayName("StaticBoardMesh")
+class StaticBoardMeshTest {
+
+    private static final float[] TRIANGLE = {0, 0, 4, 0, 0, 4};
+    private static final short[] TRIANGLE_INDICES = {0, 1, 2};
+
+    private static Texture texture() {
+        Texture texture = mock(Texture.class);
+        when(texture.getWidth()).thenReturn(16);
+        when(texture.getHeight()).thenReturn(16);
+        return texture;
+    }
+
+    /** A sprite of the polygon at a world position, unscaled and unrotated. */
+    private static PolygonSprite sprite(Texture texture, float x, float y, float[] polygon, short[] triangles) {
+        PolygonSprite sprite = new PolygonSprite(new PolygonRegion(new TextureRegion(texture), polygon, triangles));
+        sprite.setPosition(x, y);
+        return sprite;
+    }
+
+    @Test
+    @DisplayName("Copies world-space vertices and triangle indices of a sprite")
+    void copiesSprite() {
+        Texture texture = texture();
+        PolygonSprite sprite = sprite(texture, 10, 20, TRIANGLE, TRIANGLE_INDICES);
+
+        List<StaticBoardMesh.Geometry> layout = StaticBoardMesh.layout(List.of(sprite), 100);
+        assertEquals(1, layout.size());
+        StaticBoardMesh.Geometry geometry = layout.getFirst();
+        assertSame(texture, geometry.texture());
+        assertArrayEquals(sprite.getVertices(), geometry.vertices());
+        assertEquals(3, geometry.vertexCount());
+        assertEquals(10, geometry.vertices()[0]);
+        assertEquals(20, geometry.vertices()[1]);
+        assertArrayEquals(TRIANGLE_INDICES, geometry.indices());
+        assertEquals(10, geometry.minX());
+        assertEquals(20, geometry.minY());
+        assertEquals(14, geometry.maxX());
+        assertEquals(24, geometry.maxY());
+    }
+
+    @Test
+    @DisplayName("Offsets the indices of later sprites sharing a buffer")
+    void offsetsIndices() {
+        Texture texture = texture();
+        List<PolygonSprite> sprites = List.of(
+            sprite(texture, 0, 0, TRIANGLE, TRIANGLE_INDICES),
+            sprite(texture, 5, 0, TRIANGLE, new short[]{2, 1, 0}));
+
+        List<StaticBoardMesh.Geometry> layout = StaticBoardMesh.layout(sprites, 100);
+        assertEquals(1, layout.size());
+        assertEquals(6, layout.getFirst().vertexCount());
+        assertArrayEquals(new short[]{0, 1, 2, 5, 4, 3}, layout.getFirst().indices());
+        assertEquals(0, layout.getFirst().minX());
+        assertEquals(9, layout.getFirst().maxX());
+    }
+
+    @Test
+    @DisplayName("Splits buffers by texture and by the block of a sprite's first vertex")
+    void splitsByTextureAndBlock() {
+        Texture first = texture();
+        Texture second = texture();
+        List<PolygonSprite> sprites = List.of(
+            sprite(first, 0, 0, TRIANGLE, TRIANGLE_INDICES),
+            // First vertex in block (0, 0); the bounds grow past the block edge to cover the sprite
+            sprite(first, 98, 0, TRIANGLE, TRIANGLE_INDICES),
+            sprite(first, 150, 0, TRIANGLE, TRIANGLE_INDICES),
+            sprite(second, 0, 0, TRIANGLE, TRIANGLE_INDICES));
+
+        List<StaticBoardMesh.Geometry> layout = StaticBoardMesh.layout(sprites, 100);
+        assertEquals(3, layout.size());
+        assertSame(first, layout.get(0).texture());
+        assertEquals(6, layout.get(0).vertexCount());
+        assertEquals(102, layout.get(0).maxX());
+        assertSame(first, layout.get(1).texture());
+        assertEquals(150, layout.get(1).minX());
+        assertSame(second, layout.get(2).texture());
+    }
+
+    @Test
+    @DisplayName("Starts a new buffer before 16-bit indices would overflow and keeps indices unsigned")
+    void splitsAtVertexLimit() {
+        int vertices = 20_000;
+        float[] polygon = new float[vertices * 2];
+        for (int i = 0; i < vertices; i++) {
+            polygon[i * 2] = i % 10;
+            polygon[i * 2 + 1] = i / 10f;
+        }
+        Texture texture = texture();
+        List<PolygonSprite> sprites = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            sprites.add(sprite(texture, 0, 0, polygon, new short[]{0, 1, (short) (vertices - 1)}));
+        }
+
+        List<StaticBoardMesh.Geometry> layout = StaticBoardMesh.layout(sprites, 100);
+        assertEquals(2, layout.size());
+        assertEquals(3 * vertices, layout.get(0).vertexCount());
+        assertEquals(vertices, layout.get(1).vertexCount());
+        // The third sprite starts past 32767, which only fits as an unsigned short
+        short[] indices = layout.get(0).indices();
+        assertEquals(2 * vertices, indices[6] & 0xFFFF);
+        assertEquals(3 * vertices - 1, indices[8] & 0xFFFF);
+        assertArrayEquals(new short[]{0, 1, (short) (vertices - 1)}, layout.get(1).indices());
+    }
+}